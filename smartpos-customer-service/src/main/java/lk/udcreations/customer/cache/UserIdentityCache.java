@@ -0,0 +1,54 @@
+package lk.udcreations.customer.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.customer.config.UserServiceClient;
+
+/**
+ * Size-bounded cache of user records keyed by username, so write paths can
+ * stamp audit user IDs without a user-service call each time. Entries expire
+ * after the TTL and are dropped early when user-service reports a change.
+ */
+@Component
+public class UserIdentityCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(UserIdentityCache.class);
+
+	private final UserServiceClient userServiceClient;
+	private final Cache<String, UsersDTO> users;
+
+	public UserIdentityCache(UserServiceClient userServiceClient,
+			@Value("${customer.user-cache.maximum-size:1000}") long maximumSize,
+			@Value("${customer.user-cache.ttl:10m}") Duration ttl) {
+		super();
+		this.userServiceClient = userServiceClient;
+		this.users = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+	}
+
+	/** Get a user by username, loading it from user-service on a miss. */
+	public UsersDTO get(String username) {
+		return users.get(username, key -> {
+			LOGGER.debug("User identity cache miss for username: {}", key);
+			return userServiceClient.getUserDetails(key);
+		});
+	}
+
+	/** Drop users so the next lookup reloads them. */
+	public void evict(Collection<String> usernames) {
+		users.invalidateAll(usernames);
+	}
+
+	public void evictAll() {
+		users.invalidateAll();
+	}
+}
@@ -0,0 +1,103 @@
+package lk.udcreations.customer.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
+import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.customer.mapper.CustomerMapper;
+import lk.udcreations.customer.security.AuthUtils;
+
+/**
+ * Size-bounded near-cache of the created, updated and deleted user references
+ * keyed by user ID. The same few cashiers repeat on every row, so a listing
+ * only asks user-service for the IDs it has not seen yet, in one bulk call.
+ * Hits and misses are published as the cache.gets metric of user-references.
+ */
+@Component
+public class UserReferenceCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(UserReferenceCache.class);
+
+	static final String CACHE_NAME = "user-references";
+
+	private final AuthUtils authUtils;
+	private final CustomerMapper customerMapper;
+	private final Cache<Integer, CreatedUpdatedUserDTO> references;
+
+	public UserReferenceCache(AuthUtils authUtils, CustomerMapper customerMapper, MeterRegistry meterRegistry,
+			@Value("${customer.user-reference-cache.maximum-size:1000}") long maximumSize,
+			@Value("${customer.user-reference-cache.ttl:10m}") Duration ttl) {
+		super();
+		this.authUtils = authUtils;
+		this.customerMapper = customerMapper;
+		this.references = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+		CaffeineCacheMetrics.monitor(meterRegistry, references, CACHE_NAME);
+	}
+
+	/** Get the reference of one user, loading it on a miss. Null and unknown IDs give null. */
+	public CreatedUpdatedUserDTO get(Integer userId) {
+		if (userId == null) {
+			return null;
+		}
+		return references.get(userId, key -> {
+			LOGGER.debug("User reference cache miss for ID: {}", key);
+			UsersDTO user = authUtils.getUserById(key);
+			return user == null ? null : customerMapper.toCreatedUpdatedUserDTO(user);
+		});
+	}
+
+	/** Get the references of many users, loading all the misses with one bulk call. */
+	public Map<Integer, CreatedUpdatedUserDTO> getAll(Collection<Integer> userIds) {
+		List<Integer> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+		if (ids.isEmpty()) {
+			return Map.of();
+		}
+		return references.getAll(ids, this::load);
+	}
+
+	/** Load the users referenced by a listing up front, so its rows are served from memory. */
+	public void warm(Collection<Integer> userIds) {
+		getAll(userIds);
+	}
+
+	/** Drop users so the next lookup reloads them. */
+	public void evict(Collection<Integer> userIds) {
+		references.invalidateAll(userIds);
+	}
+
+	public void evictAll() {
+		references.invalidateAll();
+	}
+
+	/** Share of lookups served from memory since startup. */
+	public double hitRatio() {
+		return references.stats().hitRate();
+	}
+
+	private Map<Integer, CreatedUpdatedUserDTO> load(Set<? extends Integer> missing) {
+		LOGGER.debug("User reference cache miss for {} IDs, loading them in one call", missing.size());
+		Map<Integer, CreatedUpdatedUserDTO> loaded = new HashMap<>();
+		Map<Integer, UsersDTO> users = authUtils.getUsersByIds(new ArrayList<>(missing));
+		if (users != null) {
+			users.forEach((userId, user) -> loaded.put(userId, customerMapper.toCreatedUpdatedUserDTO(user)));
+		}
+		return loaded;
+	}
+}
@@ -0,0 +1,81 @@
+package lk.udcreations.customer.config;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Logs virtual threads that block while pinned to their carrier thread, such as
+ * a JDBC call made inside a synchronized block.
+ */
+@Component
+@ConditionalOnProperty(name = "diagnostics.virtual-threads.pinning.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+	private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+	private final Duration threshold;
+	private final int stackDepth;
+
+	private volatile RecordingStream stream;
+
+	public VirtualThreadPinningMonitor(
+			@Value("${diagnostics.virtual-threads.pinning.threshold:20ms}") Duration threshold,
+			@Value("${diagnostics.virtual-threads.pinning.stack-depth:12}") int stackDepth) {
+		super();
+		this.threshold = threshold;
+		this.stackDepth = stackDepth;
+	}
+
+	@Override
+	public void start() {
+		RecordingStream recording = new RecordingStream();
+		recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+		recording.onEvent(PINNED_EVENT, this::logPinnedEvent);
+		recording.startAsync();
+		stream = recording;
+		LOGGER.info("Watching for virtual threads pinned longer than {} ms", threshold.toMillis());
+	}
+
+	@Override
+	public void stop() {
+		RecordingStream recording = stream;
+		stream = null;
+		if (recording != null) {
+			recording.close();
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return stream != null;
+	}
+
+	private void logPinnedEvent(RecordedEvent event) {
+		RecordedThread thread = event.getThread();
+		LOGGER.warn("Virtual thread '{}' was pinned to its carrier for {} ms{}",
+				thread != null ? thread.getJavaName() : "unknown", event.getDuration().toMillis(), stackOf(event));
+	}
+
+	private String stackOf(RecordedEvent event) {
+		if (event.getStackTrace() == null) {
+			return "";
+		}
+		return event.getStackTrace().getFrames().stream().limit(stackDepth)
+				.map(frame -> "\n\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+						+ ":" + frame.getLineNumber())
+				.collect(Collectors.joining());
+	}
+}
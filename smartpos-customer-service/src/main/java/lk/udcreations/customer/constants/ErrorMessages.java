@@ -54,6 +54,8 @@ public class ErrorMessages {
 	    // General error messages
 	    public static final String INVALID_INPUT = "Invalid input provided.";
 	    public static final String UNEXPECTED_ERROR = "An unexpected error occurred.";
+	    public static final String INVALID_CURSOR = "Invalid page cursor: ";
+	    public static final String INVALID_PAGE_LIMIT = "Page limit must be at least 1, got: ";
 		public static final String EMAIL_EXISTS = "Email already exists.";
     private ErrorMessages() {
 		// Prevent instantiation
@@ -1,6 +1,7 @@
 package lk.udcreations.customer.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -23,6 +25,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lk.udcreations.common.dto.customer.CustomerDTO;
+import lk.udcreations.customer.dto.KeysetPageDTO;
 import lk.udcreations.customer.entity.Customer;
 import lk.udcreations.customer.service.CustomerService;
 
@@ -39,11 +42,14 @@ public class CustomerController {
 	}
 
 	/** Get all customers. */
-	@Operation(summary = "Get all customers", description = "Retrieve all customers, including soft-deleted ones.")
-	@ApiResponse(responseCode = "200", description = "Successfully retrieved customers")
+	@Operation(summary = "Get all customers", description = "Retrieve customers, including soft-deleted ones, one page at a time ordered by ID. Pass the returned nextCursor to fetch the following page.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Successfully retrieved customers"),
+			@ApiResponse(responseCode = "400", description = "Invalid cursor or limit", content = @Content) })
 	@GetMapping("/all")
-	public ResponseEntity<List<CustomerDTO>> getAllCustomers() {
-		return ResponseEntity.ok(customerService.getAllCustomer());
+	public ResponseEntity<KeysetPageDTO<CustomerDTO>> getAllCustomers(
+			@Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Maximum number of customers to return") @RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(customerService.getAllCustomer(cursor, limit));
 	}
 
 	/** Get all exist customers. */
@@ -65,6 +71,15 @@ public class CustomerController {
 		return ResponseEntity.ok(customerService.getCustomerById(id));
 	}
 
+	/** Get customers by a list of IDs. */
+	@Operation(summary = "Get customers by IDs", description = "Retrieve customers for a list of IDs in one call, keyed by customer ID. Unknown IDs are left out of the result.")
+	@ApiResponse(responseCode = "200", description = "Successfully retrieved customers")
+	@PostMapping("/batch")
+	public ResponseEntity<Map<Integer, CustomerDTO>> getCustomersByIds(
+			@Parameter(description = "IDs of the customers to retrieve") @RequestBody List<Integer> customerIds) {
+		return ResponseEntity.ok(customerService.getCustomersByIds(customerIds));
+	}
+
 	/** Get customer by username. */
 	@Operation(summary = "Get a customer by username", description = "Retrieve customer details by username.")
 	@ApiResponses(value = {
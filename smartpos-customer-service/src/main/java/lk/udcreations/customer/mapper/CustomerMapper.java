@@ -0,0 +1,28 @@
+package lk.udcreations.customer.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+import lk.udcreations.common.dto.customer.CustomerDTO;
+import lk.udcreations.common.dto.customergroup.CustomerGroupDTO;
+import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
+import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.customer.entity.Customer;
+import lk.udcreations.customer.entity.CustomerGroup;
+
+/**
+ * Entity to DTO mappings for customers, generated at compile time.
+ * 
+ * Nested DTOs (customer group, audit users) are not part of the entities and
+ * are set by the calling service.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface CustomerMapper {
+
+	CustomerDTO toDTO(Customer customer);
+
+	CustomerGroupDTO toDTO(CustomerGroup customerGroup);
+
+	CreatedUpdatedUserDTO toCreatedUpdatedUserDTO(UsersDTO user);
+}
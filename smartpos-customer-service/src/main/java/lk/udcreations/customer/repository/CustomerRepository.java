@@ -3,6 +3,7 @@ package lk.udcreations.customer.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import lk.udcreations.customer.entity.Customer;
@@ -11,6 +12,8 @@ public interface CustomerRepository extends JpaRepository<Customer, Integer> {
 
 	Optional<Customer> findByUsernameAndDeletedFalse(String userName);
 
+	List<Customer> findByCustomerIdGreaterThanOrderByCustomerIdAsc(Integer customerId, Limit limit);
+
 	Optional<Customer> findByUsernameAndDeletedTrue(String userName);
 
 	Optional<Customer> findByFirstName(String fistName);
@@ -0,0 +1,64 @@
+package lk.udcreations.customer.scheduler;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lk.udcreations.customer.cache.UserIdentityCache;
+import lk.udcreations.customer.cache.UserReferenceCache;
+import lk.udcreations.customer.config.UserServiceClient;
+import lk.udcreations.customer.dto.UserChangesDTO;
+
+/** Evicts cached users and user references that were updated or deleted in user-service. */
+@Component
+public class UserChangePoller {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(UserChangePoller.class);
+
+	private final UserServiceClient userServiceClient;
+	private final UserIdentityCache userIdentityCache;
+	private final UserReferenceCache userReferenceCache;
+
+	private LocalDateTime since;
+
+	public UserChangePoller(UserServiceClient userServiceClient, UserIdentityCache userIdentityCache,
+			UserReferenceCache userReferenceCache) {
+		super();
+		this.userServiceClient = userServiceClient;
+		this.userIdentityCache = userIdentityCache;
+		this.userReferenceCache = userReferenceCache;
+	}
+
+	/**
+	 * Ask for the users changed since the last poll. A failed poll keeps its
+	 * watermark, so the next one picks up whatever was missed.
+	 */
+	@Scheduled(fixedDelayString = "${customer.user-cache.poll-interval:30s}")
+	public void pollChanges() {
+
+		UserChangesDTO changes;
+		try {
+			changes = userServiceClient.getUserChanges(since);
+		} catch (RuntimeException ex) {
+			LOGGER.warn("Could not poll user changes since {}: {}", since, ex.getMessage());
+			return;
+		}
+		if (changes == null) {
+			return;
+		}
+
+		if (since == null) {
+			userIdentityCache.evictAll();
+			userReferenceCache.evictAll();
+		} else if (!changes.getUserIds().isEmpty()) {
+			userIdentityCache.evict(changes.getUsernames());
+			userIdentityCache.evict(changes.getPreviousUsernames());
+			userReferenceCache.evict(changes.getUserIds());
+			LOGGER.info("Evicted {} changed users from the user caches.", changes.getUserIds().size());
+		}
+		since = changes.getAsOf();
+	}
+}
@@ -1,18 +1,26 @@
 package lk.udcreations.customer.security;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 import org.springframework.stereotype.Component;
 
 import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.customer.cache.UserIdentityCache;
 import lk.udcreations.customer.config.UserServiceClient;
 
 @Component
 public class AuthUtils {
 
 	private final UserServiceClient userServiceClient;
+	private final UserIdentityCache userIdentityCache;
 
-	public AuthUtils(UserServiceClient userServiceClient) {
+	public AuthUtils(UserServiceClient userServiceClient, UserIdentityCache userIdentityCache) {
 		super();
 		this.userServiceClient = userServiceClient;
+		this.userIdentityCache = userIdentityCache;
 	}
 
 	public String getLoggedInUsername() {
@@ -23,7 +31,7 @@ public class AuthUtils {
 	public UsersDTO getLoggedInUser() {
 		String username = getLoggedInUsername();
 
-		return userServiceClient.getUserDetails(username);
+		return userIdentityCache.get(username);
 
 //		return userRepository.findByUsername(username)
 //				.orElseThrow(() -> new NotFoundException("Logged-in user not found"));
@@ -33,4 +41,12 @@ public class AuthUtils {
 		return userServiceClient.getUserById(userId);
 	}
 
+	public Map<Integer, UsersDTO> getUsersByIds(Collection<Integer> userIds) {
+		List<Integer> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+		if (ids.isEmpty()) {
+			return Map.of();
+		}
+		return userServiceClient.getUsersByIds(ids);
+	}
+
 }
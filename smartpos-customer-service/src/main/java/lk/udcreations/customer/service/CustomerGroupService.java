@@ -4,15 +4,16 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import lk.udcreations.customer.cache.UserReferenceCache;
 import lk.udcreations.customer.constants.ErrorMessages;
 import lk.udcreations.common.dto.customergroup.CustomerGroupDTO;
-import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
 import lk.udcreations.common.dto.user.UsersDTO;
 import lk.udcreations.customer.exception.NotFoundException;
 import lk.udcreations.customer.entity.CustomerGroup;
@@ -26,13 +27,15 @@ public class CustomerGroupService {
 
 	private final CustomerGroupRepository customerGroupRepository;
 	private final AuthUtils authUtils;
+	private final UserReferenceCache userReferenceCache;
 	private final ModelMapper modelMapper;
 
 	public CustomerGroupService(CustomerGroupRepository customerGroupRepository, AuthUtils authUtils,
-			ModelMapper modelMapper) {
+			UserReferenceCache userReferenceCache, ModelMapper modelMapper) {
 		super();
 		this.customerGroupRepository = customerGroupRepository;
 		this.authUtils = authUtils;
+		this.userReferenceCache = userReferenceCache;
 		this.modelMapper = modelMapper;
 	}
 
@@ -47,7 +50,7 @@ public class CustomerGroupService {
 		} else {
 			LOGGER.info("Successfully fetched {} customer groups from the database.", customerGroups.size());
 		}
-		return customerGroups.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return convertToDTOList(customerGroups);
 	}
 
 	/** Get all non-deleted customer groups */
@@ -61,7 +64,7 @@ public class CustomerGroupService {
 		} else {
 			LOGGER.info("Fetched {} active customer groups from the database.", customerGroup.size());
 		}
-		return customerGroup.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return convertToDTOList(customerGroup);
 	}
 
 	/** Get a role by ID */
@@ -187,25 +190,32 @@ public class CustomerGroupService {
 		LOGGER.info("Customer group with ID: {} has been permanently deleted.", customerGroupId);
 	}
 
+	/** Convert a list, loading the audit users of all its rows with one bulk call. */
+	private List<CustomerGroupDTO> convertToDTOList(List<CustomerGroup> customerGroups) {
+		warmAuditUsers(customerGroups);
+		return customerGroups.stream().map(this::convertToDTO).collect(Collectors.toList());
+	}
+
+	private void warmAuditUsers(List<CustomerGroup> customerGroups) {
+		userReferenceCache.warm(customerGroups.stream()
+				.flatMap(customerGroup -> Stream.of(customerGroup.getCreatedUser(), customerGroup.getUpdatedUser(),
+						customerGroup.getDeletedUser()))
+				.toList());
+	}
+
 	private CustomerGroupDTO convertToDTO(CustomerGroup customerGroup) {
 
 		CustomerGroupDTO customerGroupDTO = modelMapper.map(customerGroup, CustomerGroupDTO.class);
 
 		// Set CreatedUserDTO
-		UsersDTO createdUser = authUtils.getUserById(customerGroup.getCreatedUser());
-		CreatedUpdatedUserDTO createdUserDto = modelMapper.map(createdUser, CreatedUpdatedUserDTO.class);
-		customerGroupDTO.setCreatedUser(createdUserDto);
+		customerGroupDTO.setCreatedUser(userReferenceCache.get(customerGroup.getCreatedUser()));
 
 		// Set UpdatedUserDTO
-		UsersDTO updatedUser = authUtils.getUserById(customerGroup.getUpdatedUser());
-		CreatedUpdatedUserDTO updatedUserDto = modelMapper.map(updatedUser, CreatedUpdatedUserDTO.class);
-		customerGroupDTO.setUpdatedUser(updatedUserDto);
+		customerGroupDTO.setUpdatedUser(userReferenceCache.get(customerGroup.getUpdatedUser()));
 
 		// Set DeletedUserDTO
 		if (customerGroup.isDeleted()) {
-			UsersDTO deletedUser = authUtils.getUserById(customerGroup.getDeletedUser());
-			CreatedUpdatedUserDTO deletedUserDto = modelMapper.map(deletedUser, CreatedUpdatedUserDTO.class);
-			customerGroupDTO.setDeletedUser(deletedUserDto);
+			customerGroupDTO.setDeletedUser(userReferenceCache.get(customerGroup.getDeletedUser()));
 		}
 		return customerGroupDTO;
 	}
@@ -1,27 +1,33 @@
 package lk.udcreations.customer.service;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import jakarta.transaction.Transactional;
+import lk.udcreations.customer.cache.UserReferenceCache;
 import lk.udcreations.customer.constants.ErrorMessages;
 import lk.udcreations.common.dto.customer.CustomerDTO;
 import lk.udcreations.common.dto.customergroup.CustomerGroupDTO;
-import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
 import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.customer.dto.KeysetPageDTO;
 import lk.udcreations.customer.exception.NotFoundException;
 import lk.udcreations.customer.entity.Customer;
 import lk.udcreations.customer.entity.CustomerGroup;
+import lk.udcreations.customer.mapper.CustomerMapper;
 import lk.udcreations.customer.repository.CustomerGroupRepository;
 import lk.udcreations.customer.repository.CustomerRepository;
 import lk.udcreations.customer.security.AuthUtils;
+import lk.udcreations.customer.util.pagination.KeysetCursor;
 
 @Service
 public class CustomerService {
@@ -31,31 +37,38 @@ public class CustomerService {
 	private final CustomerRepository customerRepository;
 	private final CustomerGroupRepository customerGroupRepository;
 	private final AuthUtils authUtils;
-	private final ModelMapper modelMapper;
+	private final UserReferenceCache userReferenceCache;
+	private final CustomerMapper customerMapper;
 
 	public CustomerService(CustomerRepository customerRepository, CustomerGroupRepository customerGroupRepository,
-			AuthUtils authUtils, ModelMapper modelMapper) {
+			AuthUtils authUtils, UserReferenceCache userReferenceCache, CustomerMapper customerMapper) {
 		super();
 		this.customerRepository = customerRepository;
 		this.customerGroupRepository = customerGroupRepository;
 		this.authUtils = authUtils;
-		this.modelMapper = modelMapper;
+		this.userReferenceCache = userReferenceCache;
+		this.customerMapper = customerMapper;
 	}
 
 	/**
-	 * Get all customer.
+	 * Get all customer, one keyset page at a time.
 	 */
-	public List<CustomerDTO> getAllCustomer() {
-		LOGGER.debug("Fetching all customers from the database.");
+	public KeysetPageDTO<CustomerDTO> getAllCustomer(String cursor, Integer limit) {
 
-		List<Customer> cusomers = customerRepository.findAll();
+		int pageSize = KeysetCursor.limit(limit);
+		Integer afterId = KeysetCursor.decode(cursor);
+		LOGGER.debug("Fetching up to {} customers after ID {} from the database.", pageSize, afterId);
+
+		List<Customer> cusomers = customerRepository.findByCustomerIdGreaterThanOrderByCustomerIdAsc(afterId,
+				Limit.of(pageSize + 1));
 		if (cusomers.isEmpty()) {
 			LOGGER.warn("No cusomers found in the database.");
 		} else {
 			LOGGER.info("Successfully fetched {} cusomers from the database.", cusomers.size());
 		}
 
-		return cusomers.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return KeysetCursor.page(cusomers, pageSize, Customer::getCustomerId,
+				this::convertToDTOList);
 	}
 
 	/**
@@ -71,7 +84,7 @@ public class CustomerService {
 		} else {
 			LOGGER.info("Fetched {} active customers from the database.", customers.size());
 		}
-		return customers.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return convertToDTOList(customers);
 	}
 
 	/**
@@ -91,6 +104,22 @@ public class CustomerService {
 		return convertToDTO(customer);
 	}
 
+	/**
+	 * Get customers by a list of IDs, keyed by customer ID.
+	 */
+	public Map<Integer, CustomerDTO> getCustomersByIds(List<Integer> customerIds) {
+
+		LOGGER.debug("Fetching {} customers by ID", customerIds.size());
+
+		List<Customer> customers = customerRepository.findAllById(customerIds);
+		LOGGER.info("Successfully fetched {} of {} requested customers.", customers.size(), customerIds.size());
+
+		Map<Integer, CustomerDTO> result = new LinkedHashMap<>();
+		warmAuditUsers(customers);
+		customers.forEach(customer -> result.put(customer.getCustomerId(), convertToDTO(customer)));
+		return result;
+	}
+
 	/**
 	 * Get a customer by User name.
 	 */
@@ -308,32 +337,39 @@ public class CustomerService {
 		LOGGER.info("Customer with ID: {} has been permanently deleted.", customerId);
 	}
 
+	/** Convert a list, loading the audit users of all its rows with one bulk call. */
+	private List<CustomerDTO> convertToDTOList(List<Customer> customers) {
+		warmAuditUsers(customers);
+		return customers.stream().map(this::convertToDTO).collect(Collectors.toList());
+	}
+
+	private void warmAuditUsers(List<Customer> customers) {
+		userReferenceCache.warm(customers.stream()
+				.flatMap(customer -> Stream.of(customer.getCreatedUserId(), customer.getUpdatedUserId(),
+						customer.getDeletedUserId()))
+				.toList());
+	}
+
 	/**
 	 * Convert Users entity to UsersDTO.
 	 */
 	private CustomerDTO convertToDTO(Customer customer) {
 
-		CustomerDTO customerDTO = modelMapper.map(customer, CustomerDTO.class);
+		CustomerDTO customerDTO = customerMapper.toDTO(customer);
 
 		CustomerGroup customerGroup = customerGroupRepository.findById(customer.getCustomerGroupId()).orElseThrow();
-		CustomerGroupDTO customerGroupDTO = modelMapper.map(customerGroup, CustomerGroupDTO.class);
+		CustomerGroupDTO customerGroupDTO = customerMapper.toDTO(customerGroup);
 		customerDTO.setCustomerGroup(customerGroupDTO);
 
 		// Set CreatedUserDTO
-		UsersDTO createdUser = authUtils.getUserById(customer.getCreatedUserId());
-		CreatedUpdatedUserDTO createdUserDto = modelMapper.map(createdUser, CreatedUpdatedUserDTO.class);
-		customerDTO.setCreatedUser(createdUserDto);
+		customerDTO.setCreatedUser(userReferenceCache.get(customer.getCreatedUserId()));
 
 		// Set UpdatedUserDTO
-		UsersDTO updatedUser = authUtils.getUserById(customer.getUpdatedUserId());
-		CreatedUpdatedUserDTO updatedUserDto = modelMapper.map(updatedUser, CreatedUpdatedUserDTO.class);
-		customerDTO.setUpdatedUser(updatedUserDto);
+		customerDTO.setUpdatedUser(userReferenceCache.get(customer.getUpdatedUserId()));
 
 		// Set DeletedUserDTO
 		if (customer.isDeleted()) {
-			UsersDTO deletedUser = authUtils.getUserById(customer.getDeletedUserId());
-			CreatedUpdatedUserDTO deletedUserDto = modelMapper.map(deletedUser, CreatedUpdatedUserDTO.class);
-			customerDTO.setDeletedUser(deletedUserDto);
+			customerDTO.setDeletedUser(userReferenceCache.get(customer.getDeletedUserId()));
 		}
 
 		return customerDTO;
@@ -16,6 +16,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,6 +31,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lk.udcreations.common.dto.customer.CustomerDTO;
 import lk.udcreations.common.dto.customergroup.CustomerGroupDTO;
+import lk.udcreations.customer.dto.KeysetPageDTO;
 import lk.udcreations.customer.entity.Customer;
 import lk.udcreations.customer.entity.CustomerGroup;
 import lk.udcreations.customer.service.CustomerService;
@@ -72,15 +74,17 @@ class CustomerControllerTest {
 		customer2 = new CustomerDTO(cGroup, 2, "jane_doe", "Jane", "Doe", "jane@example.com", "9876543210",
 				"456 Avenue", true, false, false, LocalDateTime.now(), null, null, null, null, null);
 
-		List<CustomerDTO> customers = Arrays.asList(customer1, customer2);
+		KeysetPageDTO<CustomerDTO> page = new KeysetPageDTO<>(Arrays.asList(customer1, customer2), "Mg");
 
-		when(customerService.getAllCustomer()).thenReturn(customers);
+		when(customerService.getAllCustomer(null, 2)).thenReturn(page);
 
-		mockMvc.perform(get("/api/v1/customers/all")).andExpect(status().isOk())
-				.andExpect(jsonPath("$.size()").value(2)).andExpect(jsonPath("$[0].username").value("john_doe"))
-				.andExpect(jsonPath("$[1].username").value("jane_doe"));
+		mockMvc.perform(get("/api/v1/customers/all").param("limit", "2")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.content.size()").value(2))
+				.andExpect(jsonPath("$.content[0].username").value("john_doe"))
+				.andExpect(jsonPath("$.content[1].username").value("jane_doe"))
+				.andExpect(jsonPath("$.nextCursor").value("Mg"));
 
-		verify(customerService, times(1)).getAllCustomer();
+		verify(customerService, times(1)).getAllCustomer(null, 2);
 	}
 
 	@Test
@@ -116,6 +120,21 @@ class CustomerControllerTest {
 		verify(customerService, times(1)).getCustomerById(1);
 	}
 
+	@Test
+	void testGetCustomersByIds() throws Exception {
+		CustomerDTO customer = new CustomerDTO(cGroup, 1, "john_doe", "John", "Doe", "john@example.com", "1234567890",
+				"123 Street", true, false, false, LocalDateTime.now(), null, null, null, null, null);
+		List<Integer> customerIds = Arrays.asList(1, 2);
+
+		when(customerService.getCustomersByIds(customerIds)).thenReturn(Map.of(1, customer));
+
+		mockMvc.perform(post("/api/v1/customers/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(customerIds))).andExpect(status().isOk())
+				.andExpect(jsonPath("$.size()").value(1)).andExpect(jsonPath("$.1.username").value("john_doe"));
+
+		verify(customerService, times(1)).getCustomersByIds(customerIds);
+	}
+
 	@Test
 	void testGetCustomerByUsername() throws Exception {
 		CustomerDTO customer = new CustomerDTO(cGroup, 1, "john_doe", "John", "Doe", "john@example.com", "1234567890",
@@ -25,6 +25,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.modelmapper.ModelMapper;
 
+import lk.udcreations.customer.cache.UserReferenceCache;
 import lk.udcreations.customer.constants.ErrorMessages;
 import lk.udcreations.common.dto.customergroup.CustomerGroupDTO;
 import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
@@ -41,6 +42,9 @@ class CustomerGroupServiceTest {
 
     @Mock
     private AuthUtils authUtils;
+
+    @Mock
+    private UserReferenceCache userReferenceCache;
     
     @Mock
     private ModelMapper modelMapper;
@@ -78,7 +82,7 @@ class CustomerGroupServiceTest {
         customerGroupDTO.setUpdatedUser(createdUpdatedUserDTO);
         
         when(authUtils.getLoggedInUser()).thenReturn(adminUser);
-        when(authUtils.getUserById(anyInt())).thenReturn(adminUser);
+        when(userReferenceCache.get(anyInt())).thenReturn(createdUpdatedUserDTO);
         when(modelMapper.map(any(CustomerGroup.class), eq(CustomerGroupDTO.class))).thenReturn(customerGroupDTO);
         when(modelMapper.map(any(UsersDTO.class), eq(CreatedUpdatedUserDTO.class))).thenReturn(createdUpdatedUserDTO);
     }
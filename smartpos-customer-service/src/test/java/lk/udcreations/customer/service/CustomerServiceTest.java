@@ -1,12 +1,12 @@
 package lk.udcreations.customer.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -16,6 +16,7 @@ import static org.mockito.Mockito.when;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -23,19 +24,23 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 
+import lk.udcreations.customer.cache.UserReferenceCache;
 import lk.udcreations.customer.constants.ErrorMessages;
 import lk.udcreations.common.dto.customer.CustomerDTO;
 import lk.udcreations.common.dto.customergroup.CustomerGroupDTO;
 import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
 import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.customer.dto.KeysetPageDTO;
 import lk.udcreations.customer.entity.Customer;
 import lk.udcreations.customer.entity.CustomerGroup;
 import lk.udcreations.customer.exception.NotFoundException;
+import lk.udcreations.customer.mapper.CustomerMapper;
 import lk.udcreations.customer.repository.CustomerGroupRepository;
 import lk.udcreations.customer.repository.CustomerRepository;
 import lk.udcreations.customer.security.AuthUtils;
+import lk.udcreations.customer.util.pagination.KeysetCursor;
 
 class CustomerServiceTest {
 
@@ -49,7 +54,10 @@ class CustomerServiceTest {
     private AuthUtils authUtils;
 
     @Mock
-    private ModelMapper modelMapper;
+    private UserReferenceCache userReferenceCache;
+
+    @Mock
+    private CustomerMapper customerMapper;
 
     @InjectMocks
     private CustomerService customerService;
@@ -95,10 +103,10 @@ class CustomerServiceTest {
         customerDTO.setUpdatedUser(createdUpdatedUserDTO);
 
         when(authUtils.getLoggedInUser()).thenReturn(adminUser);
-        when(authUtils.getUserById(anyInt())).thenReturn(adminUser);
-        when(modelMapper.map(any(Customer.class), eq(CustomerDTO.class))).thenReturn(customerDTO);
-        when(modelMapper.map(any(UsersDTO.class), eq(CreatedUpdatedUserDTO.class))).thenReturn(createdUpdatedUserDTO);
-        when(modelMapper.map(any(CustomerGroup.class), eq(CustomerGroupDTO.class))).thenReturn(customerGroupDTO);
+        when(userReferenceCache.get(anyInt())).thenReturn(createdUpdatedUserDTO);
+        when(customerMapper.toDTO(any(Customer.class))).thenReturn(customerDTO);
+        when(customerMapper.toCreatedUpdatedUserDTO(any(UsersDTO.class))).thenReturn(createdUpdatedUserDTO);
+        when(customerMapper.toDTO(any(CustomerGroup.class))).thenReturn(customerGroupDTO);
     }
 
     @Test
@@ -108,13 +116,38 @@ class CustomerServiceTest {
         Customer customer2 = new Customer(2, 1, "jane_doe", "Jane", "Doe", "jane@example.com", "0987654321",
                 "456 Oak St", true, false, false, now, now, null, adminUserId, adminUserId, null);
 
-        when(customerRepository.findAll()).thenReturn(Arrays.asList(customer1, customer2));
+        when(customerRepository.findByCustomerIdGreaterThanOrderByCustomerIdAsc(0,
+                Limit.of(KeysetCursor.DEFAULT_LIMIT + 1))).thenReturn(Arrays.asList(customer1, customer2));
         when(customerGroupRepository.findById(1)).thenReturn(Optional.of(new CustomerGroup()));
 
-        List<CustomerDTO> result = customerService.getAllCustomer();
+        KeysetPageDTO<CustomerDTO> result = customerService.getAllCustomer(null, null);
 
-        assertEquals(2, result.size());
-        verify(customerRepository, times(1)).findAll();
+        assertEquals(2, result.getContent().size());
+        assertFalse(result.isHasNext());
+        verify(customerRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetAllCustomer_NextPage() {
+        Customer customer1 = new Customer(1, 1, "john_doe", "John", "Doe", "john@example.com", "1234567890",
+                "123 Main St", true, false, false, now, now, null, adminUserId, adminUserId, null);
+        Customer customer2 = new Customer(2, 1, "jane_doe", "Jane", "Doe", "jane@example.com", "0987654321",
+                "456 Oak St", true, false, false, now, now, null, adminUserId, adminUserId, null);
+
+        when(customerRepository.findByCustomerIdGreaterThanOrderByCustomerIdAsc(0, Limit.of(2)))
+                .thenReturn(Arrays.asList(customer1, customer2));
+        when(customerRepository.findByCustomerIdGreaterThanOrderByCustomerIdAsc(1, Limit.of(2)))
+                .thenReturn(Arrays.asList(customer2));
+        when(customerGroupRepository.findById(1)).thenReturn(Optional.of(new CustomerGroup()));
+
+        KeysetPageDTO<CustomerDTO> firstPage = customerService.getAllCustomer(null, 1);
+        KeysetPageDTO<CustomerDTO> secondPage = customerService.getAllCustomer(firstPage.getNextCursor(), 1);
+
+        assertEquals(1, firstPage.getContent().size());
+        assertTrue(firstPage.isHasNext());
+        assertEquals(1, secondPage.getContent().size());
+        assertFalse(secondPage.isHasNext());
+        verify(customerRepository, times(1)).findByCustomerIdGreaterThanOrderByCustomerIdAsc(1, Limit.of(2));
     }
 
     @Test
@@ -157,6 +190,25 @@ class CustomerServiceTest {
         verify(customerRepository, times(1)).findById(1);
     }
 
+    @Test
+    void testGetCustomersByIds() {
+        Customer customer1 = new Customer(1, 1, "john_doe", "John", "Doe", "john@example.com", "1234567890",
+                "123 Main St", true, false, false, now, now, null, adminUserId, adminUserId, null);
+        Customer customer2 = new Customer(2, 1, "jane_doe", "Jane", "Doe", "jane@example.com", "0987654321",
+                "456 Oak St", true, false, false, now, now, null, adminUserId, adminUserId, null);
+        List<Integer> customerIds = Arrays.asList(1, 2, 3);
+
+        when(customerRepository.findAllById(customerIds)).thenReturn(Arrays.asList(customer1, customer2));
+        when(customerGroupRepository.findById(1)).thenReturn(Optional.of(new CustomerGroup()));
+
+        Map<Integer, CustomerDTO> result = customerService.getCustomersByIds(customerIds);
+
+        assertEquals(2, result.size());
+        assertTrue(result.containsKey(1));
+        assertTrue(result.containsKey(2));
+        verify(customerRepository, times(1)).findAllById(customerIds);
+    }
+
     @Test
     void testGetCustomerByUserName_CustomerExists() {
         Customer customer = new Customer(1, 1, "john_doe", "John", "Doe", "john@example.com", "1234567890",
@@ -0,0 +1,121 @@
+package lk.udcreations.product.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import lk.udcreations.product.util.calculate.Calculate;
+import lk.udcreations.product.util.calculate.CalculateUtil;
+
+/**
+ * Money arithmetic used by ProductCheck, over one basket of lines.
+ * 
+ * Each benchmark runs its check once per line, the way item validation does.
+ * Prices are seeded so runs are comparable.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalculateBenchmark {
+
+	/** Number of lines in the basket. */
+	@Param({ "1", "10", "50", "200" })
+	private int basketSize;
+
+	/** Decimal places of the unit prices, as sent by the POS client. */
+	@Param({ "2", "4" })
+	private int priceScale;
+
+	private BigDecimal[] unitPrices;
+	private BigDecimal[] minPrices;
+	private BigDecimal[] discountValues;
+	private int[] discountPercentages;
+	private int[] quantities;
+	private BigDecimal[] clientTotals;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+
+		unitPrices = new BigDecimal[basketSize];
+		minPrices = new BigDecimal[basketSize];
+		discountValues = new BigDecimal[basketSize];
+		discountPercentages = new int[basketSize];
+		quantities = new int[basketSize];
+		clientTotals = new BigDecimal[basketSize];
+
+		for (int i = 0; i < basketSize; i++) {
+			unitPrices[i] = BigDecimal.valueOf(100 + random.nextInt(1_000_000), 2).setScale(priceScale);
+			minPrices[i] = unitPrices[i].multiply(BigDecimal.valueOf(70)).divide(BigDecimal.valueOf(100),
+					RoundingMode.HALF_UP);
+			discountPercentages[i] = random.nextInt(4) == 0 ? random.nextInt(26) : 0;
+			discountValues[i] = random.nextInt(4) == 0 ? BigDecimal.valueOf(random.nextInt(500), 2) : BigDecimal.ZERO;
+			quantities[i] = 1 + random.nextInt(5);
+
+			BigDecimal total = Calculate.calculateItemTotal(unitPrices[i], discountPercentages[i], discountValues[i],
+					quantities[i]);
+			// The client sends totals with its own scale; the equality check compares values, not scales
+			clientTotals[i] = total.setScale(total.scale() + 2);
+		}
+	}
+
+	@Benchmark
+	public void calculateDiscountedPrice(Blackhole blackhole) {
+		for (int i = 0; i < basketSize; i++) {
+			blackhole.consume(Calculate.calculateDiscountedPrice(unitPrices[i], discountPercentages[i],
+					discountValues[i]));
+		}
+	}
+
+	@Benchmark
+	public void calculateItemTotal(Blackhole blackhole) {
+		for (int i = 0; i < basketSize; i++) {
+			blackhole.consume(Calculate.calculateItemTotal(unitPrices[i], discountPercentages[i], discountValues[i],
+					quantities[i]));
+		}
+	}
+
+	/** The minimum price check: discounted price must not drop below the product's minimum. */
+	@Benchmark
+	public void verifyMinPrice(Blackhole blackhole) {
+		for (int i = 0; i < basketSize; i++) {
+			BigDecimal discounted = Calculate.calculateDiscountedPrice(unitPrices[i], discountPercentages[i],
+					discountValues[i]);
+			blackhole.consume(CalculateUtil.isLessThanOrEqual(minPrices[i], discounted));
+		}
+	}
+
+	/** The item total check: recompute each line and compare with the client's total. */
+	@Benchmark
+	public void verifyItemTotals(Blackhole blackhole) {
+		for (int i = 0; i < basketSize; i++) {
+			BigDecimal total = Calculate.calculateItemTotal(unitPrices[i], discountPercentages[i], discountValues[i],
+					quantities[i]);
+			blackhole.consume(CalculateUtil.isEquals(total, clientTotals[i]));
+		}
+	}
+
+	@Benchmark
+	public void applyDiscount(Blackhole blackhole) {
+		for (int i = 0; i < basketSize; i++) {
+			blackhole.consume(CalculateUtil.applyDiscount(unitPrices[i], discountPercentages[i]));
+		}
+	}
+}
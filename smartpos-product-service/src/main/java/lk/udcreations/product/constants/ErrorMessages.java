@@ -13,6 +13,14 @@ public class ErrorMessages {
 	// Product-related error messages
 	public static final String PRODUCT_NOT_FOUND = "Product not found with ID: ";
 	public static final String PRODUCT_NAME_EXISTS = "Product name already exists.";
+	public static final String PRODUCT_NAME_DELETED = "A deleted product has this name; create it on its own to reactivate it.";
+	public static final String PRODUCT_SKU_EXISTS = "SKU already exists: ";
+	public static final String PRODUCT_NAME_REPEATED = "Product name appears more than once in the import.";
+	public static final String PRODUCT_SKU_REPEATED = "SKU appears more than once in the import: ";
+	public static final String INVALID_DATE = "Invalid date, expected yyyy-MM-dd: ";
+	public static final String REPRICE_SCOPE_REQUIRED = "Give exactly one of categoryId, distributorId or productIds.";
+	public static final String REPRICE_ADJUSTMENT_REQUIRED = "Give at least one of price, costPrice or minPrice.";
+	public static final String REPRICE_NEGATIVE_PRICE = "Repricing would make prices negative for products: ";
 
 	// Distributor-related error messages
 	public static final String DISTRIBUTOR_NOT_FOUND = "Distributor not found with ID: ";
@@ -21,6 +29,7 @@ public class ErrorMessages {
 	// Inventory-related error messages
 	public static final String INVENTORY_NOT_FOUND = "Inventory not found with ID: ";
 	public static final String INVENTORY_NOT_ENOUGHT_STOCK = "Not enough stock available";
+	public static final String INVALID_STOCK_QUANTITY = "Stock quantity must be at least 1, got: ";
 
 	// Product-related error messages
 	public static final String PRODUCT_NOT_ACTIVE = "This product cannot sell.";
@@ -28,6 +37,8 @@ public class ErrorMessages {
     // General error messages
     public static final String INVALID_INPUT = "Invalid input provided.";
     public static final String UNEXPECTED_ERROR = "An unexpected error occurred.";
+    public static final String INVALID_CURSOR = "Invalid page cursor: ";
+    public static final String INVALID_PAGE_LIMIT = "Page limit must be at least 1, got: ";
 	public static final String EMAIL_EXISTS = "Email already exists.";
 
     private ErrorMessages() {
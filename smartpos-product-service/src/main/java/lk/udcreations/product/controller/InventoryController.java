@@ -1,7 +1,9 @@
 package lk.udcreations.product.controller;
 
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -9,7 +11,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,7 +24,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lk.udcreations.common.dto.inventory.InventoryDTO;
 import lk.udcreations.common.dto.inventory.StockDTO;
+import lk.udcreations.product.dto.KeysetPageDTO;
 import lk.udcreations.product.entity.Inventory;
+import lk.udcreations.product.notification.StockLevelNotifier;
 import lk.udcreations.product.service.InventoryService;
 
 @RestController
@@ -29,10 +35,12 @@ import lk.udcreations.product.service.InventoryService;
 public class InventoryController {
 
 	private final InventoryService inventoryService;
+	private final StockLevelNotifier stockLevelNotifier;
 
-	public InventoryController(InventoryService inventoryService) {
+	public InventoryController(InventoryService inventoryService, StockLevelNotifier stockLevelNotifier) {
 		super();
 		this.inventoryService = inventoryService;
+		this.stockLevelNotifier = stockLevelNotifier;
 	}
 
 	@Operation(summary = "Add stock", description = "Add stock to a product by product ID.")
@@ -46,6 +54,17 @@ public class InventoryController {
 		return ResponseEntity.ok(inventoryService.addStock(productId, quantity.getQuantity()));
 	}
 
+	@Operation(summary = "Add stock to many products", description = "Add stock to several products in one call, such as the products of a return. The body maps product IDs to quantities; nothing is added when a product is unknown, or when the request key was already applied.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Number of products restocked"),
+			@ApiResponse(responseCode = "400", description = "Invalid quantity", content = @Content),
+			@ApiResponse(responseCode = "404", description = "Product not found", content = @Content) })
+	@PostMapping("/addStock")
+	public ResponseEntity<Integer> addStocks(
+			@Parameter(description = "Idempotency key of the request") @RequestParam(required = false) String requestKey,
+			@Parameter(description = "Quantity to add by product ID") @RequestBody Map<Integer, Integer> quantities) {
+		return ResponseEntity.ok(inventoryService.addStocks(requestKey, quantities));
+	}
+
 	@Operation(summary = "Decrease stock", description = "Decrease stock for a product by product ID.")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Stock decreased successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = InventoryDTO.class))),
@@ -57,6 +76,18 @@ public class InventoryController {
 		return ResponseEntity.ok(inventoryService.decreaseStock(productId, quantity.getQuantity()));
 	}
 
+	@Operation(summary = "Check and decrease stock", description = "Atomically decrease stock for a product only if enough is available. Returns false when there is not enough stock.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "True if the stock was decreased, false if there was not enough"),
+			@ApiResponse(responseCode = "400", description = "Invalid quantity", content = @Content),
+			@ApiResponse(responseCode = "404", description = "Product not found", content = @Content) })
+	@PostMapping("/checkAndDecreaseStock/{productId}")
+	public ResponseEntity<Boolean> checkAndDecreaseStock(
+			@Parameter(description = "Product ID to decrease stock") @PathVariable Integer productId,
+			@Parameter(description = "Quantity to decrease") @RequestBody StockDTO quantity) {
+		return ResponseEntity.ok(inventoryService.tryDecreaseStock(productId, quantity.getQuantity()));
+	}
+
 	@Operation(summary = "Get stock level", description = "Fetch the current stock level of a product.")
 	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Stock level fetched successfully"),
 			@ApiResponse(responseCode = "404", description = "Product not found", content = @Content) })
@@ -86,11 +117,14 @@ public class InventoryController {
 		return ResponseEntity.ok(inventoryService.updateStockLevel(productId, inventory));
 	}
 
-	@Operation(summary = "Get all inventory items", description = "Retrieve all inventory items.")
-	@ApiResponse(responseCode = "200", description = "Successfully retrieved inventory list")
+	@Operation(summary = "Get all inventory items", description = "Retrieve inventory items one page at a time, ordered by inventory ID. Pass the returned nextCursor to fetch the following page.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Successfully retrieved inventory page"),
+			@ApiResponse(responseCode = "400", description = "Invalid cursor or limit", content = @Content) })
 	@GetMapping("/all")
-	public ResponseEntity<List<InventoryDTO>> getAllInventoryItems() {
-		return ResponseEntity.ok(inventoryService.getAllInventoryItems());
+	public ResponseEntity<KeysetPageDTO<InventoryDTO>> getAllInventoryItems(
+			@Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Maximum number of items to return") @RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(inventoryService.getAllInventoryItems(cursor, limit));
 	}
 
 	@Operation(summary = "Check stock alerts", description = "Retrieve products below stock alert levels.")
@@ -107,6 +141,13 @@ public class InventoryController {
 		return ResponseEntity.ok(inventoryService.checkStockWarning());
 	}
 
+	@Operation(summary = "Stream stock level events", description = "Server-sent events for products crossing their alert or warning level: stock-alert and stock-warning. A resync event means events were dropped for a slow client, which should reload /alerts and /warnings.")
+	@ApiResponse(responseCode = "200", description = "Event stream opened")
+	@GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamStockEvents() {
+		return stockLevelNotifier.subscribe();
+	}
+
 	
 	@GetMapping("/checkStockAvailability/{productId}/{quantity}")
 	public boolean checkStockAvailability(
@@ -1,6 +1,8 @@
 package lk.udcreations.product.controller;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -24,6 +27,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lk.udcreations.common.dto.product.CreateProductDTO;
 import lk.udcreations.common.dto.product.ProductDTO;
+import lk.udcreations.product.dto.KeysetPageDTO;
+import lk.udcreations.product.dto.ProductImportResultDTO;
+import lk.udcreations.product.dto.ProductPriceChangesDTO;
+import lk.udcreations.product.dto.RepriceRequestDTO;
+import lk.udcreations.product.dto.RepriceResultDTO;
+import lk.udcreations.product.dto.SellabilityDTO;
+import lk.udcreations.product.service.ProductImportService;
+import lk.udcreations.product.service.ProductRepriceService;
 import lk.udcreations.product.service.ProductService;
 
 @RestController
@@ -32,18 +43,26 @@ import lk.udcreations.product.service.ProductService;
 public class ProductController {
 
 	private final ProductService productService;
+	private final ProductImportService productImportService;
+	private final ProductRepriceService productRepriceService;
 
-	public ProductController(ProductService productService) {
+	public ProductController(ProductService productService, ProductImportService productImportService,
+			ProductRepriceService productRepriceService) {
 		super();
 		this.productService = productService;
+		this.productImportService = productImportService;
+		this.productRepriceService = productRepriceService;
 	}
 	
 	/** Get all products */
-	@Operation(summary = "Get all products", description = "Retrieve all products, including soft-deleted ones.")
-	@ApiResponse(responseCode = "200", description = "Successfully retrieved products")
+	@Operation(summary = "Get all products", description = "Retrieve products, including soft-deleted ones, one page at a time ordered by ID. Pass the returned nextCursor to fetch the following page.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Successfully retrieved products"),
+			@ApiResponse(responseCode = "400", description = "Invalid cursor or limit", content = @Content) })
 	@GetMapping("/all")
-	public ResponseEntity<List<ProductDTO>> getAllProducts() {
-		return ResponseEntity.ok(productService.getAllProducts());
+	public ResponseEntity<KeysetPageDTO<ProductDTO>> getAllProducts(
+			@Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Maximum number of products to return") @RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(productService.getAllProducts(cursor, limit));
 	}
 
 	/** Get all non-deleted products */
@@ -65,6 +84,36 @@ public class ProductController {
 		return ResponseEntity.ok(productService.getProductDTOById(id));
 	}
 
+	/** Get products by a list of IDs */
+	@Operation(summary = "Get products by IDs", description = "Retrieve products for a list of IDs in one call, keyed by ID. Unknown IDs are left out of the result.")
+	@ApiResponse(responseCode = "200", description = "Successfully retrieved products")
+	@PostMapping("/batch")
+	public ResponseEntity<Map<Integer, ProductDTO>> getProductsByIds(
+			@Parameter(description = "IDs of the products to retrieve") @RequestBody List<Integer> ids) {
+		return ResponseEntity.ok(productService.getProductsByIds(ids));
+	}
+
+	/** Check whether a product can be sold in the given quantity */
+	@Operation(summary = "Get product sellability", description = "Retrieve the enabled and deleted flags, price, minimum price and stock availability of a product in one call.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Sellability retrieved", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SellabilityDTO.class))),
+			@ApiResponse(responseCode = "404", description = "Product not found", content = @Content) })
+	@GetMapping("/{id}/sellability")
+	public ResponseEntity<SellabilityDTO> getSellability(
+			@Parameter(description = "ID of the product to check") @PathVariable Integer id,
+			@Parameter(description = "Quantity to sell") @RequestParam(defaultValue = "1") int qty) {
+		return ResponseEntity.ok(productService.getSellability(id, qty));
+	}
+
+	/** Check whether many products can be sold in the given quantities */
+	@Operation(summary = "Get sellability of many products", description = "Retrieve the sellability of several products in one call. The body maps product IDs to quantities; unknown IDs are left out of the result.")
+	@ApiResponse(responseCode = "200", description = "Sellability retrieved")
+	@PostMapping("/sellability")
+	public ResponseEntity<Map<Integer, SellabilityDTO>> getSellabilities(
+			@Parameter(description = "Quantity to sell by product ID") @RequestBody Map<Integer, Integer> quantities) {
+		return ResponseEntity.ok(productService.getSellabilities(quantities));
+	}
+
 	/** Create a new product */
 	@Operation(summary = "Create a new product", description = "Add a new product to the system.")
 	@ApiResponses(value = {
@@ -77,6 +126,44 @@ public class ProductController {
 		return productService.createProduct(createProduct);
 	}
 
+	/** Import products from a CSV file */
+	@Operation(summary = "Import products from CSV", description = "Create many products from a CSV file whose header names the product fields. Rows are written in batches; rejected rows are listed with their line number and do not stop the import.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Import finished", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductImportResultDTO.class))),
+			@ApiResponse(responseCode = "400", description = "Missing or unknown header columns", content = @Content) })
+	@PostMapping(path = "/import", consumes = "text/csv")
+	public ResponseEntity<ProductImportResultDTO> importProductsCsv(InputStream body) {
+		return ResponseEntity.ok(productImportService.importCsv(body));
+	}
+
+	/** Import products from an NDJSON file */
+	@Operation(summary = "Import products from NDJSON", description = "Create many products from newline-delimited JSON, one product per line. Rows are written in batches; rejected rows are listed with their line number and do not stop the import.")
+	@ApiResponse(responseCode = "200", description = "Import finished", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductImportResultDTO.class)))
+	@PostMapping(path = "/import", consumes = "application/x-ndjson")
+	public ResponseEntity<ProductImportResultDTO> importProductsNdjson(InputStream body) {
+		return ResponseEntity.ok(productImportService.importNdjson(body));
+	}
+
+	/** Reprice many products at once */
+	@Operation(summary = "Reprice products", description = "Adjust the price, cost price and minimum price of every active product in a category, of a distributor or in an ID list by a percentage or an amount. Only products whose prices change are written, and each of them is added to the price change feed.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Products repriced", content = @Content(mediaType = "application/json", schema = @Schema(implementation = RepriceResultDTO.class))),
+			@ApiResponse(responseCode = "400", description = "Missing scope or adjustment, or a price would become negative", content = @Content) })
+	@PostMapping("/reprice")
+	public ResponseEntity<RepriceResultDTO> repriceProducts(
+			@Parameter(description = "Products to reprice and how") @Valid @RequestBody RepriceRequestDTO request) {
+		return ResponseEntity.ok(productRepriceService.reprice(request));
+	}
+
+	/** Get the price change feed */
+	@Operation(summary = "Get price changes", description = "Retrieve the product price changes after a change ID, oldest first. Without a change ID only lastChangeId is returned, to start polling from.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Successfully retrieved price changes"),
+			@ApiResponse(responseCode = "400", description = "Invalid limit", content = @Content) })
+	@GetMapping("/price-changes")
+	public ResponseEntity<ProductPriceChangesDTO> getPriceChanges(
+			@Parameter(description = "Change ID to read after, usually the lastChangeId of the previous call") @RequestParam(required = false) Long after,
+			@Parameter(description = "Maximum number of changes to return") @RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(productRepriceService.getPriceChanges(after, limit));
+	}
+
 	/** Update a product */
 	@Operation(summary = "Update a product", description = "Update product details by its ID.")
 	@ApiResponses(value = {
@@ -0,0 +1,87 @@
+package lk.udcreations.product.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lk.udcreations.product.dto.ReserveStockDTO;
+import lk.udcreations.product.dto.StockReservationDTO;
+import lk.udcreations.product.service.StockReservationService;
+
+@RestController
+@RequestMapping("/api/v1/inventory/reservations")
+@Tag(name = "Stock Reservation API", description = "Endpoints for holding stock for draft sales")
+public class StockReservationController {
+
+	private final StockReservationService stockReservationService;
+
+	public StockReservationController(StockReservationService stockReservationService) {
+		super();
+		this.stockReservationService = stockReservationService;
+	}
+
+	@Operation(summary = "Reserve stock", description = "Take stock of a product for a draft sale and hold it until the reservation expires.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "201", description = "Stock reserved", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StockReservationDTO.class))),
+			@ApiResponse(responseCode = "404", description = "Product not found", content = @Content),
+			@ApiResponse(responseCode = "409", description = "Not enough stock", content = @Content) })
+	@PostMapping
+	public ResponseEntity<StockReservationDTO> reserve(
+			@Parameter(description = "Sale, product and quantity to reserve") @Valid @RequestBody ReserveStockDTO request) {
+		return ResponseEntity.status(201).body(stockReservationService.reserve(request));
+	}
+
+	@Operation(summary = "Commit reservations", description = "Make the stock reservations of a finalized sale permanent.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Number of reservations committed"),
+			@ApiResponse(responseCode = "409", description = "Expired reservation could not be taken again", content = @Content) })
+	@PostMapping("/sale/{saleId}/commit")
+	public ResponseEntity<Integer> commitSale(
+			@Parameter(description = "ID of the finalized sale") @PathVariable Integer saleId) {
+		return ResponseEntity.ok(stockReservationService.commitSale(saleId));
+	}
+
+	@Operation(summary = "Take checkout stock", description = "Take the stock of a sale checked out from a till basket. Calling it again with the same checkout key takes nothing.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Number of products taken for the checkout"),
+			@ApiResponse(responseCode = "404", description = "Product not found", content = @Content),
+			@ApiResponse(responseCode = "409", description = "Not enough stock", content = @Content) })
+	@PostMapping("/checkout/{checkoutKey}")
+	public ResponseEntity<Integer> commitCheckout(
+			@Parameter(description = "Idempotency key of the till basket") @PathVariable String checkoutKey,
+			@Parameter(description = "ID of the sale written for the basket") @RequestParam Integer saleId,
+			@Parameter(description = "Quantities keyed by product ID") @RequestBody Map<Integer, Integer> quantities) {
+		return ResponseEntity.ok(stockReservationService.commitCheckout(checkoutKey, saleId, quantities));
+	}
+
+	@Operation(summary = "Release reservations", description = "Give back the stock held for a sale, or only for one product of it.")
+	@ApiResponse(responseCode = "200", description = "Number of reservations released")
+	@PostMapping("/sale/{saleId}/release")
+	public ResponseEntity<Integer> releaseSale(
+			@Parameter(description = "ID of the sale") @PathVariable Integer saleId,
+			@Parameter(description = "Release only this product") @RequestParam(required = false) Integer productId) {
+		return ResponseEntity.ok(stockReservationService.releaseSale(saleId, productId));
+	}
+
+	@Operation(summary = "Release part of a reservation", description = "Give back some of the units of one product held for a sale, such as when a till lowers the quantity of an item.")
+	@ApiResponse(responseCode = "200", description = "Number of units released")
+	@PostMapping("/sale/{saleId}/release/{productId}")
+	public ResponseEntity<Integer> releaseQuantity(
+			@Parameter(description = "ID of the sale") @PathVariable Integer saleId,
+			@Parameter(description = "ID of the product") @PathVariable Integer productId,
+			@Parameter(description = "Units to give back") @RequestParam int quantity) {
+		return ResponseEntity.ok(stockReservationService.releaseQuantity(saleId, productId, quantity));
+	}
+}
@@ -0,0 +1,37 @@
+package lk.udcreations.product.dto;
+
+import lk.udcreations.product.entity.Inventory;
+import lk.udcreations.product.entity.Product;
+
+/** An inventory row read together with its product by one join query. */
+public class InventoryProductDTO {
+
+	private Inventory inventory;
+	private Product product;
+
+	public InventoryProductDTO() {
+		super();
+	}
+
+	public InventoryProductDTO(Inventory inventory, Product product) {
+		super();
+		this.inventory = inventory;
+		this.product = product;
+	}
+
+	public Inventory getInventory() {
+		return inventory;
+	}
+
+	public void setInventory(Inventory inventory) {
+		this.inventory = inventory;
+	}
+
+	public Product getProduct() {
+		return product;
+	}
+
+	public void setProduct(Product product) {
+		this.product = product;
+	}
+}
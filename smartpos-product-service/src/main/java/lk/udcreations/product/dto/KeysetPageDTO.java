@@ -0,0 +1,47 @@
+package lk.udcreations.product.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** One page of a keyset paginated listing with the token for the next page. */
+public class KeysetPageDTO<T> {
+
+	private List<T> content = new ArrayList<>();
+	private String nextCursor;
+	private boolean hasNext;
+
+	public KeysetPageDTO() {
+		super();
+	}
+
+	public KeysetPageDTO(List<T> content, String nextCursor) {
+		super();
+		this.content = content;
+		this.nextCursor = nextCursor;
+		this.hasNext = nextCursor != null;
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public void setContent(List<T> content) {
+		this.content = content;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
+	public boolean isHasNext() {
+		return hasNext;
+	}
+
+	public void setHasNext(boolean hasNext) {
+		this.hasNext = hasNext;
+	}
+}
@@ -0,0 +1,44 @@
+package lk.udcreations.product.dto;
+
+/** A row of a product import that was not imported, and why. */
+public class ProductImportErrorDTO {
+
+	private long line;
+	private String productName;
+	private String message;
+
+	public ProductImportErrorDTO() {
+		super();
+	}
+
+	public ProductImportErrorDTO(long line, String productName, String message) {
+		super();
+		this.line = line;
+		this.productName = productName;
+		this.message = message;
+	}
+
+	public long getLine() {
+		return line;
+	}
+
+	public void setLine(long line) {
+		this.line = line;
+	}
+
+	public String getProductName() {
+		return productName;
+	}
+
+	public void setProductName(String productName) {
+		this.productName = productName;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+}
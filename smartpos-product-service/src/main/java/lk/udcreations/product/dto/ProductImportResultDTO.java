@@ -0,0 +1,44 @@
+package lk.udcreations.product.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Outcome of a bulk product import: row counts and the rows that were rejected. */
+public class ProductImportResultDTO {
+
+	private int total;
+	private int imported;
+	private List<ProductImportErrorDTO> errors = new ArrayList<>();
+
+	public ProductImportResultDTO() {
+		super();
+	}
+
+	public int getTotal() {
+		return total;
+	}
+
+	public void setTotal(int total) {
+		this.total = total;
+	}
+
+	public int getImported() {
+		return imported;
+	}
+
+	public void setImported(int imported) {
+		this.imported = imported;
+	}
+
+	public int getFailed() {
+		return errors.size();
+	}
+
+	public List<ProductImportErrorDTO> getErrors() {
+		return errors;
+	}
+
+	public void setErrors(List<ProductImportErrorDTO> errors) {
+		this.errors = errors;
+	}
+}
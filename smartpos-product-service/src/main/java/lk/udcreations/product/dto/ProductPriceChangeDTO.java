@@ -0,0 +1,67 @@
+package lk.udcreations.product.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** One entry of the price change feed. */
+public class ProductPriceChangeDTO {
+
+	private Long changeId;
+	private Integer productId;
+	private BigDecimal price;
+	private BigDecimal costPrice;
+	private BigDecimal minPrice;
+	private LocalDateTime changedAt;
+
+	public ProductPriceChangeDTO() {
+		super();
+	}
+
+	public Long getChangeId() {
+		return changeId;
+	}
+
+	public void setChangeId(Long changeId) {
+		this.changeId = changeId;
+	}
+
+	public Integer getProductId() {
+		return productId;
+	}
+
+	public void setProductId(Integer productId) {
+		this.productId = productId;
+	}
+
+	public BigDecimal getPrice() {
+		return price;
+	}
+
+	public void setPrice(BigDecimal price) {
+		this.price = price;
+	}
+
+	public BigDecimal getCostPrice() {
+		return costPrice;
+	}
+
+	public void setCostPrice(BigDecimal costPrice) {
+		this.costPrice = costPrice;
+	}
+
+	public BigDecimal getMinPrice() {
+		return minPrice;
+	}
+
+	public void setMinPrice(BigDecimal minPrice) {
+		this.minPrice = minPrice;
+	}
+
+	public LocalDateTime getChangedAt() {
+		return changedAt;
+	}
+
+	public void setChangedAt(LocalDateTime changedAt) {
+		this.changedAt = changedAt;
+	}
+}
@@ -0,0 +1,90 @@
+package lk.udcreations.product.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Price change for every active product of a category, of a distributor or
+ * in an ID list (exactly one of the three). Each adjustment is a percentage
+ * or an amount added to the current value, negative to lower it; a null
+ * adjustment leaves that price alone.
+ */
+public class RepriceRequestDTO {
+
+	public enum Mode {
+		PERCENT, AMOUNT
+	}
+
+	private Integer categoryId;
+	private Integer distributorId;
+	private List<Integer> productIds;
+
+	@NotNull(message = "Mode is required")
+	private Mode mode;
+
+	private BigDecimal price;
+	private BigDecimal costPrice;
+	private BigDecimal minPrice;
+
+	public RepriceRequestDTO() {
+		super();
+	}
+
+	public Integer getCategoryId() {
+		return categoryId;
+	}
+
+	public void setCategoryId(Integer categoryId) {
+		this.categoryId = categoryId;
+	}
+
+	public Integer getDistributorId() {
+		return distributorId;
+	}
+
+	public void setDistributorId(Integer distributorId) {
+		this.distributorId = distributorId;
+	}
+
+	public List<Integer> getProductIds() {
+		return productIds;
+	}
+
+	public void setProductIds(List<Integer> productIds) {
+		this.productIds = productIds;
+	}
+
+	public Mode getMode() {
+		return mode;
+	}
+
+	public void setMode(Mode mode) {
+		this.mode = mode;
+	}
+
+	public BigDecimal getPrice() {
+		return price;
+	}
+
+	public void setPrice(BigDecimal price) {
+		this.price = price;
+	}
+
+	public BigDecimal getCostPrice() {
+		return costPrice;
+	}
+
+	public void setCostPrice(BigDecimal costPrice) {
+		this.costPrice = costPrice;
+	}
+
+	public BigDecimal getMinPrice() {
+		return minPrice;
+	}
+
+	public void setMinPrice(BigDecimal minPrice) {
+		this.minPrice = minPrice;
+	}
+}
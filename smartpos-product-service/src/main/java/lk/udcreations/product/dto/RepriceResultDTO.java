@@ -0,0 +1,34 @@
+package lk.udcreations.product.dto;
+
+/** Outcome of a repricing run: its batch ID in the price change feed and how many products changed. */
+public class RepriceResultDTO {
+
+	private String batchId;
+	private int updated;
+
+	public RepriceResultDTO() {
+		super();
+	}
+
+	public RepriceResultDTO(String batchId, int updated) {
+		super();
+		this.batchId = batchId;
+		this.updated = updated;
+	}
+
+	public String getBatchId() {
+		return batchId;
+	}
+
+	public void setBatchId(String batchId) {
+		this.batchId = batchId;
+	}
+
+	public int getUpdated() {
+		return updated;
+	}
+
+	public void setUpdated(int updated) {
+		this.updated = updated;
+	}
+}
@@ -0,0 +1,52 @@
+package lk.udcreations.product.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/** Request to hold stock of one product for a draft sale. */
+public class ReserveStockDTO {
+
+	@NotNull(message = "Sale is required")
+	private Integer saleId;
+
+	@NotNull(message = "Product is required")
+	private Integer productId;
+
+	@Min(value = 1, message = "Quantity must be at least 1")
+	private int quantity;
+
+	public ReserveStockDTO() {
+		super();
+	}
+
+	public ReserveStockDTO(Integer saleId, Integer productId, int quantity) {
+		super();
+		this.saleId = saleId;
+		this.productId = productId;
+		this.quantity = quantity;
+	}
+
+	public Integer getSaleId() {
+		return saleId;
+	}
+
+	public void setSaleId(Integer saleId) {
+		this.saleId = saleId;
+	}
+
+	public Integer getProductId() {
+		return productId;
+	}
+
+	public void setProductId(Integer productId) {
+		this.productId = productId;
+	}
+
+	public int getQuantity() {
+		return quantity;
+	}
+
+	public void setQuantity(int quantity) {
+		this.quantity = quantity;
+	}
+}
@@ -0,0 +1,96 @@
+package lk.udcreations.product.dto;
+
+import java.math.BigDecimal;
+
+/** Everything the till needs to decide whether a product can be sold in a given quantity. */
+public class SellabilityDTO {
+
+	private Integer id;
+	private String productId;
+	private boolean enabled;
+	private boolean deleted;
+	private BigDecimal price;
+	private BigDecimal minPrice;
+	private int stockQuantity;
+	private boolean stockAvailable;
+
+	public SellabilityDTO() {
+		super();
+	}
+
+	public SellabilityDTO(Integer id, String productId, boolean enabled, boolean deleted, BigDecimal price,
+			BigDecimal minPrice, Integer stockQuantity) {
+		super();
+		this.id = id;
+		this.productId = productId;
+		this.enabled = enabled;
+		this.deleted = deleted;
+		this.price = price;
+		this.minPrice = minPrice;
+		this.stockQuantity = stockQuantity == null ? 0 : stockQuantity;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public void setId(Integer id) {
+		this.id = id;
+	}
+
+	public String getProductId() {
+		return productId;
+	}
+
+	public void setProductId(String productId) {
+		this.productId = productId;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isDeleted() {
+		return deleted;
+	}
+
+	public void setDeleted(boolean deleted) {
+		this.deleted = deleted;
+	}
+
+	public BigDecimal getPrice() {
+		return price;
+	}
+
+	public void setPrice(BigDecimal price) {
+		this.price = price;
+	}
+
+	public BigDecimal getMinPrice() {
+		return minPrice;
+	}
+
+	public void setMinPrice(BigDecimal minPrice) {
+		this.minPrice = minPrice;
+	}
+
+	public int getStockQuantity() {
+		return stockQuantity;
+	}
+
+	public void setStockQuantity(int stockQuantity) {
+		this.stockQuantity = stockQuantity;
+	}
+
+	public boolean isStockAvailable() {
+		return stockAvailable;
+	}
+
+	public void setStockAvailable(boolean stockAvailable) {
+		this.stockAvailable = stockAvailable;
+	}
+}
@@ -0,0 +1,81 @@
+package lk.udcreations.product.dto;
+
+import java.time.LocalDateTime;
+
+/** A product whose stock went below, or came back above, its alert or warning level. */
+public class StockLevelEventDTO {
+
+	public enum Level {
+		ALERT, WARNING
+	}
+
+	private Integer productId;
+	private Level level;
+	private boolean below;
+	private int quantity;
+	private Integer threshold;
+	private LocalDateTime occurredAt;
+
+	public StockLevelEventDTO() {
+		super();
+	}
+
+	public StockLevelEventDTO(Integer productId, Level level, boolean below, int quantity, Integer threshold,
+			LocalDateTime occurredAt) {
+		super();
+		this.productId = productId;
+		this.level = level;
+		this.below = below;
+		this.quantity = quantity;
+		this.threshold = threshold;
+		this.occurredAt = occurredAt;
+	}
+
+	public Integer getProductId() {
+		return productId;
+	}
+
+	public void setProductId(Integer productId) {
+		this.productId = productId;
+	}
+
+	public Level getLevel() {
+		return level;
+	}
+
+	public void setLevel(Level level) {
+		this.level = level;
+	}
+
+	public boolean isBelow() {
+		return below;
+	}
+
+	public void setBelow(boolean below) {
+		this.below = below;
+	}
+
+	public int getQuantity() {
+		return quantity;
+	}
+
+	public void setQuantity(int quantity) {
+		this.quantity = quantity;
+	}
+
+	public Integer getThreshold() {
+		return threshold;
+	}
+
+	public void setThreshold(Integer threshold) {
+		this.threshold = threshold;
+	}
+
+	public LocalDateTime getOccurredAt() {
+		return occurredAt;
+	}
+
+	public void setOccurredAt(LocalDateTime occurredAt) {
+		this.occurredAt = occurredAt;
+	}
+}
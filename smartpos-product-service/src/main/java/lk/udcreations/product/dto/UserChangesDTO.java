@@ -0,0 +1,64 @@
+package lk.udcreations.product.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Users changed since a point in time, with the point to ask from next. */
+public class UserChangesDTO {
+
+	private LocalDateTime asOf;
+	private List<Integer> userIds = new ArrayList<>();
+	private List<String> usernames = new ArrayList<>();
+	/** Old usernames of users renamed in the window; caches keyed by username drop these too. */
+	private List<String> previousUsernames = new ArrayList<>();
+
+	public UserChangesDTO() {
+		super();
+	}
+
+	public UserChangesDTO(LocalDateTime asOf, List<Integer> userIds, List<String> usernames) {
+		super();
+		this.asOf = asOf;
+		this.userIds = userIds;
+		this.usernames = usernames;
+	}
+
+	public UserChangesDTO(LocalDateTime asOf, List<Integer> userIds, List<String> usernames,
+			List<String> previousUsernames) {
+		this(asOf, userIds, usernames);
+		this.previousUsernames = previousUsernames;
+	}
+
+	public LocalDateTime getAsOf() {
+		return asOf;
+	}
+
+	public void setAsOf(LocalDateTime asOf) {
+		this.asOf = asOf;
+	}
+
+	public List<Integer> getUserIds() {
+		return userIds;
+	}
+
+	public void setUserIds(List<Integer> userIds) {
+		this.userIds = userIds;
+	}
+
+	public List<String> getUsernames() {
+		return usernames;
+	}
+
+	public void setUsernames(List<String> usernames) {
+		this.usernames = usernames;
+	}
+
+	public List<String> getPreviousUsernames() {
+		return previousUsernames;
+	}
+
+	public void setPreviousUsernames(List<String> previousUsernames) {
+		this.previousUsernames = previousUsernames;
+	}
+}
@@ -7,6 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -15,7 +16,8 @@ import lombok.Data;
 
 @Data
 @Entity
-@Table(name = "inventory")
+@Table(name = "inventory", indexes = { @Index(name = "idx_inventory_below_alert", columnList = "below_alert"),
+		@Index(name = "idx_inventory_below_warning", columnList = "below_warning") })
 public class Inventory {
 
 	@Id
@@ -39,14 +41,29 @@ public class Inventory {
 	@Column(name = "last_updated", columnDefinition = "timestamp default CURRENT_TIMESTAMP")
 	private LocalDateTime lastUpdated;
 
+	/** Quantity is at or below the alert level; kept current by every stock write so alerts use an index. */
+	@Column(name = "below_alert", nullable = false, columnDefinition = "boolean default false")
+	private boolean belowAlert;
+
+	/** Quantity is at or below the warning level; kept current like belowAlert. */
+	@Column(name = "below_warning", nullable = false, columnDefinition = "boolean default false")
+	private boolean belowWarning;
+
 
 	@PrePersist
 	protected void onCreate() {
 		this.lastUpdated = LocalDateTime.now();
+		refreshStockFlags();
 	}
 
 	@PreUpdate
 	protected void onUpdate() {
 		this.lastUpdated = LocalDateTime.now();
+		refreshStockFlags();
+	}
+
+	private void refreshStockFlags() {
+		this.belowAlert = quantity != null && stockAlertLevel != null && quantity <= stockAlertLevel;
+		this.belowWarning = quantity != null && stockWarningLevel != null && quantity <= stockWarningLevel;
 	}
 }
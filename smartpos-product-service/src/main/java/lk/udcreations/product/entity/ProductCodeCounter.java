@@ -0,0 +1,21 @@
+package lk.udcreations.product.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/** Next product code number of a category; blocks of numbers are taken from it under a row lock. */
+@Data
+@Entity
+@Table(name = "product_code_counter")
+public class ProductCodeCounter {
+
+	@Id
+	@Column(name = "category_id")
+	private Integer categoryId;
+
+	@Column(name = "next_value", nullable = false)
+	private Long nextValue;
+}
@@ -0,0 +1,48 @@
+package lk.udcreations.product.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * New prices of a product, one row per change. Read in change ID order, the
+ * table is the feed other services use to drop their cached prices.
+ */
+@Data
+@Entity
+@Table(name = "product_price_change", indexes = {
+		@Index(name = "idx_product_price_change_batch", columnList = "batch_id, product_id") })
+public class ProductPriceChange {
+
+	@Id
+	@Column(name = "change_id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long changeId;
+
+	/** Repricing run that wrote the row; null for single product edits. */
+	@Column(name = "batch_id", length = 36)
+	private String batchId;
+
+	@Column(name = "product_id", nullable = false)
+	private Integer productId;
+
+	@Column(name = "price", precision = 10, scale = 2, nullable = false)
+	private BigDecimal price;
+
+	@Column(name = "cost_price", precision = 10, scale = 2, nullable = false)
+	private BigDecimal costPrice;
+
+	@Column(name = "min_price", precision = 10, scale = 2)
+	private BigDecimal minPrice;
+
+	@Column(name = "changed_at", nullable = false)
+	private LocalDateTime changedAt;
+}
@@ -0,0 +1,32 @@
+package lk.udcreations.product.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/** Key of a bulk stock change already applied, so a resent request does not apply it again. */
+@Data
+@Entity
+@Table(name = "stock_request")
+public class StockRequest {
+
+	@Id
+	@Column(name = "request_key", length = 64)
+	private String requestKey;
+
+	@Column(name = "product_count", nullable = false)
+	private Integer productCount;
+
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	@PrePersist
+	protected void onCreate() {
+		this.createdAt = LocalDateTime.now();
+	}
+}
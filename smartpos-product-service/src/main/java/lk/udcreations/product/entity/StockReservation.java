@@ -0,0 +1,65 @@
+package lk.udcreations.product.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "stock_reservation", indexes = { @Index(name = "idx_stock_reservation_sale", columnList = "sale_id"),
+		@Index(name = "idx_stock_reservation_expiry", columnList = "status, expires_at") }, uniqueConstraints = {
+				@UniqueConstraint(name = "uk_stock_reservation_checkout", columnNames = { "checkout_key", "product_id" }) })
+public class StockReservation {
+
+	/** HELD stock is already taken from inventory; RELEASED and EXPIRED rows have given it back. */
+	public enum Status {
+		HELD, COMMITTED, RELEASED, EXPIRED
+	}
+
+	@Id
+	@Column(name = "reservation_id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Integer reservationId;
+
+	@Column(name = "sale_id", nullable = false)
+	@NotNull(message = "Sale is required")
+	private Integer saleId;
+
+	@Column(name = "product_id", nullable = false)
+	@NotNull(message = "Product is required")
+	private Integer productId;
+
+	/** Key of the till basket whose stock this row took, so the same basket never takes it twice. */
+	@Column(name = "checkout_key", length = 64)
+	private String checkoutKey;
+
+	@Column(name = "quantity", nullable = false)
+	private Integer quantity;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false, length = 16)
+	private Status status;
+
+	@Column(name = "expires_at", nullable = false)
+	private LocalDateTime expiresAt;
+
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	@PrePersist
+	protected void onCreate() {
+		this.createdAt = LocalDateTime.now();
+	}
+}
@@ -31,6 +31,12 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
 	}
 
+	/** Handle InsufficientStockException (409) */
+	@ExceptionHandler(InsufficientStockException.class)
+	public ResponseEntity<String> handleInsufficientStockException(InsufficientStockException ex) {
+		return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+	}
+
 	/** Handle IllegalArgumentException (400) */
 	@ExceptionHandler(IllegalArgumentException.class)
 	public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
@@ -0,0 +1,40 @@
+package lk.udcreations.product.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+import lk.udcreations.common.dto.category.CategoryDTO;
+import lk.udcreations.common.dto.distributor.DistributorDTO;
+import lk.udcreations.common.dto.inventory.InventoryDTO;
+import lk.udcreations.common.dto.product.ProductDTO;
+import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
+import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.product.dto.ProductPriceChangeDTO;
+import lk.udcreations.product.entity.Category;
+import lk.udcreations.product.entity.Distributor;
+import lk.udcreations.product.entity.Inventory;
+import lk.udcreations.product.entity.Product;
+import lk.udcreations.product.entity.ProductPriceChange;
+
+/**
+ * Entity to DTO mappings for products, generated at compile time.
+ * 
+ * Nested DTOs (category, distributor, inventory, product, audit users) are not
+ * part of the entities and are set by the calling service.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface ProductMapper {
+
+	ProductDTO toDTO(Product product);
+
+	CategoryDTO toDTO(Category category);
+
+	DistributorDTO toDTO(Distributor distributor);
+
+	InventoryDTO toDTO(Inventory inventory);
+
+	ProductPriceChangeDTO toDTO(ProductPriceChange change);
+
+	CreatedUpdatedUserDTO toCreatedUpdatedUserDTO(UsersDTO user);
+}
@@ -0,0 +1,218 @@
+package lk.udcreations.product.notification;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import lk.udcreations.product.dto.StockLevelEventDTO;
+import lk.udcreations.product.dto.StockLevelEventDTO.Level;
+import lk.udcreations.product.entity.Inventory;
+
+/**
+ * Pushes stock level crossings to server-sent event subscribers. Events are
+ * sent only after the stock change commits. Each subscriber has its own
+ * bounded queue drained by its own virtual thread, so a slow client never
+ * holds up a stock write or the other clients. When a queue overflows its
+ * events are dropped and replaced by a single resync event, telling the
+ * client to reload the alert and warning lists.
+ */
+@Component
+public class StockLevelNotifier {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StockLevelNotifier.class);
+
+	static final String RESYNC_EVENT = "resync";
+
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+	private final AtomicLong eventIds = new AtomicLong();
+	private final int queueCapacity;
+	private final Duration timeout;
+
+	public StockLevelNotifier(@Value("${inventory.events.queue-capacity:100}") int queueCapacity,
+			@Value("${inventory.events.timeout:30m}") Duration timeout) {
+		super();
+		this.queueCapacity = queueCapacity;
+		this.timeout = timeout;
+	}
+
+	/** Open a new event stream */
+	public SseEmitter subscribe() {
+
+		SseEmitter emitter = new SseEmitter(timeout.toMillis());
+		Subscriber subscriber = new Subscriber(emitter, queueCapacity);
+		subscriber.onClose(() -> unsubscribe(subscriber));
+		subscribers.add(subscriber);
+		subscriber.start();
+		LOGGER.info("Stock event subscriber added, {} connected.", subscribers.size());
+		return emitter;
+	}
+
+	/** True when someone is listening, so callers can skip reads done only for events. */
+	public boolean hasSubscribers() {
+		return !subscribers.isEmpty();
+	}
+
+	/** The quantity of an inventory row changed; the row holds the new quantity. */
+	public void quantityChanged(Inventory inventory, int quantityBefore) {
+		publish(crossings(inventory.getProductId(), quantityBefore, inventory.getQuantity(),
+				inventory.getStockAlertLevel(), inventory.getStockAlertLevel(), inventory.getStockWarningLevel(),
+				inventory.getStockWarningLevel()));
+	}
+
+	/** The alert or warning level of an inventory row changed; the row holds the new levels. */
+	public void levelsChanged(Inventory inventory, Integer alertLevelBefore, Integer warningLevelBefore) {
+		publish(crossings(inventory.getProductId(), inventory.getQuantity(), inventory.getQuantity(), alertLevelBefore,
+				inventory.getStockAlertLevel(), warningLevelBefore, inventory.getStockWarningLevel()));
+	}
+
+	@PreDestroy
+	public void close() {
+		subscribers.forEach(subscriber -> subscriber.emitter.complete());
+		subscribers.clear();
+	}
+
+	/** The events for the levels whose below-or-not state differs before and after a change. */
+	static List<StockLevelEventDTO> crossings(Integer productId, Integer quantityBefore, Integer quantityAfter,
+			Integer alertBefore, Integer alertAfter, Integer warningBefore, Integer warningAfter) {
+
+		List<StockLevelEventDTO> events = new ArrayList<>(2);
+		LocalDateTime now = LocalDateTime.now();
+		boolean belowAlert = isBelow(quantityAfter, alertAfter);
+		if (isBelow(quantityBefore, alertBefore) != belowAlert) {
+			events.add(new StockLevelEventDTO(productId, Level.ALERT, belowAlert, quantityAfter, alertAfter, now));
+		}
+		boolean belowWarning = isBelow(quantityAfter, warningAfter);
+		if (isBelow(quantityBefore, warningBefore) != belowWarning) {
+			events.add(new StockLevelEventDTO(productId, Level.WARNING, belowWarning, quantityAfter, warningAfter, now));
+		}
+		return events;
+	}
+
+	/** Same rule as the below_alert and below_warning columns of the inventory table. */
+	private static boolean isBelow(Integer quantity, Integer level) {
+		return quantity != null && level != null && quantity <= level;
+	}
+
+	private void publish(List<StockLevelEventDTO> events) {
+
+		if (events.isEmpty() || subscribers.isEmpty()) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					deliver(events);
+				}
+			});
+		} else {
+			deliver(events);
+		}
+	}
+
+	private void deliver(List<StockLevelEventDTO> events) {
+		for (StockLevelEventDTO event : events) {
+			LOGGER.info("Product ID {} is {} its {} level: {} left.", event.getProductId(),
+					event.isBelow() ? "below" : "back above", event.getLevel(), event.getQuantity());
+			Set<DataWithMediaType> message = SseEmitter.event().id(String.valueOf(eventIds.incrementAndGet()))
+					.name("stock-" + event.getLevel().name().toLowerCase()).data(event, MediaType.APPLICATION_JSON)
+					.build();
+			subscribers.forEach(subscriber -> subscriber.offer(message));
+		}
+	}
+
+	private void unsubscribe(Subscriber subscriber) {
+		if (subscribers.remove(subscriber)) {
+			subscriber.stop();
+			LOGGER.info("Stock event subscriber removed, {} connected.", subscribers.size());
+		}
+	}
+
+	/** One connected client: its emitter, its queue and the thread writing to it. */
+	static final class Subscriber {
+
+		private final SseEmitter emitter;
+		private final BlockingQueue<Set<DataWithMediaType>> queue;
+		private final ReentrantLock lock = new ReentrantLock();
+		private Runnable closeHandler = () -> {
+		};
+		private Thread sender;
+
+		Subscriber(SseEmitter emitter, int capacity) {
+			this.emitter = emitter;
+			this.queue = new ArrayBlockingQueue<>(capacity);
+		}
+
+		/** Run once the stream is completed, timed out or broken. */
+		void onClose(Runnable handler) {
+			this.closeHandler = handler;
+			emitter.onCompletion(handler);
+			emitter.onTimeout(handler);
+			emitter.onError(ex -> handler.run());
+		}
+
+		/** Queue an event without blocking; on overflow keep only a resync event. */
+		boolean offer(Set<DataWithMediaType> message) {
+			lock.lock();
+			try {
+				if (queue.offer(message)) {
+					return true;
+				}
+				int dropped = queue.size() + 1;
+				queue.clear();
+				queue.offer(SseEmitter.event().name(RESYNC_EVENT).data("Events were dropped").build());
+				LOGGER.warn("Stock event subscriber is too slow, dropped {} events.", dropped);
+				return false;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		int pending() {
+			return queue.size();
+		}
+
+		void start() {
+			sender = Thread.ofVirtual().name("stock-events-sender").start(this::send);
+		}
+
+		void stop() {
+			if (sender != null) {
+				sender.interrupt();
+			}
+		}
+
+		private void send() {
+			try {
+				while (!Thread.currentThread().isInterrupted()) {
+					emitter.send(queue.take());
+				}
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			} catch (IOException | IllegalStateException ex) {
+				// The container reports the broken connection later, if at all; stop queueing for it now
+				LOGGER.debug("Stock event subscriber disconnected: {}", ex.getMessage());
+				closeHandler.run();
+			}
+		}
+	}
+}
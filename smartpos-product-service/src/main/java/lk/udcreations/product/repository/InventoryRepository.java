@@ -1,12 +1,17 @@
 package lk.udcreations.product.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import lk.udcreations.product.dto.InventoryProductDTO;
 import lk.udcreations.product.entity.Inventory;
 
 @Repository
@@ -14,14 +19,45 @@ public interface InventoryRepository extends JpaRepository<Inventory, Integer> {
 
 	Optional<Inventory> findByProductId(Integer id);
 
-	List<Inventory> findByQuantityLessThan(int num);
+	List<Inventory> findByProductIdIn(Collection<Integer> ids);
+
+	List<Inventory> findByInventoryIdGreaterThanOrderByInventoryIdAsc(Integer inventoryId, Limit limit);
 
-	@Query(value = "SELECT a.* FROM inventory a INNER JOIN inventory b ON a.inventory_id = b.inventory_id "
-			+ "WHERE a.quantity <= b.stock_alert_level", nativeQuery = true)
-	List<Inventory> findInventoryBelowStockAlertLevel();
+	List<Inventory> findByQuantityLessThan(int num);
 
-	@Query(value = "SELECT a.* FROM inventory a INNER JOIN inventory b ON a.inventory_id = b.inventory_id "
-			+ "WHERE a.quantity <= b.stock_warning_level", nativeQuery = true)
-	List<Inventory> findInventoryBelowStockWarningLevel();
+	boolean existsByProductId(Integer productId);
+
+	/** Add stock in one statement so concurrent updates are never lost. Returns the affected row count. */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Inventory i SET i.quantity = i.quantity + :quantity, i.lastUpdated = LOCAL DATETIME, "
+			+ "i.belowAlert = CASE WHEN i.quantity + :quantity <= i.stockAlertLevel THEN true ELSE false END, "
+			+ "i.belowWarning = CASE WHEN i.quantity + :quantity <= i.stockWarningLevel THEN true ELSE false END "
+			+ "WHERE i.productId = :productId")
+	int increaseQuantity(@Param("productId") Integer productId, @Param("quantity") int quantity);
+
+	/**
+	 * Take stock only if enough is left, checked and applied in one statement.
+	 * Returns 0 when the product has no inventory row or not enough stock.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Inventory i SET i.quantity = i.quantity - :quantity, i.lastUpdated = LOCAL DATETIME, "
+			+ "i.belowAlert = CASE WHEN i.quantity - :quantity <= i.stockAlertLevel THEN true ELSE false END, "
+			+ "i.belowWarning = CASE WHEN i.quantity - :quantity <= i.stockWarningLevel THEN true ELSE false END "
+			+ "WHERE i.productId = :productId AND i.quantity >= :quantity")
+	int decreaseQuantityIfAvailable(@Param("productId") Integer productId, @Param("quantity") int quantity);
+
+	/**
+	 * Rows at or below their alert level with their products, each as
+	 * {@code [Inventory, Product]}. Reads the maintained below_alert flag
+	 * through its index rather than comparing columns over the whole table.
+	 */
+	@Query("SELECT new lk.udcreations.product.dto.InventoryProductDTO(i, p) FROM Inventory i "
+			+ "JOIN Product p ON p.id = i.productId WHERE i.belowAlert = true ORDER BY i.inventoryId")
+	List<InventoryProductDTO> findInventoryBelowStockAlertLevel();
+
+	/** Rows at or below their warning level with their products, like the alert query. */
+	@Query("SELECT new lk.udcreations.product.dto.InventoryProductDTO(i, p) FROM Inventory i "
+			+ "JOIN Product p ON p.id = i.productId WHERE i.belowWarning = true ORDER BY i.inventoryId")
+	List<InventoryProductDTO> findInventoryBelowStockWarningLevel();
 
 }
@@ -0,0 +1,17 @@
+package lk.udcreations.product.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import lk.udcreations.product.entity.ProductCodeCounter;
+
+@Repository
+public interface ProductCodeCounterRepository extends JpaRepository<ProductCodeCounter, Integer> {
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	Optional<ProductCodeCounter> findByCategoryId(Integer categoryId);
+}
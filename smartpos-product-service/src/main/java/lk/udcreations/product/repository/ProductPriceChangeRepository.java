@@ -0,0 +1,18 @@
+package lk.udcreations.product.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import lk.udcreations.product.entity.ProductPriceChange;
+
+@Repository
+public interface ProductPriceChangeRepository extends JpaRepository<ProductPriceChange, Long> {
+
+	List<ProductPriceChange> findByChangeIdGreaterThanOrderByChangeIdAsc(Long changeId, Limit limit);
+
+	Optional<ProductPriceChange> findTopByOrderByChangeIdDesc();
+}
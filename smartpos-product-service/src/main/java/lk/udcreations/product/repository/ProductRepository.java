@@ -1,11 +1,16 @@
 package lk.udcreations.product.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import lk.udcreations.product.dto.SellabilityDTO;
 import lk.udcreations.product.entity.Product;
 
 @Repository
@@ -13,10 +18,16 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
 
 	List<Product> findByDeletedFalse();
 
+	List<Product> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+
 	Optional<Product> findByProductNameAndDeletedFalse(String name);
 
 	Optional<Product> findByProductNameAndDeletedTrue(String name);
 
+	List<Product> findByProductNameIn(Collection<String> names);
+
+	List<Product> findBySkuIn(Collection<String> skus);
+
 	Optional<Product> findByIdAndDeletedTrue(Integer id);
 
 	Optional<Product> findByProductIdAndDeletedTrue(String productId);
@@ -24,4 +35,17 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
 	Optional<Product> findByIdAndEnabledTrue(Integer id);
 
 	Optional<Product> findByProductIdAndEnabledTrue(String productId);
+
+	@Query("SELECT new lk.udcreations.product.dto.SellabilityDTO(p.id, p.productId, p.enabled, p.deleted, p.price, "
+			+ "p.minPrice, i.quantity) FROM Product p LEFT JOIN Inventory i ON i.productId = p.id WHERE p.id = :id")
+	Optional<SellabilityDTO> findSellabilityById(@Param("id") Integer id);
+
+	@Query("SELECT new lk.udcreations.product.dto.SellabilityDTO(p.id, p.productId, p.enabled, p.deleted, p.price, "
+			+ "p.minPrice, i.quantity) FROM Product p LEFT JOIN Inventory i ON i.productId = p.id WHERE p.id IN :ids")
+	List<SellabilityDTO> findSellabilityByIdIn(@Param("ids") Collection<Integer> ids);
+
+	/** Highest number used after the prefix in the product codes of a category; 0 when it has none. */
+	@Query(value = "SELECT COALESCE(MAX(CAST(SUBSTRING(product_id, LENGTH(:prefix) + 1) AS BIGINT)), 0) "
+			+ "FROM Product WHERE category_id = :categoryId AND product_id LIKE CONCAT(:prefix, '%')", nativeQuery = true)
+	Long findMaxProductCodeNumber(@Param("categoryId") Integer categoryId, @Param("prefix") String prefix);
 }
@@ -0,0 +1,10 @@
+package lk.udcreations.product.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import lk.udcreations.product.entity.StockRequest;
+
+@Repository
+public interface StockRequestRepository extends JpaRepository<StockRequest, String> {
+}
@@ -0,0 +1,38 @@
+package lk.udcreations.product.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import lk.udcreations.product.entity.StockReservation;
+import lk.udcreations.product.entity.StockReservation.Status;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Integer> {
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	List<StockReservation> findBySaleIdAndStatusIn(Integer saleId, Collection<Status> statuses);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	List<StockReservation> findBySaleIdAndProductIdAndStatusIn(Integer saleId, Integer productId,
+			Collection<Status> statuses);
+
+	List<StockReservation> findByCheckoutKey(String checkoutKey);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	List<StockReservation> findByStatusAndExpiresAtBeforeOrderByReservationIdAsc(Status status, LocalDateTime time,
+			Limit limit);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE StockReservation r SET r.status = :status WHERE r.reservationId IN :ids")
+	int updateStatus(@Param("ids") Collection<Integer> ids, @Param("status") Status status);
+}
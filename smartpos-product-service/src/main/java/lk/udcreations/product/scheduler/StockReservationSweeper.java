@@ -0,0 +1,40 @@
+package lk.udcreations.product.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lk.udcreations.product.service.StockReservationService;
+
+/** Gives back the stock of draft sales that were abandoned at the till. */
+@Component
+public class StockReservationSweeper {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StockReservationSweeper.class);
+
+	static final int BATCH_SIZE = 500;
+
+	private final StockReservationService stockReservationService;
+
+	public StockReservationSweeper(StockReservationService stockReservationService) {
+		super();
+		this.stockReservationService = stockReservationService;
+	}
+
+	/** Expire in batches, each in its own transaction, until no overdue reservation is left */
+	@Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval:60s}")
+	public void expireReservations() {
+
+		int total = 0;
+		int expired;
+		do {
+			expired = stockReservationService.expireReservations(BATCH_SIZE);
+			total += expired;
+		} while (expired == BATCH_SIZE);
+
+		if (total > 0) {
+			LOGGER.info("Reservation sweep expired {} reservations.", total);
+		}
+	}
+}
@@ -1,8 +1,14 @@
 package lk.udcreations.product.security;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 import org.springframework.stereotype.Component;
 
 import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.product.cache.UserIdentityCache;
 import lk.udcreations.product.config.UserServiceClient;
 
 @Component
@@ -10,10 +16,12 @@ public class AuthUtils {
 
 	
 	private final UserServiceClient userServiceClient;
+	private final UserIdentityCache userIdentityCache;
 
-	public AuthUtils(UserServiceClient userServiceClient) {
+	public AuthUtils(UserServiceClient userServiceClient, UserIdentityCache userIdentityCache) {
 		super();
 		this.userServiceClient = userServiceClient;
+		this.userIdentityCache = userIdentityCache;
 	}
 
 	public String getLoggedInUsername() {
@@ -24,7 +32,7 @@ public class AuthUtils {
 	public UsersDTO getLoggedInUser() {
 		String username = getLoggedInUsername();
 		
-		return userServiceClient.getUserDetails(username);
+		return userIdentityCache.get(username);
 		
 //		return userRepository.findByUsername(username)
 //				.orElseThrow(() -> new NotFoundException("Logged-in user not found"));
@@ -34,5 +42,13 @@ public class AuthUtils {
 		return userServiceClient.getUserById(userId);
 	}
 
+	public Map<Integer, UsersDTO> getUsersByIds(Collection<Integer> userIds) {
+		List<Integer> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+		if (ids.isEmpty()) {
+			return Map.of();
+		}
+		return userServiceClient.getUsersByIds(ids);
+	}
+
 
 }
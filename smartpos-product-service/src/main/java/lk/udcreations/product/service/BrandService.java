@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
@@ -11,9 +12,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import lk.udcreations.product.cache.UserReferenceCache;
 import lk.udcreations.product.constants.ErrorMessages;
 import lk.udcreations.common.dto.brand.BrandDTO;
-import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
 import lk.udcreations.common.dto.user.UsersDTO;
 import lk.udcreations.product.exception.NotFoundException;
 import lk.udcreations.product.entity.Brand;
@@ -27,12 +28,15 @@ public class BrandService {
 
 	private final BrandRepository brandRepository;
 	private final AuthUtils authUtils;
+	private final UserReferenceCache userReferenceCache;
 	private final ModelMapper modelMapper;
 
-	public BrandService(BrandRepository brandRepository, AuthUtils authUtils, ModelMapper modelMapper) {
+	public BrandService(BrandRepository brandRepository, AuthUtils authUtils, UserReferenceCache userReferenceCache,
+			ModelMapper modelMapper) {
 		super();
 		this.brandRepository = brandRepository;
 		this.authUtils = authUtils;
+		this.userReferenceCache = userReferenceCache;
 		this.modelMapper = modelMapper;
 	}
 
@@ -48,7 +52,7 @@ public class BrandService {
 			LOGGER.info("Successfully fetched {} brands from the database.", brands.size());
 		}
 
-		return brands.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return convertToDTOList(brands);
 	}
 
 	/** Get all non-deleted brands */
@@ -63,7 +67,7 @@ public class BrandService {
 			LOGGER.info("Fetched {} active brands from the database.", brands.size());
 		}
 
-		return brands.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return convertToDTOList(brands);
 	}
 
 	/** Get a brand by ID */
@@ -189,25 +193,32 @@ public class BrandService {
 		LOGGER.info("Brand with ID: {} has been permanently deleted.", brandId);
 	}
 
+	/** Convert a list, loading the audit users of all its rows with one bulk call. */
+	private List<BrandDTO> convertToDTOList(List<Brand> brands) {
+		warmAuditUsers(brands);
+		return brands.stream().map(this::convertToDTO).collect(Collectors.toList());
+	}
+
+	private void warmAuditUsers(List<Brand> brands) {
+		userReferenceCache.warm(brands.stream()
+				.flatMap(brand -> Stream.of(brand.getCreatedUserId(), brand.getUpdatedUserId(),
+						brand.getDeletedUserId()))
+				.toList());
+	}
+
 	private BrandDTO convertToDTO(Brand brand) {
 
 		BrandDTO brandDTO = modelMapper.map(brand, BrandDTO.class);
 
 		// Set CreatedUserDTO
-		UsersDTO createdUser = authUtils.getUserById(brand.getCreatedUserId());
-		CreatedUpdatedUserDTO createdUserDto = modelMapper.map(createdUser, CreatedUpdatedUserDTO.class);
-		brandDTO.setCreatedUser(createdUserDto);
+		brandDTO.setCreatedUser(userReferenceCache.get(brand.getCreatedUserId()));
 
 		// Set UpdatedUserDTO
-		UsersDTO updatedUser = authUtils.getUserById(brand.getUpdatedUserId());
-		CreatedUpdatedUserDTO updatedUserDto = modelMapper.map(updatedUser, CreatedUpdatedUserDTO.class);
-		brandDTO.setUpdatedUser(updatedUserDto);
+		brandDTO.setUpdatedUser(userReferenceCache.get(brand.getUpdatedUserId()));
 
 		// Set DeletedUserDTO
 		if (brand.isDeleted()) {
-			UsersDTO deletedUser = authUtils.getUserById(brand.getDeletedUserId());
-			CreatedUpdatedUserDTO deletedUserDto = modelMapper.map(deletedUser, CreatedUpdatedUserDTO.class);
-			brandDTO.setDeletedUser(deletedUserDto);
+			brandDTO.setDeletedUser(userReferenceCache.get(brand.getDeletedUserId()));
 		}
 
 		return brandDTO;
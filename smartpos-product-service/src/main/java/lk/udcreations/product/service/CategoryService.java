@@ -2,8 +2,10 @@ package lk.udcreations.product.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
@@ -11,14 +13,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import lk.udcreations.product.cache.UserReferenceCache;
 import lk.udcreations.product.constants.ErrorMessages;
 import lk.udcreations.common.dto.category.CategoryDTO;
-import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
 import lk.udcreations.common.dto.user.UsersDTO;
 import lk.udcreations.product.exception.NotFoundException;
 import lk.udcreations.product.entity.Category;
 import lk.udcreations.product.repository.CategoryRepository;
 import lk.udcreations.product.security.AuthUtils;
+import lk.udcreations.product.util.sequence.ProductCodeAllocator;
 
 @Service
 public class CategoryService {
@@ -27,12 +30,18 @@ public class CategoryService {
 
 	private final CategoryRepository categoryRepository;
 	private final AuthUtils authUtils;
+	private final UserReferenceCache userReferenceCache;
+	private final ProductCodeAllocator productCodeAllocator;
 	private final ModelMapper modelMapper;
 
-	public CategoryService(CategoryRepository categoryRepository, AuthUtils authUtils, ModelMapper modelMapper) {
+	public CategoryService(CategoryRepository categoryRepository, AuthUtils authUtils,
+			UserReferenceCache userReferenceCache, ProductCodeAllocator productCodeAllocator,
+			ModelMapper modelMapper) {
 		super();
 		this.categoryRepository = categoryRepository;
 		this.authUtils = authUtils;
+		this.userReferenceCache = userReferenceCache;
+		this.productCodeAllocator = productCodeAllocator;
 		this.modelMapper = modelMapper;
 	}
 
@@ -48,7 +57,7 @@ public class CategoryService {
 			LOGGER.info("Successfully fetched {} categories from the database.", categories.size());
 		}
 
-		return categories.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return convertToDTOList(categories);
 	}
 
 	/** Get all non-deleted categories */
@@ -62,7 +71,7 @@ public class CategoryService {
 		} else {
 			LOGGER.info("Fetched {} active categories from the database.", categories.size());
 		}
-		return categories.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return convertToDTOList(categories);
 	}
 
 	/** Get a role by ID */
@@ -134,12 +143,18 @@ public class CategoryService {
 		UsersDTO loggedInUser = authUtils.getLoggedInUser();
 
 		return categoryRepository.findById(categoryId).map(category -> {
+			boolean prefixChanged = !Objects.equals(category.getCatPrefix(), updatedCategory.getCatPrefix());
 			category.setName(updatedCategory.getName());
 			category.setDescription(updatedCategory.getDescription());
 			category.setCatPrefix(updatedCategory.getCatPrefix());
 			category.setEnabled(updatedCategory.isEnabled());
 			category.setUpdatedUserId(loggedInUser.getUserId());
-			return convertToDTO(categoryRepository.save(category));
+			CategoryDTO categoryDTO = convertToDTO(categoryRepository.save(category));
+			if (prefixChanged) {
+				// Codes still held in memory carry the old prefix
+				productCodeAllocator.evict(categoryId);
+			}
+			return categoryDTO;
 		}).orElseThrow(() -> {
 			String errorMessage = ErrorMessages.CATEGORY_NOT_FOUND + categoryId;
 			LOGGER.error("Category update failed: {}", errorMessage);
@@ -185,25 +200,32 @@ public class CategoryService {
 		LOGGER.info("Category with ID: {} has been permanently deleted.", categoryId);
 	}
 
+	/** Convert a list, loading the audit users of all its rows with one bulk call. */
+	private List<CategoryDTO> convertToDTOList(List<Category> categories) {
+		warmAuditUsers(categories);
+		return categories.stream().map(this::convertToDTO).collect(Collectors.toList());
+	}
+
+	private void warmAuditUsers(List<Category> categories) {
+		userReferenceCache.warm(categories.stream()
+				.flatMap(category -> Stream.of(category.getCreatedUserId(), category.getUpdatedUserId(),
+						category.getDeletedUserId()))
+				.toList());
+	}
+
 	private CategoryDTO convertToDTO(Category category) {
 		
 		CategoryDTO categoryDTO = modelMapper.map(category, CategoryDTO.class);
 
 		// Set CreatedUserDTO
-		UsersDTO createdUser = authUtils.getUserById(category.getCreatedUserId());
-		CreatedUpdatedUserDTO createdUserDto = modelMapper.map(createdUser, CreatedUpdatedUserDTO.class);
-		categoryDTO.setCreatedUser(createdUserDto);
+		categoryDTO.setCreatedUser(userReferenceCache.get(category.getCreatedUserId()));
 
 		// Set UpdatedUserDTO
-		UsersDTO updatedUser = authUtils.getUserById(category.getUpdatedUserId());
-		CreatedUpdatedUserDTO updatedUserDto = modelMapper.map(updatedUser, CreatedUpdatedUserDTO.class);
-		categoryDTO.setUpdatedUser(updatedUserDto);
+		categoryDTO.setUpdatedUser(userReferenceCache.get(category.getUpdatedUserId()));
 
 		// Set DeletedUserDTO
 		if (category.isDeleted()) {
-			UsersDTO deletedUser = authUtils.getUserById(category.getDeletedUserId());
-			CreatedUpdatedUserDTO deletedUserDto = modelMapper.map(deletedUser, CreatedUpdatedUserDTO.class);
-			categoryDTO.setDeletedUser(deletedUserDto);
+			categoryDTO.setDeletedUser(userReferenceCache.get(category.getDeletedUserId()));
 		}
 
 		return categoryDTO;
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
@@ -11,9 +12,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import lk.udcreations.product.cache.UserReferenceCache;
 import lk.udcreations.product.constants.ErrorMessages;
 import lk.udcreations.common.dto.distributor.DistributorDTO;
-import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
 import lk.udcreations.common.dto.user.UsersDTO;
 import lk.udcreations.product.exception.NotFoundException;
 import lk.udcreations.product.entity.Distributor;
@@ -27,13 +28,15 @@ public class DistributorService {
 
 	private final DistributorRepository distributorRepository;
 	private final AuthUtils authUtils;
+	private final UserReferenceCache userReferenceCache;
 	private final ModelMapper modelMapper;
 
 	public DistributorService(DistributorRepository distributorRepository, AuthUtils authUtils,
-			ModelMapper modelMapper) {
+			UserReferenceCache userReferenceCache, ModelMapper modelMapper) {
 		super();
 		this.distributorRepository = distributorRepository;
 		this.authUtils = authUtils;
+		this.userReferenceCache = userReferenceCache;
 		this.modelMapper = modelMapper;
 	}
 
@@ -49,7 +52,7 @@ public class DistributorService {
 			LOGGER.info("Successfully fetched {} distributors from the database.", distributors.size());
 		}
 
-		return distributors.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return convertToDTOList(distributors);
 	}
 
 	/** Get all non-deleted distributor */
@@ -64,7 +67,7 @@ public class DistributorService {
 			LOGGER.info("Fetched {} active distributors from the database.", distributors.size());
 		}
 
-		return distributors.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return convertToDTOList(distributors);
 	}
 
 	/** Get a distributor by ID */
@@ -208,25 +211,32 @@ public class DistributorService {
 		LOGGER.info("Distributor with ID: {} has been permanently deleted.", distributorId);
 	}
 
+	/** Convert a list, loading the audit users of all its rows with one bulk call. */
+	private List<DistributorDTO> convertToDTOList(List<Distributor> distributors) {
+		warmAuditUsers(distributors);
+		return distributors.stream().map(this::convertToDTO).collect(Collectors.toList());
+	}
+
+	private void warmAuditUsers(List<Distributor> distributors) {
+		userReferenceCache.warm(distributors.stream()
+				.flatMap(distributor -> Stream.of(distributor.getCreatedUserId(), distributor.getUpdatedUserId(),
+						distributor.getDeletedUserId()))
+				.toList());
+	}
+
 	private DistributorDTO convertToDTO(Distributor distributor) {
 
 		DistributorDTO distributorDTO = modelMapper.map(distributor, DistributorDTO.class);
 
 		// Set CreatedUserDTO
-		UsersDTO createdUser = authUtils.getUserById(distributor.getCreatedUserId());
-		CreatedUpdatedUserDTO createdUserDto = modelMapper.map(createdUser, CreatedUpdatedUserDTO.class);
-		distributorDTO.setCreatedUser(createdUserDto);
+		distributorDTO.setCreatedUser(userReferenceCache.get(distributor.getCreatedUserId()));
 
 		// Set UpdatedUserDTO
-		UsersDTO updatedUser = authUtils.getUserById(distributor.getUpdatedUserId());
-		CreatedUpdatedUserDTO updatedUserDto = modelMapper.map(updatedUser, CreatedUpdatedUserDTO.class);
-		distributorDTO.setUpdatedUser(updatedUserDto);
+		distributorDTO.setUpdatedUser(userReferenceCache.get(distributor.getUpdatedUserId()));
 
 		// Set DeletedUserDTO
 		if (distributor.isDeleted()) {
-			UsersDTO deletedUser = authUtils.getUserById(distributor.getDeletedUserId());
-			CreatedUpdatedUserDTO deletedUserDto = modelMapper.map(deletedUser, CreatedUpdatedUserDTO.class);
-			distributorDTO.setDeletedUser(deletedUserDto);
+			distributorDTO.setDeletedUser(userReferenceCache.get(distributor.getDeletedUserId()));
 		}
 
 		return distributorDTO;
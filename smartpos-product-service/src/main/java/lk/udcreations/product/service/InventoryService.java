@@ -1,23 +1,33 @@
 package lk.udcreations.product.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import lk.udcreations.product.constants.ErrorMessages;
 import lk.udcreations.common.dto.inventory.InventoryDTO;
 import lk.udcreations.common.dto.product.ProductDTO;
+import lk.udcreations.product.dto.InventoryProductDTO;
+import lk.udcreations.product.dto.KeysetPageDTO;
 import lk.udcreations.product.exception.NotFoundException;
 import lk.udcreations.product.entity.Inventory;
 import lk.udcreations.product.entity.Product;
+import lk.udcreations.product.entity.StockRequest;
 import lk.udcreations.product.exception.InsufficientStockException;
+import lk.udcreations.product.mapper.ProductMapper;
+import lk.udcreations.product.notification.StockLevelNotifier;
 import lk.udcreations.product.repository.InventoryRepository;
 import lk.udcreations.product.repository.ProductRepository;
+import lk.udcreations.product.repository.StockRequestRepository;
+import lk.udcreations.product.util.pagination.KeysetCursor;
 
 @Service
 public class InventoryService {
@@ -26,31 +36,77 @@ public class InventoryService {
 
 	private final InventoryRepository inventoryRepository;
 	private final ProductRepository productRepository;
-	private final ModelMapper modelMapper;
+	private final ProductMapper productMapper;
+	private final StockLevelNotifier stockLevelNotifier;
+	private final StockRequestRepository stockRequestRepository;
 
 	public InventoryService(InventoryRepository inventoryRepository, ProductRepository productRepository,
-			ModelMapper modelMapper) {
+			ProductMapper productMapper, StockLevelNotifier stockLevelNotifier,
+			StockRequestRepository stockRequestRepository) {
 		super();
 		this.inventoryRepository = inventoryRepository;
 		this.productRepository = productRepository;
-		this.modelMapper = modelMapper;
+		this.productMapper = productMapper;
+		this.stockLevelNotifier = stockLevelNotifier;
+		this.stockRequestRepository = stockRequestRepository;
 	}
 
 	/** Add stock */
 	@Transactional
 	public InventoryDTO addStock(Integer productId, int quantity) {
 		LOGGER.info("Adding {} units to product ID: {}", quantity, productId);
+		validateQuantity(quantity);
 
-		return inventoryRepository.findByProductId(productId).map(inventory -> {
-			inventory.setQuantity(inventory.getQuantity() + quantity);
-			Inventory updatedInventory = inventoryRepository.save(inventory);
-			LOGGER.info("Stock updated. New quantity for product ID {}: {}", productId, updatedInventory.getQuantity());
-			return convertToDTO(updatedInventory);
-		}).orElseThrow(() -> {
+		if (inventoryRepository.increaseQuantity(productId, quantity) == 0) {
 			String errorMsg = ErrorMessages.INVENTORY_NOT_FOUND + productId;
 			LOGGER.error(errorMsg);
-			return new NotFoundException(errorMsg);
+			throw new NotFoundException(errorMsg);
+		}
+		Inventory inventory = findInventory(productId);
+		stockLevelNotifier.quantityChanged(inventory, inventory.getQuantity() - quantity);
+		LOGGER.info("Stock updated. New quantity for product ID {}: {}", productId, inventory.getQuantity());
+		return convertToDTO(inventory);
+	}
+
+	/**
+	 * Add stock to many products in one transaction, such as the products of a
+	 * return. Rows are updated in product ID order so concurrent calls lock them
+	 * in the same order; an unknown product rolls back the whole call. A
+	 * request key is recorded with the change, and a request resent with the
+	 * same key adds nothing.
+	 */
+	@Transactional
+	public int addStocks(String requestKey, Map<Integer, Integer> quantities) {
+		LOGGER.info("Adding stock to {} products for request {}", quantities.size(), requestKey);
+		if (requestKey != null) {
+			Optional<StockRequest> applied = stockRequestRepository.findById(requestKey);
+			if (applied.isPresent()) {
+				LOGGER.info("Stock request {} was already applied", requestKey);
+				return applied.get().getProductCount();
+			}
+		}
+		quantities.values().forEach(this::validateQuantity);
+
+		new TreeMap<>(quantities).forEach((productId, quantity) -> {
+			if (inventoryRepository.increaseQuantity(productId, quantity) == 0) {
+				String errorMsg = ErrorMessages.INVENTORY_NOT_FOUND + productId;
+				LOGGER.error(errorMsg);
+				throw new NotFoundException(errorMsg);
+			}
+			if (stockLevelNotifier.hasSubscribers()) {
+				Inventory inventory = findInventory(productId);
+				stockLevelNotifier.quantityChanged(inventory, inventory.getQuantity() - quantity);
+			}
 		});
+		if (requestKey != null) {
+			// A concurrent request with the same key fails on the primary key and rolls back
+			StockRequest request = new StockRequest();
+			request.setRequestKey(requestKey);
+			request.setProductCount(quantities.size());
+			stockRequestRepository.save(request);
+		}
+		LOGGER.info("Stock added to {} products", quantities.size());
+		return quantities.size();
 	}
 
 	/** Decrease stock after a sale or return */
@@ -58,21 +114,33 @@ public class InventoryService {
 	public InventoryDTO decreaseStock(Integer productId, int quantity) {
 		LOGGER.info("Decreasing {} units from product ID: {}", quantity, productId);
 
-		return inventoryRepository.findByProductId(productId).map(inventory -> {
-			if (inventory.getQuantity() < quantity) {
-				LOGGER.error(ErrorMessages.INVENTORY_NOT_ENOUGHT_STOCK);
-				throw new InsufficientStockException(ErrorMessages.INVENTORY_NOT_ENOUGHT_STOCK);
-			}
-			inventory.setQuantity(inventory.getQuantity() - quantity);
-			Inventory updatedInventory = inventoryRepository.save(inventory);
-			LOGGER.info("Stock decreased. New quantity for product ID {}: {}", productId,
-					updatedInventory.getQuantity());
-			return convertToDTO(updatedInventory);
-		}).orElseThrow(() -> {
-			String errorMsg = ErrorMessages.INVENTORY_NOT_FOUND + productId;
-			LOGGER.error(errorMsg);
-			return new NotFoundException(errorMsg);
-		});
+		if (!decrease(productId, quantity)) {
+			LOGGER.error(ErrorMessages.INVENTORY_NOT_ENOUGHT_STOCK);
+			throw new InsufficientStockException(ErrorMessages.INVENTORY_NOT_ENOUGHT_STOCK);
+		}
+		Inventory inventory = findInventory(productId);
+		stockLevelNotifier.quantityChanged(inventory, inventory.getQuantity() + quantity);
+		LOGGER.info("Stock decreased. New quantity for product ID {}: {}", productId, inventory.getQuantity());
+		return convertToDTO(inventory);
+	}
+
+	/**
+	 * Check and decrease stock in one conditional update. Returns false instead of
+	 * throwing when there is not enough stock, so the till can react without an
+	 * error round trip.
+	 */
+	@Transactional
+	public boolean tryDecreaseStock(Integer productId, int quantity) {
+
+		if (!decrease(productId, quantity)) {
+			return false;
+		}
+		// The till only needs the boolean, so read the new quantity back only when someone listens for crossings
+		if (stockLevelNotifier.hasSubscribers()) {
+			Inventory inventory = findInventory(productId);
+			stockLevelNotifier.quantityChanged(inventory, inventory.getQuantity() + quantity);
+		}
+		return true;
 	}
 
 	/** Get the current stock level */
@@ -107,9 +175,12 @@ public class InventoryService {
 		LOGGER.info("Updating stock levels for product ID: {}", productId);
 
 		return inventoryRepository.findByProductId(productId).map(inventory -> {
+			Integer alertLevelBefore = inventory.getStockAlertLevel();
+			Integer warningLevelBefore = inventory.getStockWarningLevel();
 			inventory.setStockAlertLevel(updatedInventory.getStockAlertLevel());
 			inventory.setStockWarningLevel(updatedInventory.getStockWarningLevel());
 			Inventory updated = inventoryRepository.save(inventory);
+			stockLevelNotifier.levelsChanged(updated, alertLevelBefore, warningLevelBefore);
 			LOGGER.info("Stock levels updated for product ID: {}", productId);
 			return convertToDTO(updated);
 		}).orElseThrow(() -> {
@@ -119,43 +190,49 @@ public class InventoryService {
 		});
 	}
 
-	/** List all inventory items */
-	public List<InventoryDTO> getAllInventoryItems() {
-		LOGGER.info("Fetching all inventory items");
+	/** List all inventory items, one keyset page at a time */
+	public KeysetPageDTO<InventoryDTO> getAllInventoryItems(String cursor, Integer limit) {
 
-		List<Inventory> inventories = inventoryRepository.findAll();
+		int pageSize = KeysetCursor.limit(limit);
+		Integer afterId = KeysetCursor.decode(cursor);
+		LOGGER.info("Fetching up to {} inventory items after ID {}", pageSize, afterId);
+
+		List<Inventory> inventories = inventoryRepository.findByInventoryIdGreaterThanOrderByInventoryIdAsc(afterId,
+				Limit.of(pageSize + 1));
 		if (inventories.isEmpty()) {
 			LOGGER.warn("No inventories found in the database.");
 		} else {
 			LOGGER.info("Successfully fetched {} inventories from the database.", inventories.size());
 		}
-		return inventories.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return KeysetCursor.page(inventories, pageSize, Inventory::getInventoryId, this::convertToDTOList);
 	}
 
 	/** Check low stock */
 	public List<InventoryDTO> checkStockAlert() {
 		LOGGER.info("Checking for stock alert levels");
 
-		List<Inventory> inventories = inventoryRepository.findInventoryBelowStockAlertLevel();
-		if (inventories.isEmpty()) {
+		List<InventoryProductDTO> rows = inventoryRepository.findInventoryBelowStockAlertLevel();
+		if (rows.isEmpty()) {
 			LOGGER.warn("No stock alert inventories found in the database.");
 		} else {
-			LOGGER.info("Successfully fetched {} stock alert inventories from the database.", inventories.size());
+			LOGGER.info("Successfully fetched {} stock alert inventories from the database.", rows.size());
 		}
-		return inventories.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return rows.stream().map(row -> convertToDTO(row.getInventory(), row.getProduct()))
+				.collect(Collectors.toList());
 	}
 
 	/** Check low stock */
 	public List<InventoryDTO> checkStockWarning() {
 		LOGGER.info("Checking for stock warning levels");
 
-		List<Inventory> inventories = inventoryRepository.findInventoryBelowStockWarningLevel();
-		if (inventories.isEmpty()) {
+		List<InventoryProductDTO> rows = inventoryRepository.findInventoryBelowStockWarningLevel();
+		if (rows.isEmpty()) {
 			LOGGER.warn("No stock warning inventories found in the database.");
 		} else {
-			LOGGER.info("Successfully fetched {} stock warning inventories from the database.", inventories.size());
+			LOGGER.info("Successfully fetched {} stock warning inventories from the database.", rows.size());
 		}
-		return inventories.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return rows.stream().map(row -> convertToDTO(row.getInventory(), row.getProduct()))
+				.collect(Collectors.toList());
 	}
 
 	/** Check if there are enough stocks */
@@ -170,16 +247,67 @@ public class InventoryService {
 		return isAvailable;
 	}
 
-	private InventoryDTO convertToDTO(Inventory inventory) {
+	/** The conditional update shared by decreaseStock and tryDecreaseStock. */
+	private boolean decrease(Integer productId, int quantity) {
+		validateQuantity(quantity);
+
+		if (inventoryRepository.decreaseQuantityIfAvailable(productId, quantity) == 1) {
+			LOGGER.info("Decreased {} units from product ID: {}", quantity, productId);
+			return true;
+		}
+		if (!inventoryRepository.existsByProductId(productId)) {
+			String errorMsg = ErrorMessages.INVENTORY_NOT_FOUND + productId;
+			LOGGER.error(errorMsg);
+			throw new NotFoundException(errorMsg);
+		}
+		LOGGER.warn("Not enough stock to decrease {} units from product ID: {}", quantity, productId);
+		return false;
+	}
+
+	private Inventory findInventory(Integer productId) {
+		return inventoryRepository.findByProductId(productId).orElseThrow(() -> {
+			String errorMsg = ErrorMessages.INVENTORY_NOT_FOUND + productId;
+			LOGGER.error(errorMsg);
+			return new NotFoundException(errorMsg);
+		});
+	}
 
-		InventoryDTO inventoryDto = modelMapper.map(inventory, InventoryDTO.class);
+	private void validateQuantity(int quantity) {
+		if (quantity < 1) {
+			String errorMsg = ErrorMessages.INVALID_STOCK_QUANTITY + quantity;
+			LOGGER.error(errorMsg);
+			throw new IllegalArgumentException(errorMsg);
+		}
+	}
+
+	private InventoryDTO convertToDTO(Inventory inventory) {
 
 		// Set ProdcutDTO
 		Product product = productRepository.findById(inventory.getProductId()).orElseThrow();
-		ProductDTO productDto = modelMapper.map(product, ProductDTO.class);
+		return convertToDTO(inventory, product);
+	}
+
+	private InventoryDTO convertToDTO(Inventory inventory, Product product) {
+
+		InventoryDTO inventoryDto = productMapper.toDTO(inventory);
+		ProductDTO productDto = productMapper.toDTO(product);
 		inventoryDto.setProduct(productDto);
 
 		return inventoryDto;
 	}
 
+	/** Convert a page of inventory rows, loading their products with one query. */
+	private List<InventoryDTO> convertToDTOList(List<Inventory> inventories) {
+
+		Map<Integer, ProductDTO> products = productRepository
+				.findAllById(inventories.stream().map(Inventory::getProductId).distinct().toList()).stream()
+				.collect(Collectors.toMap(Product::getId, product -> productMapper.toDTO(product)));
+
+		return inventories.stream().map(inventory -> {
+			InventoryDTO inventoryDto = productMapper.toDTO(inventory);
+			inventoryDto.setProduct(products.get(inventory.getProductId()));
+			return inventoryDto;
+		}).collect(Collectors.toList());
+	}
+
 }
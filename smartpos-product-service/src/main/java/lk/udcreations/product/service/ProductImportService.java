@@ -0,0 +1,336 @@
+package lk.udcreations.product.service;
+
+import static lk.udcreations.product.util.calculate.DateUtils.convertStringToLocalDateTime;
+
+import java.io.InputStream;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lk.udcreations.common.dto.product.CreateProductDTO;
+import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.product.constants.ErrorMessages;
+import lk.udcreations.product.dto.ProductImportErrorDTO;
+import lk.udcreations.product.dto.ProductImportResultDTO;
+import lk.udcreations.product.entity.Category;
+import lk.udcreations.product.entity.Distributor;
+import lk.udcreations.product.entity.Product;
+import lk.udcreations.product.repository.CategoryRepository;
+import lk.udcreations.product.repository.DistributorRepository;
+import lk.udcreations.product.repository.ProductRepository;
+import lk.udcreations.product.security.AuthUtils;
+import lk.udcreations.product.util.importer.ProductImportReader;
+import lk.udcreations.product.util.importer.ProductImportReader.Row;
+import lk.udcreations.product.util.sequence.ProductCodeAllocator;
+
+/**
+ * Imports large product lists. Rows are read as a stream and handled in
+ * chunks: each chunk is validated against categories and distributors
+ * resolved once per import and against the names and SKUs already stored,
+ * then its products and inventory rows are written with JDBC batch inserts in
+ * one transaction. A bad row is reported and skipped; it never stops the
+ * import.
+ */
+@Service
+public class ProductImportService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProductImportService.class);
+
+	private static final String INSERT_PRODUCT = "INSERT INTO product (product_id, sku, product_name, description, "
+			+ "category_id, distributor_id, price, cost_price, min_price, manufacture_date, expire_date, enabled, "
+			+ "deleted, created_at, updated_at, created_user_id, updated_user_id) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, ?, ?, ?, ?)";
+
+	private static final String INSERT_INVENTORY = "INSERT INTO inventory (product_id, quantity, stock_alert_level, "
+			+ "stock_warning_level, last_updated, below_alert, below_warning) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String SELECT_IDS = "SELECT id, product_id FROM product WHERE product_id IN (:productIds)";
+
+	private final ProductRepository productRepository;
+	private final CategoryRepository categoryRepository;
+	private final DistributorRepository distributorRepository;
+	private final AuthUtils authUtils;
+	private final ProductCodeAllocator productCodeAllocator;
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final Validator validator;
+	private final ObjectMapper objectMapper;
+	private final int chunkSize;
+
+	public ProductImportService(ProductRepository productRepository, CategoryRepository categoryRepository,
+			DistributorRepository distributorRepository, AuthUtils authUtils,
+			ProductCodeAllocator productCodeAllocator, NamedParameterJdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager, Validator validator, ObjectMapper objectMapper,
+			@Value("${product.import.chunk-size:500}") int chunkSize) {
+		super();
+		this.productRepository = productRepository;
+		this.categoryRepository = categoryRepository;
+		this.distributorRepository = distributorRepository;
+		this.authUtils = authUtils;
+		this.productCodeAllocator = productCodeAllocator;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.validator = validator;
+		this.objectMapper = objectMapper;
+		this.chunkSize = chunkSize;
+	}
+
+	/** Import products from CSV with a header line */
+	public ProductImportResultDTO importCsv(InputStream in) {
+		try (ProductImportReader reader = ProductImportReader.csv(in)) {
+			return importRows(reader);
+		}
+	}
+
+	/** Import products from NDJSON, one product per line */
+	public ProductImportResultDTO importNdjson(InputStream in) {
+		try (ProductImportReader reader = ProductImportReader.ndjson(in, objectMapper)) {
+			return importRows(reader);
+		}
+	}
+
+	private ProductImportResultDTO importRows(ProductImportReader reader) {
+
+		UsersDTO loggedInUser = authUtils.getLoggedInUser();
+		Set<Integer> categoryIds = categoryRepository.findByDeletedFalse().stream().map(Category::getCategoryId)
+				.collect(Collectors.toSet());
+		Set<Integer> distributorIds = distributorRepository.findByDeletedFalse().stream()
+				.map(Distributor::getDistributorId).collect(Collectors.toSet());
+		LOGGER.debug("Starting product import with {} categories and {} distributors.", categoryIds.size(),
+				distributorIds.size());
+
+		ImportRun run = new ImportRun(loggedInUser.getUserId(), categoryIds, distributorIds);
+		List<Row> chunk = new ArrayList<>(chunkSize);
+		while (reader.hasNext()) {
+			Row row = reader.next();
+			run.result.setTotal(run.result.getTotal() + 1);
+			if (row.getError() != null) {
+				run.reject(row.getLine(), null, row.getError());
+				continue;
+			}
+			chunk.add(row);
+			if (chunk.size() == chunkSize) {
+				importChunk(chunk, run);
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			importChunk(chunk, run);
+		}
+
+		LOGGER.info("Product import finished: {} rows, {} imported, {} rejected.", run.result.getTotal(),
+				run.result.getImported(), run.result.getFailed());
+		return run.result;
+	}
+
+	private void importChunk(List<Row> chunk, ImportRun run) {
+
+		// One query each for the names and SKUs of the whole chunk
+		Map<String, Product> existingNames = new HashMap<>();
+		productRepository.findByProductNameIn(chunk.stream().map(row -> row.getProduct().getProductName()).toList())
+				.forEach(product -> existingNames.merge(product.getProductName(), product,
+						(a, b) -> a.isDeleted() ? b : a));
+		Set<String> existingSkus = productRepository
+				.findBySkuIn(chunk.stream().map(row -> row.getProduct().getSku()).toList()).stream()
+				.map(Product::getSku).collect(Collectors.toSet());
+
+		List<PendingProduct> pending = new ArrayList<>(chunk.size());
+		for (Row row : chunk) {
+			CreateProductDTO dto = row.getProduct();
+			String error = validate(dto, run, existingNames, existingSkus);
+			if (error != null) {
+				run.reject(row.getLine(), dto.getProductName(), error);
+				continue;
+			}
+			run.names.add(dto.getProductName());
+			run.skus.add(dto.getSku());
+			pending.add(new PendingProduct(row.getLine(), dto, toProduct(dto, run.userId)));
+		}
+		if (pending.isEmpty()) {
+			return;
+		}
+
+		try {
+			transactionTemplate.executeWithoutResult(status -> insert(pending));
+			run.result.setImported(run.result.getImported() + pending.size());
+		} catch (DataAccessException ex) {
+			// Find the offending rows by writing the chunk one product at a time
+			LOGGER.warn("Batch insert of {} products failed, retrying them one by one: {}", pending.size(),
+					ex.getMostSpecificCause().getMessage());
+			for (PendingProduct product : pending) {
+				try {
+					transactionTemplate.executeWithoutResult(status -> insert(List.of(product)));
+					run.result.setImported(run.result.getImported() + 1);
+				} catch (DataAccessException rowEx) {
+					run.reject(product.line, product.dto.getProductName(),
+							rowEx.getMostSpecificCause().getMessage());
+				}
+			}
+		}
+	}
+
+	private String validate(CreateProductDTO dto, ImportRun run, Map<String, Product> existingNames,
+			Set<String> existingSkus) {
+
+		Set<ConstraintViolation<CreateProductDTO>> violations = validator.validate(dto);
+		if (!violations.isEmpty()) {
+			return violations.stream().map(ConstraintViolation::getMessage).sorted()
+					.collect(Collectors.joining("; "));
+		}
+		if (!run.categoryIds.contains(dto.getCategoryId())) {
+			return ErrorMessages.CATEGORY_NOT_FOUND + dto.getCategoryId();
+		}
+		if (!run.distributorIds.contains(dto.getDistributorId())) {
+			return ErrorMessages.DISTRIBUTOR_NOT_FOUND + dto.getDistributorId();
+		}
+		for (String date : new String[] { dto.getManufactureDate(), dto.getExpireDate() }) {
+			try {
+				convertStringToLocalDateTime(date);
+			} catch (DateTimeParseException | NullPointerException ex) {
+				return ErrorMessages.INVALID_DATE + date;
+			}
+		}
+		Product existing = existingNames.get(dto.getProductName());
+		if (existing != null) {
+			return existing.isDeleted() ? ErrorMessages.PRODUCT_NAME_DELETED : ErrorMessages.PRODUCT_NAME_EXISTS;
+		}
+		if (existingSkus.contains(dto.getSku())) {
+			return ErrorMessages.PRODUCT_SKU_EXISTS + dto.getSku();
+		}
+		if (run.names.contains(dto.getProductName())) {
+			return ErrorMessages.PRODUCT_NAME_REPEATED;
+		}
+		if (run.skus.contains(dto.getSku())) {
+			return ErrorMessages.PRODUCT_SKU_REPEATED + dto.getSku();
+		}
+		return null;
+	}
+
+	private Product toProduct(CreateProductDTO dto, Integer userId) {
+		Product product = new Product();
+		product.setProductId(productCodeAllocator.nextCode(dto.getCategoryId()));
+		product.setSku(dto.getSku());
+		product.setProductName(dto.getProductName());
+		product.setDescription(dto.getDescription());
+		product.setCategoryId(dto.getCategoryId());
+		product.setDistributorId(dto.getDistributorId());
+		product.setPrice(dto.getPrice());
+		product.setCostPrice(dto.getCostPrice());
+		product.setMinPrice(dto.getMinPrice());
+		product.setManufactureDate(convertStringToLocalDateTime(dto.getManufactureDate()));
+		product.setExpireDate(convertStringToLocalDateTime(dto.getExpireDate()));
+		product.setEnabled(dto.isEnabled());
+		product.setCreatedUserId(userId);
+		product.setUpdatedUserId(userId);
+		return product;
+	}
+
+	/**
+	 * Write products and their inventory with batched statements. IDENTITY keys
+	 * stop Hibernate from batching, and JDBC batches do not return them, so the
+	 * new IDs are read back by product code in one query before the inventory
+	 * rows are written.
+	 */
+	private void insert(List<PendingProduct> pending) {
+
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_PRODUCT, pending, chunkSize, (ps, row) -> {
+			Product product = row.product;
+			ps.setString(1, product.getProductId());
+			ps.setString(2, product.getSku());
+			ps.setString(3, product.getProductName());
+			ps.setString(4, product.getDescription());
+			ps.setInt(5, product.getCategoryId());
+			ps.setInt(6, product.getDistributorId());
+			ps.setBigDecimal(7, product.getPrice());
+			ps.setBigDecimal(8, product.getCostPrice());
+			ps.setBigDecimal(9, product.getMinPrice());
+			ps.setDate(10, Date.valueOf(product.getManufactureDate()));
+			ps.setDate(11, Date.valueOf(product.getExpireDate()));
+			ps.setBoolean(12, product.isEnabled());
+			ps.setTimestamp(13, now);
+			ps.setTimestamp(14, now);
+			ps.setInt(15, product.getCreatedUserId());
+			ps.setInt(16, product.getUpdatedUserId());
+		});
+
+		Map<String, Integer> ids = new HashMap<>();
+		RowCallbackHandler collectIds = rs -> ids.put(rs.getString("product_id"), rs.getInt("id"));
+		jdbcTemplate.query(SELECT_IDS,
+				Map.of("productIds", pending.stream().map(row -> row.product.getProductId()).toList()), collectIds);
+
+		jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_INVENTORY, pending, chunkSize, (ps, row) -> {
+			ps.setInt(1, ids.get(row.product.getProductId()));
+			int quantity = setIntOrZero(ps, 2, row.dto.getInitialStock());
+			int alertLevel = setIntOrZero(ps, 3, row.dto.getStockAlertLevel());
+			int warningLevel = setIntOrZero(ps, 4, row.dto.getStockWarningLevel());
+			ps.setTimestamp(5, now);
+			ps.setBoolean(6, quantity <= alertLevel);
+			ps.setBoolean(7, quantity <= warningLevel);
+		});
+	}
+
+	/** Stock levels left out of a row start at 0, like the column defaults. */
+	private static int setIntOrZero(PreparedStatement ps, int index, Integer value) throws SQLException {
+		int intValue = value == null ? 0 : value;
+		ps.setInt(index, intValue);
+		return intValue;
+	}
+
+	/** A validated row waiting to be written. */
+	private static final class PendingProduct {
+		private final long line;
+		private final CreateProductDTO dto;
+		private final Product product;
+
+		private PendingProduct(long line, CreateProductDTO dto, Product product) {
+			this.line = line;
+			this.dto = dto;
+			this.product = product;
+		}
+	}
+
+	/** State shared by the chunks of one import. */
+	private static final class ImportRun {
+		private final Integer userId;
+		private final Set<Integer> categoryIds;
+		private final Set<Integer> distributorIds;
+		private final Set<String> names = new HashSet<>();
+		private final Set<String> skus = new HashSet<>();
+		private final ProductImportResultDTO result = new ProductImportResultDTO();
+
+		private ImportRun(Integer userId, Set<Integer> categoryIds, Set<Integer> distributorIds) {
+			this.userId = userId;
+			this.categoryIds = categoryIds;
+			this.distributorIds = distributorIds;
+		}
+
+		private void reject(long line, String productName, String message) {
+			result.getErrors().add(new ProductImportErrorDTO(line, productName, message));
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package lk.udcreations.product.service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.product.constants.ErrorMessages;
+import lk.udcreations.product.dto.ProductPriceChangeDTO;
+import lk.udcreations.product.dto.ProductPriceChangesDTO;
+import lk.udcreations.product.dto.RepriceRequestDTO;
+import lk.udcreations.product.dto.RepriceRequestDTO.Mode;
+import lk.udcreations.product.dto.RepriceResultDTO;
+import lk.udcreations.product.entity.ProductPriceChange;
+import lk.udcreations.product.mapper.ProductMapper;
+import lk.udcreations.product.repository.ProductPriceChangeRepository;
+import lk.udcreations.product.security.AuthUtils;
+import lk.udcreations.product.util.pagination.KeysetCursor;
+
+/**
+ * Reprices whole categories, distributors or ID lists with set-based SQL
+ * instead of one updateProduct call per product. The new prices of the rows
+ * that actually change are first written to the price change feed under a
+ * batch ID, and the products are then updated from those rows, so unchanged
+ * products are never written and the feed holds exactly what changed.
+ */
+@Service
+public class ProductRepriceService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProductRepriceService.class);
+
+	private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+	private static final String[] COLUMNS = { "price", "cost_price", "min_price" };
+
+	private final ProductPriceChangeRepository productPriceChangeRepository;
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final AuthUtils authUtils;
+	private final ProductMapper productMapper;
+
+	public ProductRepriceService(ProductPriceChangeRepository productPriceChangeRepository,
+			NamedParameterJdbcTemplate jdbcTemplate, AuthUtils authUtils, ProductMapper productMapper) {
+		super();
+		this.productPriceChangeRepository = productPriceChangeRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.authUtils = authUtils;
+		this.productMapper = productMapper;
+	}
+
+	/** Reprice the active products of one category, distributor or ID list */
+	@Transactional
+	public RepriceResultDTO reprice(RepriceRequestDTO request) {
+
+		long scopes = Stream.of(request.getCategoryId(), request.getDistributorId(), request.getProductIds())
+				.filter(Objects::nonNull).count();
+		if (scopes != 1 || (request.getProductIds() != null && request.getProductIds().isEmpty())) {
+			throw new IllegalArgumentException(ErrorMessages.REPRICE_SCOPE_REQUIRED);
+		}
+		BigDecimal[] adjustments = { request.getPrice(), request.getCostPrice(), request.getMinPrice() };
+		if (Stream.of(adjustments).allMatch(Objects::isNull)) {
+			throw new IllegalArgumentException(ErrorMessages.REPRICE_ADJUSTMENT_REQUIRED);
+		}
+
+		UsersDTO loggedInUser = authUtils.getLoggedInUser();
+		String batchId = UUID.randomUUID().toString();
+		LocalDateTime now = LocalDateTime.now();
+
+		MapSqlParameterSource params = new MapSqlParameterSource().addValue("batchId", batchId)
+				.addValue("now", now).addValue("userId", loggedInUser.getUserId());
+		String scope;
+		if (request.getCategoryId() != null) {
+			scope = "category_id = :categoryId";
+			params.addValue("categoryId", request.getCategoryId());
+		} else if (request.getDistributorId() != null) {
+			scope = "distributor_id = :distributorId";
+			params.addValue("distributorId", request.getDistributorId());
+		} else {
+			scope = "id IN (:productIds)";
+			params.addValue("productIds", request.getProductIds());
+		}
+
+		List<String> newValues = new ArrayList<>();
+		List<String> changed = new ArrayList<>();
+		List<String> negative = new ArrayList<>();
+		for (int i = 0; i < COLUMNS.length; i++) {
+			String column = COLUMNS[i];
+			if (adjustments[i] == null) {
+				newValues.add(column);
+				continue;
+			}
+			String expression = adjust(column, request.getMode(), adjustments[i], params);
+			newValues.add(expression);
+			changed.add(expression + " <> " + column);
+			negative.add(expression + " < 0");
+		}
+		String where = " FROM product WHERE deleted = FALSE AND " + scope;
+
+		List<Integer> rejected = jdbcTemplate.queryForList(
+				"SELECT id" + where + " AND (" + String.join(" OR ", negative) + ") ORDER BY id", params,
+				Integer.class);
+		if (!rejected.isEmpty()) {
+			LOGGER.error("Repricing rejected, {} products would get negative prices.", rejected.size());
+			throw new IllegalArgumentException(ErrorMessages.REPRICE_NEGATIVE_PRICE
+					+ rejected.subList(0, Math.min(rejected.size(), 20)));
+		}
+
+		int recorded = jdbcTemplate.update("INSERT INTO product_price_change "
+				+ "(batch_id, product_id, price, cost_price, min_price, changed_at) SELECT :batchId, id, "
+				+ String.join(", ", newValues) + ", :now" + where + " AND (" + String.join(" OR ", changed) + ")",
+				params);
+		if (recorded == 0) {
+			LOGGER.info("Repricing {} changed no prices.", batchId);
+			return new RepriceResultDTO(batchId, 0);
+		}
+
+		StringBuilder update = new StringBuilder("UPDATE product SET ");
+		for (String column : COLUMNS) {
+			update.append(column).append(" = (SELECT c.").append(column)
+					.append(" FROM product_price_change c WHERE c.batch_id = :batchId AND c.product_id = product.id), ");
+		}
+		update.append("updated_at = :now, updated_user_id = :userId WHERE id IN ")
+				.append("(SELECT product_id FROM product_price_change WHERE batch_id = :batchId)");
+		int updated = jdbcTemplate.update(update.toString(), params);
+
+		LOGGER.info("Repricing {} updated {} products.", batchId, updated);
+		return new RepriceResultDTO(batchId, updated);
+	}
+
+	/**
+	 * Get the price changes after a change ID, oldest first. Without a change
+	 * ID only the current end of the feed is returned, to start polling from.
+	 */
+	public ProductPriceChangesDTO getPriceChanges(Long after, Integer limit) {
+
+		if (after == null) {
+			Long last = productPriceChangeRepository.findTopByOrderByChangeIdDesc()
+					.map(ProductPriceChange::getChangeId).orElse(0L);
+			return new ProductPriceChangesDTO(last, false, List.of());
+		}
+
+		int pageSize = KeysetCursor.limit(limit);
+		List<ProductPriceChange> rows = productPriceChangeRepository.findByChangeIdGreaterThanOrderByChangeIdAsc(after,
+				Limit.of(pageSize + 1));
+		boolean hasMore = rows.size() > pageSize;
+		List<ProductPriceChangeDTO> changes = rows.stream().limit(pageSize).map(productMapper::toDTO).toList();
+		Long last = changes.isEmpty() ? after : changes.get(changes.size() - 1).getChangeId();
+		LOGGER.debug("Fetched {} price changes after {}.", changes.size(), after);
+		return new ProductPriceChangesDTO(last, hasMore, changes);
+	}
+
+	/** SQL for the new value of a price column, with the adjustment bound as a parameter. */
+	private String adjust(String column, Mode mode, BigDecimal adjustment, MapSqlParameterSource params) {
+		String param = column + "Adjustment";
+		if (mode == Mode.PERCENT) {
+			params.addValue(param, BigDecimal.ONE.add(adjustment.divide(HUNDRED, MathContext.DECIMAL64)));
+			return "ROUND(" + column + " * :" + param + ", 2)";
+		}
+		params.addValue(param, adjustment);
+		return "(" + column + " + :" + param + ")";
+	}
+}
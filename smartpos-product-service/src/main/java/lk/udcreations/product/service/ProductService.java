@@ -2,17 +2,26 @@ package lk.udcreations.product.service;
 
 import static lk.udcreations.product.util.calculate.DateUtils.convertStringToLocalDateTime;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import lk.udcreations.product.cache.UserReferenceCache;
 import lk.udcreations.product.constants.ErrorMessages;
 import lk.udcreations.common.dto.category.CategoryDTO;
 import lk.udcreations.common.dto.distributor.DistributorDTO;
@@ -21,16 +30,24 @@ import lk.udcreations.common.dto.product.CreateProductDTO;
 import lk.udcreations.common.dto.product.ProductDTO;
 import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
 import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.product.dto.KeysetPageDTO;
+import lk.udcreations.product.dto.SellabilityDTO;
 import lk.udcreations.product.exception.NotFoundException;
 import lk.udcreations.product.entity.Category;
 import lk.udcreations.product.entity.Distributor;
 import lk.udcreations.product.entity.Inventory;
 import lk.udcreations.product.entity.Product;
+import lk.udcreations.product.entity.ProductPriceChange;
+import lk.udcreations.product.mapper.ProductMapper;
 import lk.udcreations.product.repository.CategoryRepository;
 import lk.udcreations.product.repository.DistributorRepository;
 import lk.udcreations.product.repository.InventoryRepository;
+import lk.udcreations.product.repository.ProductPriceChangeRepository;
 import lk.udcreations.product.repository.ProductRepository;
 import lk.udcreations.product.security.AuthUtils;
+import lk.udcreations.product.util.concurrent.ParallelHydrator;
+import lk.udcreations.product.util.pagination.KeysetCursor;
+import lk.udcreations.product.util.sequence.ProductCodeAllocator;
 
 @Service
 public class ProductService {
@@ -39,36 +56,50 @@ public class ProductService {
 
 	private final ProductRepository productRepository;
 	private final InventoryRepository inventoryRepository;
+	private final ProductPriceChangeRepository productPriceChangeRepository;
 	private final CategoryRepository categoryRepository;
 	private final DistributorRepository distributorRepository;
 	private final AuthUtils authUtils;
-	private final ModelMapper modelMapper;
+	private final UserReferenceCache userReferenceCache;
+	private final ProductMapper productMapper;
+	private final ParallelHydrator parallelHydrator;
+	private final ProductCodeAllocator productCodeAllocator;
+	private final TransactionTemplate transactionTemplate;
 	
 	public ProductService(ProductRepository productRepository, InventoryRepository inventoryRepository,
-			CategoryRepository categoryRepository, DistributorRepository distributorRepository, AuthUtils authUtils,
-			ModelMapper modelMapper) {
+			ProductPriceChangeRepository productPriceChangeRepository, CategoryRepository categoryRepository,
+			DistributorRepository distributorRepository, AuthUtils authUtils, UserReferenceCache userReferenceCache,
+			ProductMapper productMapper, ParallelHydrator parallelHydrator, ProductCodeAllocator productCodeAllocator,
+			PlatformTransactionManager transactionManager) {
 		super();
 		this.productRepository = productRepository;
 		this.inventoryRepository = inventoryRepository;
+		this.productPriceChangeRepository = productPriceChangeRepository;
 		this.categoryRepository = categoryRepository;
 		this.distributorRepository = distributorRepository;
 		this.authUtils = authUtils;
-		this.modelMapper = modelMapper;
+		this.userReferenceCache = userReferenceCache;
+		this.productMapper = productMapper;
+		this.parallelHydrator = parallelHydrator;
+		this.productCodeAllocator = productCodeAllocator;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
 	}
 
-	/** Get all products */
-	public List<ProductDTO> getAllProducts() {
+	/** Get all products, one keyset page at a time */
+	public KeysetPageDTO<ProductDTO> getAllProducts(String cursor, Integer limit) {
 
-		LOGGER.debug("Fetching all products from the database.");
+		int pageSize = KeysetCursor.limit(limit);
+		Integer afterId = KeysetCursor.decode(cursor);
+		LOGGER.debug("Fetching up to {} products after ID {} from the database.", pageSize, afterId);
 
-		List<Product> products = productRepository.findAll();
+		List<Product> products = productRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
 		if (products.isEmpty()) {
 			LOGGER.warn("No products found in the database.");
 		} else {
 			LOGGER.info("Successfully fetched {} products from the database.", products.size());
 		}
 
-		return products.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return KeysetCursor.page(products, pageSize, Product::getId, this::convertToDTOList);
 	}
 
 	/** Get all non-deleted product */
@@ -83,7 +114,7 @@ public class ProductService {
 			LOGGER.info("Fetched {} active products from the database.", products.size());
 		}
 
-		return products.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return convertToDTOList(products);
 	}
 
 	/** Get a productDTO by ID */
@@ -101,6 +132,19 @@ public class ProductService {
 				product.getProductName());
 		return convertToDTO(product);
 	}
+
+	/** Get products by a list of IDs, keyed by ID */
+	public Map<Integer, ProductDTO> getProductsByIds(List<Integer> ids) {
+
+		LOGGER.debug("Fetching {} products by ID", ids.size());
+
+		List<Product> products = productRepository.findAllById(ids);
+		LOGGER.info("Successfully fetched {} of {} requested products.", products.size(), ids.size());
+
+		Map<Integer, ProductDTO> result = new LinkedHashMap<>();
+		convertToDTOList(products).forEach(productDTO -> result.put(productDTO.getId(), productDTO));
+		return result;
+	}
 	
 	public boolean checkProductDeletedByProductId(String productId) {
 		LOGGER.debug("Fetching product with ID: {}", productId);
@@ -132,12 +176,59 @@ public class ProductService {
 		return product.isPresent();
 	}
 	
-	/** Create a new product */
-	@Transactional
+	/** Get the sellability of a product for the given quantity, read in a single query */
+	public SellabilityDTO getSellability(Integer id, int quantity) {
+
+		LOGGER.debug("Checking sellability of product ID: {} for quantity: {}", id, quantity);
+
+		SellabilityDTO sellability = productRepository.findSellabilityById(id).orElseThrow(() -> {
+			String errorMessage = ErrorMessages.PRODUCT_NOT_FOUND + id;
+			LOGGER.error("Sellability check failed. {}", errorMessage);
+			return new NotFoundException(errorMessage);
+		});
+		sellability.setStockAvailable(sellability.getStockQuantity() >= quantity);
+
+		LOGGER.info("Product ID: {} enabled: {}, deleted: {}, stock available: {}", id, sellability.isEnabled(),
+				sellability.isDeleted(), sellability.isStockAvailable());
+		return sellability;
+	}
+
+	/**
+	 * Get the sellability of many products, keyed by product ID, for the given
+	 * quantity of each. Unknown IDs are left out of the result.
+	 */
+	public Map<Integer, SellabilityDTO> getSellabilities(Map<Integer, Integer> quantities) {
+
+		LOGGER.debug("Checking sellability of {} products", quantities.size());
+
+		Map<Integer, SellabilityDTO> result = new LinkedHashMap<>();
+		for (SellabilityDTO sellability : productRepository.findSellabilityByIdIn(quantities.keySet())) {
+			Integer quantity = quantities.get(sellability.getId());
+			sellability.setStockAvailable(sellability.getStockQuantity() >= (quantity == null ? 0 : quantity));
+			result.put(sellability.getId(), sellability);
+		}
+		LOGGER.info("Checked sellability of {} of {} requested products.", result.size(), quantities.size());
+		return result;
+	}
+
+	/**
+	 * Create a new product. The product code is taken before the transaction
+	 * starts: when the allocator runs out of numbers it takes a new block in a
+	 * transaction of its own, which needs a second pooled connection. Taking it
+	 * inside this transaction could leave every connection held by inserts
+	 * waiting on each other. A code taken for a name that turns out to exist, or
+	 * for a reactivated product, is skipped.
+	 */
 	public ProductDTO createProduct(CreateProductDTO createProduct) {
 
 		LOGGER.debug("Attempting to create a new product with name: {}", createProduct.getProductName());
 
+		String productCode = productCodeAllocator.nextCode(createProduct.getCategoryId());
+		return transactionTemplate.execute(status -> createProduct(createProduct, productCode));
+	}
+
+	private ProductDTO createProduct(CreateProductDTO createProduct, String productCode) {
+
 		UsersDTO loggedInUser = authUtils.getLoggedInUser();
 		Product savedProduct;
 
@@ -178,6 +269,7 @@ public class ProductService {
 			// Otherwise, create a new category
 			Product newProduct = new Product();
 
+			newProduct.setProductId(productCode);
 			newProduct.setSku(createProduct.getSku());
 			newProduct.setProductName(createProduct.getProductName());
 			newProduct.setDescription(createProduct.getDescription());
@@ -236,6 +328,9 @@ public class ProductService {
 		UsersDTO loggedInUser = authUtils.getLoggedInUser();
 
 		return productRepository.findById(id).map(product -> {
+			boolean priceChanged = !samePrice(product.getPrice(), updatedProduct.getPrice())
+					|| !samePrice(product.getCostPrice(), updatedProduct.getCostPrice())
+					|| !samePrice(product.getMinPrice(), updatedProduct.getMinPrice());
 			product.setProductName(updatedProduct.getProductName());
 			product.setDescription(updatedProduct.getDescription());
 			product.setSku(updatedProduct.getSku());
@@ -251,6 +346,9 @@ public class ProductService {
 
 			Product savedProduct = productRepository.save(product);
 			LOGGER.info("Product with ID: {} successfully updated. New name: '{}'", id, savedProduct.getProductName());
+			if (priceChanged) {
+				recordPriceChange(savedProduct);
+			}
 
 			return convertToDTO(savedProduct);
 		}).orElseThrow(() -> {
@@ -299,43 +397,101 @@ public class ProductService {
 		LOGGER.info("Product with ID: {} has been permanently deleted.", id);
 	}
 
+	private static boolean samePrice(BigDecimal current, BigDecimal updated) {
+		return current == null ? updated == null : updated != null && current.compareTo(updated) == 0;
+	}
+
+	/** Publish the new prices of an edited product to the price change feed */
+	private void recordPriceChange(Product product) {
+		ProductPriceChange change = new ProductPriceChange();
+		change.setProductId(product.getId());
+		change.setPrice(product.getPrice());
+		change.setCostPrice(product.getCostPrice());
+		change.setMinPrice(product.getMinPrice());
+		change.setChangedAt(LocalDateTime.now());
+		productPriceChangeRepository.save(change);
+	}
+
 	private ProductDTO convertToDTO(Product product) {
 
-		ProductDTO productDTO = modelMapper.map(product, ProductDTO.class);
-
-		// Set CategoryDTO
-		Category category = categoryRepository.findById(product.getCategoryId()).orElseThrow();
-		CategoryDTO categoryDTO = modelMapper.map(category, CategoryDTO.class);
-		productDTO.setCategory(categoryDTO);
-
-		// Set DistributorDTO
-		Distributor distributor = distributorRepository.findById(product.getDistributorId()).orElseThrow();
-		DistributorDTO distributorDTO = modelMapper.map(distributor, DistributorDTO.class);
-		productDTO.setDistributor(distributorDTO);
-
-		// Set InventoryDTO
-		Inventory inventory = inventoryRepository.findByProductId(product.getId()).orElseThrow();
-		InventoryDTO inventoryDTO = modelMapper.map(inventory, InventoryDTO.class);
-		productDTO.setInventory(inventoryDTO);
-
-		// Set CreatedUserDTO
-		UsersDTO createdUser = authUtils.getUserById(product.getCreatedUserId());
-		CreatedUpdatedUserDTO createdUserDto = modelMapper.map(createdUser, CreatedUpdatedUserDTO.class);
-		productDTO.setCreatedUser(createdUserDto);
-
-		// Set UpdatedUserDTO
-		UsersDTO updatedUser = authUtils.getUserById(product.getUpdatedUserId());
-		CreatedUpdatedUserDTO updatedUserDto = modelMapper.map(updatedUser, CreatedUpdatedUserDTO.class);
-		productDTO.setUpdatedUser(updatedUserDto);
-
-		// Set DeletedUserDTO
-		if (category.isDeleted()) {
-			UsersDTO deletedUser = authUtils.getUserById(product.getDeletedUserId());
-			CreatedUpdatedUserDTO deletedUserDto = modelMapper.map(deletedUser, CreatedUpdatedUserDTO.class);
-			productDTO.setDeletedUser(deletedUserDto);
+		ProductDTO productDTO = productMapper.toDTO(product);
+
+		try (ParallelHydrator.Scope scope = parallelHydrator.open()) {
+
+			// Set CategoryDTO, DistributorDTO and InventoryDTO
+			Supplier<CategoryDTO> category = scope.forkQuery(
+					() -> productMapper.toDTO(categoryRepository.findById(product.getCategoryId()).orElseThrow()));
+			Supplier<DistributorDTO> distributor = scope.forkQuery(() -> productMapper
+					.toDTO(distributorRepository.findById(product.getDistributorId()).orElseThrow()));
+			Supplier<InventoryDTO> inventory = scope.forkQuery(
+					() -> productMapper.toDTO(inventoryRepository.findByProductId(product.getId()).orElseThrow()));
+
+			// Set CreatedUserDTO, UpdatedUserDTO and DeletedUserDTO
+			Supplier<CreatedUpdatedUserDTO> createdUser = scope
+					.fork(() -> userReferenceCache.get(product.getCreatedUserId()));
+			Supplier<CreatedUpdatedUserDTO> updatedUser = scope
+					.fork(() -> userReferenceCache.get(product.getUpdatedUserId()));
+			Supplier<CreatedUpdatedUserDTO> deletedUser = product.isDeleted()
+					? scope.fork(() -> userReferenceCache.get(product.getDeletedUserId()))
+					: null;
+
+			scope.join();
+
+			productDTO.setCategory(category.get());
+			productDTO.setDistributor(distributor.get());
+			productDTO.setInventory(inventory.get());
+			productDTO.setCreatedUser(createdUser.get());
+			productDTO.setUpdatedUser(updatedUser.get());
+			if (deletedUser != null) {
+				productDTO.setDeletedUser(deletedUser.get());
+			}
 		}
 
 		return productDTO;
 	}
 
+	/**
+	 * Convert a list of products in one pass. Categories, distributors and
+	 * inventory are loaded with one query each and the audit users come from the
+	 * user reference cache, which fetches only the unseen IDs in one bulk call.
+	 */
+	private List<ProductDTO> convertToDTOList(List<Product> products) {
+
+		if (products.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		Map<Integer, CategoryDTO> categories = categoryRepository
+				.findAllById(products.stream().map(Product::getCategoryId).distinct().toList()).stream()
+				.collect(Collectors.toMap(Category::getCategoryId, category -> productMapper.toDTO(category)));
+
+		Map<Integer, DistributorDTO> distributors = distributorRepository
+				.findAllById(products.stream().map(Product::getDistributorId).distinct().toList()).stream()
+				.collect(Collectors.toMap(Distributor::getDistributorId,
+						distributor -> productMapper.toDTO(distributor)));
+
+		Map<Integer, InventoryDTO> inventories = inventoryRepository
+				.findByProductIdIn(products.stream().map(Product::getId).toList()).stream()
+				.collect(Collectors.toMap(Inventory::getProductId,
+						inventory -> productMapper.toDTO(inventory), (first, second) -> first));
+
+		Map<Integer, CreatedUpdatedUserDTO> users = userReferenceCache.getAll(products.stream()
+				.flatMap(product -> Stream.of(product.getCreatedUserId(), product.getUpdatedUserId(),
+						product.isDeleted() ? product.getDeletedUserId() : null))
+				.toList());
+
+		return products.stream().map(product -> {
+			ProductDTO productDTO = productMapper.toDTO(product);
+			productDTO.setCategory(categories.get(product.getCategoryId()));
+			productDTO.setDistributor(distributors.get(product.getDistributorId()));
+			productDTO.setInventory(inventories.get(product.getId()));
+			productDTO.setCreatedUser(users.get(product.getCreatedUserId()));
+			productDTO.setUpdatedUser(users.get(product.getUpdatedUserId()));
+			if (product.isDeleted()) {
+				productDTO.setDeletedUser(users.get(product.getDeletedUserId()));
+			}
+			return productDTO;
+		}).collect(Collectors.toList());
+	}
+
 }
@@ -0,0 +1,274 @@
+package lk.udcreations.product.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import lk.udcreations.product.constants.ErrorMessages;
+import lk.udcreations.product.dto.ReserveStockDTO;
+import lk.udcreations.product.dto.StockReservationDTO;
+import lk.udcreations.product.entity.StockReservation;
+import lk.udcreations.product.entity.StockReservation.Status;
+import lk.udcreations.product.exception.InsufficientStockException;
+import lk.udcreations.product.exception.NotFoundException;
+import lk.udcreations.product.notification.StockLevelNotifier;
+import lk.udcreations.product.repository.InventoryRepository;
+import lk.udcreations.product.repository.StockReservationRepository;
+
+/**
+ * Holds stock for draft sales. A reservation takes its quantity from inventory
+ * up front with a conditional update, so concurrent tills never oversell and
+ * never wait on each other for the inventory row. Every quantity change goes
+ * through the stock level notifier, like the changes made by the inventory
+ * service.
+ */
+@Service
+public class StockReservationService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StockReservationService.class);
+
+	private static final Set<Status> OPEN = Set.of(Status.HELD, Status.EXPIRED);
+
+	private final StockReservationRepository stockReservationRepository;
+	private final InventoryRepository inventoryRepository;
+	private final StockLevelNotifier stockLevelNotifier;
+	private final Duration ttl;
+
+	public StockReservationService(StockReservationRepository stockReservationRepository,
+			InventoryRepository inventoryRepository, StockLevelNotifier stockLevelNotifier,
+			@Value("${inventory.reservation.ttl:15m}") Duration ttl) {
+		super();
+		this.stockReservationRepository = stockReservationRepository;
+		this.inventoryRepository = inventoryRepository;
+		this.stockLevelNotifier = stockLevelNotifier;
+		this.ttl = ttl;
+	}
+
+	/** Take stock for a draft sale and hold it until the reservation expires */
+	@Transactional
+	public StockReservationDTO reserve(ReserveStockDTO request) {
+
+		LOGGER.debug("Reserving {} units of product ID: {} for sale ID: {}", request.getQuantity(),
+				request.getProductId(), request.getSaleId());
+		takeStock(request.getProductId(), request.getQuantity());
+
+		StockReservation reservation = new StockReservation();
+		reservation.setSaleId(request.getSaleId());
+		reservation.setProductId(request.getProductId());
+		reservation.setQuantity(request.getQuantity());
+		reservation.setStatus(Status.HELD);
+		reservation.setExpiresAt(LocalDateTime.now().plus(ttl));
+		StockReservation savedReservation = stockReservationRepository.save(reservation);
+
+		LOGGER.info("Reserved {} units of product ID: {} for sale ID: {} until {}", request.getQuantity(),
+				request.getProductId(), request.getSaleId(), savedReservation.getExpiresAt());
+		return convertToDTO(savedReservation);
+	}
+
+	/**
+	 * Make the reservations of a finalized sale permanent. Reservations the
+	 * sweeper already expired take their stock again, or the commit fails.
+	 */
+	@Transactional
+	public int commitSale(Integer saleId) {
+
+		LOGGER.debug("Committing reservations of sale ID: {}", saleId);
+
+		List<StockReservation> reservations = stockReservationRepository.findBySaleIdAndStatusIn(saleId, OPEN);
+		reservations.stream().filter(reservation -> reservation.getStatus() == Status.EXPIRED)
+				.forEach(reservation -> takeStock(reservation.getProductId(), reservation.getQuantity()));
+		updateStatus(reservations, Status.COMMITTED);
+
+		LOGGER.info("Committed {} reservations of sale ID: {}", reservations.size(), saleId);
+		return reservations.size();
+	}
+
+	/**
+	 * Take the stock of a sale checked out from a till basket, keyed on the
+	 * basket's idempotency key. The rows are written as committed in the same
+	 * transaction, so a key that already took its stock returns without taking
+	 * it again, and a concurrent call with the same key fails on the unique key.
+	 */
+	@Transactional
+	public int commitCheckout(String checkoutKey, Integer saleId, Map<Integer, Integer> quantities) {
+
+		LOGGER.debug("Taking stock of {} products for checkout {} of sale ID: {}", quantities.size(), checkoutKey,
+				saleId);
+
+		List<StockReservation> existing = stockReservationRepository.findByCheckoutKey(checkoutKey);
+		if (!existing.isEmpty()) {
+			LOGGER.info("Checkout {} already took stock of {} products", checkoutKey, existing.size());
+			return existing.size();
+		}
+
+		quantities.values().stream().filter(quantity -> quantity == null || quantity < 1).findFirst()
+				.ifPresent(quantity -> {
+					String errorMsg = ErrorMessages.INVALID_STOCK_QUANTITY + quantity;
+					LOGGER.error(errorMsg);
+					throw new IllegalArgumentException(errorMsg);
+				});
+
+		LocalDateTime now = LocalDateTime.now();
+		List<StockReservation> reservations = new ArrayList<>(quantities.size());
+		// Product ID order, so concurrent checkouts lock inventory rows in the same order
+		new TreeMap<>(quantities).forEach((productId, quantity) -> {
+			takeStock(productId, quantity);
+
+			StockReservation reservation = new StockReservation();
+			reservation.setSaleId(saleId);
+			reservation.setProductId(productId);
+			reservation.setQuantity(quantity);
+			reservation.setCheckoutKey(checkoutKey);
+			reservation.setStatus(Status.COMMITTED);
+			reservation.setExpiresAt(now);
+			reservations.add(reservation);
+		});
+		stockReservationRepository.saveAll(reservations);
+
+		LOGGER.info("Checkout {} took stock of {} products for sale ID: {}", checkoutKey, reservations.size(), saleId);
+		return reservations.size();
+	}
+
+	/** Give back the stock held for a sale, or only for one of its products */
+	@Transactional
+	public int releaseSale(Integer saleId, Integer productId) {
+
+		LOGGER.debug("Releasing reservations of sale ID: {} and product ID: {}", saleId, productId);
+
+		List<StockReservation> reservations = productId == null
+				? stockReservationRepository.findBySaleIdAndStatusIn(saleId, OPEN)
+				: stockReservationRepository.findBySaleIdAndProductIdAndStatusIn(saleId, productId, OPEN);
+		restock(reservations.stream().filter(reservation -> reservation.getStatus() == Status.HELD).toList());
+		updateStatus(reservations, Status.RELEASED);
+
+		LOGGER.info("Released {} reservations of sale ID: {}", reservations.size(), saleId);
+		return reservations.size();
+	}
+
+	/**
+	 * Give back only some held units of one product of a sale, newest
+	 * reservations first. A reservation given back in part keeps the rest.
+	 */
+	@Transactional
+	public int releaseQuantity(Integer saleId, Integer productId, int quantity) {
+
+		LOGGER.debug("Releasing {} units of product ID: {} for sale ID: {}", quantity, productId, saleId);
+
+		List<StockReservation> open = new ArrayList<>(
+				stockReservationRepository.findBySaleIdAndProductIdAndStatusIn(saleId, productId, OPEN));
+		open.sort(Comparator.comparing(StockReservation::getReservationId).reversed());
+
+		List<StockReservation> released = new ArrayList<>();
+		int remaining = quantity;
+		for (StockReservation reservation : open) {
+			if (remaining == 0) {
+				break;
+			}
+			if (reservation.getQuantity() <= remaining) {
+				released.add(reservation);
+				remaining -= reservation.getQuantity();
+			} else {
+				// Managed entity; the smaller quantity is flushed with the transaction
+				reservation.setQuantity(reservation.getQuantity() - remaining);
+				if (reservation.getStatus() == Status.HELD) {
+					inventoryRepository.increaseQuantity(productId, remaining);
+					quantityChanged(productId, remaining);
+				}
+				remaining = 0;
+			}
+		}
+		restock(released.stream().filter(reservation -> reservation.getStatus() == Status.HELD).toList());
+		updateStatus(released, Status.RELEASED);
+
+		if (remaining > 0) {
+			LOGGER.warn("Sale ID: {} held {} fewer units of product ID: {} than asked to release", saleId, remaining,
+					productId);
+		}
+		LOGGER.info("Released {} units of product ID: {} for sale ID: {}", quantity - remaining, productId, saleId);
+		return quantity - remaining;
+	}
+
+	/** Expire one batch of held reservations past their deadline and give their stock back */
+	@Transactional
+	public int expireReservations(int batchSize) {
+
+		List<StockReservation> due = stockReservationRepository.findByStatusAndExpiresAtBeforeOrderByReservationIdAsc(
+				Status.HELD, LocalDateTime.now(), Limit.of(batchSize));
+		if (due.isEmpty()) {
+			return 0;
+		}
+		restock(due);
+		updateStatus(due, Status.EXPIRED);
+
+		LOGGER.info("Expired {} stock reservations.", due.size());
+		return due.size();
+	}
+
+	private void takeStock(Integer productId, int quantity) {
+
+		if (inventoryRepository.decreaseQuantityIfAvailable(productId, quantity) == 0) {
+			if (!inventoryRepository.existsByProductId(productId)) {
+				String errorMsg = ErrorMessages.INVENTORY_NOT_FOUND + productId;
+				LOGGER.error(errorMsg);
+				throw new NotFoundException(errorMsg);
+			}
+			LOGGER.error("{} to reserve {} units of product ID: {}", ErrorMessages.INVENTORY_NOT_ENOUGHT_STOCK,
+					quantity, productId);
+			throw new InsufficientStockException(ErrorMessages.INVENTORY_NOT_ENOUGHT_STOCK);
+		}
+		quantityChanged(productId, -quantity);
+	}
+
+	/** Add held quantities back with one update per product */
+	private void restock(List<StockReservation> reservations) {
+
+		Map<Integer, Integer> quantities = reservations.stream().collect(
+				Collectors.groupingBy(StockReservation::getProductId, Collectors.summingInt(StockReservation::getQuantity)));
+		quantities.forEach((productId, quantity) -> {
+			inventoryRepository.increaseQuantity(productId, quantity);
+			quantityChanged(productId, quantity);
+		});
+	}
+
+	/** Report a level crossing to subscribers, reading the new quantity back only when someone listens */
+	private void quantityChanged(Integer productId, int change) {
+
+		if (stockLevelNotifier.hasSubscribers()) {
+			inventoryRepository.findByProductId(productId).ifPresent(
+					inventory -> stockLevelNotifier.quantityChanged(inventory, inventory.getQuantity() - change));
+		}
+	}
+
+	private void updateStatus(List<StockReservation> reservations, Status status) {
+
+		if (!reservations.isEmpty()) {
+			stockReservationRepository.updateStatus(
+					reservations.stream().map(StockReservation::getReservationId).toList(), status);
+		}
+	}
+
+	private StockReservationDTO convertToDTO(StockReservation reservation) {
+
+		StockReservationDTO dto = new StockReservationDTO();
+		dto.setReservationId(reservation.getReservationId());
+		dto.setSaleId(reservation.getSaleId());
+		dto.setProductId(reservation.getProductId());
+		dto.setQuantity(reservation.getQuantity());
+		dto.setStatus(reservation.getStatus().name());
+		dto.setExpiresAt(reservation.getExpiresAt());
+		return dto;
+	}
+}
@@ -20,7 +20,8 @@ public class Calculate {
 	// Sale
 	public static BigDecimal calcTotalPayments(BigDecimal cash, BigDecimal credit, BigDecimal qr, BigDecimal cheque,
 			BigDecimal due) {
-		return CalculateUtil.getSum(cash, credit, qr, cheque, due);
+		return Money.ofNullable(cash).plus(Money.ofNullable(credit)).plus(Money.ofNullable(qr))
+				.plus(Money.ofNullable(cheque)).plus(Money.ofNullable(due)).toBigDecimal();
 	}
 
 //	public static int calcTotalQuantity(List<SalesItems> items) {
@@ -32,33 +33,39 @@ public class Calculate {
 //	}
 
 	// Sale Item
+	/**
+	 * Prices are first rounded to the cent (see {@link Money}), so the result is
+	 * the same for 19.99 and 19.9900. Before amounts were held as cents the
+	 * percentage step was rounded to the scale of the price instead.
+	 */
 	public static BigDecimal calculateDiscountedPrice(BigDecimal unitPrice, int discPer, BigDecimal discVal) {
 
-		LOGGER.debug("Calculating discounted price");
-
 		if (unitPrice == null || discVal == null) {
 			throw new IllegalArgumentException("unitPrice, discPer, and discVal cannot be null");
 		}
-
-		// Calculate percentage discount: (unitPrice / 100) * (100 - discPer)
-		BigDecimal percentageDiscount = unitPrice
-				.multiply(BigDecimal.valueOf(100).subtract(BigDecimal.valueOf(discPer)))
-				.divide(BigDecimal.valueOf(100), RoundingMode.HALF_UP);
-		LOGGER.info("Percentage discount: {} ", percentageDiscount);
-
-		// Calculate selling unit price: unitPrice - percentageDiscount - discVal
-		BigDecimal flatDiscounted = percentageDiscount.subtract(discVal);
-		LOGGER.info("Flat discount: {} ", discVal);
-		LOGGER.info("Flat discounted value: {} ", flatDiscounted);
-		return flatDiscounted;
+		return discountedPrice(Money.of(unitPrice), discPer, Money.of(discVal)).toBigDecimal();
 	}
 
 	public static BigDecimal calculateItemTotal(BigDecimal unitPrice, int discPer, BigDecimal discVal, int qty) {
 		if (unitPrice == null || discVal == null) {
 			throw new IllegalArgumentException("unitPrice, discPer, and discVal cannot be null");
 		}
-		return calculateDiscountedPrice(unitPrice, discPer, discVal).multiply(BigDecimal.valueOf(qty));
+		return discountedPrice(Money.of(unitPrice), discPer, Money.of(discVal)).times(qty).toBigDecimal();
+
+	}
+
+	/** Selling unit price: unitPrice less discPer percent, rounded half up, less discVal. */
+	public static Money discountedPrice(Money unitPrice, int discPer, Money discVal) {
 
+		LOGGER.debug("Calculating discounted price");
+
+		Money percentageDiscount = unitPrice.percent(100 - discPer, RoundingMode.HALF_UP);
+		LOGGER.info("Percentage discount: {} ", percentageDiscount);
+
+		Money flatDiscounted = percentageDiscount.minus(discVal);
+		LOGGER.info("Flat discount: {} ", discVal);
+		LOGGER.info("Flat discounted value: {} ", flatDiscounted);
+		return flatDiscounted;
 	}
 
 }
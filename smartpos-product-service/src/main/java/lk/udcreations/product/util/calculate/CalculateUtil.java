@@ -19,12 +19,13 @@ public class CalculateUtil {
 		return Arrays.stream(values).filter(Objects::nonNull).reduce(BigDecimal.ZERO, BigDecimal::add);
 	}
 
+	// compareTo ignores scale, so 1.0 and 1.00 are already equal without stripping zeros
 	public static boolean isEquals(BigDecimal bd1, BigDecimal bd2) {
-		return checkNull(bd1).stripTrailingZeros().compareTo(checkNull(bd2).stripTrailingZeros()) == 0;
+		return checkNull(bd1).compareTo(checkNull(bd2)) == 0;
 	}
 
 	public static boolean isLessThanOrEqual(BigDecimal bd1, BigDecimal bd2) {
-		return checkNull(bd1).stripTrailingZeros().compareTo(checkNull(bd2).stripTrailingZeros()) <= 0;
+		return checkNull(bd1).compareTo(checkNull(bd2)) <= 0;
 	}
 
 	public static BigDecimal applyDiscount(BigDecimal orgPrice, int per) {
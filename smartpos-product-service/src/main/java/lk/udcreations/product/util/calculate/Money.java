@@ -0,0 +1,131 @@
+package lk.udcreations.product.util.calculate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of money held as a whole number of cents.
+ * 
+ * Basket arithmetic runs on the long value; BigDecimal is only used when an
+ * amount comes in from or goes out to an entity or DTO. Amounts are kept to two
+ * decimal places like the database columns, and every operation that can lose
+ * precision takes an explicit rounding mode. Overflow throws
+ * ArithmeticException instead of wrapping.
+ * 
+ * Inputs with more than two decimal places are rounded half up to the cent on
+ * the way in, so 19.9950 becomes 20.00 before any discount is applied, while
+ * 19.9900 and 19.99 are the same amount.
+ */
+public final class Money implements Comparable<Money> {
+
+	public static final int SCALE = 2;
+
+	public static final Money ZERO = new Money(0);
+
+	private static final long CENTS_PER_UNIT = 100;
+
+	private final long cents;
+
+	private Money(long cents) {
+		this.cents = cents;
+	}
+
+	public static Money ofCents(long cents) {
+		return cents == 0 ? ZERO : new Money(cents);
+	}
+
+	/**
+	 * Convert an amount, rounding half up to the cent. Sub-cent digits are lost
+	 * here; use {@link #of(BigDecimal, RoundingMode)} with UNNECESSARY to reject them.
+	 */
+	public static Money of(BigDecimal amount) {
+		return of(amount, RoundingMode.HALF_UP);
+	}
+
+	public static Money of(BigDecimal amount, RoundingMode roundingMode) {
+		if (amount == null) {
+			throw new IllegalArgumentException("amount cannot be null");
+		}
+		return ofCents(amount.setScale(SCALE, roundingMode).movePointRight(SCALE).longValueExact());
+	}
+
+	/** Convert an amount, treating null as zero. */
+	public static Money ofNullable(BigDecimal amount) {
+		return amount == null ? ZERO : of(amount);
+	}
+
+	public long cents() {
+		return cents;
+	}
+
+	public Money plus(Money other) {
+		return ofCents(Math.addExact(cents, other.cents));
+	}
+
+	public Money minus(Money other) {
+		return ofCents(Math.subtractExact(cents, other.cents));
+	}
+
+	public Money times(int quantity) {
+		return ofCents(Math.multiplyExact(cents, (long) quantity));
+	}
+
+	/** This amount scaled by percent / 100, rounded to the cent. */
+	public Money percent(int percent, RoundingMode roundingMode) {
+		return ofCents(divide(Math.multiplyExact(cents, (long) percent), CENTS_PER_UNIT, roundingMode));
+	}
+
+	public boolean isZero() {
+		return cents == 0;
+	}
+
+	public BigDecimal toBigDecimal() {
+		return BigDecimal.valueOf(cents, SCALE);
+	}
+
+	@Override
+	public int compareTo(Money other) {
+		return Long.compare(cents, other.cents);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return this == obj || (obj instanceof Money other && cents == other.cents);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(cents);
+	}
+
+	@Override
+	public String toString() {
+		long units = Math.abs(cents / CENTS_PER_UNIT);
+		long fraction = Math.abs(cents % CENTS_PER_UNIT);
+		return (cents < 0 ? "-" : "") + units + (fraction < 10 ? ".0" : ".") + fraction;
+	}
+
+	/** Integer division with BigDecimal's rounding rules. */
+	static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+
+		long quotient = dividend / divisor;
+		long remainder = dividend % divisor;
+		if (remainder == 0) {
+			return quotient;
+		}
+
+		int signum = (dividend < 0) == (divisor < 0) ? 1 : -1;
+		int half = Long.compare(Math.abs(remainder) * 2, Math.abs(divisor));
+		boolean increment = switch (roundingMode) {
+		case UP -> true;
+		case DOWN -> false;
+		case CEILING -> signum > 0;
+		case FLOOR -> signum < 0;
+		case HALF_UP -> half >= 0;
+		case HALF_DOWN -> half > 0;
+		case HALF_EVEN -> half > 0 || (half == 0 && (quotient & 1) != 0);
+		case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+		};
+		return increment ? quotient + signum : quotient;
+	}
+}
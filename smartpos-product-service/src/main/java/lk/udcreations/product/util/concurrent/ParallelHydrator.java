@@ -0,0 +1,137 @@
+package lk.udcreations.product.util.concurrent;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs the independent lookups that hydrate one DTO side by side on virtual
+ * threads, so a DTO costs its slowest lookup instead of the sum of them all.
+ */
+@Component
+public class ParallelHydrator {
+
+	private final boolean enabled;
+
+	public ParallelHydrator(@Value("${hydration.parallel.enabled:true}") boolean enabled) {
+		super();
+		this.enabled = enabled;
+	}
+
+	/** Open a scope for one DTO. With parallel hydration disabled every fork runs inline. */
+	public Scope open() {
+		return new Scope(enabled ? Executors.newVirtualThreadPerTaskExecutor() : null);
+	}
+
+	/**
+	 * The forks of one DTO. The first fork to fail cancels the others, and
+	 * closing the scope waits until none of them is still running.
+	 */
+	public static final class Scope implements AutoCloseable {
+
+		private final ExecutorService executor;
+		private final List<Future<?>> forks = new CopyOnWriteArrayList<>();
+		private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		private Scope(ExecutorService executor) {
+			this.executor = executor;
+		}
+
+		/** Fork a remote call. */
+		public <T> Supplier<T> fork(Callable<T> task) {
+			if (executor == null) {
+				T value = call(task);
+				return () -> value;
+			}
+			FutureTask<T> future = new FutureTask<>(() -> {
+				try {
+					return task.call();
+				} catch (Exception | Error ex) {
+					if (failure.compareAndSet(null, ex)) {
+						cancelAll();
+					}
+					throw ex;
+				}
+			});
+			// Registered before it can run, so a sibling failing right away still cancels it
+			forks.add(future);
+			if (failure.get() != null) {
+				future.cancel(true);
+			} else {
+				executor.execute(future);
+			}
+			return future::resultNow;
+		}
+
+		/**
+		 * Fork a repository lookup. Inside a transaction it runs inline, because
+		 * another thread would not see rows the transaction has not committed.
+		 */
+		public <T> Supplier<T> forkQuery(Callable<T> task) {
+			if (TransactionSynchronizationManager.isActualTransactionActive()) {
+				T value = call(task);
+				return () -> value;
+			}
+			return fork(task);
+		}
+
+		/** Wait for every fork and rethrow the first failure. */
+		public void join() {
+			for (Future<?> fork : forks) {
+				try {
+					fork.get();
+				} catch (ExecutionException | CancellationException ex) {
+					break;
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					cancelAll();
+					throw new IllegalStateException("Interrupted while hydrating", ex);
+				}
+			}
+			Throwable cause = failure.get();
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			if (cause != null) {
+				throw new IllegalStateException(cause);
+			}
+		}
+
+		@Override
+		public void close() {
+			if (executor != null) {
+				cancelAll();
+				executor.close();
+			}
+		}
+
+		private void cancelAll() {
+			forks.forEach(fork -> fork.cancel(true));
+		}
+
+		private static <T> T call(Callable<T> task) {
+			try {
+				return task.call();
+			} catch (RuntimeException ex) {
+				throw ex;
+			} catch (Exception ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+	}
+}
@@ -0,0 +1,216 @@
+package lk.udcreations.product.util.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lk.udcreations.common.dto.product.CreateProductDTO;
+
+/**
+ * Reads the rows of a product import one line at a time, so a large file is
+ * never held in memory. CSV files start with a header naming the
+ * CreateProductDTO fields (camelCase or snake_case, any order); NDJSON files
+ * hold one CreateProductDTO object per line. Blank lines are skipped and a
+ * line that cannot be read becomes a row with an error instead of stopping
+ * the import. Quoted CSV fields may contain commas but not line breaks.
+ */
+public final class ProductImportReader implements Iterator<ProductImportReader.Row>, AutoCloseable {
+
+	private static final Map<String, BiConsumer<CreateProductDTO, String>> CSV_FIELDS = Map.ofEntries(
+			Map.entry("productname", CreateProductDTO::setProductName),
+			Map.entry("sku", CreateProductDTO::setSku),
+			Map.entry("description", CreateProductDTO::setDescription),
+			Map.entry("categoryid", (p, v) -> p.setCategoryId(Integer.valueOf(v))),
+			Map.entry("distributorid", (p, v) -> p.setDistributorId(Integer.valueOf(v))),
+			Map.entry("price", (p, v) -> p.setPrice(new BigDecimal(v))),
+			Map.entry("costprice", (p, v) -> p.setCostPrice(new BigDecimal(v))),
+			Map.entry("minprice", (p, v) -> p.setMinPrice(new BigDecimal(v))),
+			Map.entry("manufacturedate", CreateProductDTO::setManufactureDate),
+			Map.entry("expiredate", CreateProductDTO::setExpireDate),
+			Map.entry("enabled", (p, v) -> p.setEnabled(Boolean.parseBoolean(v))),
+			Map.entry("initialstock", (p, v) -> p.setInitialStock(Integer.valueOf(v))),
+			Map.entry("stockalertlevel", (p, v) -> p.setStockAlertLevel(Integer.valueOf(v))),
+			Map.entry("stockwarninglevel", (p, v) -> p.setStockWarningLevel(Integer.valueOf(v))));
+
+	/** A line of the import: the product read from it, or why it could not be read. */
+	public static final class Row {
+
+		private final long line;
+		private final CreateProductDTO product;
+		private final String error;
+
+		private Row(long line, CreateProductDTO product, String error) {
+			this.line = line;
+			this.product = product;
+			this.error = error;
+		}
+
+		public long getLine() {
+			return line;
+		}
+
+		public CreateProductDTO getProduct() {
+			return product;
+		}
+
+		public String getError() {
+			return error;
+		}
+	}
+
+	private final BufferedReader reader;
+	private final Function<String, CreateProductDTO> parser;
+	private long lineNumber;
+	private Row next;
+
+	private ProductImportReader(BufferedReader reader, long lineNumber,
+			Function<String, CreateProductDTO> parser) {
+		this.reader = reader;
+		this.lineNumber = lineNumber;
+		this.parser = parser;
+	}
+
+	/** Read a CSV import; the first line must be the header. */
+	public static ProductImportReader csv(InputStream in) {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		String header = readLine(reader);
+		if (header == null || header.isBlank()) {
+			throw new IllegalArgumentException("The CSV import has no header line.");
+		}
+		List<BiConsumer<CreateProductDTO, String>> columns = new ArrayList<>();
+		List<String> names = splitCsv(header.startsWith("\uFEFF") ? header.substring(1) : header);
+		for (String name : names) {
+			BiConsumer<CreateProductDTO, String> setter = CSV_FIELDS
+					.get(name.trim().replace("_", "").toLowerCase(Locale.ROOT));
+			if (setter == null) {
+				throw new IllegalArgumentException("Unknown column in the CSV import header: " + name);
+			}
+			columns.add(setter);
+		}
+		return new ProductImportReader(reader, 1, line -> {
+			List<String> values = splitCsv(line);
+			if (values.size() != columns.size()) {
+				throw new IllegalArgumentException(
+						"Expected " + columns.size() + " columns but found " + values.size() + ".");
+			}
+			CreateProductDTO product = new CreateProductDTO();
+			for (int i = 0; i < values.size(); i++) {
+				String value = values.get(i).trim();
+				if (value.isEmpty()) {
+					continue;
+				}
+				try {
+					columns.get(i).accept(product, value);
+				} catch (NumberFormatException ex) {
+					throw new IllegalArgumentException("Invalid value in column " + names.get(i).trim() + ": " + value);
+				}
+			}
+			return product;
+		});
+	}
+
+	/** Read an NDJSON import, one product object per line. */
+	public static ProductImportReader ndjson(InputStream in, ObjectMapper objectMapper) {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		return new ProductImportReader(reader, 0, line -> {
+			try {
+				return objectMapper.readValue(line, CreateProductDTO.class);
+			} catch (JsonProcessingException ex) {
+				throw new IllegalArgumentException("Invalid JSON: " + ex.getOriginalMessage());
+			}
+		});
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (next != null) {
+			return true;
+		}
+		String line;
+		do {
+			line = readLine(reader);
+			if (line == null) {
+				return false;
+			}
+			lineNumber++;
+		} while (line.isBlank());
+
+		try {
+			next = new Row(lineNumber, parser.apply(line), null);
+		} catch (IllegalArgumentException ex) {
+			next = new Row(lineNumber, null, ex.getMessage());
+		}
+		return true;
+	}
+
+	@Override
+	public Row next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		Row row = next;
+		next = null;
+		return row;
+	}
+
+	@Override
+	public void close() {
+		try {
+			reader.close();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private static String readLine(BufferedReader reader) {
+		try {
+			return reader.readLine();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/** Split a CSV line on commas outside double quotes; "" inside quotes is a literal quote. */
+	static List<String> splitCsv(String line) {
+		List<String> values = new ArrayList<>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					value.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					value.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				values.add(value.toString());
+				value.setLength(0);
+			} else {
+				value.append(c);
+			}
+		}
+		values.add(value.toString());
+		return values;
+	}
+}
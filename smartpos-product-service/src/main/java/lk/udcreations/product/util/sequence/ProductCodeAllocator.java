@@ -0,0 +1,112 @@
+package lk.udcreations.product.util.sequence;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lk.udcreations.product.entity.Category;
+import lk.udcreations.product.entity.ProductCodeCounter;
+import lk.udcreations.product.repository.CategoryRepository;
+import lk.udcreations.product.repository.ProductCodeCounterRepository;
+import lk.udcreations.product.repository.ProductRepository;
+
+/**
+ * Hands out product codes (category prefix + 5 digit number) per category.
+ * Numbers are taken from the category's counter row in blocks, in their own
+ * short transaction, and then given out from memory, so inserts neither scan
+ * the category's products nor race each other for the same code. Numbers of a
+ * block that is not used up before a restart are skipped, never reused.
+ */
+@Component
+public class ProductCodeAllocator {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProductCodeAllocator.class);
+
+	static final String DEFAULT_PREFIX = "G";
+
+	private final ProductCodeCounterRepository counterRepository;
+	private final ProductRepository productRepository;
+	private final CategoryRepository categoryRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final int blockSize;
+
+	private final Map<Integer, Block> blocks = new ConcurrentHashMap<>();
+
+	public ProductCodeAllocator(ProductCodeCounterRepository counterRepository, ProductRepository productRepository,
+			CategoryRepository categoryRepository, PlatformTransactionManager transactionManager,
+			@Value("${product.code.block-size:50}") int blockSize) {
+		super();
+		this.counterRepository = counterRepository;
+		this.productRepository = productRepository;
+		this.categoryRepository = categoryRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.blockSize = blockSize;
+	}
+
+	/** Next free product code of a category. */
+	public String nextCode(Integer categoryId) {
+		Block block = blocks.computeIfAbsent(categoryId, key -> new Block());
+		// A lock rather than synchronized: reserving a block does JDBC, which would pin a virtual thread
+		block.lock.lock();
+		try {
+			if (block.next > block.last) {
+				reserve(categoryId, block);
+			}
+			return block.prefix + String.format("%05d", block.next++);
+		} finally {
+			block.lock.unlock();
+		}
+	}
+
+	/** Drop the numbers held for a category, e.g. after its prefix changed. */
+	public void evict(Integer categoryId) {
+		blocks.remove(categoryId);
+	}
+
+	private void reserve(Integer categoryId, Block block) {
+		String prefix = categoryRepository.findById(categoryId).map(Category::getCatPrefix).orElse(DEFAULT_PREFIX);
+		Long first;
+		try {
+			first = transactionTemplate.execute(status -> takeBlock(categoryId, prefix));
+		} catch (DataIntegrityViolationException ex) {
+			// Another instance created the counter row first; it exists now, so lock it and take from it
+			LOGGER.debug("Counter of category {} was created concurrently, retrying", categoryId);
+			first = transactionTemplate.execute(status -> takeBlock(categoryId, prefix));
+		}
+		block.prefix = prefix;
+		block.next = first;
+		block.last = first + blockSize - 1;
+		LOGGER.debug("Reserved product codes {}{} to {} for category {}", prefix, block.next, block.last, categoryId);
+	}
+
+	private Long takeBlock(Integer categoryId, String prefix) {
+		ProductCodeCounter counter = counterRepository.findByCategoryId(categoryId).orElseGet(() -> {
+			// First code of the category: continue after the codes already in the table
+			ProductCodeCounter created = new ProductCodeCounter();
+			created.setCategoryId(categoryId);
+			created.setNextValue(productRepository.findMaxProductCodeNumber(categoryId, prefix) + 1);
+			return counterRepository.saveAndFlush(created);
+		});
+		Long first = counter.getNextValue();
+		counter.setNextValue(first + blockSize);
+		counterRepository.save(counter);
+		return first;
+	}
+
+	private static final class Block {
+		private final ReentrantLock lock = new ReentrantLock();
+		private String prefix;
+		private long next = 1;
+		private long last = 0;
+	}
+}
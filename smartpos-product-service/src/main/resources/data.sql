@@ -103,3 +103,6 @@ INSERT INTO Inventory(product_id, quantity, stock_alert_level, stock_warning_lev
 
 INSERT INTO Inventory(product_id, quantity, stock_alert_level, stock_warning_level, last_updated
 ) VALUES (5, 40, 8, 15, CURRENT_TIMESTAMP );
+
+--Low-stock flags of the rows above; existing databases need the same statement once
+UPDATE Inventory SET below_alert = (quantity <= stock_alert_level), below_warning = (quantity <= stock_warning_level);
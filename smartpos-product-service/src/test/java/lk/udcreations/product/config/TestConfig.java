@@ -1,5 +1,12 @@
 package lk.udcreations.product.config;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.Bean;
@@ -7,7 +14,9 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 
 import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.product.cache.UserIdentityCache;
 import lk.udcreations.product.config.UserServiceClient;
+import lk.udcreations.product.dto.UserChangesDTO;
 import lk.udcreations.product.security.AuthUtils;
 
 @TestConfiguration
@@ -34,13 +43,26 @@ public class TestConfig {
                 user.setUsername("test_user");
                 return user;
             }
+
+            @Override
+            public Map<Integer, UsersDTO> getUsersByIds(List<Integer> userIds) {
+                Map<Integer, UsersDTO> users = new LinkedHashMap<>();
+                userIds.forEach(userId -> users.put(userId, getUserById(userId)));
+                return users;
+            }
+
+            @Override
+            public UserChangesDTO getUserChanges(LocalDateTime since) {
+                return new UserChangesDTO(LocalDateTime.now(), new ArrayList<>(), new ArrayList<>());
+            }
         };
     }
 
     @Bean
     @Primary
     public AuthUtils authUtils() {
-        return new AuthUtils(userServiceClient()) {
+        return new AuthUtils(userServiceClient(),
+                new UserIdentityCache(userServiceClient(), 100, Duration.ofMinutes(1))) {
             @Override
             public String getLoggedInUsername() {
                 return "test_user";
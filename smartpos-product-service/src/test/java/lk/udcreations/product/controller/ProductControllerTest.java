@@ -17,6 +17,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,6 +33,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lk.udcreations.product.controller.ProductController;
 import lk.udcreations.common.dto.product.CreateProductDTO;
 import lk.udcreations.common.dto.product.ProductDTO;
+import lk.udcreations.product.dto.KeysetPageDTO;
+import lk.udcreations.product.dto.ProductImportErrorDTO;
+import lk.udcreations.product.dto.ProductImportResultDTO;
+import lk.udcreations.product.dto.RepriceRequestDTO;
+import lk.udcreations.product.dto.RepriceResultDTO;
+import lk.udcreations.product.dto.SellabilityDTO;
+import lk.udcreations.product.service.ProductImportService;
+import lk.udcreations.product.service.ProductRepriceService;
 import lk.udcreations.product.service.ProductService;
 
 class ProductControllerTest {
@@ -39,6 +48,12 @@ class ProductControllerTest {
 	@Mock
 	private ProductService productService;
 
+	@Mock
+	private ProductImportService productImportService;
+
+	@Mock
+	private ProductRepriceService productRepriceService;
+
 	@InjectMocks
 	private ProductController productController;
 
@@ -69,15 +84,17 @@ class ProductControllerTest {
 		product2.setPrice(new BigDecimal("200.00"));
 		product2.setCreatedAt(LocalDateTime.now());
 
-		List<ProductDTO> products = Arrays.asList(product1, product2);
+		KeysetPageDTO<ProductDTO> page = new KeysetPageDTO<>(Arrays.asList(product1, product2), null);
 
-		when(productService.getAllProducts()).thenReturn(products);
+		when(productService.getAllProducts(null, null)).thenReturn(page);
 
-		mockMvc.perform(get("/api/v1/product/all")).andExpect(status().isOk()).andExpect(jsonPath("$.size()").value(2))
-				.andExpect(jsonPath("$[0].productName").value("Product 1"))
-				.andExpect(jsonPath("$[1].productName").value("Product 2"));
+		mockMvc.perform(get("/api/v1/product/all")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.content.size()").value(2))
+				.andExpect(jsonPath("$.content[0].productName").value("Product 1"))
+				.andExpect(jsonPath("$.content[1].productName").value("Product 2"))
+				.andExpect(jsonPath("$.hasNext").value(false));
 
-		verify(productService, times(1)).getAllProducts();
+		verify(productService, times(1)).getAllProducts(null, null);
 	}
 
 	@Test
@@ -124,6 +141,22 @@ class ProductControllerTest {
 		verify(productService, times(1)).getProductDTOById(1);
 	}
 
+	@Test
+	void testGetProductsByIds() throws Exception {
+		ProductDTO product = new ProductDTO();
+		product.setId(1);
+		product.setProductName("Product 1");
+		List<Integer> ids = Arrays.asList(1, 2);
+
+		when(productService.getProductsByIds(ids)).thenReturn(Map.of(1, product));
+
+		mockMvc.perform(post("/api/v1/product/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(ids))).andExpect(status().isOk())
+				.andExpect(jsonPath("$.size()").value(1)).andExpect(jsonPath("$.1.productName").value("Product 1"));
+
+		verify(productService, times(1)).getProductsByIds(ids);
+	}
+
 	@Test
 	void testCreateProduct() throws Exception {
 		CreateProductDTO createProductDTO = new CreateProductDTO();
@@ -148,6 +181,39 @@ class ProductControllerTest {
 		verify(productService, times(1)).createProduct(any(CreateProductDTO.class));
 	}
 
+	@Test
+	void testImportProductsCsv() throws Exception {
+		ProductImportResultDTO result = new ProductImportResultDTO();
+		result.setTotal(2);
+		result.setImported(1);
+		result.getErrors().add(new ProductImportErrorDTO(3, "Bad Product", "Category not found with ID: 9"));
+
+		when(productImportService.importCsv(any())).thenReturn(result);
+
+		mockMvc.perform(post("/api/v1/product/import").contentType("text/csv")
+				.content("productName,sku,categoryId\nGood Product,SKU-1,1\nBad Product,SKU-2,9\n"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.imported").value(1))
+				.andExpect(jsonPath("$.failed").value(1)).andExpect(jsonPath("$.errors[0].line").value(3));
+
+		verify(productImportService, times(1)).importCsv(any());
+	}
+
+	@Test
+	void testRepriceProducts() throws Exception {
+		RepriceRequestDTO request = new RepriceRequestDTO();
+		request.setDistributorId(1);
+		request.setMode(RepriceRequestDTO.Mode.PERCENT);
+		request.setPrice(new BigDecimal("5"));
+
+		when(productRepriceService.reprice(any(RepriceRequestDTO.class))).thenReturn(new RepriceResultDTO("b-1", 12));
+
+		mockMvc.perform(post("/api/v1/product/reprice").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(request))).andExpect(status().isOk())
+				.andExpect(jsonPath("$.updated").value(12));
+
+		verify(productRepriceService, times(1)).reprice(any(RepriceRequestDTO.class));
+	}
+
 	@Test
 	void testUpdateProduct() throws Exception {
 		CreateProductDTO updateProductDTO = new CreateProductDTO();
@@ -180,6 +246,22 @@ class ProductControllerTest {
 		verify(productService, times(1)).softDeleteProduct(1);
 	}
 
+	@Test
+	void testGetSellability() throws Exception {
+		SellabilityDTO sellability = new SellabilityDTO(1, "PROD123", true, false, new BigDecimal("100.00"),
+				new BigDecimal("90.00"), 10);
+		sellability.setStockAvailable(true);
+		when(productService.getSellability(1, 3)).thenReturn(sellability);
+
+		mockMvc.perform(get("/api/v1/product/1/sellability").param("qty", "3"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.enabled").value(true))
+			.andExpect(jsonPath("$.deleted").value(false))
+			.andExpect(jsonPath("$.stockAvailable").value(true));
+
+		verify(productService, times(1)).getSellability(1, 3);
+	}
+
 	@Test
 	void testCheckProductDeletedByProductId() throws Exception {
 		String productId = "PROD123";
@@ -0,0 +1,68 @@
+package lk.udcreations.product.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lk.udcreations.product.dto.StockLevelEventDTO;
+import lk.udcreations.product.dto.StockLevelEventDTO.Level;
+
+class StockLevelNotifierTest {
+
+    @Test
+    void testCrossings_QuantityDropsBelowBothLevels() {
+        // Act
+        List<StockLevelEventDTO> events = StockLevelNotifier.crossings(1, 25, 4, 5, 5, 20, 20);
+
+        // Assert
+        assertEquals(2, events.size());
+        assertEquals(Level.ALERT, events.get(0).getLevel());
+        assertTrue(events.get(0).isBelow());
+        assertEquals(4, events.get(0).getQuantity());
+        assertEquals(Level.WARNING, events.get(1).getLevel());
+        assertEquals(20, events.get(1).getThreshold());
+    }
+
+    @Test
+    void testCrossings_NoEventWithinTheSameSide() {
+        // Act & Assert
+        assertTrue(StockLevelNotifier.crossings(1, 30, 25, 5, 5, 20, 20).isEmpty());
+        assertTrue(StockLevelNotifier.crossings(1, 4, 3, 5, 5, 20, 20).isEmpty());
+    }
+
+    @Test
+    void testCrossings_RaisedAlertLevelPutsStockBelowIt() {
+        // Act
+        List<StockLevelEventDTO> events = StockLevelNotifier.crossings(1, 8, 8, 5, 10, 20, 20);
+
+        // Assert
+        assertEquals(1, events.size());
+        assertEquals(Level.ALERT, events.get(0).getLevel());
+        assertTrue(events.get(0).isBelow());
+    }
+
+    @Test
+    void testOffer_OverflowLeavesOnlyResync() {
+        // Arrange
+        StockLevelNotifier.Subscriber subscriber = new StockLevelNotifier.Subscriber(new SseEmitter(), 2);
+        Set<DataWithMediaType> message = SseEmitter.event().name("stock-alert").data("x").build();
+
+        // Act
+        assertTrue(subscriber.offer(message));
+        assertTrue(subscriber.offer(message));
+        boolean accepted = subscriber.offer(message);
+
+        // Assert
+        assertFalse(accepted);
+        assertEquals(1, subscriber.pending());
+        assertTrue(subscriber.offer(message));
+        assertEquals(2, subscriber.pending());
+    }
+}
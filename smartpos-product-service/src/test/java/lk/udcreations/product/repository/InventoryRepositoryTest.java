@@ -0,0 +1,99 @@
+package lk.udcreations.product.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import lk.udcreations.product.config.RepositoryTestConfig;
+import lk.udcreations.product.entity.Inventory;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = RepositoryTestConfig.class)
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+class InventoryRepositoryTest {
+
+    private static final int PRODUCT_ID = 9001;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        Inventory inventory = new Inventory();
+        inventory.setProductId(PRODUCT_ID);
+        inventory.setQuantity(10);
+        inventory.setStockAlertLevel(1);
+        inventory.setStockWarningLevel(2);
+        inventoryRepository.save(inventory);
+    }
+
+    @Test
+    void testDecreaseQuantityIfAvailable() {
+        // Take part of the stock
+        int updated = inventoryRepository.decreaseQuantityIfAvailable(PRODUCT_ID, 4);
+
+        // Verify results
+        assertEquals(1, updated);
+        assertEquals(6, inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testDecreaseQuantityIfAvailable_NotEnoughStock() {
+        // Try to take more than is left
+        int updated = inventoryRepository.decreaseQuantityIfAvailable(PRODUCT_ID, 11);
+
+        // Verify the row is untouched
+        assertEquals(0, updated);
+        assertEquals(10, inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testIncreaseQuantity() {
+        // Add stock
+        int updated = inventoryRepository.increaseQuantity(PRODUCT_ID, 5);
+
+        // Verify results
+        assertEquals(1, updated);
+        assertEquals(15, inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testExistsByProductId() {
+        assertTrue(inventoryRepository.existsByProductId(PRODUCT_ID));
+        assertFalse(inventoryRepository.existsByProductId(-1));
+    }
+
+    @Test
+    void testStockFlagsFollowQuantity() {
+        // Fresh row is above both levels
+        Inventory inventory = inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow();
+        assertFalse(inventory.isBelowAlert());
+        assertFalse(inventory.isBelowWarning());
+
+        // Drop to the warning level
+        inventoryRepository.decreaseQuantityIfAvailable(PRODUCT_ID, 8);
+        inventory = inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow();
+        assertFalse(inventory.isBelowAlert());
+        assertTrue(inventory.isBelowWarning());
+
+        // Drop to the alert level
+        inventoryRepository.decreaseQuantityIfAvailable(PRODUCT_ID, 1);
+        assertTrue(inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow().isBelowAlert());
+
+        // Restock clears both
+        inventoryRepository.increaseQuantity(PRODUCT_ID, 5);
+        inventory = inventoryRepository.findByProductId(PRODUCT_ID).orElseThrow();
+        assertFalse(inventory.isBelowAlert());
+        assertFalse(inventory.isBelowWarning());
+    }
+}
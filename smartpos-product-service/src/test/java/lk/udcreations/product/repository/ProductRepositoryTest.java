@@ -19,6 +19,8 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.ActiveProfiles;
 
 import lk.udcreations.product.config.RepositoryTestConfig;
+import lk.udcreations.product.dto.SellabilityDTO;
+import lk.udcreations.product.entity.Inventory;
 import lk.udcreations.product.entity.Product;
 
 @DataJpaTest
@@ -30,6 +32,9 @@ class ProductRepositoryTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
     @AfterEach
     void cleanup() {
         productRepository.deleteAll();
@@ -317,4 +322,50 @@ class ProductRepositoryTest {
         // Verify results
         assertFalse(foundProduct.isPresent());
     }
+
+    @Test
+    void testFindSellabilityById() {
+        // Create test product with stock
+        Product product = new Product();
+        product.setProductId("PROD001_9");
+        product.setSku("SKU001_9");
+        product.setProductName("SellableProduct");
+        product.setDescription("Sellable Product Description");
+        product.setCategoryId(1);
+        product.setDistributorId(1);
+        product.setPrice(new BigDecimal("10.99"));
+        product.setCostPrice(new BigDecimal("8.99"));
+        product.setMinPrice(new BigDecimal("9.99"));
+        product.setEnabled(true);
+        product.setDeleted(false);
+        Product savedProduct = productRepository.save(product);
+
+        Inventory inventory = new Inventory();
+        inventory.setProductId(savedProduct.getId());
+        inventory.setQuantity(7);
+        inventory.setStockAlertLevel(1);
+        inventory.setStockWarningLevel(2);
+        inventoryRepository.save(inventory);
+
+        // Test findSellabilityById method
+        Optional<SellabilityDTO> sellability = productRepository.findSellabilityById(savedProduct.getId());
+
+        // Verify results
+        assertTrue(sellability.isPresent());
+        assertEquals("PROD001_9", sellability.get().getProductId());
+        assertTrue(sellability.get().isEnabled());
+        assertFalse(sellability.get().isDeleted());
+        assertEquals(0, new BigDecimal("10.99").compareTo(sellability.get().getPrice()));
+        assertEquals(0, new BigDecimal("9.99").compareTo(sellability.get().getMinPrice()));
+        assertEquals(7, sellability.get().getStockQuantity());
+    }
+
+    @Test
+    void testFindSellabilityById_NotFound() {
+        // Test findSellabilityById method with non-existent product
+        Optional<SellabilityDTO> sellability = productRepository.findSellabilityById(-1);
+
+        // Verify results
+        assertFalse(sellability.isPresent());
+    }
 }
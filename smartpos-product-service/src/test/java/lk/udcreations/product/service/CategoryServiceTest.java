@@ -22,12 +22,15 @@ import org.mockito.MockitoAnnotations;
 import org.modelmapper.ModelMapper;
 
 import lk.udcreations.common.dto.category.CategoryDTO;
+import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
 import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.product.cache.UserReferenceCache;
 import lk.udcreations.product.constants.ErrorMessages;
 import lk.udcreations.product.entity.Category;
 import lk.udcreations.product.exception.NotFoundException;
 import lk.udcreations.product.repository.CategoryRepository;
 import lk.udcreations.product.security.AuthUtils;
+import lk.udcreations.product.util.sequence.ProductCodeAllocator;
 
 class CategoryServiceTest {
 
@@ -37,6 +40,12 @@ class CategoryServiceTest {
 	@Mock
 	private AuthUtils authUtils;
 
+	@Mock
+	private UserReferenceCache userReferenceCache;
+
+	@Mock
+	private ProductCodeAllocator productCodeAllocator;
+
 	@Mock
 	private ModelMapper modelMapper;
 
@@ -57,7 +66,7 @@ class CategoryServiceTest {
 
 		// Mock authUtils methods
 		when(authUtils.getLoggedInUser()).thenReturn(mockUser);
-		when(authUtils.getUserById(any(Integer.class))).thenReturn(mockUser);
+		when(userReferenceCache.get(any(Integer.class))).thenReturn(new CreatedUpdatedUserDTO());
 
 		// Mock modelMapper
 		when(modelMapper.map(any(), any())).thenAnswer(invocation -> {
@@ -204,6 +213,7 @@ class CategoryServiceTest {
 		assertEquals("Updated Electronics", result.getName());
 		verify(categoryRepository, times(1)).findById(1);
 		verify(categoryRepository, times(1)).save(existingCategory);
+		verify(productCodeAllocator, times(1)).evict(1);
 	}
 
 	@Test
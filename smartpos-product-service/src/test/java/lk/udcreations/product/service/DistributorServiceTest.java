@@ -23,7 +23,9 @@ import org.mockito.MockitoAnnotations;
 import org.modelmapper.ModelMapper;
 
 import lk.udcreations.common.dto.distributor.DistributorDTO;
+import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
 import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.product.cache.UserReferenceCache;
 import lk.udcreations.product.constants.ErrorMessages;
 import lk.udcreations.product.entity.Distributor;
 import lk.udcreations.product.exception.NotFoundException;
@@ -38,6 +40,9 @@ class DistributorServiceTest {
 	@Mock
 	private AuthUtils authUtils;
 
+	@Mock
+	private UserReferenceCache userReferenceCache;
+
 	@Mock
 	private ModelMapper modelMapper;
 
@@ -72,7 +77,7 @@ class DistributorServiceTest {
 
 		// Mock authUtils methods
 		when(authUtils.getLoggedInUser()).thenReturn(mockUser);
-		when(authUtils.getUserById(any(Integer.class))).thenReturn(mockUser);
+		when(userReferenceCache.get(any(Integer.class))).thenReturn(new CreatedUpdatedUserDTO());
 
 		// Mock modelMapper
 		when(modelMapper.map(any(), any())).thenAnswer(invocation -> {
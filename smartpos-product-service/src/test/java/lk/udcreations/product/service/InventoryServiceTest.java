@@ -0,0 +1,223 @@
+package lk.udcreations.product.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import lk.udcreations.common.dto.inventory.InventoryDTO;
+import lk.udcreations.product.constants.ErrorMessages;
+import lk.udcreations.product.dto.InventoryProductDTO;
+import lk.udcreations.product.entity.Inventory;
+import lk.udcreations.product.entity.Product;
+import lk.udcreations.product.entity.StockRequest;
+import lk.udcreations.product.exception.InsufficientStockException;
+import lk.udcreations.product.exception.NotFoundException;
+import lk.udcreations.product.mapper.ProductMapper;
+import lk.udcreations.product.notification.StockLevelNotifier;
+import lk.udcreations.product.repository.InventoryRepository;
+import lk.udcreations.product.repository.ProductRepository;
+import lk.udcreations.product.repository.StockRequestRepository;
+
+class InventoryServiceTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockLevelNotifier stockLevelNotifier;
+
+    @Mock
+    private StockRequestRepository stockRequestRepository;
+
+    @Spy
+    private ProductMapper productMapper = Mappers.getMapper(ProductMapper.class);
+
+    @InjectMocks
+    private InventoryService inventoryService;
+
+    private Inventory mockInventory;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        Product product = new Product();
+        product.setId(1);
+        product.setProductName("Product 1");
+
+        mockInventory = new Inventory();
+        mockInventory.setInventoryId(1);
+        mockInventory.setProductId(1);
+        mockInventory.setQuantity(10);
+
+        when(inventoryRepository.findByProductId(1)).thenReturn(Optional.of(mockInventory));
+        when(productRepository.findById(1)).thenReturn(Optional.of(product));
+    }
+
+    @Test
+    void testAddStock() {
+        when(inventoryRepository.increaseQuantity(1, 5)).thenReturn(1);
+
+        InventoryDTO result = inventoryService.addStock(1, 5);
+
+        assertEquals(1, result.getInventoryId());
+        verify(inventoryRepository, times(1)).increaseQuantity(1, 5);
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(stockLevelNotifier, times(1)).quantityChanged(mockInventory, 5);
+    }
+
+    @Test
+    void testAddStock_InventoryNotFound() {
+        when(inventoryRepository.increaseQuantity(999, 5)).thenReturn(0);
+
+        Exception exception = assertThrows(NotFoundException.class, () -> inventoryService.addStock(999, 5));
+
+        assertTrue(exception.getMessage().contains(ErrorMessages.INVENTORY_NOT_FOUND));
+    }
+
+    @Test
+    void testAddStock_InvalidQuantity() {
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.addStock(1, 0));
+
+        verify(inventoryRepository, never()).increaseQuantity(any(), anyInt());
+    }
+
+    @Test
+    void testAddStocks_UnknownProductStopsTheCall() {
+        when(inventoryRepository.increaseQuantity(1, 5)).thenReturn(1);
+        when(inventoryRepository.increaseQuantity(999, 2)).thenReturn(0);
+
+        Exception exception = assertThrows(NotFoundException.class,
+                () -> inventoryService.addStocks(null, Map.of(999, 2, 1, 5)));
+
+        assertTrue(exception.getMessage().contains(ErrorMessages.INVENTORY_NOT_FOUND + 999));
+        verify(inventoryRepository, times(1)).increaseQuantity(1, 5);
+    }
+
+    @Test
+    void testAddStocks_RecordsTheRequestKey() {
+        when(stockRequestRepository.findById("return-1")).thenReturn(Optional.empty());
+        when(inventoryRepository.increaseQuantity(1, 5)).thenReturn(1);
+
+        assertEquals(1, inventoryService.addStocks("return-1", Map.of(1, 5)));
+
+        verify(stockRequestRepository, times(1)).save(argThat((StockRequest request) ->
+                "return-1".equals(request.getRequestKey()) && request.getProductCount() == 1));
+    }
+
+    @Test
+    void testAddStocks_ResentRequestKeyAddsNothing() {
+        StockRequest applied = new StockRequest();
+        applied.setRequestKey("return-1");
+        applied.setProductCount(1);
+        when(stockRequestRepository.findById("return-1")).thenReturn(Optional.of(applied));
+
+        assertEquals(1, inventoryService.addStocks("return-1", Map.of(1, 5)));
+
+        verify(inventoryRepository, never()).increaseQuantity(any(), anyInt());
+        verify(stockRequestRepository, never()).save(any(StockRequest.class));
+    }
+
+    @Test
+    void testDecreaseStock() {
+        when(inventoryRepository.decreaseQuantityIfAvailable(1, 4)).thenReturn(1);
+
+        InventoryDTO result = inventoryService.decreaseStock(1, 4);
+
+        assertEquals(1, result.getInventoryId());
+        verify(inventoryRepository, times(1)).decreaseQuantityIfAvailable(1, 4);
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+    }
+
+    @Test
+    void testDecreaseStock_InsufficientStock() {
+        when(inventoryRepository.decreaseQuantityIfAvailable(1, 50)).thenReturn(0);
+        when(inventoryRepository.existsByProductId(1)).thenReturn(true);
+
+        Exception exception = assertThrows(InsufficientStockException.class,
+                () -> inventoryService.decreaseStock(1, 50));
+
+        assertEquals(ErrorMessages.INVENTORY_NOT_ENOUGHT_STOCK, exception.getMessage());
+    }
+
+    @Test
+    void testTryDecreaseStock_Decreased() {
+        when(inventoryRepository.decreaseQuantityIfAvailable(1, 3)).thenReturn(1);
+
+        assertTrue(inventoryService.tryDecreaseStock(1, 3));
+        verify(inventoryRepository, never()).existsByProductId(any());
+        verify(inventoryRepository, never()).findByProductId(any());
+    }
+
+    @Test
+    void testTryDecreaseStock_NotifiesSubscribers() {
+        when(inventoryRepository.decreaseQuantityIfAvailable(1, 3)).thenReturn(1);
+        when(stockLevelNotifier.hasSubscribers()).thenReturn(true);
+
+        assertTrue(inventoryService.tryDecreaseStock(1, 3));
+        verify(stockLevelNotifier, times(1)).quantityChanged(mockInventory, 13);
+    }
+
+    @Test
+    void testTryDecreaseStock_NotEnoughStock() {
+        when(inventoryRepository.decreaseQuantityIfAvailable(1, 50)).thenReturn(0);
+        when(inventoryRepository.existsByProductId(1)).thenReturn(true);
+
+        assertFalse(inventoryService.tryDecreaseStock(1, 50));
+    }
+
+    @Test
+    void testTryDecreaseStock_InventoryNotFound() {
+        when(inventoryRepository.decreaseQuantityIfAvailable(999, 1)).thenReturn(0);
+        when(inventoryRepository.existsByProductId(999)).thenReturn(false);
+
+        Exception exception = assertThrows(NotFoundException.class, () -> inventoryService.tryDecreaseStock(999, 1));
+
+        assertTrue(exception.getMessage().contains(ErrorMessages.INVENTORY_NOT_FOUND));
+    }
+
+    @Test
+    void testTryDecreaseStock_NegativeQuantity() {
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.tryDecreaseStock(1, -5));
+
+        verify(inventoryRepository, never()).decreaseQuantityIfAvailable(any(), anyInt());
+    }
+
+    @Test
+    void testCheckStockAlert_ReadsProductsWithTheSameQuery() {
+        Product product = new Product();
+        product.setId(1);
+        product.setProductName("Product 1");
+        when(inventoryRepository.findInventoryBelowStockAlertLevel())
+                .thenReturn(List.of(new InventoryProductDTO(mockInventory, product)));
+
+        List<InventoryDTO> alerts = inventoryService.checkStockAlert();
+
+        assertEquals(1, alerts.size());
+        assertEquals("Product 1", alerts.get(0).getProduct().getProductName());
+        verify(productRepository, never()).findById(anyInt());
+    }
+}
@@ -0,0 +1,149 @@
+package lk.udcreations.product.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import jakarta.persistence.EntityManager;
+import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.product.config.RepositoryTestConfig;
+import lk.udcreations.product.dto.ProductPriceChangesDTO;
+import lk.udcreations.product.dto.RepriceRequestDTO;
+import lk.udcreations.product.dto.RepriceResultDTO;
+import lk.udcreations.product.entity.Product;
+import lk.udcreations.product.mapper.ProductMapper;
+import lk.udcreations.product.repository.ProductPriceChangeRepository;
+import lk.udcreations.product.repository.ProductRepository;
+import lk.udcreations.product.security.AuthUtils;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = RepositoryTestConfig.class)
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+class ProductRepriceServiceTest {
+
+    private static final int DISTRIBUTOR_ID = 9101;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductPriceChangeRepository productPriceChangeRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ProductRepriceService productRepriceService;
+
+    private Product cheap;
+    private Product free;
+
+    @BeforeEach
+    void setUp() {
+        AuthUtils authUtils = mock(AuthUtils.class);
+        UsersDTO user = new UsersDTO();
+        user.setUserId(7);
+        when(authUtils.getLoggedInUser()).thenReturn(user);
+
+        productRepriceService = new ProductRepriceService(productPriceChangeRepository, jdbcTemplate, authUtils,
+                Mappers.getMapper(ProductMapper.class));
+
+        cheap = productRepository.save(product("RP0001", "Reprice Cheap", new BigDecimal("100.00")));
+        free = productRepository.save(product("RP0002", "Reprice Free", new BigDecimal("0.00")));
+        entityManager.flush();
+    }
+
+    @Test
+    void testReprice_PercentTouchesOnlyChangedRows() {
+        // Arrange
+        Long start = productRepriceService.getPriceChanges(null, null).getLastChangeId();
+        RepriceRequestDTO request = new RepriceRequestDTO();
+        request.setDistributorId(DISTRIBUTOR_ID);
+        request.setMode(RepriceRequestDTO.Mode.PERCENT);
+        request.setPrice(new BigDecimal("10"));
+
+        // Act
+        RepriceResultDTO result = productRepriceService.reprice(request);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, result.getUpdated());
+        Product repriced = productRepository.findById(cheap.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("110.00").compareTo(repriced.getPrice()));
+        assertEquals(7, repriced.getUpdatedUserId());
+        assertEquals(0, BigDecimal.ZERO.compareTo(productRepository.findById(free.getId()).orElseThrow().getPrice()));
+
+        ProductPriceChangesDTO changes = productRepriceService.getPriceChanges(start, null);
+        assertEquals(1, changes.getChanges().size());
+        assertEquals(cheap.getId(), changes.getChanges().get(0).getProductId());
+        assertEquals(0, new BigDecimal("110.00").compareTo(changes.getChanges().get(0).getPrice()));
+    }
+
+    @Test
+    void testReprice_NegativePriceIsRejected() {
+        // Arrange
+        RepriceRequestDTO request = new RepriceRequestDTO();
+        request.setProductIds(List.of(cheap.getId(), free.getId()));
+        request.setMode(RepriceRequestDTO.Mode.AMOUNT);
+        request.setPrice(new BigDecimal("-50.00"));
+
+        // Act & Assert
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> productRepriceService.reprice(request));
+        assertTrue(exception.getMessage().contains(String.valueOf(free.getId())));
+        entityManager.clear();
+        assertEquals(0, new BigDecimal("100.00")
+                .compareTo(productRepository.findById(cheap.getId()).orElseThrow().getPrice()));
+    }
+
+    @Test
+    void testReprice_NeedsExactlyOneScope() {
+        // Arrange
+        RepriceRequestDTO request = new RepriceRequestDTO();
+        request.setCategoryId(1);
+        request.setDistributorId(DISTRIBUTOR_ID);
+        request.setMode(RepriceRequestDTO.Mode.PERCENT);
+        request.setPrice(BigDecimal.ONE);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> productRepriceService.reprice(request));
+    }
+
+    private Product product(String productId, String name, BigDecimal price) {
+        Product product = new Product();
+        product.setProductId(productId);
+        product.setSku(productId);
+        product.setProductName(name);
+        product.setDescription(name);
+        product.setCategoryId(1);
+        product.setDistributorId(DISTRIBUTOR_ID);
+        product.setPrice(price);
+        product.setCostPrice(price);
+        product.setMinPrice(price);
+        product.setManufactureDate(LocalDate.now());
+        product.setExpireDate(LocalDate.now().plusYears(1));
+        product.setEnabled(true);
+        product.setDeleted(false);
+        return product;
+    }
+}
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -16,33 +17,42 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.modelmapper.ModelMapper;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import lk.udcreations.common.dto.category.CategoryDTO;
-import lk.udcreations.common.dto.distributor.DistributorDTO;
-import lk.udcreations.common.dto.inventory.InventoryDTO;
 import lk.udcreations.common.dto.product.CreateProductDTO;
 import lk.udcreations.common.dto.product.ProductDTO;
-import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
 import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.product.cache.UserReferenceCache;
 import lk.udcreations.product.constants.ErrorMessages;
+import lk.udcreations.product.dto.KeysetPageDTO;
+import lk.udcreations.product.dto.SellabilityDTO;
 import lk.udcreations.product.entity.Category;
 import lk.udcreations.product.entity.Distributor;
 import lk.udcreations.product.entity.Inventory;
 import lk.udcreations.product.entity.Product;
+import lk.udcreations.product.entity.ProductPriceChange;
 import lk.udcreations.product.exception.NotFoundException;
+import lk.udcreations.product.mapper.ProductMapper;
 import lk.udcreations.product.repository.CategoryRepository;
 import lk.udcreations.product.repository.DistributorRepository;
 import lk.udcreations.product.repository.InventoryRepository;
+import lk.udcreations.product.repository.ProductPriceChangeRepository;
 import lk.udcreations.product.repository.ProductRepository;
 import lk.udcreations.product.security.AuthUtils;
+import lk.udcreations.product.util.concurrent.ParallelHydrator;
+import lk.udcreations.product.util.sequence.ProductCodeAllocator;
+import lk.udcreations.product.util.pagination.KeysetCursor;
 
 class ProductServiceTest {
 
@@ -52,6 +62,9 @@ class ProductServiceTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
+    @Mock
+    private ProductPriceChangeRepository productPriceChangeRepository;
+
     @Mock
     private CategoryRepository categoryRepository;
 
@@ -62,7 +75,19 @@ class ProductServiceTest {
     private AuthUtils authUtils;
 
     @Mock
-    private ModelMapper modelMapper;
+    private UserReferenceCache userReferenceCache;
+
+    @Spy
+    private ProductMapper productMapper = Mappers.getMapper(ProductMapper.class);
+
+    @Spy
+    private ParallelHydrator parallelHydrator = new ParallelHydrator(true);
+
+    @Mock
+    private ProductCodeAllocator productCodeAllocator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private ProductService productService;
@@ -141,76 +166,85 @@ class ProductServiceTest {
 
         // Mock authUtils methods
         when(authUtils.getLoggedInUser()).thenReturn(mockUser);
-        when(authUtils.getUserById(any(Integer.class))).thenReturn(mockUser);
+        when(userReferenceCache.get(any(Integer.class))).thenReturn(productMapper.toCreatedUpdatedUserDTO(mockUser));
+        when(userReferenceCache.getAll(any()))
+                .thenReturn(Map.of(adminUserId, productMapper.toCreatedUpdatedUserDTO(mockUser)));
 
         // Mock repository methods
         when(categoryRepository.findById(1)).thenReturn(Optional.of(mockCategory));
         when(distributorRepository.findById(1)).thenReturn(Optional.of(mockDistributor));
         when(inventoryRepository.findByProductId(1)).thenReturn(Optional.of(mockInventory));
         when(inventoryRepository.findByProductId(2)).thenReturn(Optional.of(mockInventory));
-
-        // Mock modelMapper
-        when(modelMapper.map(any(), any())).thenAnswer(invocation -> {
-            Object source = invocation.getArgument(0);
-            Class<?> targetClass = invocation.getArgument(1);
-
-            if (source instanceof Product && targetClass == ProductDTO.class) {
-                Product product = (Product) source;
-                ProductDTO dto = new ProductDTO();
-                dto.setId(product.getId());
-                dto.setProductId(product.getProductId());
-                dto.setSku(product.getSku());
-                dto.setProductName(product.getProductName());
-                dto.setDescription(product.getDescription());
-                dto.setPrice(product.getPrice());
-                dto.setCostPrice(product.getCostPrice());
-                dto.setMinPrice(product.getMinPrice());
-                dto.setManufactureDate(product.getManufactureDate());
-                dto.setExpireDate(product.getExpireDate());
-                dto.setEnabled(product.isEnabled());
-                dto.setDeleted(product.isDeleted());
-                return dto;
-            } else if (source instanceof Category && targetClass == CategoryDTO.class) {
-                Category category = (Category) source;
-                CategoryDTO dto = new CategoryDTO();
-                dto.setCategoryId(category.getCategoryId());
-                dto.setName(category.getName());
-                return dto;
-            } else if (source instanceof Distributor && targetClass == DistributorDTO.class) {
-                Distributor distributor = (Distributor) source;
-                DistributorDTO dto = new DistributorDTO();
-                dto.setDistributorId(distributor.getDistributorId());
-                dto.setCompanyName(distributor.getCompanyName());
-                return dto;
-            } else if (source instanceof Inventory && targetClass == InventoryDTO.class) {
-                Inventory inventory = (Inventory) source;
-                InventoryDTO dto = new InventoryDTO();
-                dto.setInventoryId(inventory.getInventoryId());
-                dto.setQuantity(inventory.getQuantity());
-                dto.setStockAlertLevel(inventory.getStockAlertLevel());
-                dto.setStockWarningLevel(inventory.getStockWarningLevel());
-                return dto;
-            } else if (source instanceof UsersDTO && targetClass == CreatedUpdatedUserDTO.class) {
-                UsersDTO user = (UsersDTO) source;
-                CreatedUpdatedUserDTO dto = new CreatedUpdatedUserDTO();
-                dto.setUserId(user.getUserId());
-                return dto;
-            }
-
-            return null;
-        });
+        when(categoryRepository.findAllById(any())).thenReturn(Arrays.asList(mockCategory));
+        when(distributorRepository.findAllById(any())).thenReturn(Arrays.asList(mockDistributor));
+        when(inventoryRepository.findByProductIdIn(any())).thenReturn(Arrays.asList(mockInventory));
     }
 
     @Test
     void testGetAllProducts() {
-        when(productRepository.findAll()).thenReturn(Arrays.asList(product1, product2));
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0, Limit.of(KeysetCursor.DEFAULT_LIMIT + 1)))
+                .thenReturn(Arrays.asList(product1, product2));
+
+        KeysetPageDTO<ProductDTO> result = productService.getAllProducts(null, null);
+
+        assertEquals(2, result.getContent().size());
+        assertEquals("Product 1", result.getContent().get(0).getProductName());
+        assertEquals("Product 2", result.getContent().get(1).getProductName());
+        assertFalse(result.isHasNext());
+        verify(productRepository, never()).findAll();
+    }
 
-        List<ProductDTO> result = productService.getAllProducts();
+    @Test
+    void testGetAllProducts_NextPage() {
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0, Limit.of(2)))
+                .thenReturn(Arrays.asList(product1, product2));
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(1, Limit.of(2))).thenReturn(Arrays.asList(product2));
+
+        KeysetPageDTO<ProductDTO> firstPage = productService.getAllProducts(null, 1);
+        KeysetPageDTO<ProductDTO> secondPage = productService.getAllProducts(firstPage.getNextCursor(), 1);
+
+        assertEquals(1, firstPage.getContent().size());
+        assertEquals("Product 1", firstPage.getContent().get(0).getProductName());
+        assertTrue(firstPage.isHasNext());
+        assertEquals("Product 2", secondPage.getContent().get(0).getProductName());
+        assertFalse(secondPage.isHasNext());
+    }
+
+    @Test
+    void testGetAllProducts_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> productService.getAllProducts("%%%", null));
+        assertThrows(IllegalArgumentException.class, () -> productService.getAllProducts(null, -5));
+    }
+
+    @Test
+    void testGetAllProducts_HydratesInBatch() {
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(any(), any()))
+                .thenReturn(Arrays.asList(product1, product2));
+
+        List<ProductDTO> result = productService.getAllProducts(null, null).getContent();
+
+        assertEquals("Test Category", result.get(1).getCategory().getName());
+        assertEquals("Test Distributor", result.get(1).getDistributor().getCompanyName());
+        assertEquals(10, result.get(0).getInventory().getQuantity());
+        assertEquals(adminUserId, result.get(1).getCreatedUser().getUserId());
+        verify(categoryRepository, times(1)).findAllById(List.of(1));
+        verify(distributorRepository, times(1)).findAllById(List.of(1));
+        verify(inventoryRepository, times(1)).findByProductIdIn(List.of(1, 2));
+        verify(userReferenceCache, times(1)).getAll(any());
+        verify(userReferenceCache, never()).get(any());
+    }
+
+    @Test
+    void testGetProductsByIds() {
+        when(productRepository.findAllById(List.of(1, 2, 3))).thenReturn(Arrays.asList(product1, product2));
+
+        Map<Integer, ProductDTO> result = productService.getProductsByIds(List.of(1, 2, 3));
 
         assertEquals(2, result.size());
-        assertEquals("Product 1", result.get(0).getProductName());
-        assertEquals("Product 2", result.get(1).getProductName());
-        verify(productRepository, times(1)).findAll();
+        assertEquals("Product 1", result.get(1).getProductName());
+        assertEquals("Product 2", result.get(2).getProductName());
+        assertFalse(result.containsKey(3));
+        verify(productRepository, times(1)).findAllById(List.of(1, 2, 3));
     }
 
     @Test
@@ -246,6 +280,59 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findById(999);
     }
 
+    @Test
+    void testGetSellability_StockAvailable() {
+        SellabilityDTO row = new SellabilityDTO(1, "PROD001", true, false, new BigDecimal("100.00"),
+                new BigDecimal("90.00"), 5);
+        when(productRepository.findSellabilityById(1)).thenReturn(Optional.of(row));
+
+        SellabilityDTO result = productService.getSellability(1, 5);
+
+        assertTrue(result.isEnabled());
+        assertFalse(result.isDeleted());
+        assertTrue(result.isStockAvailable());
+        verify(productRepository, times(1)).findSellabilityById(1);
+    }
+
+    @Test
+    void testGetSellability_NoInventory() {
+        SellabilityDTO row = new SellabilityDTO(1, "PROD001", true, false, new BigDecimal("100.00"),
+                new BigDecimal("90.00"), null);
+        when(productRepository.findSellabilityById(1)).thenReturn(Optional.of(row));
+
+        SellabilityDTO result = productService.getSellability(1, 1);
+
+        assertEquals(0, result.getStockQuantity());
+        assertFalse(result.isStockAvailable());
+    }
+
+    @Test
+    void testGetSellability_ProductNotFound() {
+        when(productRepository.findSellabilityById(999)).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(NotFoundException.class, () -> productService.getSellability(999, 1));
+
+        assertTrue(exception.getMessage().contains(ErrorMessages.PRODUCT_NOT_FOUND));
+    }
+
+    @Test
+    void testGetSellabilities_OneQueryForAllProducts() {
+        SellabilityDTO first = new SellabilityDTO(1, "PROD001", true, false, new BigDecimal("100.00"),
+                new BigDecimal("90.00"), 5);
+        SellabilityDTO second = new SellabilityDTO(2, "PROD002", true, false, new BigDecimal("50.00"),
+                new BigDecimal("45.00"), 1);
+        Map<Integer, Integer> quantities = Map.of(1, 5, 2, 3, 999, 1);
+        when(productRepository.findSellabilityByIdIn(quantities.keySet())).thenReturn(List.of(first, second));
+
+        Map<Integer, SellabilityDTO> result = productService.getSellabilities(quantities);
+
+        assertEquals(2, result.size());
+        assertTrue(result.get(1).isStockAvailable());
+        assertFalse(result.get(2).isStockAvailable());
+        verify(productRepository, times(1)).findSellabilityByIdIn(quantities.keySet());
+        verify(productRepository, never()).findSellabilityById(any());
+    }
+
     @Test
     void testCheckProductDeletedByProductId_ProductDeleted() {
         when(productRepository.findByProductIdAndDeletedTrue("PROD001")).thenReturn(Optional.of(product1));
@@ -365,12 +452,13 @@ class ProductServiceTest {
         when(productRepository.save(any(Product.class))).thenReturn(newProduct);
         when(inventoryRepository.findByProductId(3)).thenReturn(Optional.of(mockInventory));
         when(inventoryRepository.save(any(Inventory.class))).thenReturn(mockInventory);
+        when(productCodeAllocator.nextCode(1)).thenReturn("PROD003");
 
         ProductDTO result = productService.createProduct(createProductDTO);
 
         assertNotNull(result);
         assertEquals("New Product", result.getProductName());
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository, times(1)).save(argThat((Product product) -> "PROD003".equals(product.getProductId())));
         verify(inventoryRepository, times(1)).save(any(Inventory.class));
     }
 
@@ -415,6 +503,7 @@ class ProductServiceTest {
         assertEquals(new BigDecimal("160.00"), product1.getPrice());
         verify(productRepository, times(1)).findById(1);
         verify(productRepository, times(1)).save(product1);
+        verify(productPriceChangeRepository, times(1)).save(any(ProductPriceChange.class));
     }
 
     @Test
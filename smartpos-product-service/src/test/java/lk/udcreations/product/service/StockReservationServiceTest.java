@@ -0,0 +1,251 @@
+package lk.udcreations.product.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import lk.udcreations.product.constants.ErrorMessages;
+import lk.udcreations.product.dto.ReserveStockDTO;
+import lk.udcreations.product.dto.StockReservationDTO;
+import lk.udcreations.product.entity.Inventory;
+import lk.udcreations.product.entity.StockReservation;
+import lk.udcreations.product.entity.StockReservation.Status;
+import lk.udcreations.product.exception.InsufficientStockException;
+import lk.udcreations.product.exception.NotFoundException;
+import lk.udcreations.product.notification.StockLevelNotifier;
+import lk.udcreations.product.repository.InventoryRepository;
+import lk.udcreations.product.repository.StockReservationRepository;
+
+class StockReservationServiceTest {
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private StockLevelNotifier stockLevelNotifier;
+
+    private StockReservationService stockReservationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        stockReservationService = new StockReservationService(stockReservationRepository, inventoryRepository,
+                stockLevelNotifier, Duration.ofMinutes(15));
+
+        when(stockReservationRepository.save(any(StockReservation.class))).thenAnswer(invocation -> {
+            StockReservation reservation = invocation.getArgument(0);
+            reservation.setReservationId(1);
+            return reservation;
+        });
+    }
+
+    private Inventory inventory(int productId, int quantity) {
+        Inventory inventory = new Inventory();
+        inventory.setProductId(productId);
+        inventory.setQuantity(quantity);
+        inventory.setStockAlertLevel(5);
+        inventory.setStockWarningLevel(20);
+        return inventory;
+    }
+
+    private StockReservation reservation(int id, int productId, int quantity, Status status) {
+        StockReservation reservation = new StockReservation();
+        reservation.setReservationId(id);
+        reservation.setSaleId(1);
+        reservation.setProductId(productId);
+        reservation.setQuantity(quantity);
+        reservation.setStatus(status);
+        reservation.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        return reservation;
+    }
+
+    @Test
+    void testReserve() {
+        when(inventoryRepository.decreaseQuantityIfAvailable(10, 3)).thenReturn(1);
+
+        StockReservationDTO result = stockReservationService.reserve(new ReserveStockDTO(1, 10, 3));
+
+        assertEquals(1, result.getReservationId());
+        assertEquals("HELD", result.getStatus());
+        assertTrue(result.getExpiresAt().isAfter(LocalDateTime.now().plusMinutes(14)));
+        verify(inventoryRepository, times(1)).decreaseQuantityIfAvailable(10, 3);
+        verify(inventoryRepository, never()).findByProductId(anyInt());
+    }
+
+    @Test
+    void testReserve_CrossingTheAlertLevelNotifies() {
+        // 7 units before the reservation, 4 after; the alert level is 5
+        Inventory inventory = inventory(10, 4);
+        when(inventoryRepository.decreaseQuantityIfAvailable(10, 3)).thenReturn(1);
+        when(inventoryRepository.findByProductId(10)).thenReturn(Optional.of(inventory));
+        when(stockLevelNotifier.hasSubscribers()).thenReturn(true);
+
+        stockReservationService.reserve(new ReserveStockDTO(1, 10, 3));
+
+        verify(stockLevelNotifier, times(1)).quantityChanged(inventory, 7);
+    }
+
+    @Test
+    void testReserve_NotEnoughStock() {
+        when(inventoryRepository.decreaseQuantityIfAvailable(10, 3)).thenReturn(0);
+        when(inventoryRepository.existsByProductId(10)).thenReturn(true);
+
+        Exception exception = assertThrows(InsufficientStockException.class,
+                () -> stockReservationService.reserve(new ReserveStockDTO(1, 10, 3)));
+
+        assertEquals(ErrorMessages.INVENTORY_NOT_ENOUGHT_STOCK, exception.getMessage());
+        verify(stockReservationRepository, never()).save(any(StockReservation.class));
+    }
+
+    @Test
+    void testReserve_InventoryNotFound() {
+        when(inventoryRepository.decreaseQuantityIfAvailable(99, 3)).thenReturn(0);
+        when(inventoryRepository.existsByProductId(99)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> stockReservationService.reserve(new ReserveStockDTO(1, 99, 3)));
+    }
+
+    @Test
+    void testCommitSale_RetakesExpiredStock() {
+        StockReservation held = reservation(1, 10, 2, Status.HELD);
+        StockReservation expired = reservation(2, 11, 4, Status.EXPIRED);
+        when(stockReservationRepository.findBySaleIdAndStatusIn(eq(1), any())).thenReturn(List.of(held, expired));
+        when(inventoryRepository.decreaseQuantityIfAvailable(11, 4)).thenReturn(1);
+
+        int committed = stockReservationService.commitSale(1);
+
+        assertEquals(2, committed);
+        verify(inventoryRepository, never()).decreaseQuantityIfAvailable(10, 2);
+        verify(stockReservationRepository, times(1)).updateStatus(List.of(1, 2), Status.COMMITTED);
+    }
+
+    @Test
+    void testCommitCheckout_TakesStockAndRecordsTheKey() {
+        when(stockReservationRepository.findByCheckoutKey("till-1-0001")).thenReturn(List.of());
+        when(inventoryRepository.decreaseQuantityIfAvailable(anyInt(), anyInt())).thenReturn(1);
+
+        int taken = stockReservationService.commitCheckout("till-1-0001", 7, Map.of(11, 1, 10, 2));
+
+        assertEquals(2, taken);
+        verify(inventoryRepository, times(1)).decreaseQuantityIfAvailable(10, 2);
+        verify(inventoryRepository, times(1)).decreaseQuantityIfAvailable(11, 1);
+        verify(stockReservationRepository, times(1)).saveAll(argThat((List<StockReservation> rows) -> rows.size() == 2
+                && rows.stream().allMatch(row -> "till-1-0001".equals(row.getCheckoutKey()) && row.getSaleId() == 7
+                        && row.getStatus() == Status.COMMITTED)));
+    }
+
+    @Test
+    void testCommitCheckout_ReplayedKeyTakesNothing() {
+        StockReservation committed = reservation(1, 10, 2, Status.COMMITTED);
+        committed.setCheckoutKey("till-1-0001");
+        when(stockReservationRepository.findByCheckoutKey("till-1-0001")).thenReturn(List.of(committed));
+
+        assertEquals(1, stockReservationService.commitCheckout("till-1-0001", 7, Map.of(10, 2)));
+        verify(inventoryRepository, never()).decreaseQuantityIfAvailable(anyInt(), anyInt());
+        verify(stockReservationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testReleaseSale_RestocksOnlyHeld() {
+        StockReservation held1 = reservation(1, 10, 2, Status.HELD);
+        StockReservation held2 = reservation(2, 10, 3, Status.HELD);
+        StockReservation expired = reservation(3, 11, 4, Status.EXPIRED);
+        when(stockReservationRepository.findBySaleIdAndStatusIn(eq(1), any()))
+                .thenReturn(List.of(held1, held2, expired));
+
+        int released = stockReservationService.releaseSale(1, null);
+
+        assertEquals(3, released);
+        verify(inventoryRepository, times(1)).increaseQuantity(10, 5);
+        verify(inventoryRepository, never()).increaseQuantity(eq(11), anyInt());
+        verify(stockReservationRepository, times(1)).updateStatus(List.of(1, 2, 3), Status.RELEASED);
+    }
+
+    @Test
+    void testReleaseSale_SingleProduct() {
+        when(stockReservationRepository.findBySaleIdAndProductIdAndStatusIn(eq(1), eq(10), any()))
+                .thenReturn(List.of(reservation(1, 10, 2, Status.HELD)));
+
+        stockReservationService.releaseSale(1, 10);
+
+        verify(inventoryRepository, times(1)).increaseQuantity(10, 2);
+        verify(stockReservationRepository, never()).findBySaleIdAndStatusIn(any(), any());
+    }
+
+    @Test
+    void testReleaseQuantity_NewestFirstAndSplitsTheLast() {
+        StockReservation older = reservation(1, 10, 2, Status.HELD);
+        StockReservation newer = reservation(2, 10, 3, Status.HELD);
+        when(stockReservationRepository.findBySaleIdAndProductIdAndStatusIn(eq(1), eq(10), any()))
+                .thenReturn(List.of(older, newer));
+
+        int released = stockReservationService.releaseQuantity(1, 10, 4);
+
+        assertEquals(4, released);
+        assertEquals(1, older.getQuantity());
+        verify(inventoryRepository, times(1)).increaseQuantity(10, 1);
+        verify(inventoryRepository, times(1)).increaseQuantity(10, 3);
+        verify(stockReservationRepository, times(1)).updateStatus(List.of(2), Status.RELEASED);
+    }
+
+    @Test
+    void testExpireReservations() {
+        when(stockReservationRepository.findByStatusAndExpiresAtBeforeOrderByReservationIdAsc(eq(Status.HELD),
+                any(LocalDateTime.class), eq(Limit.of(500))))
+                .thenReturn(List.of(reservation(1, 10, 2, Status.HELD), reservation(2, 11, 1, Status.HELD)));
+
+        int expired = stockReservationService.expireReservations(500);
+
+        assertEquals(2, expired);
+        verify(inventoryRepository, times(1)).increaseQuantity(10, 2);
+        verify(inventoryRepository, times(1)).increaseQuantity(11, 1);
+        verify(stockReservationRepository, times(1)).updateStatus(List.of(1, 2), Status.EXPIRED);
+    }
+
+    @Test
+    void testExpireReservations_NotifiesSubscribers() {
+        Inventory inventory = inventory(10, 6);
+        when(stockReservationRepository.findByStatusAndExpiresAtBeforeOrderByReservationIdAsc(eq(Status.HELD),
+                any(LocalDateTime.class), eq(Limit.of(500)))).thenReturn(List.of(reservation(1, 10, 2, Status.HELD)));
+        when(inventoryRepository.findByProductId(10)).thenReturn(Optional.of(inventory));
+        when(stockLevelNotifier.hasSubscribers()).thenReturn(true);
+
+        stockReservationService.expireReservations(500);
+
+        verify(stockLevelNotifier, times(1)).quantityChanged(inventory, 4);
+    }
+
+    @Test
+    void testExpireReservations_NothingDue() {
+        when(stockReservationRepository.findByStatusAndExpiresAtBeforeOrderByReservationIdAsc(any(), any(), any()))
+                .thenReturn(List.of());
+
+        assertEquals(0, stockReservationService.expireReservations(500));
+        verify(stockReservationRepository, never()).updateStatus(any(), any());
+    }
+}
@@ -0,0 +1,97 @@
+package lk.udcreations.product.util.calculate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+    @Test
+    void testOf_RoundsHalfUpToTheCent() {
+        assertEquals(1235, Money.of(new BigDecimal("12.345")).cents());
+        assertEquals(1234, Money.of(new BigDecimal("12.344")).cents());
+        assertEquals(1250, Money.of(new BigDecimal("12.5")).cents());
+        assertEquals(1234, Money.of(new BigDecimal("12.345"), RoundingMode.DOWN).cents());
+    }
+
+    @Test
+    void testOfNullable_NullIsZero() {
+        assertSame(Money.ZERO, Money.ofNullable(null));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(null));
+    }
+
+    @Test
+    void testPercent_UsesRoundingMode() {
+        Money amount = Money.ofCents(1010);
+
+        assertEquals(859, amount.percent(85, RoundingMode.HALF_UP).cents());
+        assertEquals(858, amount.percent(85, RoundingMode.HALF_EVEN).cents());
+        assertEquals(858, amount.percent(85, RoundingMode.DOWN).cents());
+        assertEquals(-859, Money.ofCents(-1010).percent(85, RoundingMode.HALF_UP).cents());
+        assertThrows(ArithmeticException.class, () -> amount.percent(85, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    void testArithmetic_OverflowThrows() {
+        Money max = Money.ofCents(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofCents(1)));
+        assertThrows(ArithmeticException.class, () -> max.times(2));
+    }
+
+    @Test
+    void testToBigDecimalAndToString() {
+        assertEquals(new BigDecimal("0.05"), Money.ofCents(5).toBigDecimal());
+        assertEquals("-1.05", Money.ofCents(-105).toString());
+        assertEquals("-0.05", Money.ofCents(-5).toString());
+        assertEquals("12.30", Money.ofCents(1230).toString());
+    }
+
+    @Test
+    void testCalculateItemTotal_MatchesBigDecimalFormula() {
+        BigDecimal unitPrice = new BigDecimal("19.99");
+        BigDecimal discVal = new BigDecimal("1.00");
+
+        BigDecimal expected = unitPrice.multiply(BigDecimal.valueOf(85))
+                .divide(BigDecimal.valueOf(100), RoundingMode.HALF_UP).subtract(discVal).multiply(BigDecimal.valueOf(3));
+
+        assertEquals(new BigDecimal("47.97"), Calculate.calculateItemTotal(unitPrice, 15, discVal, 3));
+        assertTrue(CalculateUtil.isEquals(expected, Calculate.calculateItemTotal(unitPrice, 15, discVal, 3)));
+    }
+
+    @Test
+    void testCalculateItemTotal_ScaleFourPriceIsTheSameAmount() {
+        BigDecimal discVal = new BigDecimal("1.00");
+
+        assertEquals(Calculate.calculateItemTotal(new BigDecimal("19.99"), 15, discVal, 3),
+                Calculate.calculateItemTotal(new BigDecimal("19.9900"), 15, discVal, 3));
+        assertEquals(new BigDecimal("16.99"), Calculate.calculateDiscountedPrice(new BigDecimal("19.9900"), 15,
+                BigDecimal.ZERO));
+    }
+
+    @Test
+    void testCalculateItemTotal_SubCentPriceIsRoundedFirst() {
+        // 19.995 is taken as 20.00: 20.00 * 0.85 - 1.00 = 16.00 per unit
+        assertEquals(new BigDecimal("48.00"),
+                Calculate.calculateItemTotal(new BigDecimal("19.9950"), 15, new BigDecimal("1.00"), 3));
+        assertTrue(CalculateUtil.isEquals(new BigDecimal("48.0000"),
+                Calculate.calculateItemTotal(new BigDecimal("19.9950"), 15, new BigDecimal("1.00"), 3)));
+        assertThrows(ArithmeticException.class,
+                () -> Money.of(new BigDecimal("19.9950"), RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    void testCalcTotalPayments_SkipsNulls() {
+        BigDecimal total = Calculate.calcTotalPayments(null, new BigDecimal("10.5"), null, new BigDecimal("0.25"),
+                null);
+
+        assertEquals(new BigDecimal("10.75"), total);
+        assertTrue(CalculateUtil.isEquals(new BigDecimal("10.750"), total));
+    }
+}
@@ -0,0 +1,90 @@
+package lk.udcreations.product.util.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lk.udcreations.product.util.importer.ProductImportReader.Row;
+
+class ProductImportReaderTest {
+
+    @Test
+    void testCsv_ReadsRowsByHeaderName() {
+        // Arrange
+        String csv = "sku,product_name,price,categoryId,enabled\n"
+                + "SKU-1,\"Cable, 2m\",150.00,1,true\n"
+                + "\n"
+                + "SKU-2,Mouse,abc,1,true\n";
+
+        // Act
+        List<Row> rows = readAll(ProductImportReader.csv(stream(csv)));
+
+        // Assert
+        assertEquals(2, rows.size());
+        assertEquals(2, rows.get(0).getLine());
+        assertEquals("Cable, 2m", rows.get(0).getProduct().getProductName());
+        assertEquals(new BigDecimal("150.00"), rows.get(0).getProduct().getPrice());
+        assertTrue(rows.get(0).getProduct().isEnabled());
+        assertNull(rows.get(0).getError());
+        assertEquals(4, rows.get(1).getLine());
+        assertNull(rows.get(1).getProduct());
+        assertEquals("Invalid value in column price: abc", rows.get(1).getError());
+    }
+
+    @Test
+    void testCsv_UnknownHeaderColumnIsRejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> ProductImportReader.csv(stream("sku,colour\n")));
+    }
+
+    @Test
+    void testNdjson_BadLineDoesNotStopTheRest() {
+        // Arrange
+        String ndjson = "{\"productName\":\"Cable\",\"sku\":\"SKU-1\"}\n"
+                + "{not json\n"
+                + "{\"productName\":\"Mouse\",\"sku\":\"SKU-2\"}\n";
+
+        // Act
+        List<Row> rows = readAll(ProductImportReader.ndjson(stream(ndjson), new ObjectMapper()));
+
+        // Assert
+        assertEquals(3, rows.size());
+        assertEquals("Cable", rows.get(0).getProduct().getProductName());
+        assertTrue(rows.get(1).getError().startsWith("Invalid JSON"));
+        assertEquals("Mouse", rows.get(2).getProduct().getProductName());
+        assertEquals(3, rows.get(2).getLine());
+    }
+
+    @Test
+    void testSplitCsv_QuotedQuotes() {
+        // Act
+        List<String> values = ProductImportReader.splitCsv("a,\"say \"\"hi\"\"\",");
+
+        // Assert
+        assertEquals(List.of("a", "say \"hi\"", ""), values);
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Row> readAll(ProductImportReader reader) {
+        try (reader) {
+            List<Row> rows = new ArrayList<>();
+            reader.forEachRemaining(rows::add);
+            return rows;
+        }
+    }
+}
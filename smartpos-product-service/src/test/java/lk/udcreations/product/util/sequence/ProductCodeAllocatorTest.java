@@ -0,0 +1,122 @@
+package lk.udcreations.product.util.sequence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import lk.udcreations.product.entity.Category;
+import lk.udcreations.product.entity.ProductCodeCounter;
+import lk.udcreations.product.repository.CategoryRepository;
+import lk.udcreations.product.repository.ProductCodeCounterRepository;
+import lk.udcreations.product.repository.ProductRepository;
+
+class ProductCodeAllocatorTest {
+
+    @Mock
+    private ProductCodeCounterRepository counterRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductCodeAllocator productCodeAllocator;
+
+    private ProductCodeCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        productCodeAllocator = new ProductCodeAllocator(counterRepository, productRepository, categoryRepository,
+                transactionManager, 3);
+
+        Category category = new Category();
+        category.setCategoryId(1);
+        category.setCatPrefix("E");
+
+        counter = new ProductCodeCounter();
+        counter.setCategoryId(1);
+        counter.setNextValue(6L);
+
+        when(categoryRepository.findById(1)).thenReturn(Optional.of(category));
+        when(counterRepository.findByCategoryId(1)).thenReturn(Optional.of(counter));
+    }
+
+    @Test
+    void testNextCode_ServesABlockFromMemory() {
+        // Act
+        String first = productCodeAllocator.nextCode(1);
+        String second = productCodeAllocator.nextCode(1);
+        String third = productCodeAllocator.nextCode(1);
+
+        // Assert
+        assertEquals("E00006", first);
+        assertEquals("E00007", second);
+        assertEquals("E00008", third);
+        assertEquals(9L, counter.getNextValue());
+        verify(counterRepository, times(1)).findByCategoryId(1);
+        verify(productRepository, never()).findMaxProductCodeNumber(any(), any());
+    }
+
+    @Test
+    void testNextCode_ReservesTheNextBlockWhenUsedUp() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            productCodeAllocator.nextCode(1);
+        }
+        String fourth = productCodeAllocator.nextCode(1);
+
+        // Assert
+        assertEquals("E00009", fourth);
+        assertEquals(12L, counter.getNextValue());
+        verify(counterRepository, times(2)).findByCategoryId(1);
+    }
+
+    @Test
+    void testNextCode_FirstCounterContinuesAfterExistingCodes() {
+        // Arrange
+        when(counterRepository.findByCategoryId(1)).thenReturn(Optional.empty());
+        when(productRepository.findMaxProductCodeNumber(1, "E")).thenReturn(4L);
+        when(counterRepository.saveAndFlush(any(ProductCodeCounter.class))).thenAnswer(i -> i.getArgument(0));
+
+        // Act
+        String code = productCodeAllocator.nextCode(1);
+
+        // Assert
+        assertEquals("E00005", code);
+        verify(productRepository, times(1)).findMaxProductCodeNumber(1, "E");
+    }
+
+    @Test
+    void testEvict_PicksUpTheNewPrefix() {
+        // Arrange
+        productCodeAllocator.nextCode(1);
+        Category renamed = new Category();
+        renamed.setCategoryId(1);
+        renamed.setCatPrefix("U");
+        when(categoryRepository.findById(1)).thenReturn(Optional.of(renamed));
+
+        // Act
+        productCodeAllocator.evict(1);
+        String code = productCodeAllocator.nextCode(1);
+
+        // Assert
+        assertEquals("U00009", code);
+    }
+}
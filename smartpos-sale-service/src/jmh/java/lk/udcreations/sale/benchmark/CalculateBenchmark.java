@@ -0,0 +1,148 @@
+package lk.udcreations.sale.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import lk.udcreations.sale.entity.SalesItems;
+import lk.udcreations.sale.util.calculate.Calculate;
+import lk.udcreations.sale.util.calculate.CalculateUtil;
+
+/**
+ * Money arithmetic on the add-item and finalize paths, over one basket.
+ * 
+ * Item benchmarks run the per-item checks of SalesItemsService for every line
+ * in the basket; total benchmarks run the finalize checks of SalesService once
+ * per basket. Prices are seeded so runs are comparable.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalculateBenchmark {
+
+	/** Number of lines in the basket. */
+	@Param({ "1", "10", "50", "200" })
+	private int basketSize;
+
+	/** Decimal places of the unit prices, as sent by the POS client. */
+	@Param({ "2", "4" })
+	private int priceScale;
+
+	private List<SalesItems> salesItems;
+	private BigDecimal[] unitPrices;
+	private BigDecimal[] discountValues;
+	private int[] discountPercentages;
+	private int[] quantities;
+	private BigDecimal[] clientTotals;
+
+	private BigDecimal clientTotal;
+	private BigDecimal cash;
+	private BigDecimal creditCard;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+
+		salesItems = new ArrayList<>(basketSize);
+		unitPrices = new BigDecimal[basketSize];
+		discountValues = new BigDecimal[basketSize];
+		discountPercentages = new int[basketSize];
+		quantities = new int[basketSize];
+		clientTotals = new BigDecimal[basketSize];
+
+		for (int i = 0; i < basketSize; i++) {
+			unitPrices[i] = BigDecimal.valueOf(100 + random.nextInt(1_000_000), 2).setScale(priceScale);
+			discountPercentages[i] = random.nextInt(4) == 0 ? random.nextInt(26) : 0;
+			discountValues[i] = random.nextInt(4) == 0 ? BigDecimal.valueOf(random.nextInt(500), 2) : BigDecimal.ZERO;
+			quantities[i] = 1 + random.nextInt(5);
+
+			BigDecimal total = Calculate.calculateItemTotal(unitPrices[i], discountPercentages[i], discountValues[i],
+					quantities[i]);
+			// The client sends totals with its own scale; the equality check compares values, not scales
+			clientTotals[i] = total.setScale(total.scale() + 2);
+
+			SalesItems item = new SalesItems();
+			item.setSalesItemId(i + 1);
+			item.setSaleId(1);
+			item.setProductId(i + 1);
+			item.setQuantity(quantities[i]);
+			item.setPricePerUnit(unitPrices[i]);
+			item.setItemDiscountPer(discountPercentages[i]);
+			item.setItemDiscountVal(discountValues[i]);
+			item.setTotalPrice(total);
+			salesItems.add(item);
+		}
+
+		BigDecimal total = Calculate.calcTotalAmount(salesItems);
+		clientTotal = total.setScale(total.scale() + 2);
+		cash = total.divide(BigDecimal.valueOf(2), RoundingMode.DOWN);
+		creditCard = total.subtract(cash);
+	}
+
+	@Benchmark
+	public void calculateDiscountedPrice(Blackhole blackhole) {
+		for (int i = 0; i < basketSize; i++) {
+			blackhole.consume(Calculate.calculateDiscountedPrice(unitPrices[i], discountPercentages[i],
+					discountValues[i]));
+		}
+	}
+
+	@Benchmark
+	public void calculateItemTotal(Blackhole blackhole) {
+		for (int i = 0; i < basketSize; i++) {
+			blackhole.consume(Calculate.calculateItemTotal(unitPrices[i], discountPercentages[i], discountValues[i],
+					quantities[i]));
+		}
+	}
+
+	/** The add-item total check: recompute each line and compare with the client's total. */
+	@Benchmark
+	public void verifyItemTotals(Blackhole blackhole) {
+		for (int i = 0; i < basketSize; i++) {
+			BigDecimal total = Calculate.calculateItemTotal(unitPrices[i], discountPercentages[i], discountValues[i],
+					quantities[i]);
+			blackhole.consume(CalculateUtil.isEquals(total, clientTotals[i]));
+		}
+	}
+
+	@Benchmark
+	public BigDecimal calcTotalAmount() {
+		return Calculate.calcTotalAmount(salesItems);
+	}
+
+	@Benchmark
+	public int calcTotalQuantity() {
+		return Calculate.calcTotalQuantity(salesItems);
+	}
+
+	@Benchmark
+	public boolean isEquals() {
+		return CalculateUtil.isEquals(Calculate.calcTotalAmount(salesItems), clientTotal);
+	}
+
+	/** The finalize payment check: sum the tenders and compare with the sale total. */
+	@Benchmark
+	public boolean verifyPayment() {
+		BigDecimal paid = Calculate.calcTotalPayments(cash, creditCard, null, null, BigDecimal.ZERO);
+		return CalculateUtil.isEquals(clientTotal, paid);
+	}
+}
@@ -0,0 +1,119 @@
+package lk.udcreations.sale.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import lk.udcreations.common.dto.payment.PaymentDTO;
+import lk.udcreations.common.dto.sale.SaleDTO;
+import lk.udcreations.common.dto.salesitems.SalesItemDTO;
+import lk.udcreations.sale.entity.Payment;
+import lk.udcreations.sale.entity.Sales;
+import lk.udcreations.sale.entity.SalesItems;
+import lk.udcreations.sale.mapper.SaleMapper;
+
+/**
+ * Maps one sale with its payment and items the way SalesService.convertToDTO
+ * does, once through the reflective ModelMapper and once through the generated
+ * SaleMapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+	@Param({ "1", "10", "50" })
+	private int itemCount;
+
+	private ModelMapper modelMapper;
+	private SaleMapper saleMapper;
+
+	private Sales sale;
+	private Payment payment;
+	private List<SalesItems> salesItems;
+
+	@Setup
+	public void setUp() {
+		modelMapper = new ModelMapper();
+		saleMapper = Mappers.getMapper(SaleMapper.class);
+
+		sale = new Sales();
+		sale.setSaleId(1);
+		sale.setUserId(1);
+		sale.setCustomerId(1);
+		sale.setTotalItemCount(itemCount);
+		sale.setPaymentStatus("FINALIZED");
+		sale.setSaleDateTime(LocalDateTime.now());
+		sale.setCreatedAt(LocalDateTime.now());
+		sale.setUpdatedAt(LocalDateTime.now());
+
+		payment = new Payment();
+		payment.setPaymentId(1);
+		payment.setSaleId(1);
+		payment.setCashAmount(new BigDecimal("1000.00"));
+		payment.setCreditCardAmount(new BigDecimal("250.00"));
+		payment.setCreditCardReference("CC-0001");
+		payment.setDueAmount(BigDecimal.ZERO);
+
+		salesItems = new ArrayList<>(itemCount);
+		BigDecimal total = BigDecimal.ZERO;
+		for (int i = 1; i <= itemCount; i++) {
+			SalesItems item = new SalesItems();
+			item.setSalesItemId(i);
+			item.setSaleId(1);
+			item.setProductId(i);
+			item.setQuantity(2);
+			item.setPricePerUnit(new BigDecimal("125.50"));
+			item.setItemDiscountVal(new BigDecimal("5.00"));
+			item.setItemDiscountPer(0);
+			item.setTotalPrice(new BigDecimal("241.00"));
+			total = total.add(item.getTotalPrice());
+			salesItems.add(item);
+		}
+		sale.setTotalAmount(total);
+	}
+
+	@Benchmark
+	public void modelMapper(Blackhole blackhole) {
+		SaleDTO dto = modelMapper.map(sale, SaleDTO.class);
+		dto.setPayment(modelMapper.map(payment, PaymentDTO.class));
+		List<SalesItemDTO> items = new ArrayList<>(salesItems.size());
+		for (SalesItems item : salesItems) {
+			items.add(modelMapper.map(item, SalesItemDTO.class));
+		}
+		dto.setSalesItems(items);
+		blackhole.consume(dto);
+	}
+
+	@Benchmark
+	public void mapStruct(Blackhole blackhole) {
+		SaleDTO dto = saleMapper.toDTO(sale);
+		dto.setPayment(saleMapper.toDTO(payment));
+		List<SalesItemDTO> items = new ArrayList<>(salesItems.size());
+		for (SalesItems item : salesItems) {
+			items.add(saleMapper.toDTO(item));
+		}
+		dto.setSalesItems(items);
+		blackhole.consume(dto);
+	}
+}
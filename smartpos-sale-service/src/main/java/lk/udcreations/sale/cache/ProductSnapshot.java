@@ -0,0 +1,64 @@
+package lk.udcreations.sale.cache;
+
+import java.math.BigDecimal;
+
+import lk.udcreations.common.dto.product.ProductDTO;
+
+/**
+ * Read-only view of the product fields the add-to-cart checks need, captured
+ * from one product-service lookup.
+ */
+public final class ProductSnapshot {
+
+	private final Integer id;
+	private final String productId;
+	private final BigDecimal price;
+	private final BigDecimal minPrice;
+	private final boolean enabled;
+	private final boolean deleted;
+	private final ProductDTO product;
+
+	private ProductSnapshot(ProductDTO product) {
+		super();
+		this.id = product.getId();
+		this.productId = product.getProductId();
+		this.price = product.getPrice();
+		this.minPrice = product.getMinPrice();
+		this.enabled = product.isEnabled();
+		this.deleted = product.isDeleted();
+		this.product = product;
+	}
+
+	public static ProductSnapshot of(ProductDTO product) {
+		return new ProductSnapshot(product);
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public String getProductId() {
+		return productId;
+	}
+
+	public BigDecimal getPrice() {
+		return price;
+	}
+
+	public BigDecimal getMinPrice() {
+		return minPrice;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public boolean isDeleted() {
+		return deleted;
+	}
+
+	/** The product as returned by product-service, used to hydrate sale item responses. */
+	public ProductDTO getProduct() {
+		return product;
+	}
+}
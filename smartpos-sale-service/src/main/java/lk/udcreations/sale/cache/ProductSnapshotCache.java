@@ -0,0 +1,51 @@
+package lk.udcreations.sale.cache;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lk.udcreations.sale.controller.ProductClientController;
+
+/**
+ * Size-bounded, short-lived cache of product snapshots keyed by product ID, so
+ * a scanned item costs at most one product-service call.
+ */
+@Component
+public class ProductSnapshotCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProductSnapshotCache.class);
+
+	private final ProductClientController productClientController;
+	private final Cache<Integer, ProductSnapshot> snapshots;
+
+	public ProductSnapshotCache(ProductClientController productClientController,
+			@Value("${sale.product-cache.maximum-size:10000}") long maximumSize,
+			@Value("${sale.product-cache.ttl:30s}") Duration ttl) {
+		super();
+		this.productClientController = productClientController;
+		this.snapshots = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+	}
+
+	/** Get the snapshot of a product, loading it from product-service on a miss. */
+	public ProductSnapshot get(Integer id) {
+		return snapshots.get(id, key -> {
+			LOGGER.debug("Product snapshot cache miss for ID: {}", key);
+			return ProductSnapshot.of(productClientController.getProductById(key));
+		});
+	}
+
+	/** Drop a product so the next lookup reloads it. */
+	public void evict(Integer id) {
+		snapshots.invalidate(id);
+	}
+
+	public void evictAll() {
+		snapshots.invalidateAll();
+	}
+}
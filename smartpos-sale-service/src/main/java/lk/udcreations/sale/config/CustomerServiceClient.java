@@ -1,15 +1,23 @@
 package lk.udcreations.sale.config;
 
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import lk.udcreations.common.dto.customer.CustomerDTO;
 
-@FeignClient(name = "customer-service")
+@FeignClient(name = "customer-service", fallbackFactory = CustomerServiceFallback.class)
 public interface CustomerServiceClient {
 
 	@GetMapping("/api/v1/customers/{id}")
 	public CustomerDTO getCustomerById(@PathVariable Integer id);
 
+	@PostMapping("/api/v1/customers/batch")
+	public Map<Integer, CustomerDTO> getCustomersByIds(@RequestBody List<Integer> ids);
+
 }
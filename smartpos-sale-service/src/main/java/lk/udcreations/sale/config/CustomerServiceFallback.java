@@ -0,0 +1,72 @@
+package lk.udcreations.sale.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import lk.udcreations.common.dto.customer.CustomerDTO;
+
+/**
+ * Serves the last customers seen from customer-service while its circuit is
+ * open, its bulkhead is full or a call fails, so sale listings keep working.
+ */
+@Component
+public class CustomerServiceFallback implements FallbackFactory<CustomerServiceClient> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CustomerServiceFallback.class);
+
+	private static final String SERVICE = "customer-service";
+
+	private final Cache<Integer, CustomerDTO> customers;
+
+	public CustomerServiceFallback(@Value("${sale.fallback-cache.maximum-size:10000}") long maximumSize,
+			@Value("${sale.fallback-cache.ttl:6h}") Duration ttl) {
+		super();
+		this.customers = FeignFallbacks.lastKnownValues(maximumSize, ttl);
+	}
+
+	public void remember(CustomerDTO customer) {
+		if (customer != null && customer.getCustomerId() != null) {
+			customers.put(customer.getCustomerId(), customer);
+		}
+	}
+
+	public void rememberAll(Map<Integer, CustomerDTO> found) {
+		if (found != null) {
+			customers.putAll(found);
+		}
+	}
+
+	@Override
+	public CustomerServiceClient create(Throwable cause) {
+		if (FeignFallbacks.isClientError(cause)) {
+			throw FeignFallbacks.propagate(SERVICE, cause);
+		}
+		LOGGER.warn("{} call failed, falling back to cached customers: {}", SERVICE, cause.toString());
+
+		return new CustomerServiceClient() {
+
+			@Override
+			public CustomerDTO getCustomerById(Integer id) {
+				CustomerDTO customer = customers.getIfPresent(id);
+				if (customer == null) {
+					throw FeignFallbacks.propagate(SERVICE, cause);
+				}
+				return customer;
+			}
+
+			@Override
+			public Map<Integer, CustomerDTO> getCustomersByIds(List<Integer> ids) {
+				return customers.getAllPresent(ids);
+			}
+		};
+	}
+}
@@ -0,0 +1,19 @@
+package lk.udcreations.sale.config;
+
+import org.springframework.cloud.openfeign.CircuitBreakerNameResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FeignClientConfig {
+
+	/**
+	 * One circuit breaker and bulkhead per downstream service rather than per
+	 * method, so a slow service is isolated as a whole and can be tuned by its
+	 * client name (customer-service, product-service, user-service).
+	 */
+	@Bean
+	public CircuitBreakerNameResolver circuitBreakerNameResolver() {
+		return (feignClientName, target, method) -> feignClientName;
+	}
+}
@@ -0,0 +1,38 @@
+package lk.udcreations.sale.config;
+
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import feign.FeignException;
+import lk.udcreations.sale.constants.ErrorMessages;
+import lk.udcreations.sale.exception.ServiceUnavailableException;
+
+final class FeignFallbacks {
+
+	private FeignFallbacks() {
+		throw new IllegalStateException("Utility class");
+	}
+
+	/** Cache of the last values a service returned, served while it is unavailable. */
+	static <K, V> Cache<K, V> lastKnownValues(long maximumSize, Duration ttl) {
+		return Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+	}
+
+	/**
+	 * A 4xx answer is the service's real response and is passed on unchanged so
+	 * callers can still react to it; anything else means the service could not
+	 * answer.
+	 */
+	static RuntimeException propagate(String service, Throwable cause) {
+		if (cause instanceof FeignException.FeignClientException clientError) {
+			return clientError;
+		}
+		return new ServiceUnavailableException(ErrorMessages.SERVICE_UNAVAILABLE + service, cause);
+	}
+
+	static boolean isClientError(Throwable cause) {
+		return cause instanceof FeignException.FeignClientException;
+	}
+}
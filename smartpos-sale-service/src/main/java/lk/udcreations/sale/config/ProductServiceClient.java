@@ -1,21 +1,42 @@
 package lk.udcreations.sale.config;
 
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import lk.udcreations.common.dto.inventory.InventoryDTO;
 import lk.udcreations.common.dto.inventory.StockDTO;
 import lk.udcreations.common.dto.product.ProductDTO;
+import lk.udcreations.sale.dto.ProductPriceChangesDTO;
+import lk.udcreations.sale.dto.ReserveStockDTO;
+import lk.udcreations.sale.dto.SellabilityDTO;
+import lk.udcreations.sale.dto.StockReservationDTO;
 
-@FeignClient(name = "product-service")
+@FeignClient(name = "product-service", fallbackFactory = ProductServiceFallback.class)
 public interface ProductServiceClient {
 
 	@GetMapping("/api/v1/product/{id}")
 	public ProductDTO getProductById(@PathVariable Integer id);
 
+	@PostMapping("/api/v1/product/batch")
+	public Map<Integer, ProductDTO> getProductsByIds(@RequestBody List<Integer> ids);
+
+	@GetMapping("/api/v1/product/price-changes")
+	public ProductPriceChangesDTO getPriceChanges(@RequestParam(value = "after", required = false) Long after,
+			@RequestParam(value = "limit", required = false) Integer limit);
+
+	@GetMapping("/api/v1/product/{id}/sellability")
+	public SellabilityDTO getSellability(@PathVariable Integer id, @RequestParam("qty") Integer qty);
+
+	@PostMapping("/api/v1/product/sellability")
+	public Map<Integer, SellabilityDTO> getSellabilities(@RequestBody Map<Integer, Integer> quantities);
+
 	@GetMapping("/api/v1/product/productId/deleted/{productId}")
 	public boolean checkProductDeletedByProductId(@PathVariable String productId);
 
@@ -31,7 +52,29 @@ public interface ProductServiceClient {
 	@PostMapping("/api/v1/inventory/addStock/{productId}")
 	public InventoryDTO addStock(@PathVariable Integer productId, @RequestBody StockDTO quantity);
 
+	@PostMapping("/api/v1/inventory/addStock")
+	public Integer addStocks(@RequestParam("requestKey") String requestKey,
+			@RequestBody Map<Integer, Integer> quantities);
+
 	@GetMapping("/api/v1/inventory/checkStockAvailability/{productId}/{quantity}")
 	public boolean checkStockAvailability(@PathVariable Integer productId, @PathVariable Integer quantity);
 
+	@PostMapping("/api/v1/inventory/reservations")
+	public StockReservationDTO reserveStock(@RequestBody ReserveStockDTO request);
+
+	@PostMapping("/api/v1/inventory/reservations/sale/{saleId}/commit")
+	public Integer commitReservations(@PathVariable Integer saleId);
+
+	@PostMapping("/api/v1/inventory/reservations/checkout/{checkoutKey}")
+	public Integer commitCheckout(@PathVariable String checkoutKey, @RequestParam("saleId") Integer saleId,
+			@RequestBody Map<Integer, Integer> quantities);
+
+	@PostMapping("/api/v1/inventory/reservations/sale/{saleId}/release")
+	public Integer releaseReservations(@PathVariable Integer saleId,
+			@RequestParam(value = "productId", required = false) Integer productId);
+
+	@PostMapping("/api/v1/inventory/reservations/sale/{saleId}/release/{productId}")
+	public Integer releaseReservedQuantity(@PathVariable Integer saleId, @PathVariable Integer productId,
+			@RequestParam("quantity") int quantity);
+
 }
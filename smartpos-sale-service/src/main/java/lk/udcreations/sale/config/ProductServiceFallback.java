@@ -0,0 +1,158 @@
+package lk.udcreations.sale.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import lk.udcreations.common.dto.inventory.InventoryDTO;
+import lk.udcreations.common.dto.inventory.StockDTO;
+import lk.udcreations.common.dto.product.ProductDTO;
+import lk.udcreations.sale.dto.ProductPriceChangesDTO;
+import lk.udcreations.sale.dto.ReserveStockDTO;
+import lk.udcreations.sale.dto.SellabilityDTO;
+import lk.udcreations.sale.dto.StockReservationDTO;
+
+/**
+ * Serves the last product details seen from product-service while its circuit
+ * is open, its bulkhead is full or a call fails, so existing sales can still be
+ * displayed.
+ * 
+ * Sellability, stock and reservation calls have no cached answer: selling on
+ * stale stock or prices is worse than failing the scan, so they fail fast with
+ * ServiceUnavailableException.
+ */
+@Component
+public class ProductServiceFallback implements FallbackFactory<ProductServiceClient> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProductServiceFallback.class);
+
+	private static final String SERVICE = "product-service";
+
+	private final Cache<Integer, ProductDTO> products;
+
+	public ProductServiceFallback(@Value("${sale.fallback-cache.maximum-size:10000}") long maximumSize,
+			@Value("${sale.fallback-cache.ttl:6h}") Duration ttl) {
+		super();
+		this.products = FeignFallbacks.lastKnownValues(maximumSize, ttl);
+	}
+
+	public void remember(ProductDTO product) {
+		if (product != null && product.getId() != null) {
+			products.put(product.getId(), product);
+		}
+	}
+
+	public void rememberAll(Map<Integer, ProductDTO> found) {
+		if (found != null) {
+			products.putAll(found);
+		}
+	}
+
+	@Override
+	public ProductServiceClient create(Throwable cause) {
+		if (FeignFallbacks.isClientError(cause)) {
+			throw FeignFallbacks.propagate(SERVICE, cause);
+		}
+		LOGGER.warn("{} call failed, falling back to cached products: {}", SERVICE, cause.toString());
+
+		return new ProductServiceClient() {
+
+			@Override
+			public ProductDTO getProductById(Integer id) {
+				ProductDTO product = products.getIfPresent(id);
+				if (product == null) {
+					throw FeignFallbacks.propagate(SERVICE, cause);
+				}
+				return product;
+			}
+
+			@Override
+			public Map<Integer, ProductDTO> getProductsByIds(List<Integer> ids) {
+				return products.getAllPresent(ids);
+			}
+
+			@Override
+			public ProductPriceChangesDTO getPriceChanges(Long after, Integer limit) {
+				throw FeignFallbacks.propagate(SERVICE, cause);
+			}
+
+			@Override
+			public SellabilityDTO getSellability(Integer id, Integer qty) {
+				throw FeignFallbacks.propagate(SERVICE, cause);
+			}
+
+			@Override
+			public Map<Integer, SellabilityDTO> getSellabilities(Map<Integer, Integer> quantities) {
+				throw FeignFallbacks.propagate(SERVICE, cause);
+			}
+
+			@Override
+			public boolean checkProductDeletedByProductId(String productId) {
+				throw FeignFallbacks.propagate(SERVICE, cause);
+			}
+
+			@Override
+			public boolean checkProductDeletedById(Integer id) {
+				throw FeignFallbacks.propagate(SERVICE, cause);
+			}
+
+			@Override
+			public boolean checkProductEnabledByProductId(String productId) {
+				throw FeignFallbacks.propagate(SERVICE, cause);
+			}
+
+			@Override
+			public boolean checkProductEnabledById(Integer id) {
+				throw FeignFallbacks.propagate(SERVICE, cause);
+			}
+
+			@Override
+			public InventoryDTO addStock(Integer productId, StockDTO quantity) {
+				throw FeignFallbacks.propagate(SERVICE, cause);
+			}
+
+			@Override
+			public Integer addStocks(String requestKey, Map<Integer, Integer> quantities) {
+				throw FeignFallbacks.propagate(SERVICE, cause);
+			}
+
+			@Override
+			public boolean checkStockAvailability(Integer productId, Integer quantity) {
+				throw FeignFallbacks.propagate(SERVICE, cause);
+			}
+
+			@Override
+			public StockReservationDTO reserveStock(ReserveStockDTO request) {
+				throw FeignFallbacks.propagate(SERVICE, cause);
+			}
+
+			@Override
+			public Integer commitReservations(Integer saleId) {
+				throw FeignFallbacks.propagate(SERVICE, cause);
+			}
+
+			@Override
+			public Integer commitCheckout(String checkoutKey, Integer saleId, Map<Integer, Integer> quantities) {
+				throw FeignFallbacks.propagate(SERVICE, cause);
+			}
+
+			@Override
+			public Integer releaseReservations(Integer saleId, Integer productId) {
+				throw FeignFallbacks.propagate(SERVICE, cause);
+			}
+
+			@Override
+			public Integer releaseReservedQuantity(Integer saleId, Integer productId, int quantity) {
+				throw FeignFallbacks.propagate(SERVICE, cause);
+			}
+		};
+	}
+}
@@ -1,12 +1,21 @@
 package lk.udcreations.sale.config;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.sale.dto.UserChangesDTO;
 
-@FeignClient(name = "user-service")
+@FeignClient(name = "user-service", fallbackFactory = UserServiceFallback.class)
 public interface UserServiceClient {
 	
 	@GetMapping("api/v1/users/username/{email}")
@@ -14,4 +23,11 @@ public interface UserServiceClient {
 
 	@GetMapping("/api/v1/users/{userId}")
 	public UsersDTO getUserById(@PathVariable Integer userId);
+
+	@PostMapping("/api/v1/users/batch")
+	public Map<Integer, UsersDTO> getUsersByIds(@RequestBody List<Integer> userIds);
+
+	@GetMapping("/api/v1/users/changes")
+	public UserChangesDTO getUserChanges(
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since);
 }
@@ -0,0 +1,95 @@
+package lk.udcreations.sale.config;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.sale.dto.UserChangesDTO;
+
+/**
+ * Serves the last users seen from user-service while its circuit is open, its
+ * bulkhead is full or a call fails, so audit users can still be resolved.
+ */
+@Component
+public class UserServiceFallback implements FallbackFactory<UserServiceClient> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(UserServiceFallback.class);
+
+	private static final String SERVICE = "user-service";
+
+	private final Cache<Integer, UsersDTO> usersById;
+	private final Cache<String, UsersDTO> usersByUsername;
+
+	public UserServiceFallback(@Value("${sale.fallback-cache.maximum-size:10000}") long maximumSize,
+			@Value("${sale.fallback-cache.ttl:6h}") Duration ttl) {
+		super();
+		this.usersById = FeignFallbacks.lastKnownValues(maximumSize, ttl);
+		this.usersByUsername = FeignFallbacks.lastKnownValues(maximumSize, ttl);
+	}
+
+	public void remember(UsersDTO user) {
+		if (user == null) {
+			return;
+		}
+		if (user.getUserId() != null) {
+			usersById.put(user.getUserId(), user);
+		}
+		if (user.getUsername() != null) {
+			usersByUsername.put(user.getUsername(), user);
+		}
+	}
+
+	public void rememberAll(Map<Integer, UsersDTO> found) {
+		if (found != null) {
+			found.values().forEach(this::remember);
+		}
+	}
+
+	@Override
+	public UserServiceClient create(Throwable cause) {
+		if (FeignFallbacks.isClientError(cause)) {
+			throw FeignFallbacks.propagate(SERVICE, cause);
+		}
+		LOGGER.warn("{} call failed, falling back to cached users: {}", SERVICE, cause.toString());
+
+		return new UserServiceClient() {
+
+			@Override
+			public UsersDTO getUserDetails(String email) {
+				return orElseThrow(usersByUsername.getIfPresent(email));
+			}
+
+			@Override
+			public UsersDTO getUserById(Integer userId) {
+				return orElseThrow(usersById.getIfPresent(userId));
+			}
+
+			@Override
+			public Map<Integer, UsersDTO> getUsersByIds(List<Integer> userIds) {
+				return usersById.getAllPresent(userIds);
+			}
+
+			@Override
+			public UserChangesDTO getUserChanges(LocalDateTime since) {
+				throw FeignFallbacks.propagate(SERVICE, cause);
+			}
+
+			private UsersDTO orElseThrow(UsersDTO user) {
+				if (user == null) {
+					throw FeignFallbacks.propagate(SERVICE, cause);
+				}
+				return user;
+			}
+		};
+	}
+}
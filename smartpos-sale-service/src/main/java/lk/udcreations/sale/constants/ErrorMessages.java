@@ -45,6 +45,10 @@ public class ErrorMessages {
     // General error messages
     public static final String INVALID_INPUT = "Invalid input provided.";
     public static final String UNEXPECTED_ERROR = "An unexpected error occurred.";
+    public static final String INVALID_CURSOR = "Invalid page cursor: ";
+    public static final String INVALID_PAGE_LIMIT = "Page limit must be at least 1, got: ";
+    public static final String INVALID_EXPORT_FORMAT = "Unsupported export format: ";
+    public static final String SERVICE_UNAVAILABLE = "Service is temporarily unavailable: ";
 	public static final String EMAIL_EXISTS = "Email already exists.";
 
     private ErrorMessages() {
@@ -1,21 +1,42 @@
 package lk.udcreations.sale.controller;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 import org.springframework.stereotype.Component;
 
 import lk.udcreations.common.dto.customer.CustomerDTO;
 import lk.udcreations.sale.config.CustomerServiceClient;
+import lk.udcreations.sale.config.CustomerServiceFallback;
 
 @Component
 public class CustomerClientController {
 
 	private final CustomerServiceClient customerServiceClient;
+	private final CustomerServiceFallback customerServiceFallback;
 
-	public CustomerClientController(CustomerServiceClient customerServiceClient) {
+	public CustomerClientController(CustomerServiceClient customerServiceClient,
+			CustomerServiceFallback customerServiceFallback) {
 		super();
 		this.customerServiceClient = customerServiceClient;
+		this.customerServiceFallback = customerServiceFallback;
 	}
 
 	public CustomerDTO getCustomerById(Integer customerId) {
-		return customerServiceClient.getCustomerById(customerId);
+		CustomerDTO customer = customerServiceClient.getCustomerById(customerId);
+		customerServiceFallback.remember(customer);
+		return customer;
+	}
+
+	public Map<Integer, CustomerDTO> getCustomersByIds(Collection<Integer> customerIds) {
+		List<Integer> ids = customerIds.stream().filter(Objects::nonNull).distinct().toList();
+		if (ids.isEmpty()) {
+			return Map.of();
+		}
+		Map<Integer, CustomerDTO> customers = customerServiceClient.getCustomersByIds(ids);
+		customerServiceFallback.rememberAll(customers);
+		return customers;
 	}
 }
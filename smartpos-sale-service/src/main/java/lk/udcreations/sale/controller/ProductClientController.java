@@ -1,24 +1,62 @@
 package lk.udcreations.sale.controller;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 import org.springframework.stereotype.Component;
 
+import feign.FeignException;
 import lk.udcreations.common.dto.inventory.InventoryDTO;
 import lk.udcreations.common.dto.inventory.StockDTO;
 import lk.udcreations.common.dto.product.ProductDTO;
 import lk.udcreations.sale.config.ProductServiceClient;
+import lk.udcreations.sale.config.ProductServiceFallback;
+import lk.udcreations.sale.constants.ErrorMessages;
+import lk.udcreations.sale.dto.ReserveStockDTO;
+import lk.udcreations.sale.dto.SellabilityDTO;
+import lk.udcreations.sale.dto.StockReservationDTO;
+import lk.udcreations.sale.exception.InsufficientStockException;
 
 @Component
 public class ProductClientController {
 
 	private final ProductServiceClient productServiceClient;
+	private final ProductServiceFallback productServiceFallback;
 
-	public ProductClientController(ProductServiceClient productServiceClient) {
+	public ProductClientController(ProductServiceClient productServiceClient,
+			ProductServiceFallback productServiceFallback) {
 		super();
 		this.productServiceClient = productServiceClient;
+		this.productServiceFallback = productServiceFallback;
 	}
 
 	public ProductDTO getProductById(Integer id) {
-		return productServiceClient.getProductById(id);
+		ProductDTO product = productServiceClient.getProductById(id);
+		productServiceFallback.remember(product);
+		return product;
+	}
+
+	public Map<Integer, ProductDTO> getProductsByIds(Collection<Integer> ids) {
+		List<Integer> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+		if (distinctIds.isEmpty()) {
+			return Map.of();
+		}
+		Map<Integer, ProductDTO> products = productServiceClient.getProductsByIds(distinctIds);
+		productServiceFallback.rememberAll(products);
+		return products;
+	}
+
+	public SellabilityDTO getSellability(Integer id, Integer quantity) {
+		return productServiceClient.getSellability(id, quantity);
+	}
+
+	public Map<Integer, SellabilityDTO> getSellabilities(Map<Integer, Integer> quantities) {
+		if (quantities.isEmpty()) {
+			return Map.of();
+		}
+		return productServiceClient.getSellabilities(quantities);
 	}
 
 	public boolean checkProductDeletedByProductId(String productId) {
@@ -41,7 +79,49 @@ public class ProductClientController {
 		return productServiceClient.addStock(productId, quantity);
 	}
 
+	public Integer addStocks(String requestKey, Map<Integer, Integer> quantities) {
+		if (quantities.isEmpty()) {
+			return 0;
+		}
+		return productServiceClient.addStocks(requestKey, quantities);
+	}
+
 	public boolean checkStockAvailability(Integer productId, Integer quantity) {
 		return productServiceClient.checkStockAvailability(productId, quantity);
 	}
+
+	public StockReservationDTO reserveStock(Integer saleId, Integer productId, int quantity) {
+		try {
+			return productServiceClient.reserveStock(new ReserveStockDTO(saleId, productId, quantity));
+		} catch (FeignException.Conflict ex) {
+			throw new InsufficientStockException(ErrorMessages.INVENTORY_NOT_ENOUGHT_STOCK);
+		}
+	}
+
+	public Integer commitReservations(Integer saleId) {
+		try {
+			return productServiceClient.commitReservations(saleId);
+		} catch (FeignException.Conflict ex) {
+			throw new InsufficientStockException(ErrorMessages.INVENTORY_NOT_ENOUGHT_STOCK);
+		}
+	}
+
+	public Integer commitCheckout(String checkoutKey, Integer saleId, Map<Integer, Integer> quantities) {
+		if (quantities.isEmpty()) {
+			return 0;
+		}
+		try {
+			return productServiceClient.commitCheckout(checkoutKey, saleId, quantities);
+		} catch (FeignException.Conflict ex) {
+			throw new InsufficientStockException(ErrorMessages.INVENTORY_NOT_ENOUGHT_STOCK);
+		}
+	}
+
+	public Integer releaseReservations(Integer saleId, Integer productId) {
+		return productServiceClient.releaseReservations(saleId, productId);
+	}
+
+	public Integer releaseReservedQuantity(Integer saleId, Integer productId, int quantity) {
+		return productServiceClient.releaseReservedQuantity(saleId, productId, quantity);
+	}
 }
@@ -1,7 +1,10 @@
 package lk.udcreations.sale.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,14 +14,22 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import lk.udcreations.common.dto.sale.CreateSaleDTO;
 import lk.udcreations.common.dto.sale.FinalizeSaleDTO;
 import lk.udcreations.common.dto.sale.SaleDTO;
 import lk.udcreations.common.dto.sale.UpdateSaleDTO;
+import lk.udcreations.sale.dto.CheckoutBatchDTO;
+import lk.udcreations.sale.dto.CheckoutResultDTO;
+import lk.udcreations.sale.dto.KeysetPageDTO;
+import lk.udcreations.sale.service.CheckoutService;
+import lk.udcreations.sale.service.SalesExportService;
+import lk.udcreations.sale.service.SalesExportService.ExportFormat;
 import lk.udcreations.sale.service.SalesService;
 
 @RestController
@@ -26,10 +37,15 @@ import lk.udcreations.sale.service.SalesService;
 public class SalesController {
 
 	private final SalesService salesService;
+	private final SalesExportService salesExportService;
+	private final CheckoutService checkoutService;
 
-	public SalesController(SalesService salesService) {
+	public SalesController(SalesService salesService, SalesExportService salesExportService,
+			CheckoutService checkoutService) {
 		super();
 		this.salesService = salesService;
+		this.salesExportService = salesExportService;
+		this.checkoutService = checkoutService;
 	}
 
 	/** Create a new sale */
@@ -47,10 +63,11 @@ public class SalesController {
 		return ResponseEntity.ok(salesService.updateSale(saleId, updatedSale));
 	}
 
-	/** Get all sales */
+	/** Get all sales, paginated by sale ID */
 	@GetMapping
-	public ResponseEntity<List<SaleDTO>> getAllSales() {
-		return new ResponseEntity<>(salesService.getAllSales(), HttpStatus.OK);
+	public ResponseEntity<KeysetPageDTO<SaleDTO>> getAllSales(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer limit) {
+		return new ResponseEntity<>(salesService.getAllSales(cursor, limit), HttpStatus.OK);
 	}
 
 	/** Get sales by payment status */
@@ -74,6 +91,23 @@ public class SalesController {
 		return new ResponseEntity<>(salesList, HttpStatus.OK);
 	}
 
+	/** Export sales history as NDJSON or CSV, streamed straight to the response */
+	@GetMapping("/payment/notdraft/export")
+	public ResponseEntity<StreamingResponseBody> exportSalesHistory(
+			@RequestParam(defaultValue = "ndjson") String format,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+		ExportFormat exportFormat = ExportFormat.from(format);
+		StreamingResponseBody body = outputStream -> salesExportService.exportSalesHistory(outputStream,
+				exportFormat, from, to);
+
+		return ResponseEntity.ok().contentType(exportFormat.getMediaType())
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						"attachment; filename=\"sales-history." + exportFormat.getExtension() + "\"")
+				.body(body);
+	}
+
 	/** Get sales by customer ID */
 	@GetMapping("/customer/{customerId}")
 	public ResponseEntity<List<SaleDTO>> getSalesByCustomerId(@PathVariable Integer customerId) {
@@ -95,6 +129,12 @@ public class SalesController {
 
 	}
 
+	/** Check out complete baskets queued by a till; resending a basket with the same key is safe */
+	@PostMapping("/checkout")
+	public ResponseEntity<List<CheckoutResultDTO>> checkout(@Valid @RequestBody CheckoutBatchDTO batch) {
+		return ResponseEntity.ok(checkoutService.checkout(batch.getBaskets()));
+	}
+
 	/** Delete a sale */
 	@DeleteMapping("/{saleId}")
 	public ResponseEntity<Void> deleteSale(@PathVariable Integer saleId) {
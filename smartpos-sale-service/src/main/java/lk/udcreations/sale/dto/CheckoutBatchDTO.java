@@ -0,0 +1,28 @@
+package lk.udcreations.sale.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+/** The baskets a till sends in one checkout request, oldest first. */
+public class CheckoutBatchDTO {
+
+	@NotEmpty
+	@Size(max = 200)
+	@Valid
+	private List<CheckoutDTO> baskets;
+
+	public CheckoutBatchDTO() {
+		super();
+	}
+
+	public List<CheckoutDTO> getBaskets() {
+		return baskets;
+	}
+
+	public void setBaskets(List<CheckoutDTO> baskets) {
+		this.baskets = baskets;
+	}
+}
@@ -0,0 +1,100 @@
+package lk.udcreations.sale.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lk.udcreations.common.dto.payment.PaymentDTO;
+import lk.udcreations.common.dto.salesitems.CreateSalesItemDTO;
+
+/**
+ * A complete basket sent by a till in one request: items, totals and payment.
+ * The till generates the idempotency key once per basket and sends the same
+ * key on every retry. The sale ID of the items is ignored.
+ */
+public class CheckoutDTO {
+
+	@NotBlank
+	@Size(max = 64)
+	private String idempotencyKey;
+
+	private Integer customerId;
+
+	/** When the sale took place at the till; defaults to the time it is received. */
+	private LocalDateTime saleDateTime;
+
+	@NotNull
+	private BigDecimal totalAmount;
+
+	private int totalItemCount;
+
+	@NotEmpty
+	private List<CreateSalesItemDTO> items;
+
+	@NotNull
+	private PaymentDTO payment;
+
+	public CheckoutDTO() {
+		super();
+	}
+
+	public String getIdempotencyKey() {
+		return idempotencyKey;
+	}
+
+	public void setIdempotencyKey(String idempotencyKey) {
+		this.idempotencyKey = idempotencyKey;
+	}
+
+	public Integer getCustomerId() {
+		return customerId;
+	}
+
+	public void setCustomerId(Integer customerId) {
+		this.customerId = customerId;
+	}
+
+	public LocalDateTime getSaleDateTime() {
+		return saleDateTime;
+	}
+
+	public void setSaleDateTime(LocalDateTime saleDateTime) {
+		this.saleDateTime = saleDateTime;
+	}
+
+	public BigDecimal getTotalAmount() {
+		return totalAmount;
+	}
+
+	public void setTotalAmount(BigDecimal totalAmount) {
+		this.totalAmount = totalAmount;
+	}
+
+	public int getTotalItemCount() {
+		return totalItemCount;
+	}
+
+	public void setTotalItemCount(int totalItemCount) {
+		this.totalItemCount = totalItemCount;
+	}
+
+	public List<CreateSalesItemDTO> getItems() {
+		return items;
+	}
+
+	public void setItems(List<CreateSalesItemDTO> items) {
+		this.items = items;
+	}
+
+	public PaymentDTO getPayment() {
+		return payment;
+	}
+
+	public void setPayment(PaymentDTO payment) {
+		this.payment = payment;
+	}
+}
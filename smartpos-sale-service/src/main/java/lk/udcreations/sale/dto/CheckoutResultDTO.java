@@ -0,0 +1,65 @@
+package lk.udcreations.sale.dto;
+
+/** What happened to one basket of a checkout batch. */
+public class CheckoutResultDTO {
+
+	public enum Status {
+		/** The sale was created now. */
+		CREATED,
+		/** A sale with this key already exists; nothing was written. */
+		REPLAYED,
+		/** The basket failed validation and will fail again; the till should not retry it. */
+		REJECTED,
+		/** A downstream service was unavailable; the till should send the basket again later. */
+		RETRY
+	}
+
+	private String idempotencyKey;
+	private Status status;
+	private Integer saleId;
+	private String message;
+
+	public CheckoutResultDTO() {
+		super();
+	}
+
+	public CheckoutResultDTO(String idempotencyKey, Status status, Integer saleId, String message) {
+		super();
+		this.idempotencyKey = idempotencyKey;
+		this.status = status;
+		this.saleId = saleId;
+		this.message = message;
+	}
+
+	public String getIdempotencyKey() {
+		return idempotencyKey;
+	}
+
+	public void setIdempotencyKey(String idempotencyKey) {
+		this.idempotencyKey = idempotencyKey;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public Integer getSaleId() {
+		return saleId;
+	}
+
+	public void setSaleId(Integer saleId) {
+		this.saleId = saleId;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+}
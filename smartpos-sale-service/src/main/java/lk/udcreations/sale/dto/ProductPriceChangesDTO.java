@@ -0,0 +1,47 @@
+package lk.udcreations.sale.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** A page of the price change feed, with the change ID to ask after next. */
+public class ProductPriceChangesDTO {
+
+	private Long lastChangeId;
+	private boolean hasMore;
+	private List<ProductPriceChangeDTO> changes = new ArrayList<>();
+
+	public ProductPriceChangesDTO() {
+		super();
+	}
+
+	public ProductPriceChangesDTO(Long lastChangeId, boolean hasMore, List<ProductPriceChangeDTO> changes) {
+		super();
+		this.lastChangeId = lastChangeId;
+		this.hasMore = hasMore;
+		this.changes = changes;
+	}
+
+	public Long getLastChangeId() {
+		return lastChangeId;
+	}
+
+	public void setLastChangeId(Long lastChangeId) {
+		this.lastChangeId = lastChangeId;
+	}
+
+	public boolean isHasMore() {
+		return hasMore;
+	}
+
+	public void setHasMore(boolean hasMore) {
+		this.hasMore = hasMore;
+	}
+
+	public List<ProductPriceChangeDTO> getChanges() {
+		return changes;
+	}
+
+	public void setChanges(List<ProductPriceChangeDTO> changes) {
+		this.changes = changes;
+	}
+}
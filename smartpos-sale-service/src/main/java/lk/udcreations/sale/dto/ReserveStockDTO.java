@@ -0,0 +1,44 @@
+package lk.udcreations.sale.dto;
+
+/** Request to hold stock of one product for a draft sale. */
+public class ReserveStockDTO {
+
+	private Integer saleId;
+	private Integer productId;
+	private int quantity;
+
+	public ReserveStockDTO() {
+		super();
+	}
+
+	public ReserveStockDTO(Integer saleId, Integer productId, int quantity) {
+		super();
+		this.saleId = saleId;
+		this.productId = productId;
+		this.quantity = quantity;
+	}
+
+	public Integer getSaleId() {
+		return saleId;
+	}
+
+	public void setSaleId(Integer saleId) {
+		this.saleId = saleId;
+	}
+
+	public Integer getProductId() {
+		return productId;
+	}
+
+	public void setProductId(Integer productId) {
+		this.productId = productId;
+	}
+
+	public int getQuantity() {
+		return quantity;
+	}
+
+	public void setQuantity(int quantity) {
+		this.quantity = quantity;
+	}
+}
@@ -0,0 +1,66 @@
+package lk.udcreations.sale.dto;
+
+import java.time.LocalDateTime;
+
+/** Stock held for a draft sale until it is committed, released or expires. */
+public class StockReservationDTO {
+
+	private Integer reservationId;
+	private Integer saleId;
+	private Integer productId;
+	private Integer quantity;
+	private String status;
+	private LocalDateTime expiresAt;
+
+	public StockReservationDTO() {
+		super();
+	}
+
+	public Integer getReservationId() {
+		return reservationId;
+	}
+
+	public void setReservationId(Integer reservationId) {
+		this.reservationId = reservationId;
+	}
+
+	public Integer getSaleId() {
+		return saleId;
+	}
+
+	public void setSaleId(Integer saleId) {
+		this.saleId = saleId;
+	}
+
+	public Integer getProductId() {
+		return productId;
+	}
+
+	public void setProductId(Integer productId) {
+		this.productId = productId;
+	}
+
+	public Integer getQuantity() {
+		return quantity;
+	}
+
+	public void setQuantity(Integer quantity) {
+		this.quantity = quantity;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public LocalDateTime getExpiresAt() {
+		return expiresAt;
+	}
+
+	public void setExpiresAt(LocalDateTime expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+}
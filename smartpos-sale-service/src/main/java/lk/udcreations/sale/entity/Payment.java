@@ -8,9 +8,11 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
+/** One payment per sale; finalizing the same sale twice updates it instead of adding another. */
 @Entity
-@Table(name = "payment")
+@Table(name = "payment", uniqueConstraints = @UniqueConstraint(name = "uk_payment_sale_id", columnNames = "sale_id"))
 public class Payment {
 
 	@Id
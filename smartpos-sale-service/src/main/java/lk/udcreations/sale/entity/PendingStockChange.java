@@ -0,0 +1,150 @@
+package lk.udcreations.sale.entity;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapKeyColumn;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+/**
+ * A stock change in product-service that a committed sale still owes. The row
+ * is written in the same transaction as the sale and deleted once
+ * product-service has applied the change, so a failed call is retried instead
+ * of lost.
+ */
+@Entity
+@Table(name = "pending_stock_change", indexes = {
+		@Index(name = "idx_pending_stock_change_due", columnList = "next_attempt_at") })
+public class PendingStockChange {
+
+	/** What to ask product-service for; every type is safe to send more than once. */
+	public enum Type {
+		FINALIZE, CHECKOUT, RETURN
+	}
+
+	@Id
+	@Column(name = "change_id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Integer changeId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "type", nullable = false, length = 16)
+	private Type type;
+
+	/** Sale of the change; a return can span several sales and leaves it empty. */
+	@Column(name = "sale_id")
+	private Integer saleId;
+
+	/** Idempotency key sent with the change, for the types that need one. */
+	@Column(name = "request_key", length = 64)
+	private String requestKey;
+
+	@ElementCollection(fetch = FetchType.EAGER)
+	@CollectionTable(name = "pending_stock_change_quantity", joinColumns = @JoinColumn(name = "change_id"))
+	@MapKeyColumn(name = "product_id")
+	@Column(name = "quantity", nullable = false)
+	private Map<Integer, Integer> quantities = new HashMap<>();
+
+	@Column(name = "attempts", nullable = false)
+	private int attempts;
+
+	@Column(name = "last_error", length = 255)
+	private String lastError;
+
+	@Column(name = "next_attempt_at", nullable = false)
+	private LocalDateTime nextAttemptAt;
+
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	@PrePersist
+	protected void onCreate() {
+		this.createdAt = LocalDateTime.now();
+	}
+
+	public Integer getChangeId() {
+		return changeId;
+	}
+
+	public void setChangeId(Integer changeId) {
+		this.changeId = changeId;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public void setType(Type type) {
+		this.type = type;
+	}
+
+	public Integer getSaleId() {
+		return saleId;
+	}
+
+	public void setSaleId(Integer saleId) {
+		this.saleId = saleId;
+	}
+
+	public String getRequestKey() {
+		return requestKey;
+	}
+
+	public void setRequestKey(String requestKey) {
+		this.requestKey = requestKey;
+	}
+
+	public Map<Integer, Integer> getQuantities() {
+		return quantities;
+	}
+
+	public void setQuantities(Map<Integer, Integer> quantities) {
+		this.quantities = quantities;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+
+	public String getLastError() {
+		return lastError;
+	}
+
+	public void setLastError(String lastError) {
+		this.lastError = lastError;
+	}
+
+	public LocalDateTime getNextAttemptAt() {
+		return nextAttemptAt;
+	}
+
+	public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+		this.nextAttemptAt = nextAttemptAt;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+}
@@ -39,6 +39,10 @@ public class Sales {
 	@Column(name = "payment_status", nullable = false, length = 50)
 	private String paymentStatus;
 
+	/** Key generated by the till for a checkout, so a replayed basket finds the sale it already created. */
+	@Column(name = "idempotency_key", length = 64, unique = true)
+	private String idempotencyKey;
+
 	@Column(name = "created_at", columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
 	private LocalDateTime createdAt;
 
@@ -115,6 +119,14 @@ public class Sales {
 		this.paymentStatus = paymentStatus;
 	}
 
+	public String getIdempotencyKey() {
+		return idempotencyKey;
+	}
+
+	public void setIdempotencyKey(String idempotencyKey) {
+		this.idempotencyKey = idempotencyKey;
+	}
+
 	public LocalDateTime getCreatedAt() {
 		return createdAt;
 	}
@@ -0,0 +1,37 @@
+package lk.udcreations.sale.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+import lk.udcreations.common.dto.payment.PaymentDTO;
+import lk.udcreations.common.dto.sale.SaleDTO;
+import lk.udcreations.common.dto.salesitems.SalesItemDTO;
+import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
+import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.sale.entity.Payment;
+import lk.udcreations.sale.entity.Sales;
+import lk.udcreations.sale.entity.SalesItems;
+
+/**
+ * Entity to DTO mappings for sales, generated at compile time.
+ * 
+ * Nested DTOs (created user, customer, payment, items, product) are not part of
+ * the entities and are set by the calling service.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface SaleMapper {
+
+	SaleDTO toDTO(Sales sale);
+
+	SalesItemDTO toDTO(SalesItems salesItem);
+
+	@Mapping(target = "cCardAmount", source = "creditCardAmount")
+	@Mapping(target = "cCardRef", source = "creditCardReference")
+	@Mapping(target = "chequeRef", source = "chequeReference")
+	@Mapping(target = "qrRef", source = "qrReference")
+	PaymentDTO toDTO(Payment payment);
+
+	CreatedUpdatedUserDTO toCreatedUpdatedUserDTO(UsersDTO user);
+}
@@ -1,5 +1,7 @@
 package lk.udcreations.sale.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,4 +13,6 @@ import lk.udcreations.sale.entity.Payment;
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
 
 	Optional<Payment> findBySaleId(Integer saleId);
+
+	List<Payment> findBySaleIdIn(Collection<Integer> saleIds);
 }
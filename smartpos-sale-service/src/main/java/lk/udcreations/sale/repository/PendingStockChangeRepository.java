@@ -0,0 +1,26 @@
+package lk.udcreations.sale.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import lk.udcreations.sale.entity.PendingStockChange;
+
+@Repository
+public interface PendingStockChangeRepository extends JpaRepository<PendingStockChange, Integer> {
+
+	List<PendingStockChange> findByNextAttemptAtBeforeOrderByChangeIdAsc(LocalDateTime time, Limit limit);
+
+	/** Record a failed attempt; a row another attempt already deleted stays deleted. */
+	@Modifying
+	@Query("UPDATE PendingStockChange c SET c.attempts = c.attempts + 1, c.lastError = :error, "
+			+ "c.nextAttemptAt = :nextAttemptAt WHERE c.changeId = :changeId")
+	int recordFailure(@Param("changeId") Integer changeId, @Param("error") String error,
+			@Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+}
@@ -1,5 +1,6 @@
 package lk.udcreations.sale.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +15,6 @@ public interface SalesItemsRepository extends JpaRepository<SalesItems, Integer>
 	Optional<SalesItems> findByProductIdAndSaleId(Integer productId, Integer saleId);
 
 	List<SalesItems> findBySaleId(Integer saleId);
+
+	List<SalesItems> findBySaleIdIn(Collection<Integer> saleIds);
 }
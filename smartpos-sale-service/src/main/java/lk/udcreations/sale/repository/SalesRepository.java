@@ -1,11 +1,21 @@
 package lk.udcreations.sale.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
 import lk.udcreations.sale.entity.Sales;
 
 @Repository
@@ -13,9 +23,30 @@ public interface SalesRepository extends JpaRepository<Sales, Integer> {
 
 	Optional<Sales> findBySaleId(Integer saleId);
 
+	List<Sales> findBySaleIdGreaterThanOrderBySaleIdAsc(Integer saleId, Limit limit);
+
 	List<Sales> findByCustomerId(Integer customerId);
 
 	List<Sales> findByPaymentStatus(String status);
 	
 	List<Sales> findByPaymentStatusNot(String status);
+
+	List<Sales> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
+
+	/**
+	 * A sale with its items and payment in one round trip, as [Sales, SalesItems,
+	 * Payment] rows: one row per item, with null item or payment when it has none.
+	 */
+	@Query("SELECT s, i, p FROM Sales s LEFT JOIN SalesItems i ON i.saleId = s.saleId "
+			+ "LEFT JOIN Payment p ON p.saleId = s.saleId WHERE s.saleId = :saleId")
+	List<Object[]> findWithItemsAndPayment(@Param("saleId") Integer saleId);
+
+	/** Forward-only read of sales for exports; must be consumed inside a transaction and closed. */
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT s FROM Sales s WHERE s.paymentStatus <> :status "
+			+ "AND (:from IS NULL OR s.saleDateTime >= :from) AND (:to IS NULL OR s.saleDateTime < :to) "
+			+ "ORDER BY s.saleId")
+	Stream<Sales> streamByPaymentStatusNotAndSaleDateTimeBetween(@Param("status") String status,
+			@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,53 @@
+package lk.udcreations.sale.scheduler;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lk.udcreations.sale.entity.PendingStockChange;
+import lk.udcreations.sale.repository.PendingStockChangeRepository;
+import lk.udcreations.sale.service.PendingStockService;
+
+/** Sends again the stock changes of committed sales that product-service has not accepted yet. */
+@Component
+public class PendingStockReconciler {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PendingStockReconciler.class);
+
+	private final PendingStockChangeRepository pendingStockChangeRepository;
+	private final PendingStockService pendingStockService;
+	private final int batchSize;
+
+	public PendingStockReconciler(PendingStockChangeRepository pendingStockChangeRepository,
+			PendingStockService pendingStockService, @Value("${sale.pending-stock.batch-size:100}") int batchSize) {
+		super();
+		this.pendingStockChangeRepository = pendingStockChangeRepository;
+		this.pendingStockService = pendingStockService;
+		this.batchSize = batchSize;
+	}
+
+	/** Retry one batch of due changes, oldest first. */
+	@Scheduled(fixedDelayString = "${sale.pending-stock.retry-interval:30s}")
+	public void retryDue() {
+
+		List<PendingStockChange> due;
+		try {
+			due = pendingStockChangeRepository.findByNextAttemptAtBeforeOrderByChangeIdAsc(LocalDateTime.now(),
+					Limit.of(batchSize));
+		} catch (RuntimeException ex) {
+			LOGGER.warn("Could not read pending stock changes: {}", ex.getMessage());
+			return;
+		}
+		if (due.isEmpty()) {
+			return;
+		}
+		long applied = due.stream().filter(pendingStockService::apply).count();
+		LOGGER.info("Applied {} of {} pending stock changes.", applied, due.size());
+	}
+}
@@ -0,0 +1,125 @@
+package lk.udcreations.sale.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lk.udcreations.sale.cache.ProductSnapshotCache;
+import lk.udcreations.sale.config.ProductServiceClient;
+import lk.udcreations.sale.dto.ProductPriceChangeDTO;
+import lk.udcreations.sale.dto.ProductPriceChangesDTO;
+
+/**
+ * Evicts cached product snapshots whose prices changed in product-service.
+ * 
+ * Change IDs are handed out at insert, not at commit, so a change can appear
+ * below IDs already read. Every ID skipped over is kept as a gap and read
+ * again on later polls until it shows up or gap-timeout (the longest expected
+ * transaction) passes; changes already seen are not evicted twice.
+ */
+@Component
+public class ProductPriceChangePoller {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProductPriceChangePoller.class);
+
+	private final ProductServiceClient productServiceClient;
+	private final ProductSnapshotCache productSnapshotCache;
+	private final Duration gapTimeout;
+
+	private Long after;
+
+	/** Change IDs skipped below {@link #after}, by first ID of each run. */
+	private final NavigableMap<Long, Gap> gaps = new TreeMap<>();
+
+	public ProductPriceChangePoller(ProductServiceClient productServiceClient,
+			ProductSnapshotCache productSnapshotCache,
+			@Value("${sale.product-cache.gap-timeout:1m}") Duration gapTimeout) {
+		super();
+		this.productServiceClient = productServiceClient;
+		this.productSnapshotCache = productSnapshotCache;
+		this.gapTimeout = gapTimeout;
+	}
+
+	/**
+	 * Read the price change feed from the oldest open gap, or else from the
+	 * last change seen, page by page. A failed poll keeps its position, so the
+	 * next one picks up whatever was missed.
+	 */
+	@Scheduled(fixedDelayString = "${sale.product-cache.poll-interval:10s}")
+	public void pollChanges() {
+
+		expireGaps(Instant.now());
+		Long from = gaps.isEmpty() ? after : Long.valueOf(gaps.firstKey() - 1);
+
+		ProductPriceChangesDTO changes;
+		do {
+			try {
+				changes = productServiceClient.getPriceChanges(from, null);
+			} catch (RuntimeException ex) {
+				LOGGER.warn("Could not poll price changes after {}: {}", from, ex.getMessage());
+				return;
+			}
+			if (changes == null) {
+				return;
+			}
+
+			if (after == null) {
+				productSnapshotCache.evictAll();
+				after = changes.getLastChangeId();
+			} else {
+				Instant now = Instant.now();
+				List<Integer> productIds = changes.getChanges().stream()
+						.filter(change -> isNew(change.getChangeId(), now)).map(ProductPriceChangeDTO::getProductId)
+						.distinct().toList();
+				if (!productIds.isEmpty()) {
+					productIds.forEach(productSnapshotCache::evict);
+					LOGGER.info("Evicted {} products with price changes from the product cache.", productIds.size());
+				}
+			}
+			from = changes.getLastChangeId();
+		} while (changes.isHasMore());
+	}
+
+	/** Whether a change has not been seen yet; moves the position and the gaps along. */
+	boolean isNew(long changeId, Instant now) {
+
+		if (changeId > after) {
+			if (changeId > after + 1) {
+				gaps.put(after + 1, new Gap(changeId - 1, now));
+			}
+			after = changeId;
+			return true;
+		}
+
+		Map.Entry<Long, Gap> entry = gaps.floorEntry(changeId);
+		if (entry == null || entry.getValue().last() < changeId) {
+			return false;
+		}
+		// A change that committed late: split its gap around it
+		Gap gap = gaps.remove(entry.getKey());
+		if (entry.getKey() < changeId) {
+			gaps.put(entry.getKey(), new Gap(changeId - 1, gap.since()));
+		}
+		if (changeId < gap.last()) {
+			gaps.put(changeId + 1, new Gap(gap.last(), gap.since()));
+		}
+		return true;
+	}
+
+	private void expireGaps(Instant now) {
+		gaps.values().removeIf(gap -> gap.since().plus(gapTimeout).isBefore(now));
+	}
+
+	/** A run of skipped change IDs up to {@code last}, first noticed at {@code since}. */
+	private record Gap(long last, Instant since) {
+	}
+}
@@ -1,18 +1,30 @@
 package lk.udcreations.sale.security;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 import org.springframework.stereotype.Component;
 
 import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.sale.cache.UserIdentityCache;
 import lk.udcreations.sale.config.UserServiceClient;
+import lk.udcreations.sale.config.UserServiceFallback;
 
 @Component
 public class AuthUtils {
 
 	private final UserServiceClient userServiceClient;
+	private final UserServiceFallback userServiceFallback;
+	private final UserIdentityCache userIdentityCache;
 
-	public AuthUtils(UserServiceClient userServiceClient) {
+	public AuthUtils(UserServiceClient userServiceClient, UserServiceFallback userServiceFallback,
+			UserIdentityCache userIdentityCache) {
 		super();
 		this.userServiceClient = userServiceClient;
+		this.userServiceFallback = userServiceFallback;
+		this.userIdentityCache = userIdentityCache;
 	}
 
 	public String getLoggedInUsername() {
@@ -23,13 +35,27 @@ public class AuthUtils {
 	public UsersDTO getLoggedInUser() {
 		String username = getLoggedInUsername();
 
-		return userServiceClient.getUserDetails(username);
+		UsersDTO user = userIdentityCache.get(username);
+		userServiceFallback.remember(user);
+		return user;
 
 //		return userRepository.findByUsername(username)
 //				.orElseThrow(() -> new NotFoundException("Logged-in user not found"));
 	}
 
 	public UsersDTO getUserById(Integer userId) {
-		return userServiceClient.getUserById(userId);
+		UsersDTO user = userServiceClient.getUserById(userId);
+		userServiceFallback.remember(user);
+		return user;
+	}
+
+	public Map<Integer, UsersDTO> getUsersByIds(Collection<Integer> userIds) {
+		List<Integer> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+		if (ids.isEmpty()) {
+			return Map.of();
+		}
+		Map<Integer, UsersDTO> users = userServiceClient.getUsersByIds(ids);
+		userServiceFallback.rememberAll(users);
+		return users;
 	}
 }
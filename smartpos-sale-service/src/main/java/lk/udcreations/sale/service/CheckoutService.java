@@ -0,0 +1,294 @@
+package lk.udcreations.sale.service;
+
+import static lk.udcreations.sale.util.calculate.CalculateUtil.getSum;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import feign.FeignException;
+import lk.udcreations.common.dto.payment.PaymentDTO;
+import lk.udcreations.common.dto.salesitems.CreateSalesItemDTO;
+import lk.udcreations.sale.constants.ErrorMessages;
+import lk.udcreations.sale.controller.ProductClientController;
+import lk.udcreations.sale.dto.CheckoutDTO;
+import lk.udcreations.sale.dto.CheckoutResultDTO;
+import lk.udcreations.sale.dto.CheckoutResultDTO.Status;
+import lk.udcreations.sale.dto.SellabilityDTO;
+import lk.udcreations.sale.entity.Payment;
+import lk.udcreations.sale.entity.PendingStockChange.Type;
+import lk.udcreations.sale.entity.Sales;
+import lk.udcreations.sale.entity.SalesItems;
+import lk.udcreations.sale.exception.DiscountMismatchException;
+import lk.udcreations.sale.exception.InsufficientStockException;
+import lk.udcreations.sale.exception.InvalidInputException;
+import lk.udcreations.sale.exception.NotFoundException;
+import lk.udcreations.sale.exception.PaymentAmountException;
+import lk.udcreations.sale.exception.ProductNotActiveException;
+import lk.udcreations.sale.exception.TotalAmountException;
+import lk.udcreations.sale.exception.TotalMismatchException;
+import lk.udcreations.sale.exception.TotalQuantityException;
+import lk.udcreations.sale.exception.UnitPriceMismatchException;
+import lk.udcreations.sale.repository.PaymentRepository;
+import lk.udcreations.sale.repository.SalesItemsRepository;
+import lk.udcreations.sale.repository.SalesRepository;
+import lk.udcreations.sale.security.AuthUtils;
+import lk.udcreations.sale.util.relationcheck.ProductCheck;
+import lk.udcreations.sale.util.relationcheck.SalesCheck;
+
+/**
+ * Takes whole baskets from tills that queued their sales while offline or on a
+ * slow link, instead of one createSale, createSalesItem and finalizeSale call
+ * per basket. Each basket carries a key generated by the till; a basket whose
+ * key is already on a sale is answered with that sale and not written again,
+ * so a till can resend its queue as often as it needs to.
+ *
+ * All products of a batch are checked with one sellability call, and each
+ * basket is then written in its own transaction, so one bad basket does not
+ * hold back the rest.
+ *
+ * Stock is taken once the sale has committed, with one call per basket keyed
+ * on its idempotency key. The call is recorded with the sale as a pending
+ * stock change and retried until product-service accepts it; product-service
+ * takes the stock of a key only once, so a retry never takes it twice.
+ */
+@Service
+public class CheckoutService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CheckoutService.class);
+
+	private final SalesRepository salesRepository;
+	private final SalesItemsRepository salesItemsRepository;
+	private final PaymentRepository paymentRepository;
+	private final AuthUtils authUtils;
+	private final ProductClientController productClientController;
+	private final ProductCheck productCheck;
+	private final SalesCheck salesCheck;
+	private final PendingStockService pendingStockService;
+	private final TransactionTemplate transactionTemplate;
+
+	public CheckoutService(SalesRepository salesRepository, SalesItemsRepository salesItemsRepository,
+			PaymentRepository paymentRepository, AuthUtils authUtils, ProductClientController productClientController,
+			ProductCheck productCheck, SalesCheck salesCheck, PendingStockService pendingStockService,
+			PlatformTransactionManager transactionManager) {
+		super();
+		this.salesRepository = salesRepository;
+		this.salesItemsRepository = salesItemsRepository;
+		this.paymentRepository = paymentRepository;
+		this.authUtils = authUtils;
+		this.productClientController = productClientController;
+		this.productCheck = productCheck;
+		this.salesCheck = salesCheck;
+		this.pendingStockService = pendingStockService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/** Check out a batch of baskets; the results are in the order of the baskets. */
+	public List<CheckoutResultDTO> checkout(List<CheckoutDTO> baskets) {
+
+		LOGGER.info("Checking out {} baskets", baskets.size());
+
+		Integer userId = authUtils.getLoggedInUser().getUserId();
+
+		// Keys already on a sale, found with one query
+		Map<String, Integer> saleIds = salesRepository
+				.findByIdempotencyKeyIn(baskets.stream().map(CheckoutDTO::getIdempotencyKey).toList()).stream()
+				.collect(Collectors.toMap(Sales::getIdempotencyKey, Sales::getSaleId));
+
+		// One sellability call for every product of the new baskets
+		Map<Integer, Integer> quantities = new HashMap<>();
+		baskets.stream().filter(basket -> !saleIds.containsKey(basket.getIdempotencyKey()))
+				.flatMap(basket -> basket.getItems().stream())
+				.filter(item -> item.getProductId() != null && item.getQuantity() != null)
+				.forEach(item -> quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+		Map<Integer, SellabilityDTO> products;
+		try {
+			products = productClientController.getSellabilities(quantities);
+		} catch (RuntimeException ex) {
+			// Without prices nothing new can be checked; replays can still be answered
+			LOGGER.warn("Sellability check failed for checkout batch: {}", ex.getMessage());
+			return baskets.stream().map(basket -> saleIds.containsKey(basket.getIdempotencyKey())
+					? replayed(basket, saleIds.get(basket.getIdempotencyKey()))
+					: failed(basket, ex)).toList();
+		}
+
+		// Stock the batch has not used yet, so baskets of one batch cannot oversell between them
+		Map<Integer, Integer> stockLeft = products.values().stream()
+				.collect(Collectors.toMap(SellabilityDTO::getId, SellabilityDTO::getStockQuantity));
+
+		List<CheckoutResultDTO> results = new ArrayList<>(baskets.size());
+		for (CheckoutDTO basket : baskets) {
+			Integer saleId = saleIds.get(basket.getIdempotencyKey());
+			if (saleId != null) {
+				results.add(replayed(basket, saleId));
+				continue;
+			}
+			CheckoutResultDTO result = checkout(basket, userId, products, stockLeft);
+			if (result.getSaleId() != null) {
+				// A key sent twice in the same batch is a replay of the first
+				saleIds.put(basket.getIdempotencyKey(), result.getSaleId());
+			}
+			results.add(result);
+		}
+		LOGGER.info("Checkout batch done: {}", results.stream()
+				.collect(Collectors.groupingBy(CheckoutResultDTO::getStatus, LinkedHashMap::new, Collectors.counting())));
+		return results;
+	}
+
+	private CheckoutResultDTO checkout(CheckoutDTO basket, Integer userId, Map<Integer, SellabilityDTO> products,
+			Map<Integer, Integer> stockLeft) {
+
+		try {
+			List<SalesItems> items = validate(basket, products, stockLeft);
+			Sales sale = transactionTemplate.execute(status -> persist(basket, userId, items));
+			items.forEach(item -> stockLeft.merge(item.getProductId(), -item.getQuantity(), Integer::sum));
+			LOGGER.info("Checkout {} created sale ID {}", basket.getIdempotencyKey(), sale.getSaleId());
+			return new CheckoutResultDTO(basket.getIdempotencyKey(), Status.CREATED, sale.getSaleId(), null);
+		} catch (DataIntegrityViolationException ex) {
+			// Another request with the same key won the insert; any other constraint fails the same way again
+			return salesRepository.findByIdempotencyKeyIn(List.of(basket.getIdempotencyKey())).stream().findFirst()
+					.map(sale -> replayed(basket, sale.getSaleId())).orElseGet(() -> failed(basket, ex));
+		} catch (RuntimeException ex) {
+			return failed(basket, ex);
+		}
+	}
+
+	/**
+	 * Apply the add-to-cart and finalize checks to the whole basket and build its
+	 * sales items, merging lines of the same product as createSalesItem does.
+	 */
+	private List<SalesItems> validate(CheckoutDTO basket, Map<Integer, SellabilityDTO> products,
+			Map<Integer, Integer> stockLeft) {
+
+		Map<Integer, SalesItems> items = new LinkedHashMap<>();
+		for (CreateSalesItemDTO line : basket.getItems()) {
+			if (line.getQuantity() == null || line.getQuantity() < 1) {
+				throw new InvalidInputException(ErrorMessages.INVALID_INPUT);
+			}
+			SellabilityDTO product = products.get(line.getProductId());
+			if (product == null) {
+				throw new NotFoundException(ErrorMessages.PRODUCT_NOT_FOUND + line.getProductId());
+			}
+			if (!productCheck.isProductEnabled(product) || productCheck.isProductDeleted(product)) {
+				throw new ProductNotActiveException(ErrorMessages.PRODUCT_NOT_ACTIVE);
+			}
+			if (!productCheck.isUnitPriceMatch(product, line)) {
+				throw new UnitPriceMismatchException("There is a problem with selling price.");
+			}
+			if (!productCheck.isDiscountMatch(product, line)) {
+				throw new DiscountMismatchException("There is a problem with discount.");
+			}
+			if (!productCheck.isTotalMatch(product, line)) {
+				throw new TotalMismatchException("There is a problem with total price.");
+			}
+
+			SalesItems item = items.get(product.getId());
+			if (item == null) {
+				item = new SalesItems();
+				item.setProductId(product.getId());
+				item.setPricePerUnit(line.getPricePerUnit());
+				item.setItemDiscountVal(line.getItemDiscountVal());
+				item.setItemDiscountPer(line.getItemDiscountPer());
+				items.put(product.getId(), item);
+			}
+			item.setQuantity(getSum(item.getQuantity(), line.getQuantity()));
+			item.setTotalPrice(getSum(item.getTotalPrice(), line.getTotalPrice()));
+		}
+
+		List<SalesItems> salesItems = new ArrayList<>(items.values());
+		if (salesItems.stream()
+				.anyMatch(item -> item.getQuantity() > stockLeft.getOrDefault(item.getProductId(), 0))) {
+			throw new InsufficientStockException(ErrorMessages.INVENTORY_NOT_ENOUGHT_STOCK);
+		}
+		if (!salesCheck.verifiTotalAmount(basket.getTotalAmount(), salesItems)) {
+			throw new TotalAmountException(ErrorMessages.TOTAL_AMOUNT_NOT_MATCH);
+		}
+		if (!salesCheck.verifiTotalQuantity(basket.getTotalItemCount(), salesItems)) {
+			throw new TotalQuantityException(ErrorMessages.ITEM_COUNT_NOT_MATCH);
+		}
+		if (!salesCheck.verifyPayment(basket.getTotalAmount(), basket.getPayment())) {
+			throw new PaymentAmountException(ErrorMessages.PAYMENT_AMOUNT_NOT_MATCH);
+		}
+		return salesItems;
+	}
+
+	/**
+	 * Write the sale, its items and its payment, and record the stock the sale
+	 * still has to take. The stock is taken only after the transaction commits,
+	 * so no remote call holds a connection and a rolled back sale never takes
+	 * stock.
+	 */
+	private Sales persist(CheckoutDTO basket, Integer userId, List<SalesItems> items) {
+
+		Sales sale = new Sales();
+		sale.setIdempotencyKey(basket.getIdempotencyKey());
+		sale.setUserId(userId);
+		sale.setCustomerId(basket.getCustomerId());
+		sale.setTotalAmount(basket.getTotalAmount());
+		sale.setTotalItemCount(basket.getTotalItemCount());
+		sale.setSaleDateTime(Objects.requireNonNullElseGet(basket.getSaleDateTime(), LocalDateTime::now));
+		sale.setPaymentStatus("FINALIZED");
+		Sales savedSale = salesRepository.save(sale);
+
+		items.forEach(item -> item.setSaleId(savedSale.getSaleId()));
+		salesItemsRepository.saveAll(items);
+
+		Payment payment = convertToEntity(basket.getPayment());
+		payment.setSaleId(savedSale.getSaleId());
+		paymentRepository.save(payment);
+
+		Map<Integer, Integer> quantities = items.stream()
+				.collect(Collectors.toMap(SalesItems::getProductId, SalesItems::getQuantity));
+		pendingStockService.record(Type.CHECKOUT, savedSale.getSaleId(), basket.getIdempotencyKey(), quantities);
+		return savedSale;
+	}
+
+	private CheckoutResultDTO replayed(CheckoutDTO basket, Integer saleId) {
+		LOGGER.info("Checkout {} already created sale ID {}", basket.getIdempotencyKey(), saleId);
+		return new CheckoutResultDTO(basket.getIdempotencyKey(), Status.REPLAYED, saleId, null);
+	}
+
+	private CheckoutResultDTO failed(CheckoutDTO basket, RuntimeException ex) {
+		Status status = isRejection(ex) ? Status.REJECTED : Status.RETRY;
+		LOGGER.warn("Checkout {} {}: {}", basket.getIdempotencyKey(), status, ex.getMessage());
+		return new CheckoutResultDTO(basket.getIdempotencyKey(), status, null, ex.getMessage());
+	}
+
+	/** Failures the same basket would hit again; anything else may pass on a later retry. */
+	private static boolean isRejection(RuntimeException ex) {
+		return ex instanceof ProductNotActiveException || ex instanceof UnitPriceMismatchException
+				|| ex instanceof DiscountMismatchException || ex instanceof TotalMismatchException
+				|| ex instanceof TotalAmountException || ex instanceof TotalQuantityException
+				|| ex instanceof PaymentAmountException || ex instanceof InsufficientStockException
+				|| ex instanceof NotFoundException || ex instanceof InvalidInputException
+				|| ex instanceof IllegalArgumentException || ex instanceof DataIntegrityViolationException
+				|| ex instanceof FeignException.FeignClientException;
+	}
+
+	private Payment convertToEntity(PaymentDTO paymentDto) {
+
+		Payment payment = new Payment();
+		payment.setCashAmount(paymentDto.getCashAmount());
+		payment.setChequeAmount(paymentDto.getChequeAmount());
+		payment.setChequeReference(paymentDto.getChequeRef());
+		payment.setCreditCardAmount(paymentDto.getcCardAmount());
+		payment.setCreditCardReference(paymentDto.getcCardRef());
+		payment.setDueAmount(paymentDto.getDueAmount());
+		payment.setQrAmount(paymentDto.getQrAmount());
+		payment.setQrReference(paymentDto.getQrRef());
+
+		return payment;
+	}
+}
@@ -0,0 +1,125 @@
+package lk.udcreations.sale.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lk.udcreations.sale.controller.ProductClientController;
+import lk.udcreations.sale.entity.PendingStockChange;
+import lk.udcreations.sale.entity.PendingStockChange.Type;
+import lk.udcreations.sale.repository.PendingStockChangeRepository;
+
+/**
+ * Sends the stock changes of committed sales to product-service. A change is
+ * recorded in the caller's transaction and sent once that transaction
+ * commits, so a rolled back sale never changes stock. A change that fails
+ * stays recorded and is sent again by the pending stock reconciler until
+ * product-service accepts it.
+ */
+@Service
+public class PendingStockService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PendingStockService.class);
+
+	private final PendingStockChangeRepository pendingStockChangeRepository;
+	private final ProductClientController productClientController;
+	private final TransactionTemplate newTransaction;
+	private final Duration retryDelay;
+	private final Duration maxRetryDelay;
+
+	public PendingStockService(PendingStockChangeRepository pendingStockChangeRepository,
+			ProductClientController productClientController, PlatformTransactionManager transactionManager,
+			@Value("${sale.pending-stock.retry-delay:30s}") Duration retryDelay,
+			@Value("${sale.pending-stock.max-retry-delay:30m}") Duration maxRetryDelay) {
+		super();
+		this.pendingStockChangeRepository = pendingStockChangeRepository;
+		this.productClientController = productClientController;
+		// Changes are sent from afterCommit, where the finished transaction is still bound
+		this.newTransaction = new TransactionTemplate(transactionManager);
+		this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.retryDelay = retryDelay;
+		this.maxRetryDelay = maxRetryDelay;
+	}
+
+	/** Record a stock change in the current transaction and send it once the transaction commits. */
+	public PendingStockChange record(Type type, Integer saleId, String requestKey, Map<Integer, Integer> quantities) {
+
+		PendingStockChange change = new PendingStockChange();
+		change.setType(type);
+		change.setSaleId(saleId);
+		change.setRequestKey(requestKey);
+		change.getQuantities().putAll(quantities);
+		// The first retry waits, so it does not race the call made after the commit
+		change.setNextAttemptAt(LocalDateTime.now().plus(retryDelay));
+		PendingStockChange savedChange = pendingStockChangeRepository.save(change);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					apply(savedChange);
+				}
+			});
+		} else {
+			apply(savedChange);
+		}
+		return savedChange;
+	}
+
+	/** Send one change to product-service; returns false when it stays pending. */
+	public boolean apply(PendingStockChange change) {
+
+		try {
+			switch (change.getType()) {
+			case FINALIZE -> productClientController.commitReservations(change.getSaleId());
+			case CHECKOUT -> productClientController.commitCheckout(change.getRequestKey(), change.getSaleId(),
+					change.getQuantities());
+			case RETURN -> productClientController.addStocks(change.getRequestKey(), change.getQuantities());
+			}
+		} catch (RuntimeException ex) {
+			int attempts = change.getAttempts() + 1;
+			LOGGER.warn("{} stock change {} of sale ID {} failed on attempt {}, retrying later: {}", change.getType(),
+					change.getChangeId(), change.getSaleId(), attempts, ex.getMessage());
+			bookkeep(change, () -> pendingStockChangeRepository.recordFailure(change.getChangeId(),
+					truncate(ex.getMessage()), LocalDateTime.now().plus(backoff(attempts))));
+			return false;
+		}
+		bookkeep(change, () -> pendingStockChangeRepository.deleteById(change.getChangeId()));
+		LOGGER.debug("{} stock change of sale ID {} applied", change.getType(), change.getSaleId());
+		return true;
+	}
+
+	/**
+	 * Update the pending row in its own transaction. A failure here only means
+	 * the change is sent once more, which product-service ignores, so it must not
+	 * reach a caller whose sale has already committed.
+	 */
+	private void bookkeep(PendingStockChange change, Runnable update) {
+		try {
+			newTransaction.executeWithoutResult(status -> update.run());
+		} catch (RuntimeException ex) {
+			LOGGER.warn("Could not update pending stock change {} of sale ID {}: {}", change.getChangeId(),
+					change.getSaleId(), ex.getMessage());
+		}
+	}
+
+	/** Double the delay with every failed attempt, up to the maximum. */
+	private Duration backoff(int attempts) {
+		Duration delay = retryDelay.multipliedBy(1L << Math.min(attempts - 1, 16));
+		return delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay;
+	}
+
+	private static String truncate(String message) {
+		return message == null || message.length() <= 255 ? message : message.substring(0, 255);
+	}
+}
@@ -1,23 +1,34 @@
 package lk.udcreations.sale.service;
 
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
 
 import jakarta.transaction.Transactional;
-import lk.udcreations.common.dto.inventory.StockDTO;
 import lk.udcreations.common.dto.returns.CreateReturnDTO;
 import lk.udcreations.common.dto.returns.ReturnDTO;
 import lk.udcreations.common.dto.salesitems.SalesItemDTO;
 import lk.udcreations.sale.exception.NotFoundException;
-import lk.udcreations.sale.controller.ProductClientController;
+import lk.udcreations.sale.entity.PendingStockChange.Type;
 import lk.udcreations.sale.entity.Returns;
 import lk.udcreations.sale.entity.Sales;
 import lk.udcreations.sale.entity.SalesItems;
@@ -30,78 +41,113 @@ public class ReturnsService {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(ReturnsService.class);
 
+	private static final String INSERT_RETURN = "INSERT INTO returns (sale_id, sales_item_id, quantity, reason, "
+			+ "refund_amount, return_date, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
 	private final ReturnsRepository returnsRepository;
 	private final SalesRepository salesRepository;
 	private final SalesItemsRepository salesItemsRepository;
 
-	private final ProductClientController productClientController;
+	private final PendingStockService pendingStockService;
 	private final ModelMapper modelMapper;
+	private final JdbcTemplate jdbcTemplate;
 
 	public ReturnsService(ReturnsRepository returnsRepository, SalesRepository salesRepository,
-			SalesItemsRepository salesItemsRepository, ProductClientController productClientController,
-			ModelMapper modelMapper) {
+			SalesItemsRepository salesItemsRepository, PendingStockService pendingStockService,
+			ModelMapper modelMapper, JdbcTemplate jdbcTemplate) {
 		super();
 		this.returnsRepository = returnsRepository;
 		this.salesRepository = salesRepository;
 		this.salesItemsRepository = salesItemsRepository;
-		this.productClientController = productClientController;
+		this.pendingStockService = pendingStockService;
 		this.modelMapper = modelMapper;
+		this.jdbcTemplate = jdbcTemplate;
 	}
 
+	/**
+	 * Process all return lines as one batch: the sales and their items are loaded
+	 * once, every line is checked before anything is written, the return records
+	 * are inserted in one JDBC batch and the stock goes back in one restock call.
+	 * The restock is sent after the transaction commits, under a key of its own,
+	 * so a failed commit adds no stock and a resent restock adds it only once.
+	 */
 	@Transactional
 	public List<ReturnDTO> processReturn(List<CreateReturnDTO> createReturnDTOList) {
 
 		LOGGER.info("Processing return for {} products", createReturnDTOList.size());
 
-		List<ReturnDTO> returnDTOList = new ArrayList<>();
+		// Load the sales and their items once
+		List<Integer> saleIds = createReturnDTOList.stream().map(CreateReturnDTO::getSaleId).distinct().toList();
+		Map<Integer, Sales> sales = salesRepository.findAllById(saleIds).stream()
+				.collect(Collectors.toMap(Sales::getSaleId, Function.identity()));
+		Map<Integer, SalesItems> salesItems = salesItemsRepository.findBySaleIdIn(saleIds).stream()
+				.collect(Collectors.toMap(SalesItems::getSalesItemId, Function.identity(), (a, b) -> a,
+						LinkedHashMap::new));
 
+		// Validate every line; lines for the same item are checked together
+		Map<Integer, Integer> requested = new HashMap<>();
 		for (CreateReturnDTO createReturnDTO : createReturnDTOList) {
 			LOGGER.info("Processing return for saleItemId: {} in saleId: {}", createReturnDTO.getSalesItemId(),
 					createReturnDTO.getSaleId());
 
-			// Validate sale and sale item
-			Sales sale = validateSale(createReturnDTO.getSaleId());
-			SalesItems salesItem = validateSaleItem(createReturnDTO.getSalesItemId(), createReturnDTO.getSaleId());
+			validateSale(sales, createReturnDTO.getSaleId());
+			SalesItems salesItem = validateSaleItem(salesItems, createReturnDTO.getSalesItemId(),
+					createReturnDTO.getSaleId());
 
-			// Verify sufficient quantity for return
-			if (salesItem.getQuantity() < createReturnDTO.getQuantity()) {
-				LOGGER.error("Insufficient quantity to return. Requested: {}, Available: {}",
-						createReturnDTO.getQuantity(), salesItem.getQuantity());
+			int quantity = requested.merge(salesItem.getSalesItemId(), createReturnDTO.getQuantity(), Integer::sum);
+			if (salesItem.getQuantity() < quantity) {
+				LOGGER.error("Insufficient quantity to return. Requested: {}, Available: {}", quantity,
+						salesItem.getQuantity());
 				throw new IllegalArgumentException("Insufficient quantity for return.");
 			}
+		}
 
-			// Update inventory
-			StockDTO stockDTO = new StockDTO(createReturnDTO.getQuantity());
-			productClientController.addStock(salesItem.getProductId(), stockDTO);
+		// Update the loaded sales and items; they are written when the transaction flushes
+		LocalDateTime returnDate = LocalDateTime.now();
+		List<Returns> returnRecords = new ArrayList<>(createReturnDTOList.size());
+		Map<Integer, Integer> restock = new HashMap<>();
+		for (CreateReturnDTO createReturnDTO : createReturnDTOList) {
+			Sales sale = sales.get(createReturnDTO.getSaleId());
+			SalesItems salesItem = salesItems.get(createReturnDTO.getSalesItemId());
+			int quantity = createReturnDTO.getQuantity();
 
-			// Calculate refund amount
-			BigDecimal refundAmount = calculateRefundAmount(createReturnDTO.getQuantity(), salesItem.getPricePerUnit());
+			BigDecimal refundAmount = calculateRefundAmount(quantity, salesItem.getPricePerUnit());
 
-			// Update sale
 			sale.setTotalAmount(sale.getTotalAmount().subtract(refundAmount));
-			sale.setTotalItemCount(sale.getTotalItemCount() - createReturnDTO.getQuantity());
-			salesRepository.save(sale);
+			sale.setTotalItemCount(sale.getTotalItemCount() - quantity);
 
-			// Update sales item
-			salesItem.setQuantity(salesItem.getQuantity() - createReturnDTO.getQuantity());
-			salesItem.setReturnedQuantity(createReturnDTO.getQuantity());
-			salesItemsRepository.save(salesItem);
+			salesItem.setQuantity(salesItem.getQuantity() - quantity);
+			salesItem.setReturnedQuantity(salesItem.getReturnedQuantity() + quantity);
+
+			restock.merge(salesItem.getProductId(), quantity, Integer::sum);
 
-			// Save return record
 			Returns returnRecord = new Returns();
 			returnRecord.setSaleId(sale.getSaleId());
 			returnRecord.setSalesItemId(salesItem.getSalesItemId());
-			returnRecord.setQuantity(createReturnDTO.getQuantity());
+			returnRecord.setQuantity(quantity);
 			returnRecord.setReason(createReturnDTO.getReason());
 			returnRecord.setRefundAmount(refundAmount);
-			returnRecord.setReturnDate(LocalDateTime.now());
-			returnsRepository.save(returnRecord);
-
-			// Add to DTO list
-			returnDTOList.add(convertToDTO(returnRecord));
-
-
+			returnRecord.setReturnDate(returnDate);
+			returnRecords.add(returnRecord);
 		}
+		salesRepository.saveAll(sales.values());
+		salesItemsRepository.saveAll(requested.keySet().stream().map(salesItems::get).toList());
+		insertReturns(returnRecords);
+
+		// Update inventory once for all products after the commit
+		pendingStockService.record(Type.RETURN, saleIds.size() == 1 ? saleIds.get(0) : null,
+				UUID.randomUUID().toString(), restock);
+
+		// Build the sales item list of each sale once
+		Map<Integer, List<SalesItemDTO>> saleItemDTOs = new HashMap<>();
+		salesItems.values().forEach(item -> saleItemDTOs.computeIfAbsent(item.getSaleId(), id -> new ArrayList<>())
+				.add(convertToDTO(item)));
+
+		List<ReturnDTO> returnDTOList = returnRecords.stream().map(returnRecord -> {
+			ReturnDTO returnDTO = modelMapper.map(returnRecord, ReturnDTO.class);
+			returnDTO.setSalesItems(saleItemDTOs.get(returnRecord.getSaleId()));
+			return returnDTO;
+		}).toList();
 		LOGGER.info("Successfully processed return for {} products", createReturnDTOList.size());
 
 		return returnDTOList;
@@ -111,14 +157,54 @@ public class ReturnsService {
 		return returnsRepository.findBySaleId(saleId).stream().map(this::convertToDTO).collect(Collectors.toList());
 	}
 
-	private Sales validateSale(Integer saleId) {
-		return salesRepository.findById(saleId)
-				.orElseThrow(() -> new NotFoundException("Sale not found with ID: " + saleId));
+	private Sales validateSale(Map<Integer, Sales> sales, Integer saleId) {
+		Sales sale = sales.get(saleId);
+		if (sale == null) {
+			throw new NotFoundException("Sale not found with ID: " + saleId);
+		}
+		return sale;
+	}
+
+	private SalesItems validateSaleItem(Map<Integer, SalesItems> salesItems, Integer saleItemId, Integer saleId) {
+		SalesItems salesItem = salesItems.get(saleItemId);
+		if (salesItem == null || !salesItem.getSaleId().equals(saleId)) {
+			throw new NotFoundException("Sales item not found with ID: " + saleItemId + " for sale ID: " + saleId);
+		}
+		return salesItem;
 	}
 
-	private SalesItems validateSaleItem(Integer saleItemId, Integer saleId) {
-		return salesItemsRepository.findById(saleItemId).orElseThrow(
-				() -> new NotFoundException("Sales item not found with ID: " + saleItemId + " for sale ID: " + saleId));
+	/** Insert the return records in one JDBC batch and copy the generated IDs back. */
+	private void insertReturns(List<Returns> returnRecords) {
+		returnRecords.forEach(Returns::prePersist);
+
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_RETURN, new String[] { "return_id" }),
+				new BatchPreparedStatementSetter() {
+
+					@Override
+					public void setValues(PreparedStatement ps, int i) throws SQLException {
+						Returns returnRecord = returnRecords.get(i);
+						ps.setInt(1, returnRecord.getSaleId());
+						ps.setInt(2, returnRecord.getSalesItemId());
+						ps.setInt(3, returnRecord.getQuantity());
+						ps.setString(4, returnRecord.getReason());
+						ps.setBigDecimal(5, returnRecord.getRefundAmount());
+						ps.setTimestamp(6, Timestamp.valueOf(returnRecord.getReturnDate()));
+						ps.setTimestamp(7, Timestamp.valueOf(returnRecord.getCreatedAt()));
+						ps.setTimestamp(8, Timestamp.valueOf(returnRecord.getUpdatedAt()));
+					}
+
+					@Override
+					public int getBatchSize() {
+						return returnRecords.size();
+					}
+				}, keyHolder);
+
+		// Only return_id is requested, so each key map holds a single value
+		List<Map<String, Object>> keys = keyHolder.getKeyList();
+		for (int i = 0; i < returnRecords.size(); i++) {
+			returnRecords.get(i).setReturnId(((Number) keys.get(i).values().iterator().next()).intValue());
+		}
 	}
 
 	private BigDecimal calculateRefundAmount(int quantity, BigDecimal unitPrice) {
@@ -0,0 +1,160 @@
+package lk.udcreations.sale.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lk.udcreations.common.dto.payment.PaymentDTO;
+import lk.udcreations.common.dto.sale.SaleDTO;
+import lk.udcreations.sale.constants.ErrorMessages;
+import lk.udcreations.sale.entity.Sales;
+import lk.udcreations.sale.repository.SalesRepository;
+
+@Service
+public class SalesExportService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SalesExportService.class);
+
+	static final int CHUNK_SIZE = 200;
+
+	private static final String CSV_HEADER = "saleId,saleDateTime,customerId,createdUser,totalItemCount,totalAmount,"
+			+ "paymentStatus,cashAmount,cardAmount,qrAmount,chequeAmount,dueAmount";
+
+	/** Output formats supported by the sales export. */
+	public enum ExportFormat {
+		NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+		CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+		private final MediaType mediaType;
+		private final String extension;
+
+		ExportFormat(MediaType mediaType, String extension) {
+			this.mediaType = mediaType;
+			this.extension = extension;
+		}
+
+		public MediaType getMediaType() {
+			return mediaType;
+		}
+
+		public String getExtension() {
+			return extension;
+		}
+
+		public static ExportFormat from(String format) {
+			try {
+				return valueOf(format.toUpperCase(Locale.ROOT));
+			} catch (IllegalArgumentException | NullPointerException e) {
+				throw new IllegalArgumentException(ErrorMessages.INVALID_EXPORT_FORMAT + format);
+			}
+		}
+	}
+
+	private final SalesRepository salesRepository;
+	private final SalesService salesService;
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
+
+	public SalesExportService(SalesRepository salesRepository, SalesService salesService, EntityManager entityManager,
+			ObjectMapper objectMapper) {
+		super();
+		this.salesRepository = salesRepository;
+		this.salesService = salesService;
+		this.entityManager = entityManager;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Write every non-draft sale in the date range to the output stream. Rows are
+	 * read through a database cursor and hydrated {@value #CHUNK_SIZE} at a time,
+	 * and the persistence context is cleared after each chunk, so heap use stays
+	 * flat however many sales match. Both dates are inclusive and optional.
+	 */
+	@Transactional
+	public int exportSalesHistory(OutputStream outputStream, ExportFormat format, LocalDate from, LocalDate to)
+			throws IOException {
+
+		LocalDateTime fromDateTime = from == null ? null : from.atStartOfDay();
+		LocalDateTime toDateTime = to == null ? null : to.plusDays(1).atStartOfDay();
+		LOGGER.info("Exporting sales history as {} from {} to {}", format, from, to);
+
+		Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		if (format == ExportFormat.CSV) {
+			writer.write(CSV_HEADER);
+			writer.write('\n');
+		}
+
+		int exported = 0;
+		List<Sales> chunk = new ArrayList<>(CHUNK_SIZE);
+		try (Stream<Sales> sales = salesRepository.streamByPaymentStatusNotAndSaleDateTimeBetween("DRAFT",
+				fromDateTime, toDateTime)) {
+			Iterator<Sales> iterator = sales.iterator();
+			while (iterator.hasNext()) {
+				chunk.add(iterator.next());
+				if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+					exported += writeChunk(writer, format, chunk);
+					chunk.clear();
+					entityManager.clear();
+				}
+			}
+		}
+		writer.flush();
+
+		LOGGER.info("Exported {} sales.", exported);
+		return exported;
+	}
+
+	private int writeChunk(Writer writer, ExportFormat format, List<Sales> chunk) throws IOException {
+
+		List<SaleDTO> sales = salesService.convertToDTOList(chunk);
+		for (SaleDTO sale : sales) {
+			writer.write(format == ExportFormat.CSV ? toCsvLine(sale) : objectMapper.writeValueAsString(sale));
+			writer.write('\n');
+		}
+		writer.flush();
+		return sales.size();
+	}
+
+	private String toCsvLine(SaleDTO sale) {
+
+		PaymentDTO payment = sale.getPayment() == null ? new PaymentDTO() : sale.getPayment();
+		return String.join(",", csv(sale.getSaleId()), csv(sale.getSaleDateTime()),
+				csv(sale.getCustomer() == null ? null : sale.getCustomer().getCustomerId()),
+				csv(sale.getCreatedUser() == null ? null : sale.getCreatedUser().getUsername()),
+				csv(sale.getTotalItemCount()), csv(sale.getTotalAmount()), csv(sale.getPaymentStatus()),
+				csv(payment.getCashAmount()), csv(payment.getcCardAmount()), csv(payment.getQrAmount()),
+				csv(payment.getChequeAmount()), csv(payment.getDueAmount()));
+	}
+
+	private static String csv(Object value) {
+
+		if (value == null) {
+			return "";
+		}
+		String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+		if (text.contains(",") || text.contains("\"") || text.contains("\n")) {
+			return "\"" + text.replace("\"", "\"\"") + "\"";
+		}
+		return text;
+	}
+}
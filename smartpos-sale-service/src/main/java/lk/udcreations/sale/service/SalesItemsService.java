@@ -3,11 +3,11 @@ package lk.udcreations.sale.service;
 import static lk.udcreations.sale.util.calculate.CalculateUtil.getSum;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -22,9 +22,12 @@ import lk.udcreations.sale.exception.InsufficientStockException;
 import lk.udcreations.sale.exception.ProductNotActiveException;
 import lk.udcreations.sale.exception.TotalMismatchException;
 import lk.udcreations.sale.exception.UnitPriceMismatchException;
+import lk.udcreations.sale.cache.ProductSnapshotCache;
 import lk.udcreations.sale.controller.ProductClientController;
+import lk.udcreations.sale.dto.SellabilityDTO;
 import lk.udcreations.sale.entity.Sales;
 import lk.udcreations.sale.entity.SalesItems;
+import lk.udcreations.sale.mapper.SaleMapper;
 import lk.udcreations.sale.repository.SalesItemsRepository;
 import lk.udcreations.sale.repository.SalesRepository;
 import lk.udcreations.sale.util.relationcheck.InventoryCheck;
@@ -37,21 +40,23 @@ public class SalesItemsService {
 
 	private final SalesItemsRepository salesItemsRepository;
 	private final SalesRepository salesRepository;
-	private final ModelMapper modelMapper;
+	private final SaleMapper saleMapper;
 	private final ProductClientController productClientController;
+	private final ProductSnapshotCache productSnapshotCache;
 
 	private final ProductCheck productCheck;
 	private final InventoryCheck inventoryCheck;
 
 
 	public SalesItemsService(SalesItemsRepository salesItemsRepository, SalesRepository salesRepository,
-			ModelMapper modelMapper, ProductClientController productClientController, ProductCheck productCheck,
-			InventoryCheck inventoryCheck) {
+			SaleMapper saleMapper, ProductClientController productClientController,
+			ProductSnapshotCache productSnapshotCache, ProductCheck productCheck, InventoryCheck inventoryCheck) {
 		super();
 		this.salesItemsRepository = salesItemsRepository;
 		this.salesRepository = salesRepository;
-		this.modelMapper = modelMapper;
+		this.saleMapper = saleMapper;
 		this.productClientController = productClientController;
+		this.productSnapshotCache = productSnapshotCache;
 		this.productCheck = productCheck;
 		this.inventoryCheck = inventoryCheck;
 	}
@@ -62,7 +67,9 @@ public class SalesItemsService {
 		SalesItems newItem = new SalesItems();
 		SalesItems savedItem;
 		
-		ProductDTO product = productClientController.getProductById(createSalesItem.getProductId());
+		// One round trip for the enabled/deleted flags, prices and stock of this scan
+		SellabilityDTO product = productClientController.getSellability(createSalesItem.getProductId(),
+				createSalesItem.getQuantity());
 		Sales sale = salesRepository.findById(createSalesItem.getSaleId()).orElseThrow();
 
 		// Check if product is enabled
@@ -71,7 +78,7 @@ public class SalesItemsService {
 		}
 		
 		// Check stock
-		if (!inventoryCheck.checkStockAvailability(createSalesItem.getProductId(), createSalesItem.getQuantity())) {
+		if (!inventoryCheck.checkStockAvailability(product)) {
 			throw new InsufficientStockException("Stock is not enoug to sell.");
 		}
 
@@ -109,7 +116,14 @@ public class SalesItemsService {
 		newItem.setItemDiscountVal(createSalesItem.getItemDiscountVal());
 		newItem.setItemDiscountPer(createSalesItem.getItemDiscountPer());
 
-		savedItem = salesItemsRepository.save(newItem);
+		// Hold the scanned quantity until the sale is finalized or abandoned
+		productClientController.reserveStock(sale.getSaleId(), product.getId(), createSalesItem.getQuantity());
+		try {
+			savedItem = salesItemsRepository.save(newItem);
+		} catch (RuntimeException ex) {
+			releaseQuietly(sale.getSaleId(), product.getId(), createSalesItem.getQuantity());
+			throw ex;
+		}
 
 		return convertToDTO(savedItem);
 	}
@@ -120,13 +134,30 @@ public class SalesItemsService {
 		LOGGER.debug("Attempting to update sale item with ID: {}", salesItemId);
 
 		return salesItemsRepository.findById(salesItemId).map(item -> {
+			// Keep the reservation in step with the new quantity
+			int change = updateItem.getQuantity() - item.getQuantity();
+			if (change > 0) {
+				productClientController.reserveStock(item.getSaleId(), item.getProductId(), change);
+			}
+
 			item.setQuantity(updateItem.getQuantity());
 			item.setPricePerUnit(updateItem.getPricePerUnit());
 			item.setItemDiscountVal(updateItem.getItemDiscountVal());
 			item.setItemDiscountPer(updateItem.getItemDiscountPer());
 			item.setTotalPrice(updateItem.getTotalPrice());
 
-			SalesItems savedItem = salesItemsRepository.save(item);
+			SalesItems savedItem;
+			try {
+				savedItem = salesItemsRepository.save(item);
+			} catch (RuntimeException ex) {
+				if (change > 0) {
+					releaseQuietly(item.getSaleId(), item.getProductId(), change);
+				}
+				throw ex;
+			}
+			if (change < 0) {
+				productClientController.releaseReservedQuantity(item.getSaleId(), item.getProductId(), -change);
+			}
 			LOGGER.info("Sales item with ID: {} successfully updated. Sale ID: '{}'", salesItemId,
 					savedItem.getSaleId());
 			return convertToDTO(savedItem);
@@ -148,7 +179,11 @@ public class SalesItemsService {
 		} else {
 			LOGGER.info("Fetched {} sales items from the database.", saleItems.size());
 		}
-		return saleItems.stream().map(this::convertToDTO).collect(Collectors.toList());
+		Map<Integer, ProductDTO> products = productClientController
+				.getProductsByIds(saleItems.stream().map(SalesItems::getProductId).toList());
+
+		return saleItems.stream().map(item -> convertToDTO(item, products.get(item.getProductId())))
+				.collect(Collectors.toList());
 	}
 
 	/** Delete a sale item */
@@ -162,16 +197,29 @@ public class SalesItemsService {
 			return new NotFoundException(errorMessage);
 		});
 		salesItemsRepository.delete(salesItem);
+		productClientController.releaseReservations(salesItem.getSaleId(), salesItem.getProductId());
 		LOGGER.info("Sale Item with ID {} deleted successfully", salesItemId);
 	}
 
+	/** Give back a hold taken for an item that was not saved, without hiding why the save failed */
+	private void releaseQuietly(Integer saleId, Integer productId, int quantity) {
+		try {
+			productClientController.releaseReservedQuantity(saleId, productId, quantity);
+		} catch (RuntimeException ex) {
+			LOGGER.warn("Could not release {} units of product ID: {} for sale ID: {}; the hold expires on its own: {}",
+					quantity, productId, saleId, ex.getMessage());
+		}
+	}
+
 	private SalesItemDTO convertToDTO(SalesItems salesItem) {
-		
-		SalesItemDTO dto = modelMapper.map(salesItem, SalesItemDTO.class);
-		
-		ProductDTO productDTO = productClientController.getProductById(salesItem.getProductId());
+		return convertToDTO(salesItem, productSnapshotCache.get(salesItem.getProductId()).getProduct());
+	}
+
+	private SalesItemDTO convertToDTO(SalesItems salesItem, ProductDTO productDTO) {
+
+		SalesItemDTO dto = saleMapper.toDTO(salesItem);
 		dto.setProduct(productDTO);
-		
+
 		return dto;
 	}
 }
@@ -2,14 +2,18 @@ package lk.udcreations.sale.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import lk.udcreations.common.dto.customer.CustomerDTO;
@@ -21,19 +25,26 @@ import lk.udcreations.common.dto.sale.UpdateSaleDTO;
 import lk.udcreations.common.dto.salesitems.SalesItemDTO;
 import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
 import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.sale.cache.UserReferenceCache;
 import lk.udcreations.sale.constants.ErrorMessages;
 import lk.udcreations.sale.controller.CustomerClientController;
+import lk.udcreations.sale.controller.ProductClientController;
+import lk.udcreations.sale.dto.KeysetPageDTO;
 import lk.udcreations.sale.entity.Payment;
+import lk.udcreations.sale.entity.PendingStockChange.Type;
 import lk.udcreations.sale.entity.Sales;
 import lk.udcreations.sale.entity.SalesItems;
 import lk.udcreations.sale.exception.NotFoundException;
 import lk.udcreations.sale.exception.PaymentAmountException;
 import lk.udcreations.sale.exception.TotalAmountException;
 import lk.udcreations.sale.exception.TotalQuantityException;
+import lk.udcreations.sale.mapper.SaleMapper;
 import lk.udcreations.sale.repository.PaymentRepository;
 import lk.udcreations.sale.repository.SalesItemsRepository;
 import lk.udcreations.sale.repository.SalesRepository;
 import lk.udcreations.sale.security.AuthUtils;
+import lk.udcreations.sale.util.concurrent.ParallelHydrator;
+import lk.udcreations.sale.util.pagination.KeysetCursor;
 import lk.udcreations.sale.util.relationcheck.SalesCheck;
 
 @Service
@@ -45,21 +56,31 @@ public class SalesService {
 	private final PaymentRepository paymentRepository;
 	private final SalesItemsRepository salesItemsRepository;
 	private final AuthUtils authUtils;
+	private final UserReferenceCache userReferenceCache;
 	private final CustomerClientController customerClientController;
+	private final ProductClientController productClientController;
 	private final SalesCheck salesCheck;
-	private final ModelMapper modelMapper;
+	private final SaleMapper saleMapper;
+	private final ParallelHydrator parallelHydrator;
+	private final PendingStockService pendingStockService;
 
 	public SalesService(SalesRepository salesRepository, PaymentRepository paymentRepository,
-			SalesItemsRepository salesItemsRepository, AuthUtils authUtils,
-			CustomerClientController customerClientController, SalesCheck salesCheck, ModelMapper modelMapper) {
+			SalesItemsRepository salesItemsRepository, AuthUtils authUtils, UserReferenceCache userReferenceCache,
+			CustomerClientController customerClientController, ProductClientController productClientController,
+			SalesCheck salesCheck, SaleMapper saleMapper, ParallelHydrator parallelHydrator,
+			PendingStockService pendingStockService) {
 		super();
 		this.salesRepository = salesRepository;
 		this.paymentRepository = paymentRepository;
 		this.salesItemsRepository = salesItemsRepository;
 		this.authUtils = authUtils;
+		this.userReferenceCache = userReferenceCache;
 		this.customerClientController = customerClientController;
+		this.productClientController = productClientController;
 		this.salesCheck = salesCheck;
-		this.modelMapper = modelMapper;
+		this.saleMapper = saleMapper;
+		this.parallelHydrator = parallelHydrator;
+		this.pendingStockService = pendingStockService;
 	}
 
 	/**
@@ -126,19 +147,21 @@ public class SalesService {
 		});
 	}
 
-	/** Get all sales */
-	public List<SaleDTO> getAllSales() {
+	/** Get all sales, one keyset page at a time */
+	public KeysetPageDTO<SaleDTO> getAllSales(String cursor, Integer limit) {
 
-		LOGGER.info("Fetching all sales");
+		int pageSize = KeysetCursor.limit(limit);
+		Integer afterId = KeysetCursor.decode(cursor);
+		LOGGER.info("Fetching up to {} sales after ID {}", pageSize, afterId);
 
-		List<Sales> sales = salesRepository.findAll();
+		List<Sales> sales = salesRepository.findBySaleIdGreaterThanOrderBySaleIdAsc(afterId, Limit.of(pageSize + 1));
 		if (sales.isEmpty()) {
 			LOGGER.warn("No sales found in the system.");
 		} else {
 			LOGGER.info("Fetched {} sales from the database.", sales.size());
 		}
 
-		return sales.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return KeysetCursor.page(sales, pageSize, Sales::getSaleId, this::convertToDTOList);
 	}
 
 	/** Get all sales by status */
@@ -152,7 +175,7 @@ public class SalesService {
 			LOGGER.info("Fetched {} finalized sales from the database.", sales.size());
 		}
 
-		return sales.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return convertToDTOList(sales);
 	}
 	
 	/** Get all sales by status */
@@ -166,7 +189,7 @@ public class SalesService {
 			LOGGER.info("Fetched {} draft sales from the database.", sales.size());
 		}
 
-		return sales.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return convertToDTOList(sales);
 	}
 	
 	public List<SaleDTO> getSalesHistory() {
@@ -179,7 +202,7 @@ public class SalesService {
 			LOGGER.info("Fetched {} sales history from the database.", sales.size());
 		}
 
-		return sales.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return convertToDTOList(sales);
 	}
 
 	/** Get sales by customer ID */
@@ -194,7 +217,7 @@ public class SalesService {
 			LOGGER.info("Fetched {} sales for the customer ID: {}.", sales.size(), customerId);
 		}
 
-		return sales.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return convertToDTOList(sales);
 	}
 
 	/** Get a sale by ID */
@@ -203,82 +226,82 @@ public class SalesService {
 		return convertToDTO(findSaleById(saleId));
 	}
 
-	/** finalize sale */
+	/**
+	 * Finalize a sale. The sale, its items and its payment are read with one
+	 * query; the payment and the new status are flushed together at commit; and
+	 * the response is built from those same objects, with the user and customer
+	 * lookups running while the writes are made. The held stock is committed in
+	 * product-service only after the sale commits, and retried until it is.
+	 */
 	@Transactional
 	public SaleDTO finalizeSale(Integer saleId, FinalizeSaleDTO finalizeSaleDTO) {
 
 		LOGGER.info("Finalizing sale with ID {}", saleId);
 
-		// Retrieve the sale
-		Sales sale = findSaleById(saleId);
-
-		List<SalesItems> salesItems = salesItemsRepository.findBySaleId(saleId);
+		// Retrieve the sale, its items and its payment
+		List<Object[]> rows = salesRepository.findWithItemsAndPayment(saleId);
+		if (rows.isEmpty()) {
+			String errorMessage = ErrorMessages.SALE_NOT_FOUND + saleId;
+			LOGGER.error("Sale fetch failed. {}", errorMessage);
+			throw new NotFoundException(errorMessage);
+		}
+		Sales sale = (Sales) rows.get(0)[0];
+		Payment existingPayment = (Payment) rows.get(0)[2];
+		List<SalesItems> salesItems = rows.stream().map(row -> (SalesItems) row[1]).filter(Objects::nonNull)
+				.distinct().toList();
 
 		// Check if sales items exist
-		if (salesItems == null || salesItems.isEmpty()) {
+		if (salesItems.isEmpty()) {
 			String errMsg = "Cannot finalize sale with ID: " + saleId + ". No sales items found";
 			LOGGER.error(errMsg);
 			throw new NotFoundException(errMsg);
 		}
-		
-		// Verify total amount
-		if (!salesCheck.verifiTotalAmount(finalizeSaleDTO.getTotalAmount(), salesItems)) {
-			String errMsg = ErrorMessages.TOTAL_AMOUNT_NOT_MATCH;
-			LOGGER.error(errMsg);
-			throw new TotalAmountException(errMsg);
-		}
-		// Verify item count
-		if (!salesCheck.verifiTotalQuantity(finalizeSaleDTO.getTotalItemCount(), salesItems)) {
-			String errMsg = ErrorMessages.ITEM_COUNT_NOT_MATCH;
-			LOGGER.error(errMsg);
-			throw new TotalQuantityException(errMsg);
-		}
-
-		// verify payment amount sum
-		if (!salesCheck.verifyPayment(finalizeSaleDTO.getTotalAmount(), finalizeSaleDTO.getPayment())) {
-			String errMsg = ErrorMessages.PAYMENT_AMOUNT_NOT_MATCH;
-			LOGGER.error(errMsg);
-			throw new PaymentAmountException(errMsg);
-		}
-
-		// verify discount
-
-		// Save payments
-		PaymentDTO payment = finalizeSaleDTO.getPayment();
-		Payment payment2 = convertToEntity(payment);
-		payment2.setSaleId(sale.getSaleId());
-		createPayment(payment2);
-
-		sale.setPaymentStatus("FINALIZED");
-		sale.setSaleDateTime(LocalDateTime.now());
-		sale.setUpdatedAt(LocalDateTime.now());
-
-		Sales savedSale = salesRepository.save(sale);
-		return convertToDTO(savedSale);
-	}
 
-	@Transactional
-	private void createPayment(Payment payment) {
+		try (ParallelHydrator.Scope scope = parallelHydrator.open()) {
+
+			Supplier<CreatedUpdatedUserDTO> createdUser = scope.fork(() -> userReferenceCache.get(sale.getUserId()));
+			Supplier<CustomerDTO> customer = scope
+					.fork(() -> customerClientController.getCustomerById(sale.getCustomerId()));
+
+			// Verify total amount
+			if (!salesCheck.verifiTotalAmount(finalizeSaleDTO.getTotalAmount(), salesItems)) {
+				String errMsg = ErrorMessages.TOTAL_AMOUNT_NOT_MATCH;
+				LOGGER.error(errMsg);
+				throw new TotalAmountException(errMsg);
+			}
+			// Verify item count
+			if (!salesCheck.verifiTotalQuantity(finalizeSaleDTO.getTotalItemCount(), salesItems)) {
+				String errMsg = ErrorMessages.ITEM_COUNT_NOT_MATCH;
+				LOGGER.error(errMsg);
+				throw new TotalQuantityException(errMsg);
+			}
+
+			// verify payment amount sum
+			if (!salesCheck.verifyPayment(finalizeSaleDTO.getTotalAmount(), finalizeSaleDTO.getPayment())) {
+				String errMsg = ErrorMessages.PAYMENT_AMOUNT_NOT_MATCH;
+				LOGGER.error(errMsg);
+				throw new PaymentAmountException(errMsg);
+			}
+
+			// verify discount
+
+			// Save payments, updating the one already loaded instead of looking it up again
+			Payment payment = existingPayment != null ? existingPayment : new Payment();
+			copyToEntity(finalizeSaleDTO.getPayment(), payment);
+			payment.setSaleId(sale.getSaleId());
+			paymentRepository.save(payment);
 
-		LOGGER.debug("Attempting to create a new payment for sale ID: {}", payment.getSaleId());
+			sale.setPaymentStatus("FINALIZED");
+			sale.setSaleDateTime(LocalDateTime.now());
+			sale.setUpdatedAt(LocalDateTime.now());
 
-		// Check payment already saved, update if
-		Optional<Payment> existingPayment = paymentRepository.findBySaleId(payment.getSaleId());
+			Sales savedSale = salesRepository.save(sale);
 
-		if (existingPayment.isPresent()) {
-			Payment updatePayment = existingPayment.get();
-			updatePayment.setCashAmount(payment.getCashAmount());
-			updatePayment.setCreditCardAmount(payment.getCreditCardAmount());
-			updatePayment.setCreditCardReference(payment.getCreditCardReference());
-			updatePayment.setQrAmount(payment.getQrAmount());
-			updatePayment.setQrReference(payment.getQrReference());
-			updatePayment.setChequeAmount(payment.getChequeAmount());
-			updatePayment.setChequeReference(payment.getChequeReference());
-			updatePayment.setDueAmount(payment.getDueAmount());
+			// Make the stock held by the sale items permanent once the sale has committed
+			pendingStockService.record(Type.FINALIZE, saleId, null, Map.of());
 
-			paymentRepository.save(updatePayment);
-		} else {
-			paymentRepository.save(payment);
+			scope.join();
+			return convertToDTO(savedSale, createdUser.get(), customer.get(), payment, salesItems);
 		}
 	}
 
@@ -293,44 +316,92 @@ public class SalesService {
 					return new RuntimeException(errMsg);
 				});
 		salesRepository.delete(sale);
+		productClientController.releaseReservations(saleId, null);
 		LOGGER.info("Sale with ID {} deleted successfully", saleId);
 	}
 
 	private SaleDTO convertToDTO(Sales sale) {
 
-		SaleDTO dto = modelMapper.map(sale, SaleDTO.class);
+		try (ParallelHydrator.Scope scope = parallelHydrator.open()) {
 
-		// Set CreatedUserDTO
-		UsersDTO createdUser = authUtils.getUserById(sale.getUserId());
-		CreatedUpdatedUserDTO createdUserDto = modelMapper.map(createdUser, CreatedUpdatedUserDTO.class);
-		dto.setCreatedUser(createdUserDto);
+			// Set CreatedUserDTO
+			Supplier<CreatedUpdatedUserDTO> createdUser = scope.fork(() -> userReferenceCache.get(sale.getUserId()));
 
-		// Set CustomerDTO
-		CustomerDTO customerDTO = customerClientController.getCustomerById(sale.getCustomerId());
-		dto.setCustomer(customerDTO);
+			// Set CustomerDTO
+			Supplier<CustomerDTO> customer = scope
+					.fork(() -> customerClientController.getCustomerById(sale.getCustomerId()));
 
-		// Set PaymentDTO
-		Payment payment = paymentRepository.findBySaleId(sale.getSaleId()).orElse(new Payment());
-		dto.setPayment(convertToDTO(payment));
+			// Set PaymentDTO
+			Supplier<Payment> payment = scope
+					.forkQuery(() -> paymentRepository.findBySaleId(sale.getSaleId()).orElse(new Payment()));
 
-		// Set List<SalesItemsDTO>
-		List<SalesItems> salesItems = salesItemsRepository.findBySaleId(sale.getSaleId());
-		dto.setSalesItems(salesItems.stream().map(this::convertToDTO).collect(Collectors.toList()));
+			// Set List<SalesItemsDTO>
+			Supplier<List<SalesItems>> salesItems = scope
+					.forkQuery(() -> salesItemsRepository.findBySaleId(sale.getSaleId()));
+
+			scope.join();
+
+			return convertToDTO(sale, createdUser.get(), customer.get(), payment.get(), salesItems.get());
+		}
+	}
+
+	/**
+	 * Convert a list of sales in one pass. Users come from the user reference
+	 * cache, customers are fetched with one bulk call and payments and sales
+	 * items are loaded with one IN query each, instead of two remote calls and
+	 * two queries per sale.
+	 */
+	List<SaleDTO> convertToDTOList(List<Sales> sales) {
+
+		if (sales.isEmpty()) {
+			return new ArrayList<>();
+		}
 
+		List<Integer> saleIds = sales.stream().map(Sales::getSaleId).toList();
+
+		Map<Integer, CreatedUpdatedUserDTO> users = userReferenceCache
+				.getAll(sales.stream().map(Sales::getUserId).toList());
+
+		Map<Integer, CustomerDTO> customers = customerClientController
+				.getCustomersByIds(sales.stream().map(Sales::getCustomerId).toList());
+
+		Map<Integer, Payment> payments = paymentRepository.findBySaleIdIn(saleIds).stream()
+				.collect(Collectors.toMap(Payment::getSaleId, Function.identity(), (first, second) -> first));
+
+		Map<Integer, List<SalesItems>> salesItems = salesItemsRepository.findBySaleIdIn(saleIds).stream()
+				.collect(Collectors.groupingBy(SalesItems::getSaleId));
+
+		LOGGER.debug("Hydrating {} sales with {} users and {} customers", sales.size(), users.size(),
+				customers.size());
+
+		return sales.stream()
+				.map(sale -> convertToDTO(sale, users.get(sale.getUserId()), customers.get(sale.getCustomerId()),
+						payments.getOrDefault(sale.getSaleId(), new Payment()),
+						salesItems.getOrDefault(sale.getSaleId(), List.of())))
+				.collect(Collectors.toList());
+	}
+
+	private SaleDTO convertToDTO(Sales sale, CreatedUpdatedUserDTO createdUser, CustomerDTO customer, Payment payment,
+			List<SalesItems> salesItems) {
+
+		SaleDTO dto = saleMapper.toDTO(sale);
+		dto.setCreatedUser(createdUser);
+		dto.setCustomer(customer);
+		dto.setPayment(convertToDTO(payment));
+		dto.setSalesItems(salesItems.stream().map(this::convertToDTO).collect(Collectors.toList()));
 		return dto;
 	}
 
 	private SalesItemDTO convertToDTO(SalesItems item) {
-		return modelMapper.map(item, SalesItemDTO.class);
+		return saleMapper.toDTO(item);
 	}
 
 	private PaymentDTO convertToDTO(Payment payment) {
-		return modelMapper.map(payment, PaymentDTO.class);
+		return saleMapper.toDTO(payment);
 	}
 
-	private Payment convertToEntity(PaymentDTO paymentDto) {
+	private void copyToEntity(PaymentDTO paymentDto, Payment payment) {
 
-		Payment payment = new Payment();
 		payment.setCashAmount(paymentDto.getCashAmount());
 		payment.setChequeAmount(paymentDto.getChequeAmount());
 		payment.setChequeReference(paymentDto.getChequeRef());
@@ -339,8 +410,6 @@ public class SalesService {
 		payment.setDueAmount(paymentDto.getDueAmount());
 		payment.setQrAmount(paymentDto.getQrAmount());
 		payment.setQrReference(paymentDto.getQrRef());
-
-		return payment;
 	}
 
 	private Sales findSaleById(Integer saleId) {
@@ -0,0 +1,64 @@
+package lk.udcreations.sale.util.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import lk.udcreations.sale.constants.ErrorMessages;
+import lk.udcreations.sale.dto.KeysetPageDTO;
+
+public class KeysetCursor {
+
+	public static final int DEFAULT_LIMIT = 50;
+	public static final int MAX_LIMIT = 500;
+
+	private KeysetCursor() {
+		throw new IllegalStateException("Utility class");
+	}
+
+	/** Encode the last primary key of a page as an opaque continuation token. */
+	public static String encode(Integer lastId) {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/** Decode a continuation token, starting before the first row when it is empty. */
+	public static Integer decode(String cursor) {
+
+		if (cursor == null || cursor.isBlank()) {
+			return 0;
+		}
+		try {
+			return Integer.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(ErrorMessages.INVALID_CURSOR + cursor, e);
+		}
+	}
+
+	/** Resolve the requested page size, capped at {@link #MAX_LIMIT}. */
+	public static int limit(Integer limit) {
+
+		if (limit == null) {
+			return DEFAULT_LIMIT;
+		}
+		if (limit < 1) {
+			throw new IllegalArgumentException(ErrorMessages.INVALID_PAGE_LIMIT + limit);
+		}
+		return Math.min(limit, MAX_LIMIT);
+	}
+
+	/**
+	 * Build a page from rows fetched with {@code limit + 1}. The extra row only
+	 * signals that another page exists and is dropped before conversion.
+	 */
+	public static <E, T> KeysetPageDTO<T> page(List<E> rows, int limit, Function<E, Integer> idOf,
+			Function<List<E>, List<T>> converter) {
+
+		if (rows.size() <= limit) {
+			return new KeysetPageDTO<>(converter.apply(rows), null);
+		}
+		List<E> pageRows = rows.subList(0, limit);
+		return new KeysetPageDTO<>(converter.apply(pageRows), encode(idOf.apply(pageRows.get(limit - 1))));
+	}
+}
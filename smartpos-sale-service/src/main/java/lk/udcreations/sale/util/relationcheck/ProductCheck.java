@@ -8,10 +8,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import lk.udcreations.common.dto.product.ProductDTO;
 import lk.udcreations.common.dto.salesitems.CreateSalesItemDTO;
+import lk.udcreations.sale.dto.SellabilityDTO;
 import lk.udcreations.sale.exception.UnitPriceMismatchException;
-import lk.udcreations.sale.controller.ProductClientController;
 import lk.udcreations.sale.util.calculate.Calculate;
 import lk.udcreations.sale.util.calculate.CalculateUtil;
 
@@ -20,28 +19,19 @@ public class ProductCheck {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(ProductCheck.class);
 
-	private final ProductClientController productClientController;
-
-	public ProductCheck(ProductClientController productClientController) {
-		super();
-		this.productClientController = productClientController;
-	}
-
-	public boolean isProductDeleted(ProductDTO product) {
-		return productClientController.checkProductDeletedById(product.getId())
-				|| productClientController.checkProductDeletedByProductId(product.getProductId());
+	public boolean isProductDeleted(SellabilityDTO product) {
+		return product.isDeleted();
 	}
 
-	public boolean isProductEnabled(ProductDTO product) {
-		return productClientController.checkProductEnabledById(product.getId())
-				|| productClientController.checkProductEnabledByProductId(product.getProductId());
+	public boolean isProductEnabled(SellabilityDTO product) {
+		return product.isEnabled();
 	}
 
-	public boolean isUnitPriceMatch(ProductDTO product, CreateSalesItemDTO item) {
+	public boolean isUnitPriceMatch(SellabilityDTO product, CreateSalesItemDTO item) {
 		return isEquals(product.getPrice(), item.getPricePerUnit());
 	}
 
-	public boolean isDiscountMatch(ProductDTO product, CreateSalesItemDTO item) {
+	public boolean isDiscountMatch(SellabilityDTO product, CreateSalesItemDTO item) {
 
 		if (!isUnitPriceMatch(product, item)) {
 			throw new UnitPriceMismatchException("There is a problem with selling price.");
@@ -54,7 +44,7 @@ public class ProductCheck {
 		}
 	}
 
-	public boolean isTotalMatch(ProductDTO product, CreateSalesItemDTO item) {
+	public boolean isTotalMatch(SellabilityDTO product, CreateSalesItemDTO item) {
 		BigDecimal total = item.getTotalPrice();
 		BigDecimal calcTotal = Calculate.calculateItemTotal(item.getPricePerUnit(), item.getItemDiscountPer(),
 				item.getItemDiscountVal(), item.getQuantity());
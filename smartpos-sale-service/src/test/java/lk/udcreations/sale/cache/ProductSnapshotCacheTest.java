@@ -0,0 +1,77 @@
+package lk.udcreations.sale.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import lk.udcreations.common.dto.product.ProductDTO;
+import lk.udcreations.sale.controller.ProductClientController;
+
+class ProductSnapshotCacheTest {
+
+    @Mock
+    private ProductClientController productClientController;
+
+    private ProductSnapshotCache productSnapshotCache;
+
+    private ProductDTO mockProduct;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        productSnapshotCache = new ProductSnapshotCache(productClientController, 100, Duration.ofMinutes(1));
+
+        mockProduct = new ProductDTO();
+        mockProduct.setId(1);
+        mockProduct.setProductId("P001");
+        mockProduct.setPrice(new BigDecimal("50.00"));
+        mockProduct.setMinPrice(new BigDecimal("45.00"));
+        mockProduct.setEnabled(true);
+        mockProduct.setDeleted(false);
+
+        when(productClientController.getProductById(1)).thenReturn(mockProduct);
+    }
+
+    @Test
+    void testGet_LoadsOnceAndServesFromMemory() {
+        // Act
+        ProductSnapshot first = productSnapshotCache.get(1);
+        ProductSnapshot second = productSnapshotCache.get(1);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals("P001", first.getProductId());
+        assertEquals(new BigDecimal("50.00"), first.getPrice());
+        assertEquals(new BigDecimal("45.00"), first.getMinPrice());
+        assertTrue(first.isEnabled());
+        assertFalse(first.isDeleted());
+        assertSame(mockProduct, first.getProduct());
+        verify(productClientController, times(1)).getProductById(1);
+    }
+
+    @Test
+    void testEvict_ReloadsOnNextGet() {
+        // Arrange
+        productSnapshotCache.get(1);
+
+        // Act
+        productSnapshotCache.evict(1);
+        productSnapshotCache.get(1);
+
+        // Assert
+        verify(productClientController, times(2)).getProductById(1);
+    }
+}
@@ -0,0 +1,104 @@
+package lk.udcreations.sale.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
+import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.sale.mapper.SaleMapper;
+import lk.udcreations.sale.security.AuthUtils;
+
+class UserReferenceCacheTest {
+
+    @Mock
+    private AuthUtils authUtils;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserReferenceCache userReferenceCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        meterRegistry = new SimpleMeterRegistry();
+        userReferenceCache = new UserReferenceCache(authUtils, Mappers.getMapper(SaleMapper.class), meterRegistry,
+                100, Duration.ofMinutes(10));
+
+        when(authUtils.getUsersByIds(any())).thenReturn(Map.of(1, user(1, "cashier_1"), 2, user(2, "cashier_2")));
+        when(authUtils.getUserById(3)).thenReturn(user(3, "cashier_3"));
+    }
+
+    @Test
+    void testWarm_LoadsMissesInOneCallAndServesRowsFromMemory() {
+        // Act
+        userReferenceCache.warm(Arrays.asList(1, 2, 1, null, 2));
+        CreatedUpdatedUserDTO first = userReferenceCache.get(1);
+        CreatedUpdatedUserDTO second = userReferenceCache.get(2);
+
+        // Assert
+        assertEquals("cashier_1", first.getUsername());
+        assertEquals("cashier_2", second.getUsername());
+        verify(authUtils, times(1)).getUsersByIds(any());
+        verify(authUtils, never()).getUserById(anyInt());
+    }
+
+    @Test
+    void testGetAll_OnlyLoadsUnseenIds() {
+        // Arrange
+        userReferenceCache.get(3);
+
+        // Act
+        Map<Integer, CreatedUpdatedUserDTO> result = userReferenceCache.getAll(List.of(1, 2, 3));
+
+        // Assert
+        assertEquals(3, result.size());
+        verify(authUtils, times(1)).getUserById(3);
+        verify(authUtils, times(1)).getUsersByIds(any());
+    }
+
+    @Test
+    void testGet_NullIdIsNotLoaded() {
+        // Act & Assert
+        assertNull(userReferenceCache.get(null));
+        verify(authUtils, never()).getUserById(any());
+    }
+
+    @Test
+    void testHitAndMissCountsArePublished() {
+        // Act
+        userReferenceCache.get(3);
+        userReferenceCache.get(3);
+        userReferenceCache.get(3);
+
+        // Assert
+        assertEquals(2.0 / 3.0, userReferenceCache.hitRatio(), 0.0001);
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", UserReferenceCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    private UsersDTO user(Integer userId, String username) {
+        UsersDTO user = new UsersDTO();
+        user.setUserId(userId);
+        user.setUsername(username);
+        return user;
+    }
+}
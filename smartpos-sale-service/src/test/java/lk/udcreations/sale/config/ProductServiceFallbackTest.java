@@ -0,0 +1,100 @@
+package lk.udcreations.sale.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lk.udcreations.common.dto.product.ProductDTO;
+import lk.udcreations.sale.dto.ReserveStockDTO;
+import lk.udcreations.sale.exception.ServiceUnavailableException;
+
+class ProductServiceFallbackTest {
+
+    private ProductServiceFallback productServiceFallback;
+
+    private ProductDTO mockProduct;
+
+    private Request request;
+
+    @BeforeEach
+    void setUp() {
+        productServiceFallback = new ProductServiceFallback(100, Duration.ofMinutes(1));
+
+        mockProduct = new ProductDTO();
+        mockProduct.setId(1);
+        mockProduct.setProductName("Test Product");
+        mockProduct.setPrice(new BigDecimal("50.00"));
+
+        request = Request.create(Request.HttpMethod.GET, "/api/v1/product/1", Map.of(), null, StandardCharsets.UTF_8,
+                null);
+    }
+
+    @Test
+    void testGetProductById_ServesLastKnownValueWhenCircuitIsOpen() {
+        productServiceFallback.remember(mockProduct);
+        Throwable cause = CallNotPermittedException
+                .createCallNotPermittedException(CircuitBreaker.ofDefaults("product-service"));
+
+        ProductDTO result = productServiceFallback.create(cause).getProductById(1);
+
+        assertSame(mockProduct, result);
+    }
+
+    @Test
+    void testGetProductById_NotCached() {
+        Throwable cause = new RetryableException(-1, "Read timed out", Request.HttpMethod.GET, (Long) null, request);
+
+        ProductServiceClient fallback = productServiceFallback.create(cause);
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> fallback.getProductById(1));
+        assertSame(cause, ex.getCause());
+    }
+
+    @Test
+    void testGetProductsByIds_ReturnsCachedSubset() {
+        productServiceFallback.rememberAll(Map.of(1, mockProduct));
+        Throwable cause = new FeignException.ServiceUnavailable("Unavailable", request, null, null);
+
+        Map<Integer, ProductDTO> result = productServiceFallback.create(cause).getProductsByIds(List.of(1, 2));
+
+        assertEquals(1, result.size());
+        assertSame(mockProduct, result.get(1));
+    }
+
+    @Test
+    void testReserveStock_FailsFast() {
+        productServiceFallback.remember(mockProduct);
+        Throwable cause = new FeignException.ServiceUnavailable("Unavailable", request, null, null);
+
+        ProductServiceClient fallback = productServiceFallback.create(cause);
+
+        assertThrows(ServiceUnavailableException.class, () -> fallback.reserveStock(new ReserveStockDTO(1, 1, 1)));
+    }
+
+    @Test
+    void testCreate_ClientErrorIsPassedOn() {
+        productServiceFallback.remember(mockProduct);
+        FeignException cause = new FeignException.Conflict("Not enough stock available", request, null, null);
+
+        FeignException ex = assertThrows(FeignException.class, () -> productServiceFallback.create(cause));
+
+        assertSame(cause, ex);
+        assertTrue(ex instanceof FeignException.Conflict);
+    }
+}
@@ -5,6 +5,10 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -13,12 +17,16 @@ import org.mockito.MockitoAnnotations;
 
 import lk.udcreations.common.dto.customer.CustomerDTO;
 import lk.udcreations.sale.config.CustomerServiceClient;
+import lk.udcreations.sale.config.CustomerServiceFallback;
 
 class CustomerClientControllerTest {
 
     @Mock
     private CustomerServiceClient customerServiceClient;
 
+    @Mock
+    private CustomerServiceFallback customerServiceFallback;
+
     @InjectMocks
     private CustomerClientController customerClientController;
 
@@ -53,4 +61,18 @@ class CustomerClientControllerTest {
         assertEquals("1234567890", result.getPhoneNo1());
         verify(customerServiceClient, times(1)).getCustomerById(1);
     }
+
+    @Test
+    void testGetCustomersByIds() {
+        // Arrange
+        when(customerServiceClient.getCustomersByIds(List.of(1))).thenReturn(Map.of(1, mockCustomer));
+
+        // Act
+        Map<Integer, CustomerDTO> result = customerClientController.getCustomersByIds(Arrays.asList(1, 1, null));
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("John", result.get(1).getFirstName());
+        verify(customerServiceClient, times(1)).getCustomersByIds(List.of(1));
+    }
 }
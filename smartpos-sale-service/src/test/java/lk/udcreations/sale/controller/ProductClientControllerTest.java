@@ -2,12 +2,19 @@ package lk.udcreations.sale.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,16 +22,26 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import feign.FeignException;
+import feign.Request;
 import lk.udcreations.common.dto.inventory.InventoryDTO;
 import lk.udcreations.common.dto.inventory.StockDTO;
 import lk.udcreations.common.dto.product.ProductDTO;
 import lk.udcreations.sale.config.ProductServiceClient;
+import lk.udcreations.sale.config.ProductServiceFallback;
+import lk.udcreations.sale.dto.ReserveStockDTO;
+import lk.udcreations.sale.dto.SellabilityDTO;
+import lk.udcreations.sale.dto.StockReservationDTO;
+import lk.udcreations.sale.exception.InsufficientStockException;
 
 class ProductClientControllerTest {
 
     @Mock
     private ProductServiceClient productServiceClient;
 
+    @Mock
+    private ProductServiceFallback productServiceFallback;
+
     @InjectMocks
     private ProductClientController productClientController;
 
@@ -56,6 +73,52 @@ class ProductClientControllerTest {
         mockStock = new StockDTO(5);
     }
 
+    @Test
+    void testReserveStock() {
+        // Arrange
+        StockReservationDTO reservation = new StockReservationDTO();
+        reservation.setReservationId(1);
+        reservation.setStatus("HELD");
+        when(productServiceClient.reserveStock(any(ReserveStockDTO.class))).thenReturn(reservation);
+
+        // Act
+        StockReservationDTO result = productClientController.reserveStock(1, 2, 3);
+
+        // Assert
+        assertEquals(1, result.getReservationId());
+        verify(productServiceClient, times(1)).reserveStock(any(ReserveStockDTO.class));
+    }
+
+    @Test
+    void testReserveStock_NotEnoughStock() {
+        // Arrange
+        Request request = Request.create(Request.HttpMethod.POST, "/api/v1/inventory/reservations", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        when(productServiceClient.reserveStock(any(ReserveStockDTO.class)))
+                .thenThrow(new FeignException.Conflict("Not enough stock available", request, null, null));
+
+        // Act & Assert
+        assertThrows(InsufficientStockException.class, () -> productClientController.reserveStock(1, 2, 3));
+    }
+
+    @Test
+    void testGetSellability() {
+        // Arrange
+        SellabilityDTO sellability = new SellabilityDTO(1, "PROD001", true, false, new BigDecimal("50.00"),
+                new BigDecimal("45.00"), 10);
+        sellability.setStockAvailable(true);
+        when(productServiceClient.getSellability(1, 2)).thenReturn(sellability);
+
+        // Act
+        SellabilityDTO result = productClientController.getSellability(1, 2);
+
+        // Assert
+        assertTrue(result.isEnabled());
+        assertFalse(result.isDeleted());
+        assertTrue(result.isStockAvailable());
+        verify(productServiceClient, times(1)).getSellability(1, 2);
+    }
+
     @Test
     void testGetProductById() {
         // Arrange
@@ -71,6 +134,31 @@ class ProductClientControllerTest {
         assertTrue(result.isEnabled());
         assertFalse(result.isDeleted());
         verify(productServiceClient, times(1)).getProductById(1);
+        verify(productServiceFallback, times(1)).remember(mockProduct);
+    }
+
+    @Test
+    void testGetProductsByIds() {
+        // Arrange
+        when(productServiceClient.getProductsByIds(List.of(1, 2))).thenReturn(Map.of(1, mockProduct));
+
+        // Act
+        Map<Integer, ProductDTO> result = productClientController.getProductsByIds(Arrays.asList(1, null, 2, 1));
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Test Product", result.get(1).getProductName());
+        verify(productServiceClient, times(1)).getProductsByIds(List.of(1, 2));
+    }
+
+    @Test
+    void testGetProductsByIds_EmptyIds() {
+        // Act
+        Map<Integer, ProductDTO> result = productClientController.getProductsByIds(List.of());
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(productServiceClient, never()).getProductsByIds(any());
     }
 
     @Test
@@ -6,14 +6,18 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -25,6 +29,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -34,6 +39,14 @@ import lk.udcreations.common.dto.sale.CreateSaleDTO;
 import lk.udcreations.common.dto.sale.FinalizeSaleDTO;
 import lk.udcreations.common.dto.sale.SaleDTO;
 import lk.udcreations.common.dto.sale.UpdateSaleDTO;
+import lk.udcreations.common.dto.salesitems.CreateSalesItemDTO;
+import lk.udcreations.sale.dto.CheckoutBatchDTO;
+import lk.udcreations.sale.dto.CheckoutDTO;
+import lk.udcreations.sale.dto.CheckoutResultDTO;
+import lk.udcreations.sale.dto.KeysetPageDTO;
+import lk.udcreations.sale.service.CheckoutService;
+import lk.udcreations.sale.service.SalesExportService;
+import lk.udcreations.sale.service.SalesExportService.ExportFormat;
 import lk.udcreations.sale.service.SalesService;
 
 class SalesControllerTest {
@@ -41,6 +54,12 @@ class SalesControllerTest {
     @Mock
     private SalesService salesService;
 
+    @Mock
+    private SalesExportService salesExportService;
+
+    @Mock
+    private CheckoutService checkoutService;
+
     @InjectMocks
     private SalesController salesController;
 
@@ -126,16 +145,36 @@ class SalesControllerTest {
 
     @Test
     void testGetAllSales() throws Exception {
-        List<SaleDTO> sales = Arrays.asList(saleDTO1, saleDTO2);
-        when(salesService.getAllSales()).thenReturn(sales);
+        KeysetPageDTO<SaleDTO> page = new KeysetPageDTO<>(Arrays.asList(saleDTO1, saleDTO2), "Mg");
+        when(salesService.getAllSales("MA", 2)).thenReturn(page);
 
-        mockMvc.perform(get("/api/v1/sale"))
+        mockMvc.perform(get("/api/v1/sale").param("cursor", "MA").param("limit", "2"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()").value(2))
-                .andExpect(jsonPath("$[0].saleId").value(1))
-                .andExpect(jsonPath("$[1].saleId").value(2));
+                .andExpect(jsonPath("$.content.size()").value(2))
+                .andExpect(jsonPath("$.content[0].saleId").value(1))
+                .andExpect(jsonPath("$.content[1].saleId").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("Mg"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(salesService, times(1)).getAllSales("MA", 2);
+    }
+
+    @Test
+    void testExportSalesHistory() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/sale/payment/notdraft/export")
+                .param("format", "csv")
+                .param("from", "2025-01-01")
+                .param("to", "2025-01-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"sales-history.csv\""));
 
-        verify(salesService, times(1)).getAllSales();
+        verify(salesExportService, times(1)).exportSalesHistory(any(), eq(ExportFormat.CSV),
+                eq(LocalDate.of(2025, 1, 1)), eq(LocalDate.of(2025, 1, 31)));
     }
 
     @Test
@@ -227,6 +266,37 @@ class SalesControllerTest {
         verify(salesService, times(1)).finalizeSale(eq(1), any(FinalizeSaleDTO.class));
     }
 
+    @Test
+    void testCheckout() throws Exception {
+        CreateSalesItemDTO item = new CreateSalesItemDTO();
+        item.setProductId(1);
+        item.setQuantity(2);
+        item.setPricePerUnit(new BigDecimal("50.00"));
+        item.setTotalPrice(new BigDecimal("100.00"));
+
+        CheckoutDTO basket = new CheckoutDTO();
+        basket.setIdempotencyKey("till-1-0001");
+        basket.setTotalAmount(new BigDecimal("100.00"));
+        basket.setTotalItemCount(2);
+        basket.setItems(List.of(item));
+        basket.setPayment(finalizeSaleDTO.getPayment());
+
+        CheckoutBatchDTO batch = new CheckoutBatchDTO();
+        batch.setBaskets(List.of(basket));
+
+        when(checkoutService.checkout(any())).thenReturn(List.of(
+                new CheckoutResultDTO("till-1-0001", CheckoutResultDTO.Status.REPLAYED, 7, null)));
+
+        mockMvc.perform(post("/api/v1/sale/checkout")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("REPLAYED"))
+                .andExpect(jsonPath("$[0].saleId").value(7));
+
+        verify(checkoutService, times(1)).checkout(any());
+    }
+
     @Test
     void testDeleteSale() throws Exception {
         doNothing().when(salesService).deleteSale(1);
@@ -0,0 +1,70 @@
+package lk.udcreations.sale.scheduler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import lk.udcreations.sale.entity.PendingStockChange;
+import lk.udcreations.sale.repository.PendingStockChangeRepository;
+import lk.udcreations.sale.service.PendingStockService;
+
+class PendingStockReconcilerTest {
+
+    @Mock
+    private PendingStockChangeRepository pendingStockChangeRepository;
+
+    @Mock
+    private PendingStockService pendingStockService;
+
+    private PendingStockReconciler pendingStockReconciler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        pendingStockReconciler = new PendingStockReconciler(pendingStockChangeRepository, pendingStockService, 100);
+    }
+
+    @Test
+    void testRetryDue_AppliesEveryDueChange() {
+        // Arrange
+        PendingStockChange first = new PendingStockChange();
+        PendingStockChange second = new PendingStockChange();
+        when(pendingStockChangeRepository.findByNextAttemptAtBeforeOrderByChangeIdAsc(any(LocalDateTime.class),
+                eq(Limit.of(100)))).thenReturn(List.of(first, second));
+        when(pendingStockService.apply(first)).thenReturn(false);
+        when(pendingStockService.apply(second)).thenReturn(true);
+
+        // Act
+        pendingStockReconciler.retryDue();
+
+        // Assert
+        verify(pendingStockService, times(1)).apply(first);
+        verify(pendingStockService, times(1)).apply(second);
+    }
+
+    @Test
+    void testRetryDue_FailedReadWaitsForTheNextRun() {
+        // Arrange
+        when(pendingStockChangeRepository.findByNextAttemptAtBeforeOrderByChangeIdAsc(any(), any()))
+                .thenThrow(new RuntimeException("database down"));
+
+        // Act
+        pendingStockReconciler.retryDue();
+
+        // Assert
+        verify(pendingStockService, never()).apply(any());
+    }
+}
@@ -0,0 +1,104 @@
+package lk.udcreations.sale.scheduler;
+
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import lk.udcreations.sale.cache.ProductSnapshotCache;
+import lk.udcreations.sale.config.ProductServiceClient;
+import lk.udcreations.sale.dto.ProductPriceChangeDTO;
+import lk.udcreations.sale.dto.ProductPriceChangesDTO;
+
+class ProductPriceChangePollerTest {
+
+    @Mock
+    private ProductServiceClient productServiceClient;
+
+    @Mock
+    private ProductSnapshotCache productSnapshotCache;
+
+    private ProductPriceChangePoller productPriceChangePoller;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        productPriceChangePoller = new ProductPriceChangePoller(productServiceClient, productSnapshotCache,
+                Duration.ofMinutes(1));
+
+        when(productServiceClient.getPriceChanges(isNull(), isNull()))
+                .thenReturn(new ProductPriceChangesDTO(10L, false, List.of()));
+    }
+
+    @Test
+    void testPollChanges_EvictsChangedProductsPageByPage() {
+        // Arrange
+        productPriceChangePoller.pollChanges();
+        when(productServiceClient.getPriceChanges(10L, null))
+                .thenReturn(new ProductPriceChangesDTO(12L, true, List.of(change(11L, 1), change(12L, 2))));
+        when(productServiceClient.getPriceChanges(12L, null))
+                .thenReturn(new ProductPriceChangesDTO(13L, false, List.of(change(13L, 1))));
+
+        // Act
+        productPriceChangePoller.pollChanges();
+
+        // Assert
+        verify(productSnapshotCache, times(1)).evictAll();
+        verify(productSnapshotCache, times(2)).evict(1);
+        verify(productSnapshotCache, times(1)).evict(2);
+    }
+
+    @Test
+    void testPollChanges_RereadsSkippedIdsUntilTheyCommit() {
+        // Arrange: change 11 is still uncommitted when 12 is read
+        productPriceChangePoller.pollChanges();
+        when(productServiceClient.getPriceChanges(10L, null))
+                .thenReturn(new ProductPriceChangesDTO(12L, false, List.of(change(12L, 2))))
+                .thenReturn(new ProductPriceChangesDTO(12L, false, List.of(change(11L, 1), change(12L, 2))));
+
+        // Act
+        productPriceChangePoller.pollChanges();
+        productPriceChangePoller.pollChanges();
+        productPriceChangePoller.pollChanges();
+
+        // Assert
+        verify(productServiceClient, times(2)).getPriceChanges(10L, null);
+        verify(productServiceClient, times(1)).getPriceChanges(12L, null);
+        verify(productSnapshotCache, times(1)).evict(1);
+        verify(productSnapshotCache, times(1)).evict(2);
+    }
+
+    @Test
+    void testPollChanges_FailedPollKeepsPosition() {
+        // Arrange
+        productPriceChangePoller.pollChanges();
+        when(productServiceClient.getPriceChanges(10L, null)).thenThrow(new RuntimeException("product-service down"))
+                .thenReturn(new ProductPriceChangesDTO(10L, false, List.of()));
+
+        // Act
+        productPriceChangePoller.pollChanges();
+        productPriceChangePoller.pollChanges();
+
+        // Assert
+        verify(productServiceClient, times(2)).getPriceChanges(10L, null);
+        verify(productServiceClient, times(1)).getPriceChanges(isNull(), isNull());
+        verify(productSnapshotCache, never()).evict(1);
+    }
+
+    private ProductPriceChangeDTO change(Long changeId, Integer productId) {
+        ProductPriceChangeDTO change = new ProductPriceChangeDTO();
+        change.setChangeId(changeId);
+        change.setProductId(productId);
+        return change;
+    }
+}
@@ -0,0 +1,118 @@
+package lk.udcreations.sale.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.sale.cache.UserIdentityCache;
+import lk.udcreations.sale.cache.UserReferenceCache;
+import lk.udcreations.sale.config.UserServiceClient;
+import lk.udcreations.sale.dto.UserChangesDTO;
+
+class UserChangePollerTest {
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @Mock
+    private UserReferenceCache userReferenceCache;
+
+    private UserIdentityCache userIdentityCache;
+
+    private UserChangePoller userChangePoller;
+
+    private LocalDateTime firstPoll;
+    private UsersDTO mockUser;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        userIdentityCache = new UserIdentityCache(userServiceClient, 100, Duration.ofMinutes(10));
+        userChangePoller = new UserChangePoller(userServiceClient, userIdentityCache, userReferenceCache);
+
+        firstPoll = LocalDateTime.of(2025, 1, 1, 10, 0);
+        mockUser = new UsersDTO();
+        mockUser.setUserId(1);
+        mockUser.setUsername("admin_user");
+
+        when(userServiceClient.getUserDetails("admin_user")).thenReturn(mockUser);
+        when(userServiceClient.getUserChanges(isNull()))
+                .thenReturn(new UserChangesDTO(firstPoll, List.of(), List.of()));
+    }
+
+    @Test
+    void testGet_LoadsOnceAndServesFromMemory() {
+        // Act
+        UsersDTO first = userIdentityCache.get("admin_user");
+        UsersDTO second = userIdentityCache.get("admin_user");
+
+        // Assert
+        assertSame(mockUser, first);
+        assertSame(first, second);
+        verify(userServiceClient, times(1)).getUserDetails("admin_user");
+    }
+
+    @Test
+    void testPollChanges_EvictsChangedUsers() {
+        // Arrange
+        userChangePoller.pollChanges();
+        userIdentityCache.get("admin_user");
+        when(userServiceClient.getUserChanges(firstPoll)).thenReturn(
+                new UserChangesDTO(firstPoll.plusSeconds(30), List.of(1), List.of("admin_user")));
+
+        // Act
+        userChangePoller.pollChanges();
+        userIdentityCache.get("admin_user");
+
+        // Assert
+        verify(userServiceClient, times(2)).getUserDetails("admin_user");
+        verify(userReferenceCache, times(1)).evict(List.of(1));
+    }
+
+    @Test
+    void testPollChanges_EvictsPreviousUsernameOfRenamedUser() {
+        // Arrange
+        when(userServiceClient.getUserDetails("old_admin")).thenReturn(mockUser);
+        userChangePoller.pollChanges();
+        userIdentityCache.get("old_admin");
+        when(userServiceClient.getUserChanges(firstPoll)).thenReturn(new UserChangesDTO(firstPoll.plusSeconds(30),
+                List.of(1), List.of("admin_user"), List.of("old_admin")));
+
+        // Act
+        userChangePoller.pollChanges();
+        userIdentityCache.get("old_admin");
+
+        // Assert
+        verify(userServiceClient, times(2)).getUserDetails("old_admin");
+    }
+
+    @Test
+    void testPollChanges_FailedPollKeepsWatermark() {
+        // Arrange
+        userChangePoller.pollChanges();
+        when(userServiceClient.getUserChanges(firstPoll)).thenThrow(new RuntimeException("user-service down"))
+                .thenReturn(new UserChangesDTO(firstPoll.plusSeconds(60), List.of(), List.of()));
+
+        // Act
+        userChangePoller.pollChanges();
+        userChangePoller.pollChanges();
+
+        // Assert
+        verify(userServiceClient, times(2)).getUserChanges(firstPoll);
+        verify(userServiceClient, times(1)).getUserChanges(isNull());
+        verify(userReferenceCache, times(1)).evictAll();
+    }
+}
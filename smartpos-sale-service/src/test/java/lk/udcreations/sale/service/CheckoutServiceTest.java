@@ -0,0 +1,247 @@
+package lk.udcreations.sale.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import lk.udcreations.common.dto.payment.PaymentDTO;
+import lk.udcreations.common.dto.salesitems.CreateSalesItemDTO;
+import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.sale.controller.ProductClientController;
+import lk.udcreations.sale.dto.CheckoutDTO;
+import lk.udcreations.sale.dto.CheckoutResultDTO;
+import lk.udcreations.sale.dto.CheckoutResultDTO.Status;
+import lk.udcreations.sale.dto.SellabilityDTO;
+import lk.udcreations.sale.entity.Payment;
+import lk.udcreations.sale.entity.PendingStockChange;
+import lk.udcreations.sale.entity.PendingStockChange.Type;
+import lk.udcreations.sale.entity.Sales;
+import lk.udcreations.sale.exception.ServiceUnavailableException;
+import lk.udcreations.sale.repository.PaymentRepository;
+import lk.udcreations.sale.repository.PendingStockChangeRepository;
+import lk.udcreations.sale.repository.SalesItemsRepository;
+import lk.udcreations.sale.repository.SalesRepository;
+import lk.udcreations.sale.security.AuthUtils;
+import lk.udcreations.sale.util.relationcheck.ProductCheck;
+import lk.udcreations.sale.util.relationcheck.SalesCheck;
+
+class CheckoutServiceTest {
+
+    @Mock
+    private SalesRepository salesRepository;
+
+    @Mock
+    private SalesItemsRepository salesItemsRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private AuthUtils authUtils;
+
+    @Mock
+    private ProductClientController productClientController;
+
+    @Mock
+    private PendingStockChangeRepository pendingStockChangeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CheckoutService checkoutService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        PendingStockService pendingStockService = new PendingStockService(pendingStockChangeRepository,
+                productClientController, transactionManager, Duration.ofSeconds(30), Duration.ofMinutes(30));
+        checkoutService = new CheckoutService(salesRepository, salesItemsRepository, paymentRepository, authUtils,
+                productClientController, new ProductCheck(), new SalesCheck(), pendingStockService,
+                transactionManager);
+
+        UsersDTO user = new UsersDTO();
+        user.setUserId(5);
+        when(authUtils.getLoggedInUser()).thenReturn(user);
+        when(productClientController.getSellabilities(anyMap())).thenReturn(Map.of(1,
+                new SellabilityDTO(1, "PROD001", true, false, new BigDecimal("50.00"), new BigDecimal("45.00"), 10)));
+        when(salesRepository.save(any(Sales.class))).thenAnswer(invocation -> {
+            Sales sale = invocation.getArgument(0);
+            sale.setSaleId(10);
+            return sale;
+        });
+        when(pendingStockChangeRepository.save(any(PendingStockChange.class))).thenAnswer(invocation -> {
+            PendingStockChange change = invocation.getArgument(0);
+            change.setChangeId(20);
+            return change;
+        });
+    }
+
+    @Test
+    void testCheckout_NewBasketIsWrittenAndStockTaken() {
+        // Act
+        List<CheckoutResultDTO> results = checkoutService.checkout(List.of(basket("till-1-0001", "50.00")));
+
+        // Assert
+        assertEquals(Status.CREATED, results.get(0).getStatus());
+        assertEquals(10, results.get(0).getSaleId());
+
+        ArgumentCaptor<Sales> sale = ArgumentCaptor.forClass(Sales.class);
+        verify(salesRepository).save(sale.capture());
+        assertEquals("till-1-0001", sale.getValue().getIdempotencyKey());
+        assertEquals("FINALIZED", sale.getValue().getPaymentStatus());
+        assertEquals(5, sale.getValue().getUserId());
+        verify(salesItemsRepository, times(1)).saveAll(anyList());
+        verify(paymentRepository, times(1)).save(any(Payment.class));
+        verify(pendingStockChangeRepository, times(1)).save(argThat((PendingStockChange change) -> change
+                .getType() == Type.CHECKOUT && "till-1-0001".equals(change.getRequestKey())
+                && change.getQuantities().equals(Map.of(1, 2))));
+        verify(productClientController, times(1)).commitCheckout("till-1-0001", 10, Map.of(1, 2));
+        verify(pendingStockChangeRepository, times(1)).deleteById(20);
+    }
+
+    @Test
+    void testCheckout_ReplayedKeyIsNotWrittenAgain() {
+        // Arrange
+        Sales existing = new Sales();
+        existing.setSaleId(3);
+        existing.setIdempotencyKey("till-1-0001");
+        when(salesRepository.findByIdempotencyKeyIn(List.of("till-1-0001", "till-1-0001")))
+                .thenReturn(List.of(existing));
+
+        // Act
+        List<CheckoutResultDTO> results = checkoutService
+                .checkout(List.of(basket("till-1-0001", "50.00"), basket("till-1-0001", "50.00")));
+
+        // Assert
+        assertEquals(Status.REPLAYED, results.get(0).getStatus());
+        assertEquals(3, results.get(1).getSaleId());
+        verify(salesRepository, never()).save(any(Sales.class));
+        verify(productClientController, never()).commitCheckout(any(), any(), anyMap());
+    }
+
+    @Test
+    void testCheckout_WrongPriceIsRejectedAndOthersStillWritten() {
+        // Act
+        List<CheckoutResultDTO> results = checkoutService
+                .checkout(List.of(basket("till-1-0001", "40.00"), basket("till-1-0002", "50.00")));
+
+        // Assert
+        assertEquals(Status.REJECTED, results.get(0).getStatus());
+        assertNull(results.get(0).getSaleId());
+        assertEquals(Status.CREATED, results.get(1).getStatus());
+        verify(salesRepository, times(1)).save(any(Sales.class));
+        verify(productClientController, times(1)).getSellabilities(anyMap());
+    }
+
+    @Test
+    void testCheckout_BasketsOfOneBatchCannotOversell() {
+        // Arrange: 3 units left, each basket takes 2
+        when(productClientController.getSellabilities(anyMap())).thenReturn(Map.of(1,
+                new SellabilityDTO(1, "PROD001", true, false, new BigDecimal("50.00"), new BigDecimal("45.00"), 3)));
+
+        // Act
+        List<CheckoutResultDTO> results = checkoutService
+                .checkout(List.of(basket("till-1-0001", "50.00"), basket("till-1-0002", "50.00")));
+
+        // Assert
+        assertEquals(Status.CREATED, results.get(0).getStatus());
+        assertEquals(Status.REJECTED, results.get(1).getStatus());
+        verify(salesRepository, times(1)).save(any(Sales.class));
+    }
+
+    @Test
+    void testCheckout_FailedStockCallAfterCommitStaysPending() {
+        // Arrange
+        when(productClientController.commitCheckout("till-1-0001", 10, Map.of(1, 2)))
+                .thenThrow(new ServiceUnavailableException("Service is temporarily unavailable: product-service",
+                        new RuntimeException()));
+
+        // Act
+        List<CheckoutResultDTO> results = checkoutService.checkout(List.of(basket("till-1-0001", "50.00")));
+
+        // Assert: the sale stands and its stock change is kept for the reconciler
+        assertEquals(Status.CREATED, results.get(0).getStatus());
+        assertEquals(10, results.get(0).getSaleId());
+        verify(pendingStockChangeRepository, times(1)).recordFailure(eq(20), any(), any(LocalDateTime.class));
+        verify(pendingStockChangeRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void testCheckout_NullQuantityRejectsOnlyThatBasket() {
+        // Arrange
+        CheckoutDTO broken = basket("till-1-0001", "50.00");
+        broken.getItems().get(0).setQuantity(null);
+
+        // Act
+        List<CheckoutResultDTO> results = checkoutService
+                .checkout(List.of(broken, basket("till-1-0002", "50.00")));
+
+        // Assert
+        assertEquals(Status.REJECTED, results.get(0).getStatus());
+        assertEquals(Status.CREATED, results.get(1).getStatus());
+        verify(productClientController, times(1)).getSellabilities(Map.of(1, 2));
+    }
+
+    @Test
+    void testCheckout_OtherConstraintViolationIsRejected() {
+        // Arrange: no sale has the key, so the violation is not a duplicate basket
+        doThrow(new DataIntegrityViolationException("NULL not allowed for column")).when(paymentRepository)
+                .save(any(Payment.class));
+
+        // Act
+        List<CheckoutResultDTO> results = checkoutService.checkout(List.of(basket("till-1-0001", "50.00")));
+
+        // Assert
+        assertEquals(Status.REJECTED, results.get(0).getStatus());
+        assertNull(results.get(0).getSaleId());
+        verify(productClientController, never()).commitCheckout(any(), any(), anyMap());
+    }
+
+    private CheckoutDTO basket(String key, String unitPrice) {
+        BigDecimal price = new BigDecimal(unitPrice);
+        BigDecimal total = price.multiply(BigDecimal.valueOf(2));
+
+        CreateSalesItemDTO item = new CreateSalesItemDTO();
+        item.setProductId(1);
+        item.setQuantity(2);
+        item.setPricePerUnit(price);
+        item.setItemDiscountVal(BigDecimal.ZERO);
+        item.setItemDiscountPer(0);
+        item.setTotalPrice(total);
+
+        PaymentDTO payment = new PaymentDTO();
+        payment.setCashAmount(total);
+
+        CheckoutDTO basket = new CheckoutDTO();
+        basket.setIdempotencyKey(key);
+        basket.setTotalAmount(total);
+        basket.setTotalItemCount(2);
+        basket.setItems(List.of(item));
+        basket.setPayment(payment);
+        return basket;
+    }
+}
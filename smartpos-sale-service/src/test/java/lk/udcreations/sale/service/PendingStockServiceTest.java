@@ -0,0 +1,113 @@
+package lk.udcreations.sale.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import lk.udcreations.sale.controller.ProductClientController;
+import lk.udcreations.sale.entity.PendingStockChange;
+import lk.udcreations.sale.entity.PendingStockChange.Type;
+import lk.udcreations.sale.exception.ServiceUnavailableException;
+import lk.udcreations.sale.repository.PendingStockChangeRepository;
+
+class PendingStockServiceTest {
+
+    @Mock
+    private PendingStockChangeRepository pendingStockChangeRepository;
+
+    @Mock
+    private ProductClientController productClientController;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PendingStockService pendingStockService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        pendingStockService = new PendingStockService(pendingStockChangeRepository, productClientController,
+                transactionManager, Duration.ofSeconds(30), Duration.ofMinutes(30));
+
+        when(pendingStockChangeRepository.save(any(PendingStockChange.class))).thenAnswer(invocation -> {
+            PendingStockChange change = invocation.getArgument(0);
+            change.setChangeId(1);
+            return change;
+        });
+    }
+
+    @Test
+    void testRecord_AppliedChangeIsDeleted() {
+        // Act
+        pendingStockService.record(Type.FINALIZE, 5, null, Map.of());
+
+        // Assert
+        verify(productClientController, times(1)).commitReservations(5);
+        verify(pendingStockChangeRepository, times(1)).deleteById(1);
+        verify(pendingStockChangeRepository, never()).recordFailure(anyInt(), any(), any());
+    }
+
+    @Test
+    void testRecord_FailedChangeStaysPendingForARetry() {
+        // Arrange
+        when(productClientController.commitReservations(5)).thenThrow(
+                new ServiceUnavailableException("Service is temporarily unavailable: product-service", null));
+
+        // Act
+        PendingStockChange change = pendingStockService.record(Type.FINALIZE, 5, null, Map.of());
+
+        // Assert
+        assertTrue(change.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(29)));
+        verify(pendingStockChangeRepository, times(1)).recordFailure(eq(1),
+                eq("Service is temporarily unavailable: product-service"),
+                argThat(next -> next.isAfter(LocalDateTime.now().plusSeconds(29))));
+        verify(pendingStockChangeRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void testRecord_ReturnIsSentWithItsKey() {
+        // Act
+        pendingStockService.record(Type.RETURN, null, "return-batch-1", Map.of(3, 2));
+
+        // Assert
+        verify(productClientController, times(1)).addStocks("return-batch-1", Map.of(3, 2));
+        verify(pendingStockChangeRepository, times(1)).deleteById(1);
+    }
+
+    @Test
+    void testApply_RetryDelayDoublesUpToTheMaximum() {
+        // Arrange
+        PendingStockChange change = new PendingStockChange();
+        change.setChangeId(2);
+        change.setType(Type.FINALIZE);
+        change.setSaleId(5);
+        change.setAttempts(20);
+        when(productClientController.commitReservations(5)).thenThrow(new RuntimeException("timeout"));
+
+        // Act
+        assertFalse(pendingStockService.apply(change));
+
+        // Assert
+        verify(pendingStockChangeRepository, times(1)).recordFailure(eq(2), eq("timeout"),
+                argThat(next -> next.isAfter(LocalDateTime.now().plusMinutes(29))
+                        && next.isBefore(LocalDateTime.now().plusMinutes(31))));
+    }
+}
@@ -5,6 +5,12 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -14,7 +20,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,12 +28,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.modelmapper.ModelMapper;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
 
-import lk.udcreations.common.dto.inventory.StockDTO;
 import lk.udcreations.common.dto.returns.CreateReturnDTO;
 import lk.udcreations.common.dto.returns.ReturnDTO;
 import lk.udcreations.common.dto.salesitems.SalesItemDTO;
-import lk.udcreations.sale.controller.ProductClientController;
+import lk.udcreations.sale.entity.PendingStockChange.Type;
 import lk.udcreations.sale.entity.Returns;
 import lk.udcreations.sale.entity.Sales;
 import lk.udcreations.sale.entity.SalesItems;
@@ -48,11 +57,14 @@ class ReturnsServiceTest {
     private SalesItemsRepository salesItemsRepository;
 
     @Mock
-    private ProductClientController productClientController;
+    private PendingStockService pendingStockService;
 
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     @InjectMocks
     private ReturnsService returnsService;
 
@@ -92,9 +104,18 @@ class ReturnsServiceTest {
         mockReturn.setReturnDate(LocalDateTime.now());
 
         // Mock repository methods
-        when(salesRepository.findById(1)).thenReturn(Optional.of(mockSale));
-        when(salesItemsRepository.findById(1)).thenReturn(Optional.of(mockSalesItem));
+        when(salesRepository.findAllById(List.of(1))).thenReturn(Arrays.asList(mockSale));
+        when(salesItemsRepository.findBySaleIdIn(List.of(1))).thenReturn(Arrays.asList(mockSalesItem));
         when(salesItemsRepository.findBySaleId(1)).thenReturn(Arrays.asList(mockSalesItem));
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenAnswer(invocation -> {
+                    BatchPreparedStatementSetter setter = invocation.getArgument(1);
+                    KeyHolder keyHolder = invocation.getArgument(2);
+                    for (int i = 0; i < setter.getBatchSize(); i++) {
+                        keyHolder.getKeyList().add(Map.of("return_id", i + 1));
+                    }
+                    return new int[setter.getBatchSize()];
+                });
         when(returnsRepository.findBySaleId(1)).thenReturn(Arrays.asList(mockReturn));
 
         // Mock modelMapper
@@ -140,10 +161,6 @@ class ReturnsServiceTest {
         List<CreateReturnDTO> createReturnDTOList = new ArrayList<>();
         createReturnDTOList.add(createReturnDTO);
 
-        when(returnsRepository.save(any(Returns.class))).thenReturn(mockReturn);
-        when(salesRepository.save(any(Sales.class))).thenReturn(mockSale);
-        when(salesItemsRepository.save(any(SalesItems.class))).thenReturn(mockSalesItem);
-
         // Act
         List<ReturnDTO> result = returnsService.processReturn(createReturnDTOList);
 
@@ -157,10 +174,63 @@ class ReturnsServiceTest {
         assertEquals(1, result.get(0).getQuantity());
         assertEquals("Defective product", result.get(0).getReason());
         assertEquals(new BigDecimal("50.00"), result.get(0).getRefundAmount());
-        verify(productClientController, times(1)).addStock(any(Integer.class), any(StockDTO.class));
-        verify(salesRepository, times(1)).save(any(Sales.class));
-        verify(salesItemsRepository, times(1)).save(any(SalesItems.class));
-        verify(returnsRepository, times(1)).save(any(Returns.class));
+        assertEquals(new BigDecimal("50.00"), mockSale.getTotalAmount());
+        assertEquals(1, mockSalesItem.getQuantity());
+        assertEquals(1, mockSalesItem.getReturnedQuantity());
+        verify(pendingStockService, times(1)).record(eq(Type.RETURN), eq(1), anyString(), eq(Map.of(1, 1)));
+        verify(salesRepository, times(1)).saveAll(anyCollection());
+        verify(salesItemsRepository, times(1)).saveAll(anyList());
+        verify(returnsRepository, never()).save(any(Returns.class));
+    }
+
+    @Test
+    void testProcessReturn_LinesOfOneSaleAreBatched() {
+        // Arrange
+        SalesItems secondItem = new SalesItems();
+        secondItem.setSalesItemId(2);
+        secondItem.setSaleId(1);
+        secondItem.setProductId(1);
+        secondItem.setQuantity(3);
+        secondItem.setPricePerUnit(new BigDecimal("10.00"));
+        mockSale.setTotalAmount(new BigDecimal("130.00"));
+        mockSale.setTotalItemCount(5);
+        when(salesItemsRepository.findBySaleIdIn(List.of(1))).thenReturn(Arrays.asList(mockSalesItem, secondItem));
+
+        List<CreateReturnDTO> createReturnDTOList = new ArrayList<>();
+        createReturnDTOList.add(returnLine(1, 1));
+        createReturnDTOList.add(returnLine(2, 2));
+        createReturnDTOList.add(returnLine(1, 1));
+
+        // Act
+        List<ReturnDTO> result = returnsService.processReturn(createReturnDTOList);
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals(3, result.get(2).getReturnId());
+        assertEquals(2, result.get(0).getSalesItems().size());
+        assertEquals(new BigDecimal("10.00"), mockSale.getTotalAmount());
+        assertEquals(1, mockSale.getTotalItemCount());
+        assertEquals(0, mockSalesItem.getQuantity());
+        assertEquals(2, mockSalesItem.getReturnedQuantity());
+        verify(pendingStockService, times(1)).record(eq(Type.RETURN), eq(1), anyString(), eq(Map.of(1, 4)));
+        verify(jdbcTemplate, times(1)).batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+        verify(salesItemsRepository, never()).findBySaleId(any());
+    }
+
+    @Test
+    void testProcessReturn_LinesForOneItemAreCheckedTogether() {
+        // Arrange
+        List<CreateReturnDTO> createReturnDTOList = new ArrayList<>();
+        createReturnDTOList.add(returnLine(1, 2));
+        createReturnDTOList.add(returnLine(1, 1));
+
+        // Act & Assert
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> returnsService.processReturn(createReturnDTOList));
+        assertTrue(exception.getMessage().contains("Insufficient quantity for return"));
+        verify(pendingStockService, never()).record(any(), any(), any(), anyMap());
+        assertEquals(2, mockSalesItem.getQuantity());
     }
 
     @Test
@@ -175,8 +245,6 @@ class ReturnsServiceTest {
         List<CreateReturnDTO> createReturnDTOList = new ArrayList<>();
         createReturnDTOList.add(createReturnDTO);
 
-        when(salesRepository.findById(999)).thenReturn(Optional.empty());
-
         // Act & Assert
         Exception exception = assertThrows(NotFoundException.class, 
                 () -> returnsService.processReturn(createReturnDTOList));
@@ -195,8 +263,6 @@ class ReturnsServiceTest {
         List<CreateReturnDTO> createReturnDTOList = new ArrayList<>();
         createReturnDTOList.add(createReturnDTO);
 
-        when(salesItemsRepository.findById(999)).thenReturn(Optional.empty());
-
         // Act & Assert
         Exception exception = assertThrows(NotFoundException.class, 
                 () -> returnsService.processReturn(createReturnDTOList));
@@ -236,4 +302,13 @@ class ReturnsServiceTest {
         assertEquals(1, result.get(0).getSaleId());
         verify(returnsRepository, times(1)).findBySaleId(1);
     }
+
+    private CreateReturnDTO returnLine(Integer salesItemId, int quantity) {
+        CreateReturnDTO createReturnDTO = new CreateReturnDTO();
+        createReturnDTO.setSaleId(1);
+        createReturnDTO.setSalesItemId(salesItemId);
+        createReturnDTO.setQuantity(quantity);
+        createReturnDTO.setReason("Defective product");
+        return createReturnDTO;
+    }
 }
@@ -0,0 +1,144 @@
+package lk.udcreations.sale.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import lk.udcreations.common.dto.customer.CustomerDTO;
+import lk.udcreations.common.dto.sale.SaleDTO;
+import lk.udcreations.sale.entity.Sales;
+import lk.udcreations.sale.repository.SalesRepository;
+import lk.udcreations.sale.service.SalesExportService.ExportFormat;
+
+class SalesExportServiceTest {
+
+    @Mock
+    private SalesRepository salesRepository;
+
+    @Mock
+    private SalesService salesService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private SalesExportService salesExportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        salesExportService = new SalesExportService(salesRepository, salesService, entityManager, objectMapper);
+
+        // Hydrate each chunk by copying the sale ID into a DTO
+        when(salesService.convertToDTOList(anyList())).thenAnswer(invocation -> {
+            List<Sales> sales = invocation.getArgument(0);
+            return sales.stream().map(sale -> {
+                SaleDTO dto = new SaleDTO();
+                dto.setSaleId(sale.getSaleId());
+                dto.setTotalAmount(new BigDecimal("100.00"));
+                dto.setTotalItemCount(2);
+                dto.setPaymentStatus("FINALIZED");
+                dto.setSaleDateTime(LocalDateTime.of(2025, 1, 1, 10, 0));
+                CustomerDTO customer = new CustomerDTO();
+                customer.setCustomerId(1);
+                dto.setCustomer(customer);
+                return dto;
+            }).collect(Collectors.toList());
+        });
+    }
+
+    private List<Sales> sales(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(id -> {
+            Sales sale = new Sales();
+            sale.setSaleId(id);
+            return sale;
+        }).collect(Collectors.toList());
+    }
+
+    @Test
+    void testExportSalesHistory_NdjsonInChunks() throws Exception {
+        // Arrange
+        int total = SalesExportService.CHUNK_SIZE * 2 + 5;
+        when(salesRepository.streamByPaymentStatusNotAndSaleDateTimeBetween(eq("DRAFT"), isNull(), isNull()))
+                .thenReturn(sales(total).stream());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        int exported = salesExportService.exportSalesHistory(out, ExportFormat.NDJSON, null, null);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(total, exported);
+        assertEquals(total, lines.length);
+        assertTrue(lines[0].contains("\"saleId\":1"));
+        verify(salesService, times(3)).convertToDTOList(anyList());
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void testExportSalesHistory_CsvWithDateRange() throws Exception {
+        // Arrange
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 1, 31);
+        when(salesRepository.streamByPaymentStatusNotAndSaleDateTimeBetween("DRAFT", from.atStartOfDay(),
+                LocalDate.of(2025, 2, 1).atStartOfDay())).thenReturn(sales(2).stream());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        int exported = salesExportService.exportSalesHistory(out, ExportFormat.CSV, from, to);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("saleId,saleDateTime,customerId"));
+        assertTrue(lines[1].startsWith("1,2025-01-01T10:00,1,,2,100.00,FINALIZED"));
+    }
+
+    @Test
+    void testExportSalesHistory_NoSales() throws Exception {
+        // Arrange
+        when(salesRepository.streamByPaymentStatusNotAndSaleDateTimeBetween(any(), any(), any()))
+                .thenReturn(sales(0).stream());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        int exported = salesExportService.exportSalesHistory(out, ExportFormat.NDJSON, null, null);
+
+        // Assert
+        assertEquals(0, exported);
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void testExportFormat_Unsupported() {
+        assertEquals(ExportFormat.CSV, ExportFormat.from("csv"));
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.from("xml"));
+    }
+}
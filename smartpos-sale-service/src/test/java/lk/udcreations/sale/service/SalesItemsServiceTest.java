@@ -5,6 +5,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -13,20 +15,25 @@ import static org.mockito.Mockito.when;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.modelmapper.ModelMapper;
+import org.mockito.Spy;
 
 import lk.udcreations.common.dto.product.ProductDTO;
 import lk.udcreations.common.dto.salesitems.CreateSalesItemDTO;
 import lk.udcreations.common.dto.salesitems.SalesItemDTO;
+import lk.udcreations.sale.cache.ProductSnapshot;
+import lk.udcreations.sale.cache.ProductSnapshotCache;
 import lk.udcreations.sale.constants.ErrorMessages;
 import lk.udcreations.sale.controller.ProductClientController;
+import lk.udcreations.sale.dto.SellabilityDTO;
 import lk.udcreations.sale.entity.Sales;
 import lk.udcreations.sale.entity.SalesItems;
 import lk.udcreations.sale.exception.DiscountMismatchException;
@@ -35,6 +42,7 @@ import lk.udcreations.sale.exception.NotFoundException;
 import lk.udcreations.sale.exception.ProductNotActiveException;
 import lk.udcreations.sale.exception.TotalMismatchException;
 import lk.udcreations.sale.exception.UnitPriceMismatchException;
+import lk.udcreations.sale.mapper.SaleMapper;
 import lk.udcreations.sale.repository.SalesItemsRepository;
 import lk.udcreations.sale.repository.SalesRepository;
 import lk.udcreations.sale.util.relationcheck.InventoryCheck;
@@ -48,12 +56,15 @@ class SalesItemsServiceTest {
     @Mock
     private SalesRepository salesRepository;
 
-    @Mock
-    private ModelMapper modelMapper;
+    @Spy
+    private SaleMapper saleMapper = Mappers.getMapper(SaleMapper.class);
 
     @Mock
     private ProductClientController productClientController;
 
+    @Mock
+    private ProductSnapshotCache productSnapshotCache;
+
     @Mock
     private ProductCheck productCheck;
 
@@ -110,32 +121,9 @@ class SalesItemsServiceTest {
 
         // Mock repository methods
         when(salesRepository.findById(1)).thenReturn(Optional.of(mockSale));
-        when(productClientController.getProductById(1)).thenReturn(mockProduct);
-
-        // Mock modelMapper
-        when(modelMapper.map(any(), any())).thenAnswer(invocation -> {
-            Object source = invocation.getArgument(0);
-            Class<?> targetClass = invocation.getArgument(1);
-
-            if (source instanceof SalesItems && targetClass == SalesItemDTO.class) {
-                SalesItems item = (SalesItems) source;
-                SalesItemDTO dto = new SalesItemDTO();
-                dto.setSalesItemId(item.getSalesItemId());
-                dto.setSaleId(item.getSaleId());
-                dto.setQuantity(item.getQuantity());
-                dto.setItemDiscountVal(item.getItemDiscountVal());
-                dto.setItemDiscountPer(item.getItemDiscountPer());
-                dto.setTotalPrice(item.getTotalPrice());
-
-                ProductDTO product = new ProductDTO();
-                product.setId(item.getProductId());
-                product.setPrice(item.getPricePerUnit());
-                dto.setProduct(product);
-                return dto;
-            }
-
-            return null;
-        });
+        when(productSnapshotCache.get(1)).thenReturn(ProductSnapshot.of(mockProduct));
+        when(productClientController.getSellability(eq(1), any()))
+                .thenReturn(new SellabilityDTO(1, "PROD001", true, false, new BigDecimal("50.00"), null, 10));
     }
 
     @Test
@@ -152,7 +140,7 @@ class SalesItemsServiceTest {
 
         when(productCheck.isProductEnabled(any())).thenReturn(true);
         when(productCheck.isProductDeleted(any())).thenReturn(false);
-        when(inventoryCheck.checkStockAvailability(any(), any())).thenReturn(true);
+        when(inventoryCheck.checkStockAvailability(any())).thenReturn(true);
         when(productCheck.isUnitPriceMatch(any(), any())).thenReturn(true);
         when(productCheck.isDiscountMatch(any(), any())).thenReturn(true);
         when(productCheck.isTotalMatch(any(), any())).thenReturn(true);
@@ -171,6 +159,11 @@ class SalesItemsServiceTest {
         assertEquals(new BigDecimal("50.00"), result.getProduct().getPrice());
         assertEquals(new BigDecimal("100.00"), result.getTotalPrice());
         verify(salesItemsRepository, times(1)).save(any(SalesItems.class));
+        verify(productClientController, times(1)).getSellability(1, 2);
+        verify(productClientController, times(1)).reserveStock(1, 1, 2);
+        verify(productClientController, never()).checkProductEnabledById(any());
+        verify(productClientController, never()).checkStockAvailability(any(), any());
+        verify(productClientController, never()).getProductById(any());
     }
 
     @Test
@@ -197,7 +190,7 @@ class SalesItemsServiceTest {
 
         when(productCheck.isProductEnabled(any())).thenReturn(true);
         when(productCheck.isProductDeleted(any())).thenReturn(false);
-        when(inventoryCheck.checkStockAvailability(any(), any())).thenReturn(true);
+        when(inventoryCheck.checkStockAvailability(any())).thenReturn(true);
         when(productCheck.isUnitPriceMatch(any(), any())).thenReturn(true);
         when(productCheck.isDiscountMatch(any(), any())).thenReturn(true);
         when(productCheck.isTotalMatch(any(), any())).thenReturn(true);
@@ -215,6 +208,52 @@ class SalesItemsServiceTest {
         verify(salesItemsRepository, times(1)).save(any(SalesItems.class));
     }
 
+    @Test
+    void testCreateSalesItem_ReservationFails() {
+        // Arrange
+        CreateSalesItemDTO createSalesItemDTO = new CreateSalesItemDTO();
+        createSalesItemDTO.setSaleId(1);
+        createSalesItemDTO.setProductId(1);
+        createSalesItemDTO.setQuantity(2);
+
+        when(productCheck.isProductEnabled(any())).thenReturn(true);
+        when(productCheck.isProductDeleted(any())).thenReturn(false);
+        when(inventoryCheck.checkStockAvailability(any())).thenReturn(true);
+        when(productCheck.isUnitPriceMatch(any(), any())).thenReturn(true);
+        when(productCheck.isDiscountMatch(any(), any())).thenReturn(true);
+        when(productCheck.isTotalMatch(any(), any())).thenReturn(true);
+        when(salesItemsRepository.findByProductIdAndSaleId(1, 1)).thenReturn(Optional.empty());
+        when(productClientController.reserveStock(1, 1, 2))
+                .thenThrow(new InsufficientStockException(ErrorMessages.INVENTORY_NOT_ENOUGHT_STOCK));
+
+        // Act & Assert
+        assertThrows(InsufficientStockException.class, () -> salesItemsService.createSalesItem(createSalesItemDTO));
+        verify(salesItemsRepository, never()).save(any(SalesItems.class));
+    }
+
+    @Test
+    void testCreateSalesItem_SaveFailsReleasesTheHold() {
+        // Arrange
+        CreateSalesItemDTO createSalesItemDTO = new CreateSalesItemDTO();
+        createSalesItemDTO.setSaleId(1);
+        createSalesItemDTO.setProductId(1);
+        createSalesItemDTO.setQuantity(2);
+
+        when(productCheck.isProductEnabled(any())).thenReturn(true);
+        when(productCheck.isProductDeleted(any())).thenReturn(false);
+        when(inventoryCheck.checkStockAvailability(any())).thenReturn(true);
+        when(productCheck.isUnitPriceMatch(any(), any())).thenReturn(true);
+        when(productCheck.isDiscountMatch(any(), any())).thenReturn(true);
+        when(productCheck.isTotalMatch(any(), any())).thenReturn(true);
+        when(salesItemsRepository.findByProductIdAndSaleId(1, 1)).thenReturn(Optional.empty());
+        when(salesItemsRepository.save(any(SalesItems.class))).thenThrow(new RuntimeException("constraint"));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> salesItemsService.createSalesItem(createSalesItemDTO));
+        verify(productClientController, times(1)).reserveStock(1, 1, 2);
+        verify(productClientController, times(1)).releaseReservedQuantity(1, 1, 2);
+    }
+
     @Test
     void testCreateSalesItem_ProductNotEnabled() {
         // Arrange
@@ -260,7 +299,7 @@ class SalesItemsServiceTest {
 
         when(productCheck.isProductEnabled(any())).thenReturn(true);
         when(productCheck.isProductDeleted(any())).thenReturn(false);
-        when(inventoryCheck.checkStockAvailability(any(), any())).thenReturn(false);
+        when(inventoryCheck.checkStockAvailability(any())).thenReturn(false);
 
         // Act & Assert
         Exception exception = assertThrows(InsufficientStockException.class, 
@@ -279,7 +318,7 @@ class SalesItemsServiceTest {
 
         when(productCheck.isProductEnabled(any())).thenReturn(true);
         when(productCheck.isProductDeleted(any())).thenReturn(false);
-        when(inventoryCheck.checkStockAvailability(any(), any())).thenReturn(true);
+        when(inventoryCheck.checkStockAvailability(any())).thenReturn(true);
         when(productCheck.isUnitPriceMatch(any(), any())).thenReturn(false);
 
         // Act & Assert
@@ -299,7 +338,7 @@ class SalesItemsServiceTest {
 
         when(productCheck.isProductEnabled(any())).thenReturn(true);
         when(productCheck.isProductDeleted(any())).thenReturn(false);
-        when(inventoryCheck.checkStockAvailability(any(), any())).thenReturn(true);
+        when(inventoryCheck.checkStockAvailability(any())).thenReturn(true);
         when(productCheck.isUnitPriceMatch(any(), any())).thenReturn(true);
         when(productCheck.isDiscountMatch(any(), any())).thenReturn(false);
 
@@ -320,7 +359,7 @@ class SalesItemsServiceTest {
 
         when(productCheck.isProductEnabled(any())).thenReturn(true);
         when(productCheck.isProductDeleted(any())).thenReturn(false);
-        when(inventoryCheck.checkStockAvailability(any(), any())).thenReturn(true);
+        when(inventoryCheck.checkStockAvailability(any())).thenReturn(true);
         when(productCheck.isUnitPriceMatch(any(), any())).thenReturn(true);
         when(productCheck.isDiscountMatch(any(), any())).thenReturn(true);
         when(productCheck.isTotalMatch(any(), any())).thenReturn(false);
@@ -355,6 +394,27 @@ class SalesItemsServiceTest {
         assertEquals(new BigDecimal("150.00"), salesItem1.getTotalPrice());
         verify(salesItemsRepository, times(1)).findById(1);
         verify(salesItemsRepository, times(1)).save(salesItem1);
+        verify(productClientController, times(1)).reserveStock(1, 1, 1);
+        verify(productClientController, never()).releaseReservedQuantity(any(), any(), anyInt());
+    }
+
+    @Test
+    void testUpdateSalesItem_LowerQuantityReleasesTheDifference() {
+        // Arrange
+        CreateSalesItemDTO updateSalesItemDTO = new CreateSalesItemDTO();
+        updateSalesItemDTO.setQuantity(1);
+        updateSalesItemDTO.setPricePerUnit(new BigDecimal("50.00"));
+        updateSalesItemDTO.setTotalPrice(new BigDecimal("50.00"));
+
+        when(salesItemsRepository.findById(1)).thenReturn(Optional.of(salesItem1));
+        when(salesItemsRepository.save(any(SalesItems.class))).thenReturn(salesItem1);
+
+        // Act
+        salesItemsService.updateSalesItem(1, updateSalesItemDTO);
+
+        // Assert
+        verify(productClientController, times(1)).releaseReservedQuantity(1, 1, 1);
+        verify(productClientController, never()).reserveStock(any(), any(), anyInt());
     }
 
     @Test
@@ -377,6 +437,7 @@ class SalesItemsServiceTest {
     void testGetAllSaleItemsBySaleId() {
         // Arrange
         when(salesItemsRepository.findBySaleId(1)).thenReturn(Arrays.asList(salesItem1, salesItem2));
+        when(productClientController.getProductsByIds(any())).thenReturn(Map.of(1, mockProduct));
 
         // Act
         List<SalesItemDTO> result = salesItemsService.getAllSaleItemsBySaleId(1);
@@ -384,6 +445,8 @@ class SalesItemsServiceTest {
         // Assert
         assertEquals(2, result.size());
         verify(salesItemsRepository, times(1)).findBySaleId(1);
+        verify(productClientController, times(1)).getProductsByIds(any());
+        verify(productClientController, never()).getProductById(any());
     }
 
     @Test
@@ -397,6 +460,7 @@ class SalesItemsServiceTest {
         // Assert
         verify(salesItemsRepository, times(1)).findById(1);
         verify(salesItemsRepository, times(1)).delete(salesItem1);
+        verify(productClientController, times(1)).releaseReservations(1, 1);
     }
 
     @Test
@@ -1,7 +1,9 @@
 package lk.udcreations.sale.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -14,14 +16,18 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.modelmapper.ModelMapper;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import lk.udcreations.common.dto.customer.CustomerDTO;
 import lk.udcreations.common.dto.payment.PaymentDTO;
@@ -29,21 +35,27 @@ import lk.udcreations.common.dto.sale.CreateSaleDTO;
 import lk.udcreations.common.dto.sale.FinalizeSaleDTO;
 import lk.udcreations.common.dto.sale.SaleDTO;
 import lk.udcreations.common.dto.sale.UpdateSaleDTO;
-import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
 import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.sale.cache.UserReferenceCache;
 import lk.udcreations.sale.constants.ErrorMessages;
 import lk.udcreations.sale.controller.CustomerClientController;
+import lk.udcreations.sale.controller.ProductClientController;
+import lk.udcreations.sale.dto.KeysetPageDTO;
 import lk.udcreations.sale.entity.Payment;
+import lk.udcreations.sale.entity.PendingStockChange.Type;
 import lk.udcreations.sale.entity.Sales;
 import lk.udcreations.sale.entity.SalesItems;
 import lk.udcreations.sale.exception.NotFoundException;
 import lk.udcreations.sale.exception.PaymentAmountException;
 import lk.udcreations.sale.exception.TotalAmountException;
 import lk.udcreations.sale.exception.TotalQuantityException;
+import lk.udcreations.sale.mapper.SaleMapper;
 import lk.udcreations.sale.repository.PaymentRepository;
 import lk.udcreations.sale.repository.SalesItemsRepository;
 import lk.udcreations.sale.repository.SalesRepository;
 import lk.udcreations.sale.security.AuthUtils;
+import lk.udcreations.sale.util.concurrent.ParallelHydrator;
+import lk.udcreations.sale.util.pagination.KeysetCursor;
 import lk.udcreations.sale.util.relationcheck.SalesCheck;
 
 class SalesServiceTest {
@@ -60,14 +72,26 @@ class SalesServiceTest {
     @Mock
     private AuthUtils authUtils;
 
+    @Mock
+    private UserReferenceCache userReferenceCache;
+
     @Mock
     private CustomerClientController customerClientController;
 
+    @Mock
+    private ProductClientController productClientController;
+
     @Mock
     private SalesCheck salesCheck;
 
+    @Spy
+    private SaleMapper saleMapper = Mappers.getMapper(SaleMapper.class);
+
+    @Spy
+    private ParallelHydrator parallelHydrator = new ParallelHydrator(true);
+
     @Mock
-    private ModelMapper modelMapper;
+    private PendingStockService pendingStockService;
 
     @InjectMocks
     private SalesService salesService;
@@ -129,42 +153,12 @@ class SalesServiceTest {
 
         // Mock authUtils methods
         when(authUtils.getLoggedInUser()).thenReturn(mockUser);
-        when(authUtils.getUserById(any(Integer.class))).thenReturn(mockUser);
+        when(userReferenceCache.get(any(Integer.class))).thenReturn(saleMapper.toCreatedUpdatedUserDTO(mockUser));
 
         // Mock repository methods
         when(customerClientController.getCustomerById(1)).thenReturn(mockCustomer);
         when(paymentRepository.findBySaleId(1)).thenReturn(Optional.of(mockPayment));
         when(salesItemsRepository.findBySaleId(1)).thenReturn(Arrays.asList(mockSalesItem));
-
-        // Mock modelMapper
-        when(modelMapper.map(any(), any())).thenAnswer(invocation -> {
-            Object source = invocation.getArgument(0);
-            Class<?> targetClass = invocation.getArgument(1);
-
-            if (source instanceof Sales && targetClass == SaleDTO.class) {
-                Sales sale = (Sales) source;
-                SaleDTO dto = new SaleDTO();
-                dto.setSaleId(sale.getSaleId());
-                dto.setTotalAmount(sale.getTotalAmount());
-                dto.setTotalItemCount(sale.getTotalItemCount());
-                dto.setPaymentStatus(sale.getPaymentStatus());
-                dto.setSaleDateTime(sale.getSaleDateTime());
-                return dto;
-            } else if (source instanceof Payment && targetClass == PaymentDTO.class) {
-                Payment payment = (Payment) source;
-                PaymentDTO dto = new PaymentDTO();
-                dto.setPaymentId(payment.getPaymentId());
-                dto.setCashAmount(payment.getCashAmount());
-                return dto;
-            } else if (source instanceof UsersDTO && targetClass == CreatedUpdatedUserDTO.class) {
-                UsersDTO user = (UsersDTO) source;
-                CreatedUpdatedUserDTO dto = new CreatedUpdatedUserDTO();
-                dto.setUserId(user.getUserId());
-                return dto;
-            }
-
-            return null;
-        });
     }
 
     @Test
@@ -228,14 +222,77 @@ class SalesServiceTest {
     @Test
     void testGetAllSales() {
         // Arrange
-        when(salesRepository.findAll()).thenReturn(Arrays.asList(sale1, sale2));
+        when(salesRepository.findBySaleIdGreaterThanOrderBySaleIdAsc(0, Limit.of(KeysetCursor.DEFAULT_LIMIT + 1)))
+                .thenReturn(Arrays.asList(sale1, sale2));
+
+        // Act
+        KeysetPageDTO<SaleDTO> result = salesService.getAllSales(null, null);
+
+        // Assert
+        assertEquals(2, result.getContent().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(salesRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetAllSales_NextPage() {
+        // Arrange
+        when(salesRepository.findBySaleIdGreaterThanOrderBySaleIdAsc(0, Limit.of(2)))
+                .thenReturn(Arrays.asList(sale1, sale2));
+        when(salesRepository.findBySaleIdGreaterThanOrderBySaleIdAsc(1, Limit.of(2)))
+                .thenReturn(Arrays.asList(sale2));
 
         // Act
-        List<SaleDTO> result = salesService.getAllSales();
+        KeysetPageDTO<SaleDTO> firstPage = salesService.getAllSales(null, 1);
+        KeysetPageDTO<SaleDTO> secondPage = salesService.getAllSales(firstPage.getNextCursor(), 1);
+
+        // Assert
+        assertEquals(1, firstPage.getContent().size());
+        assertEquals(1, firstPage.getContent().get(0).getSaleId());
+        assertTrue(firstPage.isHasNext());
+        assertEquals(1, secondPage.getContent().size());
+        assertEquals(2, secondPage.getContent().get(0).getSaleId());
+        assertFalse(secondPage.isHasNext());
+    }
+
+    @Test
+    void testGetAllSales_InvalidCursor() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> salesService.getAllSales("not-a-cursor", null));
+        assertThrows(IllegalArgumentException.class, () -> salesService.getAllSales(null, 0));
+        verify(salesRepository, never()).findBySaleIdGreaterThanOrderBySaleIdAsc(any(), any());
+    }
+
+    @Test
+    void testGetAllSales_HydratesInBatch() {
+        // Arrange
+        when(salesRepository.findBySaleIdGreaterThanOrderBySaleIdAsc(any(), any()))
+                .thenReturn(Arrays.asList(sale1, sale2));
+        when(paymentRepository.findBySaleIdIn(any())).thenReturn(Arrays.asList(mockPayment));
+        when(salesItemsRepository.findBySaleIdIn(any())).thenReturn(Arrays.asList(mockSalesItem));
+        when(userReferenceCache.getAll(any()))
+                .thenReturn(Map.of(adminUserId, saleMapper.toCreatedUpdatedUserDTO(mockUser)));
+        when(customerClientController.getCustomersByIds(any())).thenReturn(Map.of(1, mockCustomer));
+
+        // Act
+        List<SaleDTO> result = salesService.getAllSales(null, null).getContent();
 
         // Assert
         assertEquals(2, result.size());
-        verify(salesRepository, times(1)).findAll();
+        assertEquals(1, result.get(0).getPayment().getPaymentId());
+        assertEquals(1, result.get(0).getSalesItems().size());
+        assertTrue(result.get(1).getSalesItems().isEmpty());
+        assertEquals(adminUserId, result.get(1).getCreatedUser().getUserId());
+        assertEquals(1, result.get(1).getCustomer().getCustomerId());
+        verify(userReferenceCache, times(1)).getAll(Arrays.asList(adminUserId, adminUserId));
+        verify(customerClientController, times(1)).getCustomersByIds(Arrays.asList(1, 1));
+        verify(userReferenceCache, never()).get(any());
+        verify(customerClientController, never()).getCustomerById(any());
+        verify(paymentRepository, times(1)).findBySaleIdIn(Arrays.asList(1, 2));
+        verify(salesItemsRepository, times(1)).findBySaleIdIn(Arrays.asList(1, 2));
+        verify(paymentRepository, never()).findBySaleId(any());
+        verify(salesItemsRepository, never()).findBySaleId(any());
     }
 
     @Test
@@ -329,7 +386,7 @@ class SalesServiceTest {
         paymentDTO.setCashAmount(new BigDecimal("100.00"));
         finalizeSaleDTO.setPayment(paymentDTO);
 
-        when(salesRepository.findById(1)).thenReturn(Optional.of(sale1));
+        when(salesRepository.findWithItemsAndPayment(1)).thenReturn(finalizeRows(null, mockSalesItem));
         when(salesCheck.verifiTotalAmount(any(BigDecimal.class), any(List.class))).thenReturn(true);
         when(salesCheck.verifiTotalQuantity(any(Integer.class), any(List.class))).thenReturn(true);
         when(salesCheck.verifyPayment(any(BigDecimal.class), any(PaymentDTO.class))).thenReturn(true);
@@ -341,9 +398,76 @@ class SalesServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("FINALIZED", sale1.getPaymentStatus());
-        verify(salesRepository, times(1)).findById(1);
+        verify(salesRepository, times(1)).findWithItemsAndPayment(1);
         verify(paymentRepository, times(1)).save(any(Payment.class));
+        verify(pendingStockService, times(1)).record(Type.FINALIZE, 1, null, Map.of());
+        verify(productClientController, never()).commitReservations(any());
         verify(salesRepository, times(1)).save(sale1);
+        verify(paymentRepository, never()).findBySaleId(any());
+        verify(salesItemsRepository, never()).findBySaleId(any());
+        assertEquals(1, result.getSalesItems().size());
+    }
+
+    @Test
+    void testFinalizeSale_UpdatesLoadedPayment() {
+        // Arrange
+        FinalizeSaleDTO finalizeSaleDTO = new FinalizeSaleDTO();
+        finalizeSaleDTO.setTotalAmount(new BigDecimal("100.00"));
+        finalizeSaleDTO.setTotalItemCount(2);
+
+        PaymentDTO paymentDTO = new PaymentDTO();
+        paymentDTO.setCashAmount(new BigDecimal("40.00"));
+        paymentDTO.setQrAmount(new BigDecimal("60.00"));
+        finalizeSaleDTO.setPayment(paymentDTO);
+
+        when(salesRepository.findWithItemsAndPayment(1)).thenReturn(finalizeRows(mockPayment, mockSalesItem));
+        when(salesCheck.verifiTotalAmount(any(), any())).thenReturn(true);
+        when(salesCheck.verifiTotalQuantity(any(), any())).thenReturn(true);
+        when(salesCheck.verifyPayment(any(), any())).thenReturn(true);
+        when(salesRepository.save(any(Sales.class))).thenReturn(sale1);
+
+        // Act
+        SaleDTO result = salesService.finalizeSale(1, finalizeSaleDTO);
+
+        // Assert
+        assertEquals(new BigDecimal("40.00"), mockPayment.getCashAmount());
+        assertEquals(new BigDecimal("60.00"), mockPayment.getQrAmount());
+        assertEquals(new BigDecimal("60.00"), result.getPayment().getQrAmount());
+        verify(paymentRepository, times(1)).save(mockPayment);
+        verify(paymentRepository, never()).findBySaleId(any());
+    }
+
+    @Test
+    void testFinalizeSale_SaleNotFound() {
+        // Arrange
+        when(salesRepository.findWithItemsAndPayment(999)).thenReturn(List.of());
+
+        // Act & Assert
+        Exception exception = assertThrows(NotFoundException.class,
+                () -> salesService.finalizeSale(999, new FinalizeSaleDTO()));
+        assertTrue(exception.getMessage().contains(ErrorMessages.SALE_NOT_FOUND));
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @Test
+    void testFinalizeSale_FailedWriteCommitsNoStock() {
+        // Arrange: a concurrent finalize already wrote the payment of the sale
+        FinalizeSaleDTO finalizeSaleDTO = new FinalizeSaleDTO();
+        finalizeSaleDTO.setTotalAmount(new BigDecimal("100.00"));
+        finalizeSaleDTO.setTotalItemCount(2);
+        finalizeSaleDTO.setPayment(new PaymentDTO());
+
+        when(salesRepository.findWithItemsAndPayment(1)).thenReturn(finalizeRows(null, mockSalesItem));
+        when(salesCheck.verifiTotalAmount(any(BigDecimal.class), any(List.class))).thenReturn(true);
+        when(salesCheck.verifiTotalQuantity(any(Integer.class), any(List.class))).thenReturn(true);
+        when(salesCheck.verifyPayment(any(BigDecimal.class), any(PaymentDTO.class))).thenReturn(true);
+        when(paymentRepository.save(any(Payment.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_payment_sale_id"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> salesService.finalizeSale(1, finalizeSaleDTO));
+        verify(productClientController, never()).commitReservations(any());
+        verify(pendingStockService, never()).record(any(), any(), any(), any());
     }
 
     @Test
@@ -353,14 +477,13 @@ class SalesServiceTest {
         finalizeSaleDTO.setTotalAmount(new BigDecimal("100.00"));
         finalizeSaleDTO.setTotalItemCount(2);
 
-        when(salesRepository.findById(1)).thenReturn(Optional.of(sale1));
-        when(salesItemsRepository.findBySaleId(1)).thenReturn(Arrays.asList());
+        when(salesRepository.findWithItemsAndPayment(1)).thenReturn(finalizeRows(null, (SalesItems) null));
 
         // Act & Assert
         Exception exception = assertThrows(NotFoundException.class, 
                 () -> salesService.finalizeSale(1, finalizeSaleDTO));
         assertTrue(exception.getMessage().contains("No sales items found"));
-        verify(salesRepository, times(1)).findById(1);
+        verify(salesRepository, times(1)).findWithItemsAndPayment(1);
         verify(salesRepository, never()).save(any(Sales.class));
     }
 
@@ -371,14 +494,14 @@ class SalesServiceTest {
         finalizeSaleDTO.setTotalAmount(new BigDecimal("150.00"));
         finalizeSaleDTO.setTotalItemCount(2);
 
-        when(salesRepository.findById(1)).thenReturn(Optional.of(sale1));
+        when(salesRepository.findWithItemsAndPayment(1)).thenReturn(finalizeRows(null, mockSalesItem));
         when(salesCheck.verifiTotalAmount(any(BigDecimal.class), any(List.class))).thenReturn(false);
 
         // Act & Assert
         Exception exception = assertThrows(TotalAmountException.class, 
                 () -> salesService.finalizeSale(1, finalizeSaleDTO));
         assertTrue(exception.getMessage().contains(ErrorMessages.TOTAL_AMOUNT_NOT_MATCH));
-        verify(salesRepository, times(1)).findById(1);
+        verify(salesRepository, times(1)).findWithItemsAndPayment(1);
         verify(salesRepository, never()).save(any(Sales.class));
     }
 
@@ -389,7 +512,7 @@ class SalesServiceTest {
         finalizeSaleDTO.setTotalAmount(new BigDecimal("100.00"));
         finalizeSaleDTO.setTotalItemCount(3);
 
-        when(salesRepository.findById(1)).thenReturn(Optional.of(sale1));
+        when(salesRepository.findWithItemsAndPayment(1)).thenReturn(finalizeRows(null, mockSalesItem));
         when(salesCheck.verifiTotalAmount(any(), any())).thenReturn(true);
         when(salesCheck.verifiTotalQuantity(any(), any())).thenReturn(false);
 
@@ -397,7 +520,7 @@ class SalesServiceTest {
         Exception exception = assertThrows(TotalQuantityException.class, 
                 () -> salesService.finalizeSale(1, finalizeSaleDTO));
         assertTrue(exception.getMessage().contains(ErrorMessages.ITEM_COUNT_NOT_MATCH));
-        verify(salesRepository, times(1)).findById(1);
+        verify(salesRepository, times(1)).findWithItemsAndPayment(1);
         verify(salesRepository, never()).save(any(Sales.class));
     }
 
@@ -412,7 +535,7 @@ class SalesServiceTest {
         paymentDTO.setCashAmount(new BigDecimal("50.00"));
         finalizeSaleDTO.setPayment(paymentDTO);
 
-        when(salesRepository.findById(1)).thenReturn(Optional.of(sale1));
+        when(salesRepository.findWithItemsAndPayment(1)).thenReturn(finalizeRows(null, mockSalesItem));
         when(salesCheck.verifiTotalAmount(any(), any())).thenReturn(true);
         when(salesCheck.verifiTotalQuantity(any(), any())).thenReturn(true);
         when(salesCheck.verifyPayment(any(), any())).thenReturn(false);
@@ -421,7 +544,7 @@ class SalesServiceTest {
         Exception exception = assertThrows(PaymentAmountException.class, 
                 () -> salesService.finalizeSale(1, finalizeSaleDTO));
         assertTrue(exception.getMessage().contains(ErrorMessages.PAYMENT_AMOUNT_NOT_MATCH));
-        verify(salesRepository, times(1)).findById(1);
+        verify(salesRepository, times(1)).findWithItemsAndPayment(1);
         verify(salesRepository, never()).save(any(Sales.class));
     }
 
@@ -436,6 +559,7 @@ class SalesServiceTest {
         // Assert
         verify(salesRepository, times(1)).findBySaleId(1);
         verify(salesRepository, times(1)).delete(sale1);
+        verify(productClientController, times(1)).releaseReservations(1, null);
     }
 
     @Test
@@ -449,4 +573,9 @@ class SalesServiceTest {
         verify(salesRepository, times(1)).findBySaleId(999);
         verify(salesRepository, never()).delete(any(Sales.class));
     }
+
+    /** Rows as returned by findWithItemsAndPayment for sale1: one per item, the payment repeated on each. */
+    private List<Object[]> finalizeRows(Payment payment, SalesItems... items) {
+        return Arrays.stream(items).map(item -> new Object[] { sale1, item, payment }).toList();
+    }
 }
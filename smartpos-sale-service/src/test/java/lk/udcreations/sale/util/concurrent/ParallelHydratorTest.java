@@ -0,0 +1,105 @@
+package lk.udcreations.sale.util.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import lk.udcreations.sale.exception.NotFoundException;
+
+class ParallelHydratorTest {
+
+    @Test
+    void testForksRunConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        try (ParallelHydrator.Scope scope = new ParallelHydrator(true).open()) {
+            Supplier<String> first = scope.fork(() -> {
+                bothStarted.countDown();
+                return bothStarted.await(5, TimeUnit.SECONDS) ? "first" : "timed out";
+            });
+            Supplier<String> second = scope.fork(() -> {
+                bothStarted.countDown();
+                return bothStarted.await(5, TimeUnit.SECONDS) ? "second" : "timed out";
+            });
+
+            scope.join();
+
+            assertEquals("first", first.get());
+            assertEquals("second", second.get());
+        }
+    }
+
+    @Test
+    void testFirstFailureIsRethrownAndCancelsOtherForks() {
+        NotFoundException failure = new NotFoundException("Customer not found");
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        try (ParallelHydrator.Scope scope = new ParallelHydrator(true).open()) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+                } catch (InterruptedException ex) {
+                    interrupted.set(true);
+                }
+                return null;
+            });
+            scope.fork(() -> {
+                throw failure;
+            });
+
+            NotFoundException thrown = assertThrows(NotFoundException.class, scope::join);
+            assertSame(failure, thrown);
+        }
+
+        assertTrue(interrupted.get());
+    }
+
+    @Test
+    void testForkAfterFailureIsNotRun() {
+        AtomicBoolean ran = new AtomicBoolean();
+
+        try (ParallelHydrator.Scope scope = new ParallelHydrator(true).open()) {
+            scope.fork(() -> {
+                throw new NotFoundException("Customer not found");
+            });
+            assertThrows(NotFoundException.class, scope::join);
+
+            scope.fork(() -> ran.getAndSet(true));
+        }
+
+        assertFalse(ran.get());
+    }
+
+    @Test
+    void testSequentialModeRunsForksOnCallerThread() {
+        Thread caller = Thread.currentThread();
+
+        try (ParallelHydrator.Scope scope = new ParallelHydrator(false).open()) {
+            Supplier<Thread> thread = scope.fork(Thread::currentThread);
+            scope.join();
+
+            assertSame(caller, thread.get());
+        }
+    }
+
+    @Test
+    void testParallelModeRunsForksOnVirtualThreads() {
+        try (ParallelHydrator.Scope scope = new ParallelHydrator(true).open()) {
+            Supplier<Thread> thread = scope.fork(Thread::currentThread);
+            scope.join();
+
+            assertNotEquals(Thread.currentThread(), thread.get());
+            assertTrue(thread.get().isVirtual());
+        }
+    }
+}
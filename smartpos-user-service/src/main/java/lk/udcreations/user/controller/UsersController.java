@@ -1,7 +1,10 @@
 package lk.udcreations.user.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,6 +27,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.user.dto.KeysetPageDTO;
+import lk.udcreations.user.dto.UserChangesDTO;
 import lk.udcreations.user.entity.Users;
 import lk.udcreations.user.service.UsersService;
 
@@ -39,13 +45,16 @@ public class UsersController {
 	}
 
 	/** Get all users */
-	@Operation(summary = "Get all users", description = "Retrieve all users, including deleted users.")
+	@Operation(summary = "Get all users", description = "Retrieve users, including deleted users, one page at a time ordered by ID. Pass the returned nextCursor to fetch the following page.")
 	@ApiResponses(value = {
-			@ApiResponse(responseCode = "200", description = "Successfully retrieved list", content = @Content(mediaType = "application/json", schema = @Schema(implementation = UsersDTO.class))),
+			@ApiResponse(responseCode = "200", description = "Successfully retrieved page", content = @Content(mediaType = "application/json", schema = @Schema(implementation = KeysetPageDTO.class))),
+			@ApiResponse(responseCode = "400", description = "Invalid cursor or limit", content = @Content),
 			@ApiResponse(responseCode = "500", description = "Internal server error", content = @Content) })
 	@GetMapping("/all")
-	public ResponseEntity<List<UsersDTO>> getAllUsers() {
-		return ResponseEntity.ok(usersService.getAllUsers());
+	public ResponseEntity<KeysetPageDTO<UsersDTO>> getAllUsers(
+			@Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Maximum number of users to return") @RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(usersService.getAllUsers(cursor, limit));
 	}
 
 	/** Get all exist users */
@@ -76,6 +85,24 @@ public class UsersController {
 		return ResponseEntity.ok(usersService.getUserUsername(username));
 	}
 
+	/** Get users by a list of IDs */
+	@Operation(summary = "Get users by IDs", description = "Retrieve non-deleted users for a list of IDs in one call, keyed by user ID. Unknown IDs are left out of the result.")
+	@ApiResponse(responseCode = "200", description = "Successfully retrieved users")
+	@PostMapping("/batch")
+	public ResponseEntity<Map<Integer, UsersDTO>> getUsersByIds(
+			@Parameter(description = "IDs of the users to retrieve") @RequestBody List<Integer> userIds) {
+		return ResponseEntity.ok(usersService.getUsersByIds(userIds));
+	}
+
+	/** Get users changed since a point in time */
+	@Operation(summary = "Get changed users", description = "Retrieve the IDs and usernames of users created, updated or deleted since the given time. Pass the returned asOf as since on the next call.")
+	@ApiResponse(responseCode = "200", description = "Successfully retrieved changes")
+	@GetMapping("/changes")
+	public ResponseEntity<UserChangesDTO> getUserChanges(
+			@Parameter(description = "Time of the previous poll; omit to get the starting point") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+		return ResponseEntity.ok(usersService.getUserChanges(since));
+	}
+
 	/** Create a new user */
 	@Operation(summary = "Create a new user", description = "Add a new user to the system.")
 	@ApiResponses(value = {
@@ -7,13 +7,16 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 
 @Data
 @Entity
@@ -97,6 +100,19 @@ public class Users {
 	@Column(name = "deleted_user_id")
 	private Integer deletedUserId;
 
+	/** Username before the last rename, reported in the change feed so caches drop the old name. */
+	@Column(name = "previous_username", length = 50)
+	private String previousUsername;
+
+	@Transient
+	@EqualsAndHashCode.Exclude
+	private String loadedUsername;
+
+	@PostLoad
+	protected void onLoad() {
+		this.loadedUsername = username;
+	}
+
 	@PrePersist
 	protected void onCreate() {
 		this.createdAt = LocalDateTime.now();
@@ -106,6 +122,9 @@ public class Users {
 	@PreUpdate
 	protected void onUpdate() {
 		this.updatedAt = LocalDateTime.now();
+		if (loadedUsername != null && !loadedUsername.equals(username)) {
+			this.previousUsername = loadedUsername;
+		}
 	}
 
 }
@@ -0,0 +1,27 @@
+package lk.udcreations.user.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+import lk.udcreations.common.dto.role.RoleDTO;
+import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
+import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.user.entity.Role;
+import lk.udcreations.user.entity.Users;
+
+/**
+ * Entity to DTO mappings for users, generated at compile time.
+ * 
+ * Nested DTOs (role, audit users) are not part of the entities and are set by
+ * the calling service.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface UserMapper {
+
+	UsersDTO toDTO(Users user);
+
+	RoleDTO toDTO(Role role);
+
+	CreatedUpdatedUserDTO toCreatedUpdatedUserDTO(Users user);
+}
@@ -1,8 +1,11 @@
 package lk.udcreations.user.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -22,6 +25,12 @@ public interface UserRepository extends JpaRepository<Users, Integer> {
 
 	List<Users> findByDeletedFalse();
 
+	List<Users> findByUserIdGreaterThanOrderByUserIdAsc(Integer userId, Limit limit);
+
+	List<Users> findByUserIdInAndDeletedFalse(Collection<Integer> userIds);
+
+	List<Users> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
 	boolean existsByEmailAndDeletedFalse(String email);
 
 	boolean existsByUsername(String username);
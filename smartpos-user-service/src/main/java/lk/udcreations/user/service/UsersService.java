@@ -1,13 +1,21 @@
 package lk.udcreations.user.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -16,12 +24,16 @@ import lk.udcreations.common.dto.role.RoleDTO;
 import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
 import lk.udcreations.common.dto.user.UsersDTO;
 import lk.udcreations.user.constants.ErrorMessages;
+import lk.udcreations.user.dto.KeysetPageDTO;
+import lk.udcreations.user.dto.UserChangesDTO;
 import lk.udcreations.user.entity.Role;
 import lk.udcreations.user.entity.Users;
 import lk.udcreations.user.exception.NotFoundException;
+import lk.udcreations.user.mapper.UserMapper;
 import lk.udcreations.user.repository.RoleRepository;
 import lk.udcreations.user.repository.UserRepository;
 import lk.udcreations.user.security.AuthUtils;
+import lk.udcreations.user.util.pagination.KeysetCursor;
 
 @Service
 public class UsersService {
@@ -32,31 +44,35 @@ public class UsersService {
 	private final RoleRepository roleRepository;
 	private final PasswordEncoder passwordEncoder;
 	private final AuthUtils authUtils;
-	private final ModelMapper modelMapper;
+	private final UserMapper userMapper;
+	private final Duration changesOverlap;
 
 
 	public UsersService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,
-			AuthUtils authUtils, ModelMapper modelMapper) {
+			AuthUtils authUtils, UserMapper userMapper, @Value("${users.changes.overlap:1m}") Duration changesOverlap) {
 		super();
 		this.userRepository = userRepository;
 		this.roleRepository = roleRepository;
 		this.passwordEncoder = passwordEncoder;
 		this.authUtils = authUtils;
-		this.modelMapper = modelMapper;
+		this.userMapper = userMapper;
+		this.changesOverlap = changesOverlap;
 	}
 
-	/** Get all users */
-	public List<UsersDTO> getAllUsers() {
+	/** Get all users, one keyset page at a time */
+	public KeysetPageDTO<UsersDTO> getAllUsers(String cursor, Integer limit) {
 
-		LOGGER.debug("Fetching all users from the database");
+		int pageSize = KeysetCursor.limit(limit);
+		Integer afterId = KeysetCursor.decode(cursor);
+		LOGGER.debug("Fetching up to {} users after ID {} from the database", pageSize, afterId);
 
-		List<Users> users = userRepository.findAll();
+		List<Users> users = userRepository.findByUserIdGreaterThanOrderByUserIdAsc(afterId, Limit.of(pageSize + 1));
 		if (users.isEmpty()) {
 			LOGGER.warn("No users found in the database.");
 		} else {
 			LOGGER.info("Successfully fetched {} users from the database.", users.size());
 		}
-		return users.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return KeysetCursor.page(users, pageSize, Users::getUserId, this::convertToDTOList);
 	}
 
 	/** Get all non-deleted users */
@@ -71,7 +87,7 @@ public class UsersService {
 			LOGGER.info("Successfully fetched {} active users from the database.", users.size());
 		}
 
-		return users.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return convertToDTOList(users);
 	}
 
 	/** Get a user by ID. */
@@ -105,6 +121,44 @@ public class UsersService {
 		return convertToDTO(user);
 	}
 
+	/** Get non-deleted users by a list of IDs, keyed by user ID. */
+	public Map<Integer, UsersDTO> getUsersByIds(List<Integer> userIds) {
+
+		LOGGER.debug("Fetching {} users by ID", userIds.size());
+
+		List<Users> users = userRepository.findByUserIdInAndDeletedFalse(userIds);
+		LOGGER.info("Successfully fetched {} of {} requested users.", users.size(), userIds.size());
+
+		Map<Integer, UsersDTO> result = new LinkedHashMap<>();
+		convertToDTOList(users).forEach(userDTO -> result.put(userDTO.getUserId(), userDTO));
+		return result;
+	}
+
+	/**
+	 * Get the users created, updated or deleted since the given time, so other
+	 * services can drop their cached copies. Without a time only the watermark
+	 * to poll from is returned.
+	 * 
+	 * updatedAt is stamped at flush, before commit, so a change can become
+	 * visible after a poll that started later than its stamp. The returned
+	 * watermark is therefore held back by the longest expected transaction;
+	 * changes inside that overlap are reported again on the next poll.
+	 */
+	public UserChangesDTO getUserChanges(LocalDateTime since) {
+
+		LocalDateTime asOf = LocalDateTime.now().minus(changesOverlap);
+		if (since == null) {
+			return new UserChangesDTO(asOf, new ArrayList<>(), new ArrayList<>());
+		}
+
+		List<Users> changed = userRepository.findByUpdatedAtGreaterThanEqual(since);
+		LOGGER.debug("Found {} users changed since {}", changed.size(), since);
+
+		return new UserChangesDTO(asOf, changed.stream().map(Users::getUserId).collect(Collectors.toList()),
+				changed.stream().map(Users::getUsername).collect(Collectors.toList()),
+				changed.stream().map(Users::getPreviousUsername).filter(Objects::nonNull).collect(Collectors.toList()));
+	}
+
 	/** Create a new user. */
 	@Transactional
 	public UsersDTO createUser(Users newUser) {
@@ -227,32 +281,63 @@ public class UsersService {
 
 	/** Convert Users entity to UsersDTO. */
 	private UsersDTO convertToDTO(Users user) {
+		return convertToDTOList(List.of(user)).get(0);
+	}
 
-		UsersDTO userDTO = modelMapper.map(user, UsersDTO.class);
-		
-		// Set RoleDTO
-		Role role = roleRepository.findByRoleId(user.getRoleId())
-				.orElseThrow(() -> new NotFoundException("Role not found"));
-		userDTO.setRole(modelMapper.map(role, RoleDTO.class));
-
-		// Set CreatedUserDTO
-		Users createdUser = findUserById(user.getCreatedUserId());
-		CreatedUpdatedUserDTO createdUserDto = modelMapper.map(createdUser, CreatedUpdatedUserDTO.class);
-		userDTO.setCreatedUser(createdUserDto);
-
-		// Set UpdatedUserDTO
-		Users updatedUser = findUserById(user.getUpdatedUserId());
-		CreatedUpdatedUserDTO updatedUserDto = modelMapper.map(updatedUser, CreatedUpdatedUserDTO.class);
-		userDTO.setUpdatedUser(updatedUserDto);
-
-		// Set DeletedUserDTO
-		if (user.isDeleted()) {
-			Users deletedUser = findUserById(user.getDeletedUserId());
-			CreatedUpdatedUserDTO deletedUserDto = modelMapper.map(deletedUser, CreatedUpdatedUserDTO.class);
-			userDTO.setDeletedUser(deletedUserDto);
+	/**
+	 * Convert a list of users with one IN query for their roles and one for the
+	 * audit users that are not in the list already, instead of up to four
+	 * lookups per user.
+	 */
+	private List<UsersDTO> convertToDTOList(List<Users> users) {
+
+		if (users.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		Map<Integer, RoleDTO> roles = roleRepository
+				.findAllById(users.stream().map(Users::getRoleId).filter(Objects::nonNull).distinct().toList())
+				.stream().collect(Collectors.toMap(Role::getRoleId, role -> userMapper.toDTO(role)));
+
+		Map<Integer, Users> auditUsers = new HashMap<>();
+		users.forEach(user -> auditUsers.put(user.getUserId(), user));
+		List<Integer> missingIds = users.stream()
+				.flatMap(user -> Stream.of(user.getCreatedUserId(), user.getUpdatedUserId(),
+						user.isDeleted() ? user.getDeletedUserId() : null))
+				.filter(userId -> userId != null && !auditUsers.containsKey(userId)).distinct().toList();
+		if (!missingIds.isEmpty()) {
+			userRepository.findAllById(missingIds)
+					.forEach(auditUser -> auditUsers.put(auditUser.getUserId(), auditUser));
 		}
+		LOGGER.debug("Hydrating {} users with {} roles and {} audit users", users.size(), roles.size(),
+				auditUsers.size());
+
+		return users.stream().map(user -> {
+			UsersDTO userDTO = userMapper.toDTO(user);
 
-		return userDTO;
+			// Set RoleDTO
+			RoleDTO role = roles.get(user.getRoleId());
+			if (role == null) {
+				throw new NotFoundException("Role not found");
+			}
+			userDTO.setRole(role);
+
+			// Set CreatedUserDTO, UpdatedUserDTO and DeletedUserDTO
+			userDTO.setCreatedUser(toAuditUser(auditUsers, user.getCreatedUserId()));
+			userDTO.setUpdatedUser(toAuditUser(auditUsers, user.getUpdatedUserId()));
+			if (user.isDeleted()) {
+				userDTO.setDeletedUser(toAuditUser(auditUsers, user.getDeletedUserId()));
+			}
+			return userDTO;
+		}).collect(Collectors.toList());
+	}
+
+	private CreatedUpdatedUserDTO toAuditUser(Map<Integer, Users> auditUsers, Integer userId) {
+		Users auditUser = auditUsers.get(userId);
+		if (auditUser == null) {
+			throw new NotFoundException("User not found with ID: " + userId);
+		}
+		return userMapper.toCreatedUpdatedUserDTO(auditUser);
 	}
 
 	private String encodePassword(String password) {
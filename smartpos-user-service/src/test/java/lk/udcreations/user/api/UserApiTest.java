@@ -102,7 +102,7 @@ public class UserApiTest {
             .get("/api/v1/users/all")
         .then()
             .statusCode(200)
-            .body("size()", greaterThan(0)); // At least our created user should be there
+            .body("content.size()", greaterThan(0)); // At least our created user should be there
     }
 
     @Test
@@ -16,6 +16,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +30,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lk.udcreations.common.dto.user.UsersDTO;
+import lk.udcreations.user.dto.KeysetPageDTO;
 import lk.udcreations.user.entity.Role;
 import lk.udcreations.user.entity.Users;
 import lk.udcreations.user.service.UsersService;
@@ -105,15 +107,17 @@ class UsersControllerTest {
 		user2.setDeleted(false);
 		user2.setCreatedAt(LocalDateTime.now());
 
-		List<UsersDTO> users = Arrays.asList(userDTO, user2);
+		KeysetPageDTO<UsersDTO> page = new KeysetPageDTO<>(Arrays.asList(userDTO, user2), null);
 
-		when(usersService.getAllUsers()).thenReturn(users);
+		when(usersService.getAllUsers(null, null)).thenReturn(page);
 
-		mockMvc.perform(get("/api/v1/users/all")).andExpect(status().isOk()).andExpect(jsonPath("$.size()").value(2))
-				.andExpect(jsonPath("$[0].username").value("john_doe"))
-				.andExpect(jsonPath("$[1].username").value("jane_doe"));
+		mockMvc.perform(get("/api/v1/users/all")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.content.size()").value(2))
+				.andExpect(jsonPath("$.content[0].username").value("john_doe"))
+				.andExpect(jsonPath("$.content[1].username").value("jane_doe"))
+				.andExpect(jsonPath("$.hasNext").value(false));
 
-		verify(usersService, times(1)).getAllUsers();
+		verify(usersService, times(1)).getAllUsers(null, null);
 	}
 
 	@Test
@@ -164,6 +168,18 @@ class UsersControllerTest {
 		verify(usersService, times(1)).getUserUsername("john_doe");
 	}
 
+	@Test
+	void testGetUsersByIds() throws Exception {
+		List<Integer> userIds = Arrays.asList(1, 2);
+		when(usersService.getUsersByIds(userIds)).thenReturn(Map.of(1, userDTO));
+
+		mockMvc.perform(post("/api/v1/users/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(userIds))).andExpect(status().isOk())
+				.andExpect(jsonPath("$.size()").value(1)).andExpect(jsonPath("$.1.username").value("john_doe"));
+
+		verify(usersService, times(1)).getUsersByIds(userIds);
+	}
+
 	@Test
 	void testCreateUser() throws Exception {
 		when(usersService.createUser(any(Users.class))).thenReturn(userDTO);
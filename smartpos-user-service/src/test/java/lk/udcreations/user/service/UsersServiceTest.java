@@ -3,29 +3,33 @@ package lk.udcreations.user.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.TestPropertySource;
 
@@ -33,12 +37,16 @@ import lk.udcreations.common.dto.role.RoleDTO;
 import lk.udcreations.common.dto.user.CreatedUpdatedUserDTO;
 import lk.udcreations.common.dto.user.UsersDTO;
 import lk.udcreations.user.constants.ErrorMessages;
+import lk.udcreations.user.dto.KeysetPageDTO;
+import lk.udcreations.user.dto.UserChangesDTO;
 import lk.udcreations.user.entity.Role;
 import lk.udcreations.user.entity.Users;
 import lk.udcreations.user.exception.NotFoundException;
+import lk.udcreations.user.mapper.UserMapper;
 import lk.udcreations.user.repository.RoleRepository;
 import lk.udcreations.user.repository.UserRepository;
 import lk.udcreations.user.security.AuthUtils;
+import lk.udcreations.user.util.pagination.KeysetCursor;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -46,7 +54,7 @@ import lk.udcreations.user.security.AuthUtils;
 class UsersServiceTest {
 
 	@Mock
-	private ModelMapper modelMapper;
+	private UserMapper userMapper;
 
 	@Mock
 	private UserRepository userRepository;
@@ -60,7 +68,6 @@ class UsersServiceTest {
 	@Mock
 	private AuthUtils authUtils;
 
-	@InjectMocks
 	private UsersService usersService;
 
     private Users user1;
@@ -73,6 +80,9 @@ class UsersServiceTest {
 
 	@BeforeEach
 	void setUp() {
+		usersService = new UsersService(userRepository, roleRepository, passwordEncoder, authUtils, userMapper,
+				Duration.ofMinutes(1));
+
 		// Mock a logged-in admin user
         Users adminUser = new Users();
 		adminUser.setUserId(999);
@@ -166,50 +176,98 @@ class UsersServiceTest {
 		when(userRepository.findById(null)).thenThrow(new IllegalArgumentException("User ID cannot be null"));
 		when(roleRepository.findByRoleId(1)).thenReturn(Optional.of(role));
 		when(roleRepository.findByRoleId(2)).thenReturn(Optional.of(role2));
-		when(modelMapper.map(role, RoleDTO.class)).thenReturn(roleDTO);
-		when(modelMapper.map(role2, RoleDTO.class)).thenReturn(roleDTO2);
+		when(userRepository.findAllById(any())).thenAnswer(invocation -> {
+			Iterable<Integer> userIds = invocation.getArgument(0);
+			List<Users> found = new ArrayList<>();
+			userIds.forEach(userId -> Stream.of(adminUser, user1, user2)
+					.filter(user -> user.getUserId().equals(userId)).forEach(found::add));
+			return found;
+		});
+		when(roleRepository.findAllById(any())).thenAnswer(invocation -> {
+			Iterable<Integer> roleIds = invocation.getArgument(0);
+			List<Role> found = new ArrayList<>();
+			roleIds.forEach(roleId -> Stream.of(role, role2)
+					.filter(candidate -> candidate.getRoleId().equals(roleId)).forEach(found::add));
+			return found;
+		});
+		when(userMapper.toDTO(role)).thenReturn(roleDTO);
+		when(userMapper.toDTO(role2)).thenReturn(roleDTO2);
 	}
 
 	@Test
 	void testGetAllUsers() {
 		// Arrange
-		when(userRepository.findAll()).thenReturn(Arrays.asList(user1, user2));
-		when(modelMapper.map(user1, UsersDTO.class)).thenReturn(userDTO1);
-		when(modelMapper.map(user2, UsersDTO.class)).thenReturn(userDTO2);
-		when(modelMapper.map(any(Users.class), eq(CreatedUpdatedUserDTO.class))).thenReturn(createdUpdatedUserDTO);
-		when(modelMapper.map(role, RoleDTO.class)).thenReturn(roleDTO);
+		when(userRepository.findByUserIdGreaterThanOrderByUserIdAsc(0, Limit.of(KeysetCursor.DEFAULT_LIMIT + 1)))
+				.thenReturn(Arrays.asList(user1, user2));
+		when(userMapper.toDTO(user1)).thenReturn(userDTO1);
+		when(userMapper.toDTO(user2)).thenReturn(userDTO2);
+		when(userMapper.toCreatedUpdatedUserDTO(any(Users.class))).thenReturn(createdUpdatedUserDTO);
+		when(userMapper.toDTO(role)).thenReturn(roleDTO);
 
 		// Act
-		List<UsersDTO> result = usersService.getAllUsers();
+		KeysetPageDTO<UsersDTO> result = usersService.getAllUsers(null, null);
 
 		// Assert
-		assertEquals(2, result.size());
-		assertEquals("user1", result.get(0).getUsername());
-		assertEquals("user2", result.get(1).getUsername());
-		verify(userRepository, times(1)).findAll();
+		assertEquals(2, result.getContent().size());
+		assertEquals("user1", result.getContent().get(0).getUsername());
+		assertEquals("user2", result.getContent().get(1).getUsername());
+		assertFalse(result.isHasNext());
+		verify(userRepository, never()).findAll();
+		verify(userRepository, times(1)).findAllById(any());
+		verify(roleRepository, times(1)).findAllById(any());
+		verify(userRepository, never()).findById(any());
+		verify(roleRepository, never()).findByRoleId(any());
+	}
+
+	@Test
+	void testGetAllUsers_NextPage() {
+		// Arrange
+		when(userRepository.findByUserIdGreaterThanOrderByUserIdAsc(0, Limit.of(2)))
+				.thenReturn(Arrays.asList(user1, user2));
+		when(userRepository.findByUserIdGreaterThanOrderByUserIdAsc(1, Limit.of(2))).thenReturn(Arrays.asList(user2));
+		when(userMapper.toDTO(user1)).thenReturn(userDTO1);
+		when(userMapper.toDTO(user2)).thenReturn(userDTO2);
+		when(userMapper.toCreatedUpdatedUserDTO(any(Users.class))).thenReturn(createdUpdatedUserDTO);
+
+		// Act
+		KeysetPageDTO<UsersDTO> firstPage = usersService.getAllUsers(null, 1);
+		KeysetPageDTO<UsersDTO> secondPage = usersService.getAllUsers(firstPage.getNextCursor(), 1);
+
+		// Assert
+		assertEquals("user1", firstPage.getContent().get(0).getUsername());
+		assertTrue(firstPage.isHasNext());
+		assertEquals("user2", secondPage.getContent().get(0).getUsername());
+		assertFalse(secondPage.isHasNext());
+	}
+
+	@Test
+	void testGetAllUsers_InvalidCursor() {
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> usersService.getAllUsers("bm90LWFuLWlk", null));
+		verify(userRepository, never()).findByUserIdGreaterThanOrderByUserIdAsc(any(), any());
 	}
 
 	@Test
 	void testGetAllUsers_NoUsersFound() {
 		// Arrange
-		when(userRepository.findAll()).thenReturn(Collections.emptyList());
+		when(userRepository.findByUserIdGreaterThanOrderByUserIdAsc(any(), any())).thenReturn(Collections.emptyList());
 
 		// Act
-		List<UsersDTO> result = usersService.getAllUsers();
+		KeysetPageDTO<UsersDTO> result = usersService.getAllUsers(null, null);
 
 		// Assert
-		assertTrue(result.isEmpty());
-		verify(userRepository, times(1)).findAll();
+		assertTrue(result.getContent().isEmpty());
+		assertNull(result.getNextCursor());
 	}
 
 	@Test
 	void testGetAllExistUsers() {
 		// Arrange
 		when(userRepository.findByDeletedFalse()).thenReturn(Arrays.asList(user1, user2));
-		when(modelMapper.map(user1, UsersDTO.class)).thenReturn(userDTO1);
-		when(modelMapper.map(user2, UsersDTO.class)).thenReturn(userDTO2);
-		when(modelMapper.map(any(Users.class), eq(CreatedUpdatedUserDTO.class))).thenReturn(createdUpdatedUserDTO);
-		when(modelMapper.map(role, RoleDTO.class)).thenReturn(roleDTO);
+		when(userMapper.toDTO(user1)).thenReturn(userDTO1);
+		when(userMapper.toDTO(user2)).thenReturn(userDTO2);
+		when(userMapper.toCreatedUpdatedUserDTO(any(Users.class))).thenReturn(createdUpdatedUserDTO);
+		when(userMapper.toDTO(role)).thenReturn(roleDTO);
 
 		// Act
 		List<UsersDTO> result = usersService.getAllExistUsers();
@@ -238,9 +296,9 @@ class UsersServiceTest {
 	void testGetUserById_UserExists() {
 		// Arrange
 		when(userRepository.findByUserIdAndDeletedFalse(1)).thenReturn(Optional.of(user1));
-		when(modelMapper.map(user1, UsersDTO.class)).thenReturn(userDTO1);
-		when(modelMapper.map(any(Users.class), eq(CreatedUpdatedUserDTO.class))).thenReturn(createdUpdatedUserDTO);
-		when(modelMapper.map(role, RoleDTO.class)).thenReturn(roleDTO);
+		when(userMapper.toDTO(user1)).thenReturn(userDTO1);
+		when(userMapper.toCreatedUpdatedUserDTO(any(Users.class))).thenReturn(createdUpdatedUserDTO);
+		when(userMapper.toDTO(role)).thenReturn(roleDTO);
 
 		// Act
 		UsersDTO result = usersService.getUserById(1);
@@ -264,13 +322,78 @@ class UsersServiceTest {
 		verify(userRepository, times(1)).findByUserIdAndDeletedFalse(1);
 	}
 
+	@Test
+	void testGetUsersByIds() {
+		// Arrange
+		List<Integer> userIds = Arrays.asList(1, 2, 3);
+		when(userRepository.findByUserIdInAndDeletedFalse(userIds)).thenReturn(Arrays.asList(user1, user2));
+		when(userMapper.toDTO(user1)).thenReturn(userDTO1);
+		when(userMapper.toDTO(user2)).thenReturn(userDTO2);
+		when(userMapper.toCreatedUpdatedUserDTO(any(Users.class))).thenReturn(createdUpdatedUserDTO);
+
+		// Act
+		Map<Integer, UsersDTO> result = usersService.getUsersByIds(userIds);
+
+		// Assert
+		assertEquals(2, result.size());
+		assertEquals("user1", result.get(1).getUsername());
+		assertEquals("user2", result.get(2).getUsername());
+		assertFalse(result.containsKey(3));
+		verify(userRepository, times(1)).findByUserIdInAndDeletedFalse(userIds);
+	}
+
+	@Test
+	void testGetUserChanges() {
+		// Arrange
+		LocalDateTime since = LocalDateTime.now().minusMinutes(1);
+		when(userRepository.findByUpdatedAtGreaterThanEqual(since)).thenReturn(Arrays.asList(user1, user2));
+
+		// Act
+		UserChangesDTO result = usersService.getUserChanges(since);
+
+		// Assert
+		assertEquals(Arrays.asList(1, 2), result.getUserIds());
+		assertEquals(Arrays.asList("user1", "user2"), result.getUsernames());
+		assertFalse(result.getAsOf().isBefore(since));
+		assertTrue(result.getPreviousUsernames().isEmpty());
+		verify(userMapper, never()).toDTO(any(Users.class));
+	}
+
+	@Test
+	void testGetUserChanges_WatermarkOverlapsAndRenamesReportOldName() {
+		// Arrange
+		LocalDateTime since = LocalDateTime.now().minusMinutes(1);
+		user2.setPreviousUsername("old_user2");
+		when(userRepository.findByUpdatedAtGreaterThanEqual(since)).thenReturn(Arrays.asList(user1, user2));
+
+		// Act
+		LocalDateTime before = LocalDateTime.now();
+		UserChangesDTO result = usersService.getUserChanges(since);
+
+		// Assert
+		assertEquals(Arrays.asList("old_user2"), result.getPreviousUsernames());
+		assertFalse(result.getAsOf().isAfter(before.minusMinutes(1).plusSeconds(5)));
+		assertTrue(result.getAsOf().isAfter(before.minusMinutes(2)));
+	}
+
+	@Test
+	void testGetUserChanges_WithoutSinceReturnsWatermarkOnly() {
+		// Act
+		UserChangesDTO result = usersService.getUserChanges(null);
+
+		// Assert
+		assertNotNull(result.getAsOf());
+		assertTrue(result.getUserIds().isEmpty());
+		verify(userRepository, never()).findByUpdatedAtGreaterThanEqual(any());
+	}
+
 	@Test
 	void testGetUserUsername_UserExists() {
 		// Arrange
 		when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user1));
-		when(modelMapper.map(user1, UsersDTO.class)).thenReturn(userDTO1);
-		when(modelMapper.map(any(Users.class), eq(CreatedUpdatedUserDTO.class))).thenReturn(createdUpdatedUserDTO);
-		when(modelMapper.map(role, RoleDTO.class)).thenReturn(roleDTO);
+		when(userMapper.toDTO(user1)).thenReturn(userDTO1);
+		when(userMapper.toCreatedUpdatedUserDTO(any(Users.class))).thenReturn(createdUpdatedUserDTO);
+		when(userMapper.toDTO(role)).thenReturn(roleDTO);
 
 		// Act
 		UsersDTO result = usersService.getUserUsername("user1");
@@ -325,9 +448,9 @@ class UsersServiceTest {
 		when(userRepository.findByUsernameAndDeletedTrue("newuser")).thenReturn(Optional.empty());
 		when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
 		when(userRepository.save(any(Users.class))).thenReturn(savedUser);
-		when(modelMapper.map(savedUser, UsersDTO.class)).thenReturn(savedUserDTO);
-		when(modelMapper.map(any(Users.class), eq(CreatedUpdatedUserDTO.class))).thenReturn(createdUpdatedUserDTO);
-		when(modelMapper.map(role, RoleDTO.class)).thenReturn(roleDTO);
+		when(userMapper.toDTO(savedUser)).thenReturn(savedUserDTO);
+		when(userMapper.toCreatedUpdatedUserDTO(any(Users.class))).thenReturn(createdUpdatedUserDTO);
+		when(userMapper.toDTO(role)).thenReturn(roleDTO);
 
 		// Act
 		UsersDTO result = usersService.createUser(newUser);
@@ -385,9 +508,9 @@ class UsersServiceTest {
 		when(userRepository.findById(4)).thenReturn(Optional.of(deletedUser));
 		when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
 		when(userRepository.save(any(Users.class))).thenReturn(reactivatedUser);
-		when(modelMapper.map(reactivatedUser, UsersDTO.class)).thenReturn(reactivatedUserDTO);
-		when(modelMapper.map(any(Users.class), eq(CreatedUpdatedUserDTO.class))).thenReturn(createdUpdatedUserDTO);
-		when(modelMapper.map(role, RoleDTO.class)).thenReturn(roleDTO);
+		when(userMapper.toDTO(reactivatedUser)).thenReturn(reactivatedUserDTO);
+		when(userMapper.toCreatedUpdatedUserDTO(any(Users.class))).thenReturn(createdUpdatedUserDTO);
+		when(userMapper.toDTO(role)).thenReturn(roleDTO);
 
 		// Act
 		UsersDTO result = usersService.createUser(newUser);
@@ -482,9 +605,9 @@ class UsersServiceTest {
 		when(userRepository.findById(userId)).thenReturn(Optional.of(user1));
 		when(passwordEncoder.encode("newpassword")).thenReturn("encodedNewPassword");
 		when(userRepository.save(any(Users.class))).thenReturn(savedUser);
-		when(modelMapper.map(savedUser, UsersDTO.class)).thenReturn(updatedUserDTO);
-		when(modelMapper.map(any(Users.class), eq(CreatedUpdatedUserDTO.class))).thenReturn(createdUpdatedUserDTO);
-		when(modelMapper.map(role, RoleDTO.class)).thenReturn(roleDTO);
+		when(userMapper.toDTO(savedUser)).thenReturn(updatedUserDTO);
+		when(userMapper.toCreatedUpdatedUserDTO(any(Users.class))).thenReturn(createdUpdatedUserDTO);
+		when(userMapper.toDTO(role)).thenReturn(roleDTO);
 
 		// Act
 		UsersDTO result = usersService.updateUser(userId, updatedUser);